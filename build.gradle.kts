@@ -19,16 +19,105 @@ repositories {
 	mavenCentral()
 }
 
+val jmh: SourceSet by sourceSets.creating {
+	compileClasspath += sourceSets.main.get().output
+	runtimeClasspath += sourceSets.main.get().output
+}
+
+configurations[jmh.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+configurations[jmh.runtimeOnlyConfigurationName].extendsFrom(configurations.runtimeOnly.get())
+
+val loadTest: SourceSet by sourceSets.creating {
+	compileClasspath += sourceSets.main.get().output
+	runtimeClasspath += sourceSets.main.get().output
+}
+
+configurations[loadTest.implementationConfigurationName]
+	.extendsFrom(configurations.implementation.get())
+configurations[loadTest.runtimeOnlyConfigurationName]
+	.extendsFrom(configurations.runtimeOnly.get())
+
 dependencies {
 	implementation("org.springframework.boot:spring-boot-starter")
+	implementation("org.springframework.boot:spring-boot-starter-json")
+	implementation("io.micrometer:micrometer-registry-prometheus")
 	testImplementation("org.springframework.boot:spring-boot-starter-test")
 	testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+	"jmhImplementation"("org.openjdk.jmh:jmh-core:1.37")
+	"jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:1.37")
+	"loadTestImplementation"("org.hdrhistogram:HdrHistogram:2.2.2")
 }
 
 tasks.withType<Test> {
 	useJUnitPlatform()
 }
 
+// the allocation budgets depend on the JIT of the test JVM, so they run in their own JVM as part
+// of check rather than alongside the other tests
+tasks.test {
+	useJUnitPlatform {
+		excludeTags("allocation")
+	}
+}
+
+// ./gradlew allocationTest
+tasks.register<Test>("allocationTest") {
+	description = "Checks the bytes allocated per checkout against their budgets."
+	group = "verification"
+	testClassesDirs = sourceSets.test.get().output.classesDirs
+	classpath = sourceSets.test.get().runtimeClasspath
+	useJUnitPlatform {
+		includeTags("allocation")
+	}
+	shouldRunAfter(tasks.test)
+}
+
+// keep the benchmarks and load tests compiling, and the allocation budgets holding, with the rest
+// of the build
+tasks.named("check") {
+	dependsOn(jmh.classesTaskName, loadTest.classesTaskName, "allocationTest")
+}
+
+// ./gradlew jmh -PjmhArgs="ParserHelperBenchmark -f 1"
+// allocation rates are reported with the GC profiler unless another profiler is given
+tasks.register<JavaExec>("jmh") {
+	description = "Runs the JMH benchmarks."
+	group = "verification"
+	classpath = jmh.runtimeClasspath
+	mainClass = "org.openjdk.jmh.Main"
+	val jmhArgs = providers.gradleProperty("jmhArgs").getOrElse("").split(" ")
+		.filter { it.isNotBlank() }
+	args(if ("-prof" in jmhArgs) jmhArgs else jmhArgs + listOf("-prof", "gc"))
+}
+
+// ./gradlew loadTest -PloadTestArgs="--scenario=checkout --concurrency=64 --duration=30"
+tasks.register<JavaExec>("loadTest") {
+	description = "Runs the HTTP API load test."
+	group = "verification"
+	classpath = loadTest.runtimeClasspath
+	mainClass = "com.costacodecraft.toolrental.adapters.in.web.HttpLoadTest"
+	args(providers.gradleProperty("loadTestArgs").getOrElse("").split(" ").filter { it.isNotBlank() })
+}
+
+// ./gradlew engineLoadTest -PengineLoadTestArgs="--threads=4 --rates=1000,2000,4000 --duration=20"
+tasks.register<JavaExec>("engineLoadTest") {
+	description = "Runs the load test of the checkout engine."
+	group = "verification"
+	classpath = loadTest.runtimeClasspath
+	mainClass = "com.costacodecraft.toolrental.application.domain.service.EngineLoadTest"
+	args(providers.gradleProperty("engineLoadTestArgs").getOrElse("").split(" ")
+		.filter { it.isNotBlank() })
+}
+
+// ./gradlew jfrSummary -PjfrFile=checkout.jfr
+tasks.register<JavaExec>("jfrSummary") {
+	description = "Summarizes the checkout stages of a flight recording."
+	group = "verification"
+	classpath = loadTest.runtimeClasspath
+	mainClass = "com.costacodecraft.toolrental.JfrSummary"
+	args(providers.gradleProperty("jfrFile").getOrElse(""))
+}
+
 tasks.named<BootRun>("bootRun"){
 	standardInput = System.`in`
 }
\ No newline at end of file
@@ -0,0 +1,75 @@
+package com.costacodecraft.toolrental.adapters.in.cli;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares {@link ParserHelper} and {@link FastParser} with the regular expression and formatter
+ * based parsing they replaced.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParserHelperBenchmark {
+
+  private final String number = "365";
+  private final String date = "12/31/24";
+  private final String invalidDate = "13/31/24";
+
+  @Benchmark
+  public int parseIntLegacy() {
+    if (!number.matches("\\d+")) {
+      throw new IllegalArgumentException();
+    }
+    return Integer.parseInt(number);
+  }
+
+  @Benchmark
+  public int parseInt() {
+    return ParserHelper.parseInt(number);
+  }
+
+  @Benchmark
+  public LocalDate parseDateLegacy() {
+    return LocalDate.parse(date, DateTimeFormatter.ofPattern("M/d/yy"));
+  }
+
+  @Benchmark
+  public LocalDate parseDate() {
+    return ParserHelper.parseDate(date);
+  }
+
+  @Benchmark
+  public long parseDateEpochDay() {
+    return FastParser.parseDate(date);
+  }
+
+  @Benchmark
+  public void parseInvalidDateLegacy(Blackhole blackhole) {
+    try {
+      blackhole.consume(LocalDate.parse(invalidDate, DateTimeFormatter.ofPattern("M/d/yy")));
+    } catch (DateTimeParseException e) {
+      blackhole.consume(e);
+    }
+  }
+
+  @Benchmark
+  public long parseInvalidDateEpochDay() {
+    return FastParser.parseDate(invalidDate);
+  }
+}
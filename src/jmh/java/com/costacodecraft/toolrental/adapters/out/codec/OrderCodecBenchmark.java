@@ -0,0 +1,81 @@
+package com.costacodecraft.toolrental.adapters.out.codec;
+
+import com.costacodecraft.toolrental.application.domain.model.BrandName;
+import com.costacodecraft.toolrental.application.domain.model.Order;
+import com.costacodecraft.toolrental.application.domain.model.Order.OrderId;
+import com.costacodecraft.toolrental.application.domain.model.RentalAgreement;
+import com.costacodecraft.toolrental.application.domain.model.ToolType;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures encoding and decoding an order with {@link OrderCodec}, into a heap or a direct
+ * buffer.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OrderCodecBenchmark {
+
+  @Param({"heap", "direct"})
+  public String buffer;
+
+  private final Order order = new Order(OrderId.autoGenerate(), RentalAgreement.newBuilder()
+      .toolCode("LADW")
+      .toolType(ToolType.LADDER)
+      .toolBrand(BrandName.WERNER)
+      .rentalDays(5)
+      .checkoutDate(LocalDate.of(2024, Month.OCTOBER, 1))
+      .returnDate(LocalDate.of(2024, Month.OCTOBER, 6))
+      .dailyChargeAmount(1.99)
+      .chargeDays(5)
+      .preDiscountAmount(new BigDecimal("9.95"))
+      .discountPercent(10)
+      .discountAmount(new BigDecimal("0.99"))
+      .finalChargeAmount(new BigDecimal("8.96"))
+      .build());
+  private ByteBuffer encodeBuffer;
+  private ByteBuffer decodeBuffer;
+
+  @Setup
+  public void setUp() {
+    encodeBuffer = allocate();
+    decodeBuffer = allocate();
+    OrderCodec.encode(order, decodeBuffer);
+    decodeBuffer.flip();
+  }
+
+  private ByteBuffer allocate() {
+    return "direct".equals(buffer) ? ByteBuffer.allocateDirect(128) : ByteBuffer.allocate(128);
+  }
+
+  @Benchmark
+  public int encode() {
+    encodeBuffer.clear();
+    OrderCodec.encode(order, encodeBuffer);
+    return encodeBuffer.position();
+  }
+
+  @Benchmark
+  public Order decode() {
+    decodeBuffer.rewind();
+    return OrderCodec.decodeOrder(decodeBuffer);
+  }
+}
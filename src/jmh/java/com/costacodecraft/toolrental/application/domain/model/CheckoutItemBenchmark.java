@@ -0,0 +1,75 @@
+package com.costacodecraft.toolrental.application.domain.model;
+
+import com.costacodecraft.toolrental.application.domain.model.Tool.ToolId;
+import com.costacodecraft.toolrental.application.port.in.ChargeableDaysCount;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the amount getters of {@link CheckoutItem}, each of which recomputes the amounts it
+ * depends on.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CheckoutItemBenchmark {
+
+  private final CheckoutItem item = new CheckoutItem(
+      new Tool(new ToolId("CHNS"), ToolType.CHAINSAW, BrandName.STIHL,
+          Price.newBuilder()
+              .dailyCharge(1.49)
+              .weekdayCharge(true)
+              .weekendCharge(false)
+              .holidayCharge(true)
+              .build()),
+      5, 25, LocalDate.of(2015, Month.JULY, 2), new ChargeableDaysCount(2, 2, 1));
+
+  @Benchmark
+  public int chargeableDaysCount() {
+    return item.getChargeableDaysCount();
+  }
+
+  @Benchmark
+  public BigDecimal preDiscountAmount() {
+    return item.getPreDiscountAmount();
+  }
+
+  @Benchmark
+  public BigDecimal discountAmount() {
+    return item.getDiscountAmount();
+  }
+
+  @Benchmark
+  public BigDecimal finalChargeAmount() {
+    return item.getFinalChargeAmount();
+  }
+
+  /**
+   * Everything a rental agreement is built from, as {@code CheckoutPricer} reads it.
+   */
+  @Benchmark
+  public void allAmounts(Blackhole blackhole) {
+    blackhole.consume(item.getReturnDate());
+    blackhole.consume(item.getChargeableDaysCount());
+    BigDecimal preDiscountAmount = item.getPreDiscountAmount();
+    BigDecimal discountAmount = item.getDiscountAmount(preDiscountAmount);
+    blackhole.consume(preDiscountAmount);
+    blackhole.consume(discountAmount);
+    blackhole.consume(item.getFinalChargeAmount(preDiscountAmount, discountAmount));
+  }
+}
@@ -0,0 +1,87 @@
+package com.costacodecraft.toolrental.application.domain.model;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.text.NumberFormat;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.format.DateTimeFormatter;
+import java.util.Currency;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link ReceiptRenderer} with the string concatenation it replaced in
+ * {@link RentalAgreement#getPrettyPrintText()}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ReceiptRendererBenchmark {
+
+  private final RentalAgreement agreement = RentalAgreement.newBuilder()
+      .toolCode("LADW")
+      .toolType(ToolType.LADDER)
+      .toolBrand(BrandName.WERNER)
+      .rentalDays(5)
+      .checkoutDate(LocalDate.of(2024, Month.OCTOBER, 1))
+      .returnDate(LocalDate.of(2024, Month.OCTOBER, 6))
+      .dailyChargeAmount(1.99)
+      .chargeDays(5)
+      .preDiscountAmount(new BigDecimal("9.95"))
+      .discountPercent(10)
+      .discountAmount(new BigDecimal("0.99"))
+      .finalChargeAmount(new BigDecimal("8.96"))
+      .build();
+  private final StringBuilder builder = new StringBuilder(512);
+  private final ByteBuffer buffer = ByteBuffer.allocateDirect(512);
+
+  @Benchmark
+  public String legacy() {
+    NumberFormat nf = NumberFormat.getCurrencyInstance();
+    nf.setCurrency(Currency.getInstance("USD"));
+    DateTimeFormatter df = DateTimeFormatter.ofPattern("M/d/yy");
+    return "Tool Code: " + agreement.toolCode()
+        + "\nTool Type: " + agreement.toolType().getType()
+        + "\nTool Brand: " + agreement.toolBrand().getName()
+        + "\nRental Days: " + agreement.rentalDays()
+        + "\nCheckout Date: " + df.format(agreement.checkoutDate())
+        + "\nDue Date: " + df.format(agreement.returnDate())
+        + "\nDaily Rental Charge: " + nf.format(agreement.dailyChargeAmount())
+        + "\nCharge Days: " + agreement.chargeDays()
+        + "\nPre-discount Amount: " + nf.format(agreement.preDiscountAmount())
+        + "\nDiscount Percent: " + String.format("%d%%", agreement.discountPercent())
+        + "\nDiscount Amount: " + nf.format(agreement.discountAmount())
+        + "\nFinal Charge: " + nf.format(agreement.finalChargeAmount());
+  }
+
+  @Benchmark
+  public String prettyPrintText() {
+    return agreement.getPrettyPrintText();
+  }
+
+  @Benchmark
+  public int renderToStringBuilder() throws Exception {
+    builder.setLength(0);
+    ReceiptRenderer.forDefaultLocale().render(agreement, builder);
+    return builder.length();
+  }
+
+  @Benchmark
+  public int renderToByteBuffer() {
+    buffer.clear();
+    ReceiptRenderer.forDefaultLocale().render(agreement, buffer);
+    return buffer.position();
+  }
+}
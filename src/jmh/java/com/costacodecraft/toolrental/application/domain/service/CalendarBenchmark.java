@@ -0,0 +1,55 @@
+package com.costacodecraft.toolrental.application.domain.service;
+
+import com.costacodecraft.toolrental.application.port.in.ChargeableDaysCount;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link GetChargeableDaysService} and {@link GetHolidayService} over rentals of one day
+ * to ten years, all starting on a Thursday two months before Independence Day.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CalendarBenchmark {
+
+  @Param({"1", "7", "30", "365", "3650"})
+  public int rentalDays;
+
+  private final GetHolidayService holidayService = new GetHolidayService();
+  private final GetChargeableDaysService chargeableDaysService =
+      new GetChargeableDaysService(holidayService);
+  private final LocalDate checkoutDate = LocalDate.of(2024, Month.MAY, 2);
+  private LocalDate returnDate;
+
+  @Setup
+  public void setUp() {
+    returnDate = checkoutDate.plusDays(rentalDays);
+  }
+
+  @Benchmark
+  public ChargeableDaysCount chargeableDays() {
+    return chargeableDaysService.getChargeableDays(checkoutDate, returnDate);
+  }
+
+  @Benchmark
+  public Set<LocalDate> holidays() {
+    return holidayService.getHolidays(checkoutDate, returnDate);
+  }
+}
@@ -0,0 +1,103 @@
+package com.costacodecraft.toolrental.application.domain.service;
+
+import com.costacodecraft.toolrental.adapters.out.persistence.InMemoryOrderRepository;
+import com.costacodecraft.toolrental.adapters.out.persistence.InMemoryToolRepository;
+import com.costacodecraft.toolrental.application.domain.model.BrandName;
+import com.costacodecraft.toolrental.application.domain.model.Order.OrderId;
+import com.costacodecraft.toolrental.application.domain.model.Price;
+import com.costacodecraft.toolrental.application.domain.model.Tool;
+import com.costacodecraft.toolrental.application.domain.model.Tool.ToolId;
+import com.costacodecraft.toolrental.application.domain.model.ToolType;
+import com.costacodecraft.toolrental.application.port.in.CheckoutCommand;
+import com.costacodecraft.toolrental.application.port.out.CheckoutMetrics;
+import com.costacodecraft.toolrental.application.port.out.ToolRepository;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link CheckoutService#checkout(List)} end to end against the in-memory repositories,
+ * for batches of one to 100,000 commands spread over the four catalog tools. The order repository,
+ * rollups and top tools are replaced whenever the next batch would take them past 100,000 orders,
+ * so every batch size measures checkouts into repositories of the same bounded size rather than
+ * inserts into a map growing for the whole iteration. Replacing them costs little next to the
+ * batches it spans. Divide the score by the batch size for the time per command.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class CheckoutBenchmark {
+
+  private static final String[] TOOL_CODES = {"CHNS", "LADW", "JAKD", "JAKR"};
+  private static final int MAX_RETAINED_ORDERS = 100_000;
+
+  @Param({"1", "100", "10000", "100000"})
+  public int batchSize;
+
+  private final List<CheckoutCommand> commands = new ArrayList<>();
+  private ToolRepository toolRepository;
+  private CheckoutService checkoutService;
+  private int retainedOrders;
+
+  @Setup
+  public void setUp() {
+    toolRepository = new InMemoryToolRepository();
+    toolRepository.addTool(tool("CHNS", ToolType.CHAINSAW, BrandName.STIHL, 1.49, false, true));
+    toolRepository.addTool(tool("LADW", ToolType.LADDER, BrandName.WERNER, 1.99, true, false));
+    toolRepository.addTool(tool("JAKD", ToolType.JACKHAMMER, BrandName.DEWALT, 2.99, false,
+        false));
+    toolRepository.addTool(tool("JAKR", ToolType.JACKHAMMER, BrandName.REDGID, 2.99, false,
+        false));
+    for (int i = 0; i < batchSize; i++) {
+      commands.add(new CheckoutCommand(TOOL_CODES[i & 3], 1 + i % 14, i % 101,
+          LocalDate.of(2020 + i % 5, 1 + i % 12, 1 + i % 28)));
+    }
+  }
+
+  @Setup(Level.Iteration)
+  public void resetOrders() {
+    retainedOrders = 0;
+    CheckoutPricer checkoutPricer = new CheckoutPricer(toolRepository,
+        new GetChargeableDaysService(new GetHolidayService()), new CheckoutValidator());
+    checkoutService = new CheckoutService(checkoutPricer,
+        new CreateOrderService(new InMemoryOrderRepository(), CheckoutMetrics.NONE,
+            List.of(new RentalRollups(), new TopTools(7, 64, 1024))),
+        new IdempotencyIndex(1000, Duration.ofHours(1)));
+  }
+
+  @Benchmark
+  public List<OrderId> checkout() {
+    if (retainedOrders + batchSize > MAX_RETAINED_ORDERS) {
+      resetOrders();
+    }
+    retainedOrders += batchSize;
+    return checkoutService.checkout(commands);
+  }
+
+  private static Tool tool(String code, ToolType type, BrandName brand, double dailyCharge,
+      boolean weekendCharge, boolean holidayCharge) {
+    return new Tool(new ToolId(code), type, brand, Price.newBuilder()
+        .dailyCharge(dailyCharge)
+        .weekdayCharge(true)
+        .weekendCharge(weekendCharge)
+        .holidayCharge(holidayCharge)
+        .build());
+  }
+}
@@ -0,0 +1,72 @@
+package com.costacodecraft.toolrental.application.domain.service;
+
+import com.costacodecraft.toolrental.adapters.out.metrics.MicrometerCheckoutMetrics;
+import com.costacodecraft.toolrental.adapters.out.persistence.InMemoryToolRepository;
+import com.costacodecraft.toolrental.application.domain.model.BrandName;
+import com.costacodecraft.toolrental.application.domain.model.Price;
+import com.costacodecraft.toolrental.application.domain.model.RentalAgreement;
+import com.costacodecraft.toolrental.application.domain.model.Tool;
+import com.costacodecraft.toolrental.application.domain.model.Tool.ToolId;
+import com.costacodecraft.toolrental.application.domain.model.ToolType;
+import com.costacodecraft.toolrental.application.port.in.CheckoutCommand;
+import com.costacodecraft.toolrental.application.port.out.ToolRepository;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the overhead of {@link MicrometerCheckoutMetrics} on pricing a checkout:
+ * {@code sampleEvery} 0 records nothing, 128 is the default and 1 times every checkout.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CheckoutMetricsBenchmark {
+
+  @Param({"0", "128", "16", "1"})
+  public int sampleEvery;
+
+  private final CheckoutCommand[] commands = new CheckoutCommand[64];
+  private CheckoutPricer checkoutPricer;
+  private int next;
+
+  @Setup
+  public void setUp() {
+    ToolRepository toolRepository = new InMemoryToolRepository();
+    toolRepository.addTool(new Tool(new ToolId("LADW"), ToolType.LADDER, BrandName.WERNER,
+        Price.newBuilder()
+            .dailyCharge(1.99)
+            .weekdayCharge(true)
+            .weekendCharge(true)
+            .holidayCharge(false)
+            .build()));
+    checkoutPricer = new CheckoutPricer(toolRepository,
+        new GetChargeableDaysService(new GetHolidayService()), new CheckoutValidator(),
+        new MicrometerCheckoutMetrics(new PrometheusMeterRegistry(PrometheusConfig.DEFAULT),
+            sampleEvery));
+    for (int i = 0; i < commands.length; i++) {
+      commands[i] = new CheckoutCommand("LADW", 1 + i % 14, i % 101,
+          LocalDate.of(2024, 1 + i % 12, 1 + i % 28));
+    }
+  }
+
+  @Benchmark
+  public RentalAgreement price() {
+    return checkoutPricer.price(commands[next++ & (commands.length - 1)]);
+  }
+}
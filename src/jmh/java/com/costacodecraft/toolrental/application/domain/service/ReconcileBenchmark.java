@@ -0,0 +1,66 @@
+package com.costacodecraft.toolrental.application.domain.service;
+
+import com.costacodecraft.toolrental.adapters.out.persistence.DataLoader;
+import com.costacodecraft.toolrental.adapters.out.persistence.InMemoryOrderRepository;
+import com.costacodecraft.toolrental.adapters.out.persistence.InMemoryToolRepository;
+import com.costacodecraft.toolrental.application.domain.model.Order;
+import com.costacodecraft.toolrental.application.domain.model.Order.OrderId;
+import com.costacodecraft.toolrental.application.port.in.CheckoutCommand;
+import com.costacodecraft.toolrental.application.port.in.Reconciliation;
+import com.costacodecraft.toolrental.application.port.out.OrderRepository;
+import com.costacodecraft.toolrental.application.port.out.ToolRepository;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link ReconcileOrdersService#reconcile} over 100,000 stored orders with one to eight
+ * threads. On a machine with enough processors the time should fall in proportion to the threads.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReconcileBenchmark {
+
+  private static final String[] TOOL_CODES = {"CHNS", "LADW", "JAKD", "JAKR"};
+
+  @Param({"1", "2", "4", "8"})
+  public int parallelism;
+
+  private ReconcileOrdersService reconcileOrdersService;
+
+  @Setup
+  public void setUp() {
+    ToolRepository toolRepository = new InMemoryToolRepository();
+    new DataLoader(new AddToolService(toolRepository)).loadData();
+    CheckoutPricer checkoutPricer = new CheckoutPricer(toolRepository,
+        new GetChargeableDaysService(new GetHolidayService()), new CheckoutValidator());
+    OrderRepository orderRepository = new InMemoryOrderRepository();
+    for (int i = 0; i < 100_000; i++) {
+      orderRepository.createOrder(new Order(OrderId.autoGenerate(),
+          checkoutPricer.price(new CheckoutCommand(TOOL_CODES[i & 3], 1 + i % 30, i % 101,
+              LocalDate.of(2015 + i % 10, 1 + i % 12, 1 + i % 28)))));
+    }
+    reconcileOrdersService =
+        new ReconcileOrdersService(orderRepository, toolRepository, checkoutPricer,
+            parallelism);
+  }
+
+  @Benchmark
+  public Reconciliation reconcile() {
+    return reconcileOrdersService.reconcile(difference -> { });
+  }
+}
@@ -0,0 +1,128 @@
+package com.costacodecraft.toolrental;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Summarizes a flight recording into a latency breakdown of the checkout stages: for each tool
+ * rental event type (repository events per operation), the number of events, their total time and
+ * its share of the total checkout time, and their mean, p50, p99 and max latencies. Garbage
+ * collection pauses and contended locks are listed too, to tell them apart from slow stages.
+ * <p>
+ * Record with {@code -XX:StartFlightRecording=filename=checkout.jfr}, then run
+ * {@code ./gradlew jfrSummary -PjfrFile=checkout.jfr}.
+ */
+public final class JfrSummary {
+
+  private static final String EVENT_PREFIX = "com.costacodecraft.toolrental.";
+  private static final String CHECKOUT_EVENT = EVENT_PREFIX + "Checkout";
+  private static final List<String> JVM_EVENTS = List.of("jdk.GCPhasePause",
+      "jdk.JavaMonitorEnter");
+
+  private JfrSummary() {
+  }
+
+  public static void main(String[] args) throws IOException {
+    if (args.length != 1) {
+      throw new IllegalArgumentException("Usage: JfrSummary <recording.jfr>");
+    }
+    List<Stage> stages = summarize(Path.of(args[0]));
+    long checkoutNanos = stages.stream()
+        .filter(stage -> stage.eventName.equals(CHECKOUT_EVENT))
+        .mapToLong(Stage::totalNanos)
+        .sum();
+    System.out.printf("%-32s %9s %11s %7s %10s %10s %10s %10s%n", "stage", "count", "total ms",
+        "share", "mean us", "p50 us", "p99 us", "max us");
+    for (Stage stage : stages) {
+      String share = checkoutNanos == 0
+          ? "-"
+          : String.format("%.1f%%", 100.0 * stage.totalNanos() / checkoutNanos);
+      System.out.printf("%-32s %9d %11.1f %7s %10.1f %10.1f %10.1f %10.1f%n", stage.name,
+          stage.count(), stage.totalNanos() / 1e6, share,
+          stage.totalNanos() / 1e3 / stage.count(), stage.percentile(0.50) / 1e3,
+          stage.percentile(0.99) / 1e3, stage.percentile(1.0) / 1e3);
+    }
+  }
+
+  /**
+   * Reads the stages of a recording.
+   *
+   * @param recording the recording file
+   * @return the stages, the most time-consuming first
+   * @throws IOException if the recording cannot be read
+   */
+  static List<Stage> summarize(Path recording) throws IOException {
+    Map<String, Stage> stages = new TreeMap<>();
+    try (RecordingFile file = new RecordingFile(recording)) {
+      while (file.hasMoreEvents()) {
+        RecordedEvent event = file.readEvent();
+        String eventName = event.getEventType().getName();
+        if (!eventName.startsWith(EVENT_PREFIX) && !JVM_EVENTS.contains(eventName)) {
+          continue;
+        }
+        String name = event.getEventType().getLabel();
+        if (event.hasField("operation") && event.getString("operation") != null) {
+          name += " " + event.getString("operation");
+        }
+        stages.computeIfAbsent(name, key -> new Stage(key, eventName))
+            .add(event.getDuration());
+      }
+    }
+    List<Stage> sorted = new ArrayList<>(stages.values());
+    sorted.sort(Comparator.comparingLong(Stage::totalNanos).reversed());
+    return sorted;
+  }
+
+  /**
+   * The latencies of the events of one stage.
+   */
+  static final class Stage {
+
+    private final String name;
+    private final String eventName;
+    private long[] latencies = new long[64];
+    private int count;
+    private long totalNanos;
+    private boolean sorted;
+
+    Stage(String name, String eventName) {
+      this.name = name;
+      this.eventName = eventName;
+    }
+
+    void add(Duration latency) {
+      if (count == latencies.length) {
+        latencies = Arrays.copyOf(latencies, count * 2);
+      }
+      latencies[count++] = latency.toNanos();
+      totalNanos += latency.toNanos();
+      sorted = false;
+    }
+
+    int count() {
+      return count;
+    }
+
+    long totalNanos() {
+      return totalNanos;
+    }
+
+    long percentile(double percentile) {
+      if (!sorted) {
+        Arrays.sort(latencies, 0, count);
+        sorted = true;
+      }
+      int index = (int) Math.ceil(percentile * count) - 1;
+      return latencies[Math.max(0, index)];
+    }
+  }
+}
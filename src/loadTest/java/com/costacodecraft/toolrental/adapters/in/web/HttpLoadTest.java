@@ -0,0 +1,315 @@
+package com.costacodecraft.toolrental.adapters.in.web;
+
+import com.costacodecraft.toolrental.ToolRentalApplication;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Load test of the HTTP API. By default it is closed-loop: a fixed number of virtual threads each
+ * send one request at a time for a fixed duration, after a warm-up. With {@code --rate} it is
+ * open-loop instead: requests are sent at a fixed rate whether or not earlier ones were answered,
+ * and latency is measured from when each request was due, which shows how the server behaves when
+ * offered more than it can handle. At most {@code --concurrency} requests are outstanding at once,
+ * to keep the number of connections bounded. The throughput, the requests rejected as overloaded
+ * (503) and the latency percentiles of the other requests are printed.
+ * <p>
+ * Options: {@code --url} of a running server (by default the application is started in this JVM
+ * on a free port), {@code --scenario} ({@code checkout}, {@code batch}, {@code quote},
+ * {@code order}, {@code tools} or {@code mixed}, the default), {@code --concurrency} (64),
+ * {@code --rate} in requests per second, {@code --duration} and {@code --warmup} in seconds (30
+ * and 5), and {@code --batch-size} (10).
+ */
+public final class HttpLoadTest {
+
+  private static final Pattern ORDER_ID = Pattern.compile("\"id\":\"([0-9a-f-]{36})\"");
+  private static final String[] TOOL_CODES = {"CHNS", "LADW", "JAKD", "JAKR"};
+
+  private final HttpClient client;
+  private final URI baseUri;
+  private final String scenario;
+  private final int batchSize;
+  private final List<String> orderIds = new ArrayList<>();
+
+  private HttpLoadTest(HttpClient client, URI baseUri, String scenario, int batchSize) {
+    this.client = client;
+    this.baseUri = baseUri;
+    this.scenario = scenario;
+    this.batchSize = batchSize;
+  }
+
+  public static void main(String[] args) throws Exception {
+    Map<String, String> options = parse(args);
+    String scenario = options.getOrDefault("scenario", "mixed");
+    int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "64"));
+    int duration = Integer.parseInt(options.getOrDefault("duration", "30"));
+    int warmup = Integer.parseInt(options.getOrDefault("warmup", "5"));
+    int batchSize = Integer.parseInt(options.getOrDefault("batch-size", "10"));
+    int rate = Integer.parseInt(options.getOrDefault("rate", "0"));
+
+    ConfigurableApplicationContext context = null;
+    URI baseUri;
+    if (options.containsKey("url")) {
+      baseUri = URI.create(options.get("url"));
+    } else {
+      context = ToolRentalApplication.run("--http=0");
+      InetSocketAddress address = context.getBean(HttpApiServer.class).getAddress();
+      baseUri = URI.create("http://127.0.0.1:" + address.getPort());
+    }
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      HttpClient client = HttpClient.newBuilder()
+          .version(HttpClient.Version.HTTP_1_1)
+          .executor(executor)
+          .connectTimeout(Duration.ofSeconds(5))
+          .build();
+      HttpLoadTest loadTest = new HttpLoadTest(client, baseUri, scenario, batchSize);
+      loadTest.seedOrders(100);
+      Result result;
+      if (rate > 0) {
+        System.out.printf("Load test of %s: scenario %s, %d requests per second%n", baseUri,
+            scenario, rate);
+        loadTest.runAtRate(executor, rate, concurrency, TimeUnit.SECONDS.toNanos(warmup));
+        result = loadTest.runAtRate(executor, rate, concurrency,
+            TimeUnit.SECONDS.toNanos(duration));
+      } else {
+        System.out.printf("Load test of %s: scenario %s, %d concurrent clients%n", baseUri,
+            scenario, concurrency);
+        loadTest.run(executor, concurrency, TimeUnit.SECONDS.toNanos(warmup));
+        result = loadTest.run(executor, concurrency, TimeUnit.SECONDS.toNanos(duration));
+      }
+      result.print(duration);
+    } finally {
+      if (context != null) {
+        context.close();
+      }
+    }
+  }
+
+  private Result run(ExecutorService executor, int concurrency, long durationNanos)
+      throws Exception {
+    long deadline = System.nanoTime() + durationNanos;
+    List<Future<Result>> workers = new ArrayList<>();
+    for (int i = 0; i < concurrency; i++) {
+      workers.add(executor.submit(() -> work(deadline)));
+    }
+    List<Result> results = new ArrayList<>(workers.size());
+    for (Future<Result> worker : workers) {
+      results.add(worker.get());
+    }
+    return Result.merge(results);
+  }
+
+  private Result runAtRate(ExecutorService executor, int rate, int maxOutstanding,
+      long durationNanos) throws Exception {
+    long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+    long start = System.nanoTime();
+    long requests = durationNanos / interval;
+    Semaphore outstanding = new Semaphore(maxOutstanding);
+    List<Future<Result>> sent = new ArrayList<>();
+    for (long i = 0; i < requests; i++) {
+      long due = start + i * interval;
+      long wait = due - System.nanoTime();
+      if (wait > 0) {
+        LockSupport.parkNanos(wait);
+      }
+      // a request that waits for a connection is still timed from when it was due
+      outstanding.acquire();
+      HttpRequest request = nextRequest();
+      sent.add(executor.submit(() -> {
+        Recorder recorder = new Recorder(1);
+        try {
+          recorder.record(send(request), due);
+        } finally {
+          outstanding.release();
+        }
+        return recorder.toResult();
+      }));
+    }
+    List<Result> results = new ArrayList<>(sent.size());
+    for (Future<Result> request : sent) {
+      results.add(request.get());
+    }
+    return Result.merge(results);
+  }
+
+  private Result work(long deadline) {
+    Recorder recorder = new Recorder(1024);
+    while (System.nanoTime() < deadline) {
+      HttpRequest request = nextRequest();
+      long start = System.nanoTime();
+      recorder.record(send(request), start);
+    }
+    return recorder.toResult();
+  }
+
+  private int send(HttpRequest request) {
+    try {
+      return client.send(request, BodyHandlers.discarding()).statusCode();
+    } catch (Exception e) {
+      return -1;
+    }
+  }
+
+  private HttpRequest nextRequest() {
+    String next = scenario;
+    if (next.equals("mixed")) {
+      // ten quotes for every checkout
+      int pick = ThreadLocalRandom.current().nextInt(20);
+      next = pick < 10 ? "quote" : pick < 16 ? "order" : pick < 17 ? "checkout"
+          : pick < 18 ? "batch" : "tools";
+    }
+    return switch (next) {
+      case "checkout" -> post("/checkout", checkoutJson());
+      case "quote" -> post("/quote", checkoutJson());
+      case "batch" -> {
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < batchSize; i++) {
+          body.append(i == 0 ? "" : ",").append(checkoutJson());
+        }
+        yield post("/checkout/batch", body.append(']').toString());
+      }
+      case "order" -> HttpRequest.newBuilder(baseUri.resolve(
+          "/orders/" + orderIds.get(ThreadLocalRandom.current().nextInt(orderIds.size()))))
+          .GET()
+          .build();
+      case "tools" -> HttpRequest.newBuilder(baseUri.resolve("/tools")).GET().build();
+      default -> throw new IllegalArgumentException("Unknown scenario: " + scenario);
+    };
+  }
+
+  private void seedOrders(int count) throws Exception {
+    for (int i = 0; i < count; i++) {
+      HttpResponse<String> response = client.send(post("/checkout", checkoutJson()),
+          BodyHandlers.ofString());
+      Matcher matcher = ORDER_ID.matcher(response.body());
+      if (response.statusCode() != 201 || !matcher.find()) {
+        throw new IllegalStateException("Seeding failed: " + response.body());
+      }
+      orderIds.add(matcher.group(1));
+    }
+  }
+
+  private HttpRequest post(String path, String body) {
+    return HttpRequest.newBuilder(baseUri.resolve(path))
+        .header("Content-Type", "application/json")
+        .POST(BodyPublishers.ofString(body))
+        .build();
+  }
+
+  private static String checkoutJson() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    return String.format(Locale.ROOT,
+        "{\"toolCode\":\"%s\",\"rentalDays\":%d,\"discountPercentage\":%d,"
+            + "\"checkoutDate\":\"2024-%02d-%02d\"}",
+        TOOL_CODES[random.nextInt(TOOL_CODES.length)], random.nextInt(1, 15),
+        random.nextInt(0, 101), random.nextInt(1, 13), random.nextInt(1, 29));
+  }
+
+  private static Map<String, String> parse(String[] args) {
+    Map<String, String> options = new HashMap<>();
+    for (String arg : args) {
+      if (!arg.startsWith("--") || !arg.contains("=")) {
+        throw new IllegalArgumentException("Expected --name=value but got " + arg);
+      }
+      int separator = arg.indexOf('=');
+      options.put(arg.substring(2, separator), arg.substring(separator + 1));
+    }
+    return options;
+  }
+
+  /**
+   * Collects the latencies of the answered requests of one client, and counts the rejected ones.
+   */
+  private static final class Recorder {
+
+    private long[] latencies;
+    private int count;
+    private int rejected;
+    private int errors;
+
+    Recorder(int capacity) {
+      latencies = new long[capacity];
+    }
+
+    void record(int status, long start) {
+      long latency = System.nanoTime() - start;
+      if (status == 503) {
+        rejected++;
+        return;
+      }
+      if (status < 0 || status >= 400) {
+        errors++;
+      }
+      if (count == latencies.length) {
+        latencies = Arrays.copyOf(latencies, count * 2);
+      }
+      latencies[count++] = latency;
+    }
+
+    Result toResult() {
+      return new Result(latencies, count, rejected, errors);
+    }
+  }
+
+  private record Result(long[] latencies, int count, int rejected, int errors) {
+
+    // copies every latency once, as the open-loop mode has one result per request
+    static Result merge(List<Result> results) {
+      int count = 0;
+      int rejected = 0;
+      int errors = 0;
+      for (Result result : results) {
+        count += result.count;
+        rejected += result.rejected;
+        errors += result.errors;
+      }
+      long[] merged = new long[count];
+      int offset = 0;
+      for (Result result : results) {
+        System.arraycopy(result.latencies, 0, merged, offset, result.count);
+        offset += result.count;
+      }
+      return new Result(merged, count, rejected, errors);
+    }
+
+    void print(int durationSeconds) {
+      long[] sorted = Arrays.copyOf(latencies, count);
+      Arrays.sort(sorted);
+      System.out.printf("requests %d, rejected %d, errors %d, throughput %.0f req/s%n",
+          count + rejected, rejected, errors, count / (double) durationSeconds);
+      System.out.printf(
+          "latency p50 %.3f ms, p90 %.3f ms, p99 %.3f ms, p99.9 %.3f ms, max %.3f ms%n",
+          millis(sorted, 0.50), millis(sorted, 0.90), millis(sorted, 0.99), millis(sorted, 0.999),
+          millis(sorted, 1.0));
+    }
+
+    private static double millis(long[] sorted, double percentile) {
+      if (sorted.length == 0) {
+        return 0;
+      }
+      int index = (int) Math.ceil(percentile * sorted.length) - 1;
+      return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+  }
+}
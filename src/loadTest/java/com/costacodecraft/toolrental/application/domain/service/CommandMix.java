@@ -0,0 +1,85 @@
+package com.costacodecraft.toolrental.application.domain.service;
+
+import com.costacodecraft.toolrental.application.port.in.CheckoutCommand;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.temporal.TemporalAdjusters;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generates checkout commands shaped like real traffic rather than uniformly random ones:
+ * <ul>
+ *   <li>tool popularity follows a Zipf distribution, the ladder being rented most and the REDGID
+ *   jackhammer least;</li>
+ *   <li>a third of the rentals start in the week before Independence Day or Labor Day, so that they
+ *   span a holiday;</li>
+ *   <li>most rentals last a few days, but some last weeks and a few up to a year;</li>
+ *   <li>most rentals have no discount.</li>
+ * </ul>
+ */
+final class CommandMix {
+
+  static final String[] TOOL_CODES = {"LADW", "CHNS", "JAKD", "JAKR"};
+
+  private final double[] cumulativePopularity = new double[TOOL_CODES.length];
+
+  /**
+   * Creates a mix whose tool popularity follows a Zipf distribution.
+   *
+   * @param skew the exponent of the distribution, 0 for tools that are all as popular
+   */
+  CommandMix(double skew) {
+    double total = 0;
+    for (int rank = 0; rank < TOOL_CODES.length; rank++) {
+      total += 1 / Math.pow(rank + 1, skew);
+      cumulativePopularity[rank] = total;
+    }
+    for (int rank = 0; rank < TOOL_CODES.length; rank++) {
+      cumulativePopularity[rank] /= total;
+    }
+  }
+
+  /**
+   * Generates the next command.
+   *
+   * @return a checkout command
+   */
+  CheckoutCommand next() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    return new CheckoutCommand(nextToolCode(random), nextRentalDays(random),
+        random.nextInt(10) < 7 ? 0 : 5 * random.nextInt(1, 11), nextCheckoutDate(random));
+  }
+
+  private String nextToolCode(ThreadLocalRandom random) {
+    double pick = random.nextDouble();
+    for (int rank = 0; rank < TOOL_CODES.length - 1; rank++) {
+      if (pick < cumulativePopularity[rank]) {
+        return TOOL_CODES[rank];
+      }
+    }
+    return TOOL_CODES[TOOL_CODES.length - 1];
+  }
+
+  private static int nextRentalDays(ThreadLocalRandom random) {
+    int pick = random.nextInt(100);
+    if (pick < 80) {
+      return random.nextInt(1, 8);
+    }
+    return pick < 95 ? random.nextInt(8, 31) : random.nextInt(31, 366);
+  }
+
+  private static LocalDate nextCheckoutDate(ThreadLocalRandom random) {
+    int year = random.nextInt(2015, 2026);
+    int pick = random.nextInt(6);
+    if (pick == 0) {
+      return LocalDate.of(year, Month.JULY, 4).minusDays(random.nextInt(1, 8));
+    }
+    if (pick == 1) {
+      LocalDate laborDay = LocalDate.of(year, Month.SEPTEMBER, 1)
+          .with(TemporalAdjusters.firstInMonth(DayOfWeek.MONDAY));
+      return laborDay.minusDays(random.nextInt(1, 8));
+    }
+    return LocalDate.ofYearDay(year, random.nextInt(1, 366));
+  }
+}
@@ -0,0 +1,316 @@
+package com.costacodecraft.toolrental.application.domain.service;
+
+import com.costacodecraft.toolrental.adapters.out.metrics.MicrometerCheckoutMetrics;
+import com.costacodecraft.toolrental.adapters.out.persistence.DataLoader;
+import com.costacodecraft.toolrental.adapters.out.persistence.InMemoryOrderRepository;
+import com.costacodecraft.toolrental.adapters.out.persistence.InMemoryToolRepository;
+import com.costacodecraft.toolrental.application.domain.model.Order.OrderId;
+import com.costacodecraft.toolrental.application.port.in.CheckoutCommand;
+import com.costacodecraft.toolrental.application.port.in.CheckoutUseCase;
+import com.costacodecraft.toolrental.application.port.in.GetOrderUseCase;
+import com.costacodecraft.toolrental.application.port.in.QuoteUseCase;
+import com.costacodecraft.toolrental.application.port.out.CheckoutMetrics;
+import com.costacodecraft.toolrental.application.port.out.OrderRepository;
+import com.costacodecraft.toolrental.application.port.out.ToolRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Load test of the checkout engine itself, without HTTP: checkouts, quotes and order lookups are
+ * sent straight to the use cases, built as the application builds them, with commands from a
+ * {@link CommandMix}.
+ * <p>
+ * Each of {@code --threads} threads sends one request at a time on a fixed schedule, its share of
+ * the target rate. Threads park until {@code --spin-us} microseconds (100) before a request is due
+ * and spin from there, since parking alone oversleeps by tens of microseconds; use 0 when there
+ * are fewer processors than threads, where spinning would take time away from the engine.
+ * <p>
+ * Latency is measured from when a request was due rather than when it was sent, so a stall delays
+ * every request scheduled during it and shows up in the percentiles, instead of silently lowering
+ * the offered load (coordinated omission). Requests still due when a step ends are recorded with
+ * the time they had waited.
+ * <p>
+ * After a warm-up at the first rate, every rate of {@code --rates} is run for {@code --duration}
+ * seconds. For each, the achieved throughput and the latency percentiles of each operation are
+ * printed, the full HdrHistogram percentile distributions are written to
+ * {@code <output>/rate-<rate>-<operation>.hgrm}, and a line is added to the throughput-latency
+ * curve {@code <output>/curve.csv}.
+ * <p>
+ * Options: {@code --threads} (4), {@code --rates} in requests per second (1000,2000,4000,8000),
+ * {@code --duration} and {@code --warmup} in seconds (20 and 5), {@code --mix} of
+ * checkout:quote:order requests (1:10:6), {@code --skew} of the tool popularity (1.0),
+ * {@code --spin-us} (100) and {@code --output} (build/load-test).
+ */
+public final class EngineLoadTest {
+
+  /**
+   * The requests sent to the engine.
+   */
+  enum Operation {
+    CHECKOUT,
+    QUOTE,
+    ORDER
+  }
+
+  private static final Operation[] OPERATIONS = Operation.values();
+
+  private final CheckoutUseCase checkoutUseCase;
+  private final QuoteUseCase quoteUseCase;
+  private final GetOrderUseCase getOrderUseCase;
+  private final CommandMix commandMix;
+  private final int[] cumulativeMix = new int[OPERATIONS.length];
+  private final List<OrderId> orderIds = new ArrayList<>();
+  private final long spinNanos;
+
+  private EngineLoadTest(CommandMix commandMix, int[] mix, long spinNanos) {
+    ToolRepository toolRepository = new InMemoryToolRepository();
+    new DataLoader(new AddToolService(toolRepository)).loadData();
+    OrderRepository orderRepository = new InMemoryOrderRepository();
+    CheckoutMetrics checkoutMetrics =
+        new MicrometerCheckoutMetrics(new SimpleMeterRegistry(), 128);
+    CheckoutPricer checkoutPricer = new CheckoutPricer(toolRepository,
+        new GetChargeableDaysService(new GetHolidayService()), new CheckoutValidator(),
+        checkoutMetrics);
+    this.checkoutUseCase = new CheckoutService(checkoutPricer,
+        new CreateOrderService(orderRepository, checkoutMetrics,
+            List.of(new RentalRollups(), new TopTools(7, 64, 1024))),
+        new IdempotencyIndex(100_000, Duration.ofHours(24)));
+    this.quoteUseCase = new QuoteService(checkoutPricer);
+    this.getOrderUseCase = new GetOrderService(orderRepository);
+    this.commandMix = commandMix;
+    this.spinNanos = spinNanos;
+    int total = 0;
+    for (int i = 0; i < mix.length; i++) {
+      total += mix[i];
+      cumulativeMix[i] = total;
+    }
+  }
+
+  public static void main(String[] args) throws Exception {
+    Map<String, String> options = parse(args);
+    int threads = Integer.parseInt(options.getOrDefault("threads", "4"));
+    int[] rates = Arrays.stream(options.getOrDefault("rates", "1000,2000,4000,8000").split(","))
+        .mapToInt(Integer::parseInt)
+        .toArray();
+    int duration = Integer.parseInt(options.getOrDefault("duration", "20"));
+    int warmup = Integer.parseInt(options.getOrDefault("warmup", "5"));
+    int[] mix = Arrays.stream(options.getOrDefault("mix", "1:10:6").split(":"))
+        .mapToInt(Integer::parseInt)
+        .toArray();
+    double skew = Double.parseDouble(options.getOrDefault("skew", "1.0"));
+    Path output = Path.of(options.getOrDefault("output", "build/load-test"));
+    long spinNanos = TimeUnit.MICROSECONDS.toNanos(
+        Long.parseLong(options.getOrDefault("spin-us", "100")));
+    if (mix.length != OPERATIONS.length) {
+      throw new IllegalArgumentException("Expected --mix=checkout:quote:order");
+    }
+
+    EngineLoadTest loadTest = new EngineLoadTest(new CommandMix(skew), mix, spinNanos);
+    loadTest.seedOrders(1000);
+    System.out.printf("Engine load test: %d threads, mix %s, skew %.1f%n", threads,
+        options.getOrDefault("mix", "1:10:6"), skew);
+    loadTest.run(threads, rates[0], TimeUnit.SECONDS.toNanos(warmup));
+    Files.createDirectories(output);
+    Path curveFile = output.resolve("curve.csv");
+    try (PrintWriter curve = new PrintWriter(Files.newBufferedWriter(curveFile))) {
+      curve.println("rate,throughput,p50_us,p90_us,p99_us,p99.9_us,max_us");
+      for (int rate : rates) {
+        Step step = loadTest.run(threads, rate, TimeUnit.SECONDS.toNanos(duration));
+        step.print(duration);
+        step.write(output);
+        Histogram all = step.all();
+        curve.printf(Locale.ROOT, "%d,%.0f,%.1f,%.1f,%.1f,%.1f,%.1f%n", rate,
+            step.sent.sum() / (double) duration, micros(all, 50), micros(all, 90),
+            micros(all, 99), micros(all, 99.9), all.getMaxValue() / 1000.0);
+        curve.flush();
+      }
+    }
+    System.out.printf("Percentile distributions and curve.csv written to %s%n", output);
+  }
+
+  private Step run(int threads, int rate, long durationNanos) throws InterruptedException {
+    Step step = new Step(rate);
+    long intervalNanos = TimeUnit.SECONDS.toNanos(threads) / rate;
+    long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(10);
+    long deadline = start + durationNanos;
+    List<Thread> workers = new ArrayList<>();
+    for (int i = 0; i < threads; i++) {
+      // spread the threads over the interval rather than sending in bursts
+      long first = start + intervalNanos * i / threads;
+      workers.add(Thread.ofPlatform().name("load-" + i)
+          .start(() -> work(step, first, intervalNanos, deadline)));
+    }
+    for (Thread worker : workers) {
+      worker.join();
+    }
+    return step;
+  }
+
+  private void work(Step step, long first, long intervalNanos, long deadline) {
+    for (long due = first; due < deadline; due += intervalNanos) {
+      Operation operation = nextOperation();
+      CheckoutCommand command = commandMix.next();
+      long now = System.nanoTime();
+      if (now >= deadline) {
+        // behind schedule at the end: what is left waited until now at least
+        for (; due < deadline; due += intervalNanos) {
+          step.latencies[nextOperation().ordinal()].recordValue(now - due);
+          step.unsent.increment();
+        }
+        return;
+      }
+      // parking oversleeps by tens of microseconds, which would be counted against the engine
+      if (due - now > spinNanos) {
+        LockSupport.parkNanos(due - now - spinNanos);
+      }
+      while (System.nanoTime() < due) {
+        Thread.onSpinWait();
+      }
+      long begin = System.nanoTime();
+      try {
+        execute(operation, command);
+      } catch (RuntimeException e) {
+        step.errors.increment();
+      }
+      long end = System.nanoTime();
+      step.latencies[operation.ordinal()].recordValue(end - due);
+      step.serviceTimes.recordValue(end - begin);
+      step.sent.increment();
+    }
+  }
+
+  private void execute(Operation operation, CheckoutCommand command) {
+    switch (operation) {
+      case CHECKOUT -> checkoutUseCase.checkout(List.of(command));
+      case QUOTE -> quoteUseCase.quote(command);
+      case ORDER -> getOrderUseCase.getOrder(
+          orderIds.get(ThreadLocalRandom.current().nextInt(orderIds.size())));
+      default -> throw new IllegalStateException("Unknown operation: " + operation);
+    }
+  }
+
+  private Operation nextOperation() {
+    int pick = ThreadLocalRandom.current().nextInt(cumulativeMix[cumulativeMix.length - 1]);
+    for (int i = 0; i < cumulativeMix.length - 1; i++) {
+      if (pick < cumulativeMix[i]) {
+        return OPERATIONS[i];
+      }
+    }
+    return OPERATIONS[OPERATIONS.length - 1];
+  }
+
+  private void seedOrders(int count) {
+    for (int i = 0; i < count; i++) {
+      orderIds.addAll(checkoutUseCase.checkout(List.of(commandMix.next())));
+    }
+  }
+
+  private static double micros(Histogram histogram, double percentile) {
+    return histogram.getValueAtPercentile(percentile) / 1000.0;
+  }
+
+  private static Map<String, String> parse(String[] args) {
+    Map<String, String> options = new HashMap<>();
+    for (String arg : args) {
+      if (!arg.startsWith("--") || !arg.contains("=")) {
+        throw new IllegalArgumentException("Expected --name=value but got " + arg);
+      }
+      int separator = arg.indexOf('=');
+      options.put(arg.substring(2, separator), arg.substring(separator + 1));
+    }
+    return options;
+  }
+
+  /**
+   * The latencies of one rate, in nanoseconds: per operation from when each request was due, and
+   * for all operations from when each was sent.
+   */
+  private static final class Step {
+
+    private final int rate;
+    private final Recorder[] latencies = new Recorder[OPERATIONS.length];
+    private final Recorder serviceTimes = new Recorder(3);
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder unsent = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private Histogram[] histograms;
+    private Histogram serviceTimeHistogram;
+
+    Step(int rate) {
+      this.rate = rate;
+      for (int i = 0; i < latencies.length; i++) {
+        latencies[i] = new Recorder(3);
+      }
+    }
+
+    Histogram[] histograms() {
+      if (histograms == null) {
+        histograms = new Histogram[latencies.length];
+        for (int i = 0; i < latencies.length; i++) {
+          histograms[i] = latencies[i].getIntervalHistogram();
+        }
+        serviceTimeHistogram = serviceTimes.getIntervalHistogram();
+      }
+      return histograms;
+    }
+
+    Histogram all() {
+      Histogram all = new Histogram(3);
+      for (Histogram histogram : histograms()) {
+        all.add(histogram);
+      }
+      return all;
+    }
+
+    void print(int durationSeconds) {
+      System.out.printf("%nrate %d req/s: throughput %.0f req/s, %d unsent, %d errors%n", rate,
+          sent.sum() / (double) durationSeconds, unsent.sum(), errors.sum());
+      System.out.printf("  %-14s %9s %10s %10s %10s %10s %10s%n", "operation", "count", "p50 us",
+          "p90 us", "p99 us", "p99.9 us", "max us");
+      for (Operation operation : OPERATIONS) {
+        print(operation.name().toLowerCase(Locale.ROOT), histograms()[operation.ordinal()]);
+      }
+      print("all", all());
+      print("service time", serviceTimeHistogram);
+    }
+
+    private static void print(String name, Histogram histogram) {
+      System.out.printf("  %-14s %9d %10.1f %10.1f %10.1f %10.1f %10.1f%n", name,
+          histogram.getTotalCount(), micros(histogram, 50), micros(histogram, 90),
+          micros(histogram, 99), micros(histogram, 99.9), histogram.getMaxValue() / 1000.0);
+    }
+
+    void write(Path output) throws IOException {
+      for (Operation operation : OPERATIONS) {
+        write(output, operation.name().toLowerCase(Locale.ROOT),
+            histograms()[operation.ordinal()]);
+      }
+      write(output, "all", all());
+    }
+
+    private void write(Path output, String name, Histogram histogram) throws IOException {
+      Path file = output.resolve("rate-" + rate + "-" + name + ".hgrm");
+      try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+        // in microseconds
+        histogram.outputPercentileDistribution(out, 1000.0);
+      }
+    }
+  }
+}
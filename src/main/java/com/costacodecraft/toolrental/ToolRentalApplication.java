@@ -1,8 +1,12 @@
 package com.costacodecraft.toolrental;
 
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import java.time.Clock;
 import java.util.Scanner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.Bean;
 
 /**
@@ -12,7 +16,22 @@ import org.springframework.context.annotation.Bean;
 public class ToolRentalApplication {
 
   public static void main(String[] args) {
-    SpringApplication.run(ToolRentalApplication.class, args);
+    run(args);
+  }
+
+  /**
+   * Starts the application as {@link #main(String[])} does, including its JVM-wide settings.
+   *
+   * @param args the command line arguments
+   * @return the application context
+   */
+  public static ConfigurableApplicationContext run(String... args) {
+    // without it, small HTTP API responses wait for the client's delayed ACK (Nagle's
+    // algorithm); the JDK server reads it once, so it must be set before the server class loads
+    if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+      System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+    return SpringApplication.run(ToolRentalApplication.class, args);
   }
 
   @Bean
@@ -20,4 +39,14 @@ public class ToolRentalApplication {
     return new Scanner(System.in);
   }
 
+  @Bean
+  PrometheusMeterRegistry meterRegistry() {
+    return new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+  }
+
+  @Bean
+  Clock clock() {
+    return Clock.systemDefaultZone();
+  }
+
 }
@@ -0,0 +1,209 @@
+package com.costacodecraft.toolrental.adapters.in.batch;
+
+import com.costacodecraft.toolrental.adapters.in.batch.CheckoutCommandReader.Chunk;
+import com.costacodecraft.toolrental.adapters.in.cli.ParserHelper;
+import com.costacodecraft.toolrental.adapters.in.cli.RunMode;
+import com.costacodecraft.toolrental.application.domain.exception.IdempotencyKeyReusedException;
+import com.costacodecraft.toolrental.application.domain.exception.InvalidDataEntryException;
+import com.costacodecraft.toolrental.application.domain.exception.InvalidDiscountException;
+import com.costacodecraft.toolrental.application.domain.exception.InvalidRentalDayException;
+import com.costacodecraft.toolrental.application.domain.exception.ToolNotFoundException;
+import com.costacodecraft.toolrental.application.domain.model.Order;
+import com.costacodecraft.toolrental.application.domain.model.Order.OrderId;
+import com.costacodecraft.toolrental.application.domain.model.ReceiptRenderer;
+import com.costacodecraft.toolrental.application.port.in.CheckoutUseCase;
+import com.costacodecraft.toolrental.application.port.in.CheckoutValidation;
+import com.costacodecraft.toolrental.application.port.in.GetOrderUseCase;
+import com.costacodecraft.toolrental.application.port.in.ValidateCheckoutUseCase;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Non-interactive checkout of every command in a file, selected with {@code --batch=<file>}.
+ * <p>
+ * Commands are fed to the {@link CheckoutUseCase} in chunks of {@code --batch-chunk-size}
+ * (default 1000) and the resulting rental agreements are written to {@code --batch-output}, or to
+ * the standard output when no output file is given. Each chunk is validated first with the
+ * {@link ValidateCheckoutUseCase}, and its invalid commands are reported and skipped without
+ * checking them out. Should the chunk still fail, for example because a tool was removed from the
+ * catalog meanwhile, it is retried one command at a time. An order that was checked out but cannot
+ * be read back has no rental agreement to write; it is logged and counted as unwritten.
+ */
+@Component
+public class BatchCheckoutRunner implements ApplicationRunner {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(BatchCheckoutRunner.class);
+  private static final int DEFAULT_CHUNK_SIZE = 1000;
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private static final String SEPARATOR = "*".repeat(35);
+  private static final String CHUNK_SIZE_OPTION = "batch-chunk-size";
+
+  private final CheckoutUseCase checkoutUseCase;
+  private final ValidateCheckoutUseCase validateCheckoutUseCase;
+  private final GetOrderUseCase orderUseCase;
+  private final ObjectMapper objectMapper;
+
+  public BatchCheckoutRunner(CheckoutUseCase checkoutUseCase,
+      ValidateCheckoutUseCase validateCheckoutUseCase, GetOrderUseCase orderUseCase,
+      ObjectMapper objectMapper) {
+    this.checkoutUseCase = checkoutUseCase;
+    this.validateCheckoutUseCase = validateCheckoutUseCase;
+    this.orderUseCase = orderUseCase;
+    this.objectMapper = objectMapper;
+  }
+
+  @Override
+  public void run(ApplicationArguments args) throws IOException {
+    if (RunMode.from(args) != RunMode.BATCH) {
+      return;
+    }
+    Path input = Path.of(requiredOption(args, RunMode.BATCH.getOption()));
+    int chunkSize = chunkSize(args);
+    List<String> output = args.getOptionValues("batch-output");
+    if (output == null) {
+      Writer writer = new BufferedWriter(
+          new OutputStreamWriter(System.out, StandardCharsets.UTF_8), BUFFER_SIZE);
+      process(input, chunkSize, writer);
+      writer.flush();
+      return;
+    }
+    try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+        Files.newOutputStream(Path.of(output.getFirst())), StandardCharsets.UTF_8), BUFFER_SIZE)) {
+      process(input, chunkSize, writer);
+    }
+  }
+
+  /**
+   * Checks out every command in the input file and writes the rental agreements.
+   *
+   * @param input the file with the checkout commands
+   * @param chunkSize the number of commands checked out at once
+   * @param writer the writer for the rental agreements
+   * @return the number of orders checked out whose rental agreement could not be written
+   * @throws IOException if the input cannot be read or the output cannot be written
+   */
+  long process(Path input, int chunkSize, Writer writer) throws IOException {
+    long start = System.nanoTime();
+    long checkedOut = 0;
+    long rejected = 0;
+    long unwritten = 0;
+    try (CheckoutCommandReader reader = CheckoutCommandReader.open(input, objectMapper)) {
+      Chunk chunk;
+      while (!(chunk = reader.readChunk(chunkSize)).isEmpty()) {
+        CheckoutValidation validation = validateCheckoutUseCase.validate(chunk.commands());
+        rejected += RejectedLines.log(LOGGER, chunk, validation);
+        chunk = chunk.validOnly(validation);
+        if (chunk.commands().isEmpty()) {
+          continue;
+        }
+        try {
+          List<OrderId> orderIds = checkoutUseCase.checkout(chunk.commands());
+          unwritten += orderIds.size() - writeOrders(orderIds, writer);
+          checkedOut += orderIds.size();
+        } catch (InvalidDiscountException | InvalidRentalDayException | ToolNotFoundException
+                 | IdempotencyKeyReusedException e) {
+          long[] written = new long[1];
+          int accepted = checkoutOneByOne(chunk, writer, written);
+          checkedOut += accepted;
+          rejected += chunk.commands().size() - accepted;
+          unwritten += accepted - written[0];
+        }
+      }
+    }
+    long millis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    LOGGER.info("Batch checked out {} commands in {} ms ({} checkouts/s), {} rejected",
+        checkedOut, millis, checkedOut * 1000 / millis, rejected);
+    if (unwritten > 0) {
+      LOGGER.error("{} checked out orders could not be read back and are missing from the output",
+          unwritten);
+    }
+    return unwritten;
+  }
+
+  /**
+   * Checks out the commands of a chunk one at a time, skipping the invalid ones.
+   *
+   * @param chunk the chunk to check out
+   * @param writer the writer for the rental agreements
+   * @param written where the number of rental agreements written is added
+   * @return the number of commands checked out
+   * @throws IOException if the output cannot be written
+   */
+  private int checkoutOneByOne(Chunk chunk, Writer writer, long[] written) throws IOException {
+    int accepted = 0;
+    for (int i = 0; i < chunk.commands().size(); i++) {
+      try {
+        List<OrderId> orderIds = checkoutUseCase.checkout(List.of(chunk.commands().get(i)));
+        written[0] += writeOrders(orderIds, writer);
+        accepted++;
+      } catch (InvalidDiscountException | InvalidRentalDayException | ToolNotFoundException
+               | IdempotencyKeyReusedException e) {
+        LOGGER.warn("Rejected line {}: {}", chunk.lineNumbers()[i], e.getMessage());
+      }
+    }
+    return accepted;
+  }
+
+  /**
+   * Writes the rental agreements of the given orders, logging the orders that cannot be found.
+   *
+   * @param orderIds the IDs of the orders checked out
+   * @param writer the writer for the rental agreements
+   * @return the number of rental agreements written
+   * @throws IOException if the output cannot be written
+   */
+  private int writeOrders(List<OrderId> orderIds, Writer writer) throws IOException {
+    int written = 0;
+    for (OrderId orderId : orderIds) {
+      Optional<Order> order = orderUseCase.getOrder(orderId);
+      if (order.isEmpty()) {
+        LOGGER.error("Order {} was checked out but could not be read back", orderId.value());
+        continue;
+      }
+      writer.write(SEPARATOR);
+      writer.write('\n');
+      writer.write(orderId.value().toString());
+      writer.write('\n');
+      ReceiptRenderer.forDefaultLocale().render(order.get().rentalAgreement(), writer);
+      writer.write('\n');
+      writer.write(SEPARATOR);
+      writer.write('\n');
+      written++;
+    }
+    return written;
+  }
+
+  private static int chunkSize(ApplicationArguments args) {
+    List<String> values = args.getOptionValues(CHUNK_SIZE_OPTION);
+    if (values == null || values.isEmpty()) {
+      return DEFAULT_CHUNK_SIZE;
+    }
+    try {
+      return ParserHelper.parsePositiveInt(values.getFirst());
+    } catch (InvalidDataEntryException e) {
+      throw new InvalidDataEntryException("--" + CHUNK_SIZE_OPTION + ": " + e.getMessage());
+    }
+  }
+
+  private static String requiredOption(ApplicationArguments args, String name) {
+    List<String> values = args.getOptionValues(name);
+    if (values == null || values.isEmpty() || values.getFirst().isBlank()) {
+      throw new IllegalArgumentException("Missing value for --" + name);
+    }
+    return values.getFirst();
+  }
+}
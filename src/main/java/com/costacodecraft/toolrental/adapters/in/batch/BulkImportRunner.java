@@ -0,0 +1,227 @@
+package com.costacodecraft.toolrental.adapters.in.batch;
+
+import com.costacodecraft.toolrental.adapters.in.batch.CheckoutCommandReader.Chunk;
+import com.costacodecraft.toolrental.adapters.in.cli.ParserHelper;
+import com.costacodecraft.toolrental.adapters.in.cli.RunMode;
+import com.costacodecraft.toolrental.application.domain.exception.InvalidDataEntryException;
+import com.costacodecraft.toolrental.application.domain.exception.InvalidDiscountException;
+import com.costacodecraft.toolrental.application.domain.exception.InvalidRentalDayException;
+import com.costacodecraft.toolrental.application.domain.exception.ToolNotFoundException;
+import com.costacodecraft.toolrental.application.domain.model.Order.OrderId;
+import com.costacodecraft.toolrental.application.port.in.CheckoutValidation;
+import com.costacodecraft.toolrental.application.port.in.ImportOrderCommand;
+import com.costacodecraft.toolrental.application.port.in.ImportOrdersUseCase;
+import com.costacodecraft.toolrental.application.port.in.ValidateCheckoutUseCase;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resumable import of historical rentals, selected with {@code --import=<file>}. The file uses the
+ * same formats as the batch mode.
+ * <p>
+ * The file is read and imported in chunks of {@code --import-chunk-size} (default 1000), so memory
+ * use does not depend on the size of the file. After each committed chunk a checkpoint is saved to
+ * {@code --import-checkpoint} (default {@code <file>.checkpoint}), and a restarted import resumes
+ * after the last checkpoint. Every line is imported with an order ID derived from the import ID
+ * and the line number, so lines committed after the last checkpoint are not duplicated when they
+ * are imported again. The import ID is given with {@code --import-id}, and otherwise derived from
+ * the absolute path, size and modification time of the file, see {@link #defaultImportId(Path)}.
+ * <p>
+ * The orders are written to the orders file, {@code toolrental.orders.file}, which is forced to
+ * disk before each checkpoint is saved, so a checkpoint never gets ahead of the orders it covers.
+ * Importing without an orders file is rejected, as a restarted import would resume after orders
+ * that were lost with the previous process.
+ * <p>
+ * Each chunk is validated first with the {@link ValidateCheckoutUseCase}, and its invalid rentals
+ * are reported and skipped without importing them.
+ */
+@Component
+public class BulkImportRunner implements ApplicationRunner {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(BulkImportRunner.class);
+  private static final int DEFAULT_CHUNK_SIZE = 1000;
+  private static final String CHUNK_SIZE_OPTION = "import-chunk-size";
+
+  private final ImportOrdersUseCase importOrdersUseCase;
+  private final ValidateCheckoutUseCase validateCheckoutUseCase;
+  private final ObjectMapper objectMapper;
+  private final String ordersFile;
+
+  public BulkImportRunner(ImportOrdersUseCase importOrdersUseCase,
+      ValidateCheckoutUseCase validateCheckoutUseCase, ObjectMapper objectMapper,
+      @Value("${toolrental.orders.file:}") String ordersFile) {
+    this.importOrdersUseCase = importOrdersUseCase;
+    this.validateCheckoutUseCase = validateCheckoutUseCase;
+    this.objectMapper = objectMapper;
+    this.ordersFile = ordersFile;
+  }
+
+  @Override
+  public void run(ApplicationArguments args) throws IOException {
+    if (RunMode.from(args) != RunMode.IMPORT) {
+      return;
+    }
+    List<String> inputs = args.getOptionValues(RunMode.IMPORT.getOption());
+    if (inputs.isEmpty() || inputs.getFirst().isBlank()) {
+      throw new IllegalArgumentException("Missing value for --" + RunMode.IMPORT.getOption());
+    }
+    if (ordersFile.isBlank()) {
+      throw new IllegalArgumentException("--" + RunMode.IMPORT.getOption()
+          + " needs toolrental.orders.file, to keep the orders its checkpoints cover");
+    }
+    Path input = Path.of(inputs.getFirst());
+    int chunkSize = option(args, CHUNK_SIZE_OPTION)
+        .map(BulkImportRunner::parseChunkSize)
+        .orElse(DEFAULT_CHUNK_SIZE);
+    Path checkpointFile = option(args, "import-checkpoint")
+        .map(Path::of)
+        .orElseGet(() -> input.resolveSibling(input.getFileName() + ".checkpoint"));
+    String importId = option(args, "import-id").orElse(null);
+    if (importId == null) {
+      importId = defaultImportId(input);
+    }
+    importFile(input, chunkSize, checkpointFile, importId);
+  }
+
+  /**
+   * Returns the import ID of a file imported without {@code --import-id}: its absolute path, size
+   * and last modification time. Another file of the same name, or the same file once it was
+   * rewritten, is a different import and gets order IDs of its own.
+   *
+   * @param input the file with the rentals to import
+   * @return the import ID
+   * @throws IOException if the attributes of the file cannot be read
+   */
+  static String defaultImportId(Path input) throws IOException {
+    BasicFileAttributes attributes = Files.readAttributes(input, BasicFileAttributes.class);
+    return input.toAbsolutePath().normalize() + "@" + attributes.size() + "@"
+        + attributes.lastModifiedTime().toMillis();
+  }
+
+  /**
+   * Imports the given file, resuming after the last checkpoint if there is one.
+   *
+   * @param input the file with the rentals to import
+   * @param chunkSize the number of rentals imported at once
+   * @param checkpointFile the file holding the checkpoint
+   * @param importId the ID of the import, used to derive the order IDs
+   * @return the checkpoint after the last line of the file
+   * @throws IOException if the file or the checkpoint cannot be read or written
+   */
+  ImportCheckpoint importFile(Path input, int chunkSize, Path checkpointFile, String importId)
+      throws IOException {
+    ImportCheckpoint checkpoint = ImportCheckpoint.load(checkpointFile)
+        .orElseGet(() -> ImportCheckpoint.start(importId));
+    if (!checkpoint.importId().equals(importId)) {
+      throw new IllegalStateException("Checkpoint " + checkpointFile + " belongs to import "
+          + checkpoint.importId());
+    }
+    if (checkpoint.lastLineNumber() > 0) {
+      LOGGER.info("Resuming import {} after line {}", importId, checkpoint.lastLineNumber());
+    }
+    long start = System.nanoTime();
+    long importedBefore = checkpoint.imported();
+    long alreadyImported = 0;
+    try (CheckoutCommandReader reader = CheckoutCommandReader.open(input, objectMapper)) {
+      reader.skipTo(checkpoint.lastLineNumber());
+      Chunk chunk;
+      while (!(chunk = reader.readChunk(chunkSize)).isEmpty()) {
+        CheckoutValidation validation = validateCheckoutUseCase.validate(chunk.commands());
+        int rejected = RejectedLines.log(LOGGER, chunk, validation);
+        chunk = chunk.validOnly(validation);
+        List<ImportOrderCommand> commands = toImportCommands(chunk, importId);
+        ChunkResult result = importChunk(commands, chunk);
+        alreadyImported += commands.size() - result.imported() - result.rejected();
+        checkpoint = checkpoint.advance(chunk.lastLineNumber(), result.imported(),
+            rejected + result.rejected());
+        checkpoint.save(checkpointFile);
+      }
+    }
+    long millis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    long imported = checkpoint.imported() - importedBefore;
+    LOGGER.info("Import {} finished: {} orders imported in {} ms ({} orders/s), {} in total, "
+            + "{} lines rejected, {} lines already imported", importId, imported, millis,
+        imported * 1000 / millis, checkpoint.imported(), checkpoint.rejected(), alreadyImported);
+    return checkpoint;
+  }
+
+  /**
+   * Imports a chunk, retrying it one rental at a time if it still contains an invalid rental.
+   *
+   * @param commands the rentals of the chunk
+   * @param chunk the chunk the rentals were read from
+   * @return the number of orders created and of rentals rejected, leaving out the rentals whose
+   *     order already existed
+   */
+  private ChunkResult importChunk(List<ImportOrderCommand> commands, Chunk chunk) {
+    try {
+      return new ChunkResult(importOrdersUseCase.importOrders(commands).size(), 0);
+    } catch (InvalidDiscountException | InvalidRentalDayException | ToolNotFoundException e) {
+      int imported = 0;
+      int rejected = 0;
+      for (int i = 0; i < commands.size(); i++) {
+        try {
+          imported += importOrdersUseCase.importOrders(List.of(commands.get(i))).size();
+        } catch (InvalidDiscountException | InvalidRentalDayException
+                 | ToolNotFoundException error) {
+          LOGGER.warn("Rejected line {}: {}", chunk.lineNumbers()[i], error.getMessage());
+          rejected++;
+        }
+      }
+      return new ChunkResult(imported, rejected);
+    }
+  }
+
+  private record ChunkResult(int imported, int rejected) {
+  }
+
+  private static List<ImportOrderCommand> toImportCommands(Chunk chunk, String importId) {
+    List<ImportOrderCommand> commands = new ArrayList<>(chunk.commands().size());
+    for (int i = 0; i < chunk.commands().size(); i++) {
+      commands.add(new ImportOrderCommand(orderId(importId, chunk.lineNumbers()[i]),
+          chunk.commands().get(i)));
+    }
+    return commands;
+  }
+
+  /**
+   * Returns the order ID of a line, which is the same every time the line is imported.
+   *
+   * @param importId the ID of the import
+   * @param lineNumber the number of the line
+   * @return the order ID
+   */
+  static OrderId orderId(String importId, long lineNumber) {
+    byte[] name = (importId + ":" + lineNumber).getBytes(StandardCharsets.UTF_8);
+    return new OrderId(UUID.nameUUIDFromBytes(name));
+  }
+
+  private static int parseChunkSize(String value) {
+    try {
+      return ParserHelper.parsePositiveInt(value);
+    } catch (InvalidDataEntryException e) {
+      throw new InvalidDataEntryException("--" + CHUNK_SIZE_OPTION + ": " + e.getMessage());
+    }
+  }
+
+  private static Optional<String> option(ApplicationArguments args, String name) {
+    return Optional.ofNullable(args.getOptionValues(name))
+        .filter(values -> !values.isEmpty())
+        .map(List::getFirst);
+  }
+}
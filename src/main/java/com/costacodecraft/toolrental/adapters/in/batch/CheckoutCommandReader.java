@@ -0,0 +1,237 @@
+package com.costacodecraft.toolrental.adapters.in.batch;
+
+import com.costacodecraft.toolrental.adapters.in.cli.FastParser;
+import com.costacodecraft.toolrental.application.port.in.CheckoutCommand;
+import com.costacodecraft.toolrental.application.port.in.CheckoutValidation;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Streams checkout commands from a file in chunks, so that files of any size can be processed in
+ * bounded memory. Two formats are supported, chosen by the file extension:
+ * <ul>
+ *   <li>{@code .jsonl}: one JSON object per line, e.g. {@code {"toolCode":"LADW","rentalDays":3,
+ *   "discountPercentage":10,"checkoutDate":"2020-07-02"}}</li>
+ *   <li>anything else: comma separated values
+ *   {@code toolCode,rentalDays,discountPercentage,checkoutDate} with the checkout date as mm/dd/yy,
+ *   e.g. {@code LADW,3,10,7/2/20}</li>
+ * </ul>
+ * Blank lines, lines starting with {@code #} and a CSV header line starting with {@code toolCode}
+ * are skipped.
+ */
+public class CheckoutCommandReader implements Closeable {
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final BufferedReader reader;
+  private final ObjectReader jsonReader;
+  private long lineNumber;
+
+  /**
+   * A chunk of checkout commands read from the file.
+   *
+   * @param commands the commands that could be parsed
+   * @param lineNumbers the line number of each command, in the same order
+   * @param errors a description of each line that could not be parsed
+   * @param lastLineNumber the number of the last line read for this chunk
+   */
+  public record Chunk(
+      List<CheckoutCommand> commands,
+      long[] lineNumbers,
+      List<String> errors,
+      long lastLineNumber
+  ) {
+
+    /**
+     * Returns whether the chunk holds neither commands nor errors.
+     *
+     * @return true if nothing was read, false otherwise
+     */
+    public boolean isEmpty() {
+      return commands.isEmpty() && errors.isEmpty();
+    }
+
+    /**
+     * Returns the valid commands of the chunk with their line numbers, and no errors.
+     *
+     * @param validation the validation of the commands of the chunk
+     * @return the chunk of the valid commands
+     */
+    public Chunk validOnly(CheckoutValidation validation) {
+      if (validation.isValid() && errors.isEmpty()) {
+        return this;
+      }
+      long[] validLineNumbers = new long[validation.size() - validation.getInvalidCount()];
+      for (int i = 0, valid = 0; i < lineNumbers.length; i++) {
+        if (validation.isValid(i)) {
+          validLineNumbers[valid++] = lineNumbers[i];
+        }
+      }
+      return new Chunk(validation.valid(commands), validLineNumbers, List.of(), lastLineNumber);
+    }
+  }
+
+  private CheckoutCommandReader(BufferedReader reader, ObjectReader jsonReader) {
+    this.reader = reader;
+    this.jsonReader = jsonReader;
+  }
+
+  /**
+   * Opens the given file for reading.
+   *
+   * @param file the file to read
+   * @param objectMapper the mapper used for JSON lines files
+   * @return the reader
+   * @throws IOException if the file cannot be opened
+   */
+  public static CheckoutCommandReader open(Path file, ObjectMapper objectMapper)
+      throws IOException {
+    BufferedReader reader = new BufferedReader(
+        Files.newBufferedReader(file, StandardCharsets.UTF_8), BUFFER_SIZE);
+    boolean jsonLines = file.getFileName().toString().endsWith(".jsonl");
+    return new CheckoutCommandReader(reader,
+        jsonLines ? objectMapper.readerFor(CheckoutCommand.class) : null);
+  }
+
+  /**
+   * Skips lines until the given line number has been read.
+   *
+   * @param lastLineNumber the number of the last line to skip
+   * @throws IOException if the file cannot be read
+   */
+  public void skipTo(long lastLineNumber) throws IOException {
+    while (lineNumber < lastLineNumber && reader.readLine() != null) {
+      lineNumber++;
+    }
+  }
+
+  /**
+   * Reads the next chunk of commands.
+   *
+   * @param maxCommands the maximum number of commands in the chunk
+   * @return the chunk, which is empty once the end of the file is reached
+   * @throws IOException if the file cannot be read
+   */
+  public Chunk readChunk(int maxCommands) throws IOException {
+    List<CheckoutCommand> commands = new ArrayList<>(maxCommands);
+    long[] lineNumbers = new long[maxCommands];
+    List<String> errors = new ArrayList<>();
+    String line;
+    while (commands.size() < maxCommands && (line = reader.readLine()) != null) {
+      lineNumber++;
+      if (isSkipped(line)) {
+        continue;
+      }
+      CheckoutCommand command = jsonReader != null
+          ? parseJson(line, errors)
+          : parseCsv(line, errors);
+      if (command != null) {
+        lineNumbers[commands.size()] = lineNumber;
+        commands.add(command);
+      }
+    }
+    return new Chunk(commands, Arrays.copyOf(lineNumbers, commands.size()), errors, lineNumber);
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+
+  private boolean isSkipped(String line) {
+    return line.isBlank() || line.startsWith("#")
+        || (jsonReader == null && line.startsWith("toolCode"));
+  }
+
+  /**
+   * Parses a JSON line, reporting it in the errors instead if it is not a valid command.
+   *
+   * @param line the line to parse
+   * @param errors the errors of the chunk
+   * @return the command, or null if the line is invalid
+   */
+  private CheckoutCommand parseJson(String line, List<String> errors) {
+    CheckoutCommand command;
+    try {
+      command = jsonReader.readValue(line);
+    } catch (JsonProcessingException e) {
+      return reject(errors, "Invalid JSON: " + e.getOriginalMessage());
+    }
+    if (command.toolCode() == null || command.checkoutDate() == null) {
+      return reject(errors, "Missing toolCode or checkoutDate");
+    }
+    return command;
+  }
+
+  /**
+   * Parses a CSV line in place with {@link FastParser}, reporting it in the errors instead if it is
+   * not a valid command. Only the tool code is copied out of the line, and an invalid line costs
+   * its error message but no exception.
+   *
+   * @param line the line to parse
+   * @param errors the errors of the chunk
+   * @return the command, or null if the line is invalid
+   */
+  private CheckoutCommand parseCsv(String line, List<String> errors) {
+    int first = line.indexOf(',');
+    int second = first < 0 ? -1 : line.indexOf(',', first + 1);
+    int third = second < 0 ? -1 : line.indexOf(',', second + 1);
+    if (third < 0 || line.indexOf(',', third + 1) >= 0) {
+      long fields = line.chars().filter(c -> c == ',').count() + 1;
+      return reject(errors, "Expected 4 fields but found " + fields);
+    }
+    int start = stripStart(line, first + 1, second);
+    int end = stripEnd(line, start, second);
+    int rentalDays = FastParser.parseInt(line, start, end);
+    if (rentalDays < 0) {
+      return reject(errors, "Invalid integer value: " + line.substring(start, end));
+    }
+    start = stripStart(line, second + 1, third);
+    end = stripEnd(line, start, third);
+    int discountPercentage = FastParser.parseInt(line, start, end);
+    if (discountPercentage < 0) {
+      return reject(errors, "Invalid integer value: " + line.substring(start, end));
+    }
+    start = stripStart(line, third + 1, line.length());
+    end = stripEnd(line, start, line.length());
+    long checkoutDate = FastParser.parseDate(line, start, end);
+    if (checkoutDate == FastParser.INVALID_DATE) {
+      return reject(errors, "Invalid date format: " + line.substring(start, end)
+          + ". Expected format: mm/dd/yy");
+    }
+    start = stripStart(line, 0, first);
+    end = stripEnd(line, start, first);
+    return new CheckoutCommand(line.substring(start, end), rentalDays, discountPercentage,
+        LocalDate.ofEpochDay(checkoutDate));
+  }
+
+  private CheckoutCommand reject(List<String> errors, String message) {
+    errors.add("line " + lineNumber + ": " + message);
+    return null;
+  }
+
+  private static int stripStart(String line, int start, int end) {
+    while (start < end && Character.isWhitespace(line.charAt(start))) {
+      start++;
+    }
+    return start;
+  }
+
+  private static int stripEnd(String line, int start, int end) {
+    while (end > start && Character.isWhitespace(line.charAt(end - 1))) {
+      end--;
+    }
+    return end;
+  }
+}
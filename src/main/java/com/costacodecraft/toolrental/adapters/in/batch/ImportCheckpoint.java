@@ -0,0 +1,99 @@
+package com.costacodecraft.toolrental.adapters.in.batch;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+/**
+ * Durable progress marker of a bulk import. Every line up to and including
+ * {@code lastLineNumber} has been imported and committed.
+ *
+ * @param importId the ID of the import the checkpoint belongs to
+ * @param lastLineNumber the number of the last committed line
+ * @param imported the number of orders imported so far
+ * @param rejected the number of lines rejected so far
+ */
+public record ImportCheckpoint(
+    String importId,
+    long lastLineNumber,
+    long imported,
+    long rejected
+) {
+
+  /**
+   * Returns the checkpoint of a new import.
+   *
+   * @param importId the ID of the import
+   * @return the checkpoint before the first line
+   */
+  public static ImportCheckpoint start(String importId) {
+    return new ImportCheckpoint(importId, 0, 0, 0);
+  }
+
+  /**
+   * Loads the checkpoint stored in the given file.
+   *
+   * @param file the checkpoint file
+   * @return the checkpoint, or empty if the file does not exist
+   * @throws IOException if the file cannot be read or is corrupted
+   */
+  public static Optional<ImportCheckpoint> load(Path file) throws IOException {
+    if (!Files.exists(file)) {
+      return Optional.empty();
+    }
+    String[] fields = Files.readString(file, StandardCharsets.UTF_8).strip().split("\n");
+    if (fields.length != 4) {
+      throw new IOException("Corrupted import checkpoint " + file);
+    }
+    try {
+      return Optional.of(new ImportCheckpoint(fields[0], Long.parseLong(fields[1]),
+          Long.parseLong(fields[2]), Long.parseLong(fields[3])));
+    } catch (NumberFormatException e) {
+      throw new IOException("Corrupted import checkpoint " + file, e);
+    }
+  }
+
+  /**
+   * Returns the checkpoint after committing more lines.
+   *
+   * @param lastLineNumber the number of the last committed line
+   * @param newlyImported the number of orders imported since this checkpoint
+   * @param newlyRejected the number of lines rejected since this checkpoint
+   * @return the new checkpoint
+   */
+  public ImportCheckpoint advance(long lastLineNumber, long newlyImported, long newlyRejected) {
+    return new ImportCheckpoint(importId, lastLineNumber, imported + newlyImported,
+        rejected + newlyRejected);
+  }
+
+  /**
+   * Stores the checkpoint in the given file. The checkpoint is written to a temporary file,
+   * flushed to disk and then moved over the previous checkpoint, so a crash leaves either the old
+   * or the new checkpoint but never a partial one. The directory is flushed after the move, so the
+   * new checkpoint survives a crash once this returns.
+   *
+   * @param file the checkpoint file
+   * @throws IOException if the checkpoint cannot be written
+   */
+  public void save(Path file) throws IOException {
+    Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+    String content = importId + "\n" + lastLineNumber + "\n" + imported + "\n" + rejected + "\n";
+    try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      channel.write(ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8)));
+      channel.force(true);
+    }
+    Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    // the rename is only durable once the directory holding it is flushed too
+    try (FileChannel directory = FileChannel.open(file.toAbsolutePath().getParent(),
+        StandardOpenOption.READ)) {
+      directory.force(true);
+    }
+  }
+}
@@ -0,0 +1,35 @@
+package com.costacodecraft.toolrental.adapters.in.batch;
+
+import com.costacodecraft.toolrental.adapters.in.batch.CheckoutCommandReader.Chunk;
+import com.costacodecraft.toolrental.application.port.in.CheckoutValidation;
+import org.slf4j.Logger;
+
+/**
+ * Reporting of the lines of a file that are rejected before they are checked out or imported.
+ */
+final class RejectedLines {
+
+  private RejectedLines() {
+  }
+
+  /**
+   * Reports the lines of a chunk that could not be read and the ones whose command is invalid.
+   *
+   * @param logger the logger of the caller
+   * @param chunk the chunk
+   * @param validation the validation of the commands of the chunk
+   * @return the number of lines reported
+   */
+  static int log(Logger logger, Chunk chunk, CheckoutValidation validation) {
+    chunk.errors().forEach(error -> logger.warn("Rejected {}", error));
+    int invalidCount = validation.getInvalidCount();
+    for (int i = 0, logged = 0; logged < invalidCount; i++) {
+      if (!validation.isValid(i)) {
+        logger.warn("Rejected line {}: {}", chunk.lineNumbers()[i],
+            String.join("; ", validation.getMessages(i)));
+        logged++;
+      }
+    }
+    return chunk.errors().size() + invalidCount;
+  }
+}
@@ -0,0 +1,91 @@
+package com.costacodecraft.toolrental.adapters.in.catalog;
+
+import com.costacodecraft.toolrental.application.domain.exception.InvalidDataEntryException;
+import com.costacodecraft.toolrental.application.domain.model.BrandName;
+import com.costacodecraft.toolrental.application.domain.model.Price;
+import com.costacodecraft.toolrental.application.domain.model.Tool;
+import com.costacodecraft.toolrental.application.domain.model.Tool.ToolId;
+import com.costacodecraft.toolrental.application.domain.model.ToolType;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parser for catalog files. Each non-blank line that does not start with {@code #} describes one
+ * tool as comma separated values:
+ * <pre>
+ * code,type,brand,dailyCharge,weekdayCharge,weekendCharge,holidayCharge
+ * LADW,LADDER,WERNER,1.99,true,true,false
+ * </pre>
+ */
+public class CatalogFileParser {
+
+  private static final int FIELD_COUNT = 7;
+
+  // This class should not allow instantiation
+  private CatalogFileParser() {
+  }
+
+  /**
+   * Parses the given catalog file.
+   *
+   * @param file the catalog file
+   * @return the tools listed in the file
+   * @throws IOException if the file cannot be read
+   * @throws InvalidDataEntryException if a line is not a valid tool definition
+   */
+  public static List<Tool> parse(Path file) throws IOException {
+    List<Tool> tools = new ArrayList<>();
+    try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      String line;
+      int lineNumber = 0;
+      while ((line = reader.readLine()) != null) {
+        lineNumber++;
+        String trimmed = line.strip();
+        if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+          continue;
+        }
+        tools.add(parseLine(trimmed, lineNumber));
+      }
+    }
+    return tools;
+  }
+
+  private static Tool parseLine(String line, int lineNumber) {
+    String[] fields = line.split(",", -1);
+    if (fields.length != FIELD_COUNT) {
+      throw new InvalidDataEntryException(
+          "Invalid catalog entry at line " + lineNumber + ": expected " + FIELD_COUNT + " fields");
+    }
+    try {
+      return new Tool(
+          new ToolId(fields[0].strip()),
+          ToolType.valueOf(fields[1].strip()),
+          BrandName.valueOf(fields[2].strip()),
+          Price.newBuilder()
+              .dailyCharge(Double.parseDouble(fields[3].strip()))
+              .weekdayCharge(parseBoolean(fields[4]))
+              .weekendCharge(parseBoolean(fields[5]))
+              .holidayCharge(parseBoolean(fields[6]))
+              .build());
+    } catch (IllegalArgumentException e) {
+      throw new InvalidDataEntryException(
+          "Invalid catalog entry at line " + lineNumber + ": " + e.getMessage());
+    }
+  }
+
+  private static boolean parseBoolean(String value) {
+    String trimmed = value.strip();
+    if ("true".equalsIgnoreCase(trimmed)) {
+      return true;
+    }
+    if ("false".equalsIgnoreCase(trimmed)) {
+      return false;
+    }
+    throw new IllegalArgumentException("Invalid boolean value: " + trimmed);
+  }
+}
@@ -0,0 +1,124 @@
+package com.costacodecraft.toolrental.adapters.in.catalog;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import com.costacodecraft.toolrental.application.domain.exception.InvalidDataEntryException;
+import com.costacodecraft.toolrental.application.domain.model.CatalogDiff;
+import com.costacodecraft.toolrental.application.port.in.ReloadCatalogUseCase;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Watches the catalog file configured by {@code toolrental.catalog.file} and reloads the tool
+ * catalog whenever the file changes. Watching is disabled when no file is configured.
+ */
+@Component
+public class CatalogFileWatcher {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(CatalogFileWatcher.class);
+  // editors usually write a file in several steps, wait for them to settle before reloading
+  private static final long SETTLE_MILLIS = 50;
+
+  private final ReloadCatalogUseCase reloadCatalogUseCase;
+  private final Path catalogFile;
+  private WatchService watchService;
+
+  public CatalogFileWatcher(ReloadCatalogUseCase reloadCatalogUseCase,
+      @Value("${toolrental.catalog.file:}") String catalogFile) {
+    this.reloadCatalogUseCase = reloadCatalogUseCase;
+    this.catalogFile = catalogFile.isBlank() ? null : Path.of(catalogFile).toAbsolutePath();
+  }
+
+  /**
+   * Loads the catalog file and starts watching it for changes.
+   *
+   * @throws IOException if the watch service cannot be registered
+   */
+  @Order(Ordered.LOWEST_PRECEDENCE)
+  @EventListener(ApplicationStartedEvent.class)
+  public void start() throws IOException {
+    if (catalogFile == null) {
+      return;
+    }
+    reload();
+    watchService = FileSystems.getDefault().newWatchService();
+    catalogFile.getParent().register(watchService, ENTRY_CREATE, ENTRY_MODIFY);
+    Thread.ofPlatform()
+        .name("catalog-watcher")
+        .daemon(true)
+        .start(this::watch);
+    LOGGER.info("Watching catalog file {}", catalogFile);
+  }
+
+  /**
+   * Stops watching the catalog file.
+   *
+   * @throws IOException if the watch service cannot be closed
+   */
+  @PreDestroy
+  public void stop() throws IOException {
+    if (watchService != null) {
+      watchService.close();
+    }
+  }
+
+  private void watch() {
+    try {
+      while (true) {
+        WatchKey key = watchService.take();
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+          changed |= event.kind() == OVERFLOW
+              || catalogFile.getFileName().equals(event.context());
+        }
+        key.reset();
+        if (changed) {
+          TimeUnit.MILLISECONDS.sleep(SETTLE_MILLIS);
+          // drop the events raised while the file was still being written
+          WatchKey pending = watchService.poll();
+          if (pending != null) {
+            pending.pollEvents();
+            pending.reset();
+          }
+          reload();
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (ClosedWatchServiceException e) {
+      LOGGER.debug("Catalog watcher stopped");
+    }
+  }
+
+  /**
+   * Reloads the catalog file, keeping the current catalog if the file is invalid.
+   */
+  void reload() {
+    long start = System.nanoTime();
+    try {
+      CatalogDiff diff = reloadCatalogUseCase.reloadCatalog(CatalogFileParser.parse(catalogFile));
+      long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+      LOGGER.info("Catalog reloaded in {} us: added={}, updated={}, removed={}", micros,
+          diff.added().size(), diff.updated().size(), diff.removed().size());
+    } catch (IOException | InvalidDataEntryException | IllegalArgumentException e) {
+      LOGGER.error("Catalog file {} not reloaded: {}", catalogFile, e.getMessage());
+    }
+  }
+}
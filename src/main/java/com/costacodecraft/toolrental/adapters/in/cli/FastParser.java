@@ -0,0 +1,220 @@
+package com.costacodecraft.toolrental.adapters.in.cli;
+
+/**
+ * Allocation-free parsing of integers and dates from characters or bytes, for high-volume input.
+ * Instead of throwing, invalid input is reported through negative result codes.
+ */
+public final class FastParser {
+
+  /**
+   * Result code for input that is empty or not entirely made of digits.
+   */
+  public static final int NOT_A_NUMBER = -1;
+
+  /**
+   * Result code for a number that does not fit in an int.
+   */
+  public static final int OVERFLOW = -2;
+
+  /**
+   * Result code for input that is not a valid M/d/yy date.
+   */
+  public static final long INVALID_DATE = -1;
+
+  private static final int DAYS_0000_TO_1970 = 719_528;
+
+  // This class should not allow instantiation
+  private FastParser() {
+  }
+
+  /**
+   * Checks if the given characters consist entirely of ASCII digits.
+   *
+   * @param value the characters to check
+   * @return true if there is at least one character and all of them are digits, false otherwise
+   */
+  public static boolean isDigits(CharSequence value) {
+    if (value == null || value.isEmpty()) {
+      return false;
+    }
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c < '0' || c > '9') {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Parses a non-negative integer.
+   *
+   * @param value the characters to parse
+   * @return the integer, or {@link #NOT_A_NUMBER} or {@link #OVERFLOW}
+   */
+  public static int parseInt(CharSequence value) {
+    return value == null ? NOT_A_NUMBER : parseInt(value, 0, value.length());
+  }
+
+  /**
+   * Parses a non-negative integer from a range of characters.
+   *
+   * @param value the characters to parse
+   * @param start the index of the first character
+   * @param end the index after the last character
+   * @return the integer, or {@link #NOT_A_NUMBER} or {@link #OVERFLOW}
+   */
+  public static int parseInt(CharSequence value, int start, int end) {
+    if (start >= end) {
+      return NOT_A_NUMBER;
+    }
+    long result = 0;
+    for (int i = start; i < end; i++) {
+      int digit = value.charAt(i) - '0';
+      if (digit < 0 || digit > 9) {
+        return NOT_A_NUMBER;
+      }
+      result = result * 10 + digit;
+      if (result > Integer.MAX_VALUE) {
+        for (int j = i + 1; j < end; j++) {
+          if (value.charAt(j) < '0' || value.charAt(j) > '9') {
+            return NOT_A_NUMBER;
+          }
+        }
+        return OVERFLOW;
+      }
+    }
+    return (int) result;
+  }
+
+  /**
+   * Parses a non-negative integer from a range of ASCII bytes.
+   *
+   * @param value the bytes to parse
+   * @param start the index of the first byte
+   * @param end the index after the last byte
+   * @return the integer, or {@link #NOT_A_NUMBER} or {@link #OVERFLOW}
+   */
+  public static int parseInt(byte[] value, int start, int end) {
+    if (start >= end) {
+      return NOT_A_NUMBER;
+    }
+    long result = 0;
+    for (int i = start; i < end; i++) {
+      int digit = value[i] - '0';
+      if (digit < 0 || digit > 9) {
+        return NOT_A_NUMBER;
+      }
+      result = result * 10 + digit;
+      if (result > Integer.MAX_VALUE) {
+        for (int j = i + 1; j < end; j++) {
+          if (value[j] < '0' || value[j] > '9') {
+            return NOT_A_NUMBER;
+          }
+        }
+        return OVERFLOW;
+      }
+    }
+    return (int) result;
+  }
+
+  /**
+   * Parses an M/d/yy date, such as 7/2/20, with the same rules as
+   * {@code DateTimeFormatter.ofPattern("M/d/yy")}: the year is in 2000-2099, and a day past the end
+   * of the month is moved to the last day of the month.
+   *
+   * @param value the characters to parse
+   * @return the epoch day of the date, or {@link #INVALID_DATE}
+   */
+  public static long parseDate(CharSequence value) {
+    return value == null ? INVALID_DATE : parseDate(value, 0, value.length());
+  }
+
+  /**
+   * Parses an M/d/yy date from a range of characters.
+   *
+   * @param value the characters to parse
+   * @param start the index of the first character
+   * @param end the index after the last character
+   * @return the epoch day of the date, or {@link #INVALID_DATE}
+   * @see #parseDate(CharSequence)
+   */
+  public static long parseDate(CharSequence value, int start, int end) {
+    int firstSlash = indexOf(value, '/', start, end);
+    int secondSlash = indexOf(value, '/', firstSlash + 1, end);
+    if (secondSlash < 0 || end - secondSlash != 3) {
+      return INVALID_DATE;
+    }
+    return toEpochDay(parseInt(value, secondSlash + 1, end), parseInt(value, start, firstSlash),
+        parseInt(value, firstSlash + 1, secondSlash));
+  }
+
+  /**
+   * Parses an M/d/yy date from a range of ASCII bytes.
+   *
+   * @param value the bytes to parse
+   * @param start the index of the first byte
+   * @param end the index after the last byte
+   * @return the epoch day of the date, or {@link #INVALID_DATE}
+   * @see #parseDate(CharSequence)
+   */
+  public static long parseDate(byte[] value, int start, int end) {
+    int firstSlash = indexOf(value, (byte) '/', start, end);
+    int secondSlash = indexOf(value, (byte) '/', firstSlash + 1, end);
+    if (secondSlash < 0 || end - secondSlash != 3) {
+      return INVALID_DATE;
+    }
+    return toEpochDay(parseInt(value, secondSlash + 1, end), parseInt(value, start, firstSlash),
+        parseInt(value, firstSlash + 1, secondSlash));
+  }
+
+  private static long toEpochDay(int yearOfCentury, int month, int day) {
+    if (yearOfCentury < 0 || month < 1 || month > 12 || day < 1 || day > 31) {
+      return INVALID_DATE;
+    }
+    long year = 2000 + yearOfCentury;
+    day = Math.min(day, lengthOfMonth(year, month));
+    // same computation as LocalDate.toEpochDay
+    long total = 365 * year;
+    total += (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+    total += (367L * month - 362) / 12;
+    total += day - 1;
+    if (month > 2) {
+      total--;
+      if (!isLeapYear(year)) {
+        total--;
+      }
+    }
+    return total - DAYS_0000_TO_1970;
+  }
+
+  private static int lengthOfMonth(long year, int month) {
+    return switch (month) {
+      case 2 -> isLeapYear(year) ? 29 : 28;
+      case 4, 6, 9, 11 -> 30;
+      default -> 31;
+    };
+  }
+
+  private static boolean isLeapYear(long year) {
+    return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+  }
+
+  private static int indexOf(CharSequence value, char c, int start, int end) {
+    for (int i = start; i < end; i++) {
+      if (value.charAt(i) == c) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static int indexOf(byte[] value, byte b, int start, int end) {
+    for (int i = start; i < end; i++) {
+      if (value[i] == b) {
+        return i;
+      }
+    }
+    return -1;
+  }
+}
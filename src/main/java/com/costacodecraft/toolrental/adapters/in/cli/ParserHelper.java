@@ -4,14 +4,21 @@ import com.costacodecraft.toolrental.application.domain.exception.InvalidDataEnt
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Helper class for parsing various data types. This class provides utility methods for parsing
  * strings into different data types such as integers, UUIDs, and dates.
+ * <p>
+ * Integers and dates in the default format are parsed with {@link FastParser}, which avoids
+ * regular expressions and formatter creation on every call.
  */
 public class ParserHelper {
 
+  private static final Map<String, DateTimeFormatter> FORMATTERS = new ConcurrentHashMap<>();
+
   // This class should not allow instantiation
   private ParserHelper() {
   }
@@ -23,10 +30,7 @@ public class ParserHelper {
    * @return true if the string is a digit, false otherwise
    */
   public static boolean isDigit(String value) {
-    if (value == null || value.isEmpty()) {
-      return false;
-    }
-    return value.matches("\\d+");
+    return FastParser.isDigits(value);
   }
 
   /**
@@ -37,10 +41,26 @@ public class ParserHelper {
    * @throws InvalidDataEntryException if the string is not a valid integer
    */
   public static int parseInt(String value) {
-    if (!isDigit(value)) {
+    int result = FastParser.parseInt(value);
+    if (result < 0) {
       throw new InvalidDataEntryException("Invalid integer value: " + value);
     }
-    return Integer.parseInt(value);
+    return result;
+  }
+
+  /**
+   * Parses the given string into a positive integer, such as a size given on the command line.
+   *
+   * @param value the string to parse
+   * @return the parsed integer, at least 1
+   * @throws InvalidDataEntryException if the string is not a valid positive integer
+   */
+  public static int parsePositiveInt(String value) {
+    int result = FastParser.parseInt(value);
+    if (result < 1) {
+      throw new InvalidDataEntryException("Invalid positive integer value: " + value);
+    }
+    return result;
   }
 
   /**
@@ -73,7 +93,7 @@ public class ParserHelper {
     if (value == null || value.isEmpty()) {
       throw new InvalidDataEntryException("Invalid date value: " + value);
     }
-    DateTimeFormatter formatter = DateTimeFormatter.ofPattern(format);
+    DateTimeFormatter formatter = FORMATTERS.computeIfAbsent(format, DateTimeFormatter::ofPattern);
     try {
       return LocalDate.parse(value, formatter);
     } catch (DateTimeParseException e) {
@@ -93,12 +113,11 @@ public class ParserHelper {
     if (value == null || value.isEmpty()) {
       throw new InvalidDataEntryException("Invalid date value: " + value);
     }
-    DateTimeFormatter formatter = DateTimeFormatter.ofPattern("M/d/yy");
-    try {
-      return LocalDate.parse(value, formatter);
-    } catch (DateTimeParseException e) {
+    long epochDay = FastParser.parseDate(value);
+    if (epochDay == FastParser.INVALID_DATE) {
       throw new InvalidDataEntryException(
           "Invalid date format: " + value + ". Expected format: mm/dd/yy");
     }
+    return LocalDate.ofEpochDay(epochDay);
   }
 }
\ No newline at end of file
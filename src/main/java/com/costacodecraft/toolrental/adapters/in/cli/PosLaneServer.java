@@ -0,0 +1,169 @@
+package com.costacodecraft.toolrental.adapters.in.cli;
+
+import com.costacodecraft.toolrental.application.port.in.CheckoutUseCase;
+import com.costacodecraft.toolrental.application.port.in.GetOrderUseCase;
+import com.costacodecraft.toolrental.application.port.in.GetToolUseCase;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Scanner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Serves POS lanes over local TCP, selected with {@code --lanes} or {@code --lanes=<port>} (default
+ * 7070). Every connection, for example from {@code nc localhost 7070}, gets its own
+ * {@link PosSession} on a virtual thread, and all sessions share the same use cases.
+ * <p>
+ * At most {@code --lanes-max-sessions} (default 32) sessions run at once; further connections are
+ * told that all lanes are busy and closed.
+ */
+@Component
+public class PosLaneServer implements ApplicationRunner, DisposableBean {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(PosLaneServer.class);
+  private static final int DEFAULT_PORT = 7070;
+  private static final int DEFAULT_MAX_SESSIONS = 32;
+  static final String BUSY_MESSAGE = "All lanes are busy. Please try again later.";
+
+  private final CheckoutUseCase checkoutUseCase;
+  private final GetOrderUseCase orderUseCase;
+  private final GetToolUseCase toolUseCase;
+  private ServerSocket serverSocket;
+  private ExecutorService sessions;
+
+  public PosLaneServer(CheckoutUseCase checkoutUseCase, GetOrderUseCase orderUseCase,
+      GetToolUseCase toolUseCase) {
+    this.checkoutUseCase = checkoutUseCase;
+    this.orderUseCase = orderUseCase;
+    this.toolUseCase = toolUseCase;
+  }
+
+  @Override
+  public void run(ApplicationArguments args) throws IOException {
+    if (RunMode.from(args) != RunMode.LANES) {
+      return;
+    }
+    List<String> ports = args.getOptionValues(RunMode.LANES.getOption());
+    int port = ports.isEmpty() || ports.getFirst().isBlank()
+        ? DEFAULT_PORT
+        : ParserHelper.parseInt(ports.getFirst());
+    List<String> maxSessions = args.getOptionValues("lanes-max-sessions");
+    InetSocketAddress address = start(port, maxSessions == null || maxSessions.isEmpty()
+        ? DEFAULT_MAX_SESSIONS
+        : ParserHelper.parseInt(maxSessions.getFirst()));
+    LOGGER.info("POS lanes listening on {}:{}", address.getHostString(), address.getPort());
+  }
+
+  /**
+   * Starts accepting lanes on the loopback address.
+   *
+   * @param port the port to listen on, or 0 for any free port
+   * @param maxSessions the maximum number of concurrent sessions
+   * @return the address the server listens on
+   * @throws IOException if the port cannot be bound
+   */
+  public synchronized InetSocketAddress start(int port, int maxSessions) throws IOException {
+    if (serverSocket != null) {
+      throw new IllegalStateException("POS lanes already started");
+    }
+    if (maxSessions < 1) {
+      throw new IllegalArgumentException("Maximum sessions must be 1 or more");
+    }
+    serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+    sessions = Executors.newVirtualThreadPerTaskExecutor();
+    ServerSocket acceptor = serverSocket;
+    ExecutorService executor = sessions;
+    Semaphore lanes = new Semaphore(maxSessions);
+    // a platform thread that keeps the application running while lanes are served
+    Thread.ofPlatform().name("pos-lanes").start(() -> accept(acceptor, executor, lanes));
+    return (InetSocketAddress) serverSocket.getLocalSocketAddress();
+  }
+
+  /**
+   * Stops accepting lanes and closes the sessions in progress.
+   */
+  public synchronized void stop() {
+    if (serverSocket == null) {
+      return;
+    }
+    try {
+      serverSocket.close();
+    } catch (IOException e) {
+      LOGGER.warn("Failed to close the POS lanes socket", e);
+    }
+    sessions.shutdownNow();
+    serverSocket = null;
+    sessions = null;
+  }
+
+  @Override
+  public void destroy() {
+    stop();
+  }
+
+  private void accept(ServerSocket acceptor, ExecutorService executor, Semaphore lanes) {
+    while (!acceptor.isClosed()) {
+      Socket socket;
+      try {
+        socket = acceptor.accept();
+      } catch (IOException e) {
+        if (!acceptor.isClosed()) {
+          LOGGER.error("Failed to accept a POS lane", e);
+        }
+        continue;
+      }
+      if (!lanes.tryAcquire()) {
+        reject(socket);
+        continue;
+      }
+      executor.execute(() -> {
+        try {
+          serve(socket);
+        } finally {
+          lanes.release();
+        }
+      });
+    }
+  }
+
+  private void serve(Socket socket) {
+    String lane = socket.getRemoteSocketAddress().toString();
+    LOGGER.info("POS lane {} connected", lane);
+    try (socket;
+        Scanner scanner = new Scanner(socket.getInputStream(), StandardCharsets.UTF_8);
+        PrintStream out = new PrintStream(new BufferedOutputStream(socket.getOutputStream()),
+            false, StandardCharsets.UTF_8)) {
+      new PosSession(checkoutUseCase, orderUseCase, toolUseCase, scanner, out, out).run();
+    } catch (NoSuchElementException | SocketException e) {
+      // the lane disconnected without exiting
+    } catch (IOException | RuntimeException e) {
+      LOGGER.error("POS lane {} failed", lane, e);
+    }
+    LOGGER.info("POS lane {} disconnected", lane);
+  }
+
+  private static void reject(Socket socket) {
+    try (socket; PrintStream out = new PrintStream(socket.getOutputStream(), true,
+        StandardCharsets.UTF_8)) {
+      out.println(BUSY_MESSAGE);
+    } catch (IOException e) {
+      // the lane is turned away either way
+    }
+  }
+}
@@ -0,0 +1,183 @@
+package com.costacodecraft.toolrental.adapters.in.cli;
+
+import com.costacodecraft.toolrental.application.domain.exception.InvalidDataEntryException;
+import com.costacodecraft.toolrental.application.domain.exception.InvalidDiscountException;
+import com.costacodecraft.toolrental.application.domain.exception.InvalidRentalDayException;
+import com.costacodecraft.toolrental.application.domain.exception.ToolNotFoundException;
+import com.costacodecraft.toolrental.application.domain.model.Order.OrderId;
+import com.costacodecraft.toolrental.application.port.in.CheckoutCommand;
+import com.costacodecraft.toolrental.application.port.in.CheckoutUseCase;
+import com.costacodecraft.toolrental.application.port.in.GetOrderUseCase;
+import com.costacodecraft.toolrental.application.port.in.GetToolUseCase;
+import java.io.PrintStream;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Scanner;
+import java.util.UUID;
+
+/**
+ * One point-of-sale session: the menu loop of a single counter lane, reading from its own input
+ * and writing to its own output. Sessions hold no state besides their streams, so any number of
+ * them can share the same use cases.
+ */
+public class PosSession {
+
+  private static final String WELCOME = """
+      ***************************
+      *  Tool Rental Depot POS  *
+      ***************************
+      """;
+  private static final String INVALID_CHOICE_MESSAGE = "Invalid choice. Please try again.";
+  private static final String EXIT_MESSAGE = "Exiting...";
+
+  private final CheckoutUseCase checkoutUseCase;
+  private final GetOrderUseCase orderUseCase;
+  private final GetToolUseCase toolUseCase;
+  private final Scanner scanner;
+  private final PrintStream out;
+  private final PrintStream err;
+
+  public PosSession(CheckoutUseCase checkoutUseCase, GetOrderUseCase orderUseCase,
+      GetToolUseCase toolUseCase, Scanner scanner, PrintStream out, PrintStream err) {
+    this.checkoutUseCase = checkoutUseCase;
+    this.orderUseCase = orderUseCase;
+    this.toolUseCase = toolUseCase;
+    this.scanner = scanner;
+    this.out = out;
+    this.err = err;
+  }
+
+  /**
+   * Runs the menu loop until the user exits.
+   *
+   * @throws java.util.NoSuchElementException if the input ends before the user exits
+   */
+  public void run() {
+    displayMainMenu();
+  }
+
+  /**
+   * Displays the main menu and handles user input.
+   */
+  private void displayMainMenu() {
+    out.println(WELCOME);
+    boolean continueRunning = true;
+    while (continueRunning) {
+      try {
+        displayToolList();
+        displayMenuOptions();
+        String choice = next();
+        nextLine(); // Consume newline
+        continueRunning = handleMenuChoice(choice);
+      } catch (InvalidDataEntryException | InvalidDiscountException |
+               InvalidRentalDayException | ToolNotFoundException e) {
+        err.println(e.getMessage());
+      }
+    }
+    out.println(EXIT_MESSAGE);
+  }
+
+  /**
+   * Displays the menu options.
+   */
+  private void displayMenuOptions() {
+    out.println("1. Rent a Tool");
+    out.println("2. Order Lookup");
+    out.println("3. Exit");
+    out.print("Choose an option: ");
+  }
+
+  /**
+   * Handles the user's menu choice.
+   *
+   * @param choice the user's menu choice
+   * @return true if the menu should be displayed again, false to exit
+   */
+  private boolean handleMenuChoice(String choice) {
+    if (choice == null) {
+      return false;
+    }
+    return switch (choice) {
+      case "1" -> {
+        checkoutForm();
+        yield true;
+      }
+      case "2" -> {
+        orderLookupForm();
+        yield true;
+      }
+      case "3" -> false;
+      default -> {
+        out.println(INVALID_CHOICE_MESSAGE);
+        yield true;
+      }
+    };
+  }
+
+  /**
+   * Displays the list of tools.
+   */
+  private void displayToolList() {
+    out.printf("%-10s %10s %10s%n", "Tool Code", "Tool Type", "Price");
+    out.println("-".repeat(35));
+    toolUseCase.getAllTools()
+        .forEach(tool -> {
+          out.printf("%-10s %10s %10.2f%n", tool.id().code(), tool.type().getType(),
+              tool.price().dailyCharge());
+        });
+  }
+
+  /**
+   * Handles the checkout form.
+   */
+  private void checkoutForm() {
+    out.print("Enter the tool code: ");
+    String code = nextLine();
+    out.print("Enter rental day count (1 or greater): ");
+    int dayCount = ParserHelper.parseInt(next());
+    out.print("Enter discount percentage (range 0-100): ");
+    int percentage = ParserHelper.parseInt(next());
+    out.print("Enter checkout date (mm/dd/yy): ");
+    LocalDate checkoutDate = ParserHelper.parseDate(next());
+    CheckoutCommand checkoutCommand = new CheckoutCommand(code, dayCount, percentage, checkoutDate);
+    List<OrderId> orderIds = checkoutUseCase.checkout(List.of(checkoutCommand));
+    displayOrderDetails(orderIds);
+  }
+
+  /**
+   * Handles the order lookup form.
+   */
+  private void orderLookupForm() {
+    out.print("Enter Order ID: ");
+    UUID id = ParserHelper.parseUUID(nextLine());
+    displayOrderDetails(List.of(new OrderId(id)));
+  }
+
+  /**
+   * Displays the details of the specified orders.
+   *
+   * @param orderIds the IDs of the orders to display
+   */
+  private void displayOrderDetails(List<OrderId> orderIds) {
+    orderIds.stream()
+        .map(orderUseCase::getOrder)
+        .flatMap(Optional::stream)
+        .forEach(order -> {
+          out.println("*".repeat(35));
+          out.println(order.id().value());
+          out.println(order.rentalAgreement().getPrettyPrintText());
+          out.println("*".repeat(35));
+        });
+  }
+
+  private String next() {
+    out.flush();
+    return scanner.next();
+  }
+
+  private String nextLine() {
+    out.flush();
+    return scanner.nextLine();
+  }
+}
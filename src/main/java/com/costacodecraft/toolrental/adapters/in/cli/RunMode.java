@@ -0,0 +1,52 @@
+package com.costacodecraft.toolrental.adapters.in.cli;
+
+import java.util.Arrays;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.DefaultApplicationArguments;
+
+/**
+ * The modes the application can run in, selected by a command-line option such as
+ * {@code --batch=commands.csv}. Without any of these options the interactive POS terminal runs.
+ */
+public enum RunMode {
+  INTERACTIVE(null),
+  BATCH("batch"),
+  IMPORT("import"),
+  EXPORT("export"),
+  RECONCILE("reconcile"),
+  HTTP("http"),
+  LANES("lanes");
+
+  private final String option;
+
+  RunMode(String option) {
+    this.option = option;
+  }
+
+  public String getOption() {
+    return option;
+  }
+
+  /**
+   * Returns the run mode selected by the given command-line arguments.
+   *
+   * @param args the command-line arguments
+   * @return the selected run mode
+   */
+  public static RunMode from(ApplicationArguments args) {
+    return Arrays.stream(values())
+        .filter(mode -> mode.option != null && args.containsOption(mode.option))
+        .findFirst()
+        .orElse(INTERACTIVE);
+  }
+
+  /**
+   * Returns the run mode selected by the given command-line arguments.
+   *
+   * @param args the command-line arguments
+   * @return the selected run mode
+   */
+  public static RunMode from(String... args) {
+    return from(new DefaultApplicationArguments(args));
+  }
+}
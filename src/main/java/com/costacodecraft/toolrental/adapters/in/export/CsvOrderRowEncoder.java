@@ -0,0 +1,38 @@
+package com.costacodecraft.toolrental.adapters.in.export;
+
+import com.costacodecraft.toolrental.application.domain.model.Order;
+import com.costacodecraft.toolrental.application.domain.model.RentalAgreement;
+import java.io.IOException;
+
+/**
+ * Encodes orders as comma separated values, one order per line.
+ */
+public class CsvOrderRowEncoder implements OrderRowEncoder {
+
+  private static final String HEADER = "orderId,toolCode,toolType,toolBrand,rentalDays,"
+      + "checkoutDate,returnDate,dailyChargeAmount,chargeDays,preDiscountAmount,discountPercent,"
+      + "discountAmount,finalChargeAmount\n";
+
+  @Override
+  public void writeHeader(ExportBuffer buffer) throws IOException {
+    buffer.put(HEADER);
+  }
+
+  @Override
+  public void writeRow(Order order, ExportBuffer buffer) throws IOException {
+    RentalAgreement agreement = order.rentalAgreement();
+    buffer.put(order.id().value()).put(',')
+        .putCsvField(agreement.toolCode()).put(',')
+        .put(agreement.toolType().name()).put(',')
+        .put(agreement.toolBrand().name()).put(',')
+        .put(agreement.rentalDays()).put(',')
+        .putDate(agreement.checkoutDate()).put(',')
+        .putDate(agreement.returnDate()).put(',')
+        .putAmount(agreement.dailyChargeAmount()).put(',')
+        .put(agreement.chargeDays()).put(',')
+        .putAmount(agreement.preDiscountAmount()).put(',')
+        .put(agreement.discountPercent()).put(',')
+        .putAmount(agreement.discountAmount()).put(',')
+        .putAmount(agreement.finalChargeAmount()).put('\n');
+  }
+}
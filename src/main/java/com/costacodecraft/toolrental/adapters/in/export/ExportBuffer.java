@@ -0,0 +1,278 @@
+package com.costacodecraft.toolrental.adapters.in.export;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Buffer that encodes values as UTF-8 text straight into a {@link ByteBuffer}, flushing it to a
+ * channel when it fills up. Values are written digit by digit instead of through intermediate
+ * strings.
+ */
+public class ExportBuffer {
+
+  private static final int CAPACITY = 256 * 1024;
+  // the longest fixed width value written at once, a UUID or a long with sign
+  private static final int MAX_VALUE_BYTES = 36;
+  private static final byte[] HEX = "0123456789abcdef".getBytes();
+
+  private final ByteBuffer buffer = ByteBuffer.allocateDirect(CAPACITY);
+  private final byte[] digits = new byte[20];
+  private final WritableByteChannel channel;
+  private long bytesWritten;
+
+  public ExportBuffer(WritableByteChannel channel) {
+    this.channel = channel;
+  }
+
+  /**
+   * Writes a single ASCII character.
+   *
+   * @param c the character
+   * @return this buffer
+   * @throws IOException if the buffer cannot be flushed
+   */
+  public ExportBuffer put(char c) throws IOException {
+    ensureRemaining(1);
+    buffer.put((byte) c);
+    return this;
+  }
+
+  /**
+   * Writes text as UTF-8.
+   *
+   * @param text the text
+   * @return this buffer
+   * @throws IOException if the buffer cannot be flushed
+   */
+  public ExportBuffer put(CharSequence text) throws IOException {
+    for (int i = 0; i < text.length(); i++) {
+      putChar(text.charAt(i));
+    }
+    return this;
+  }
+
+  /**
+   * Writes text as a JSON string, including the surrounding quotes.
+   *
+   * @param text the text
+   * @return this buffer
+   * @throws IOException if the buffer cannot be flushed
+   */
+  public ExportBuffer putJsonString(CharSequence text) throws IOException {
+    put('"');
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (c == '"' || c == '\\') {
+        put('\\').put(c);
+      } else if (c < 0x20) {
+        put("\\u00").put((char) HEX[c >> 4]).put((char) HEX[c & 0xF]);
+      } else {
+        putChar(c);
+      }
+    }
+    return put('"');
+  }
+
+  /**
+   * Writes text as a CSV field, quoting it only when it contains a separator, a quote or a line
+   * break.
+   *
+   * @param text the text
+   * @return this buffer
+   * @throws IOException if the buffer cannot be flushed
+   */
+  public ExportBuffer putCsvField(CharSequence text) throws IOException {
+    boolean quoted = false;
+    for (int i = 0; i < text.length() && !quoted; i++) {
+      char c = text.charAt(i);
+      quoted = c == ',' || c == '"' || c == '\n' || c == '\r';
+    }
+    if (!quoted) {
+      return put(text);
+    }
+    put('"');
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (c == '"') {
+        put('"');
+      }
+      putChar(c);
+    }
+    return put('"');
+  }
+
+  /**
+   * Writes a number in decimal notation.
+   *
+   * @param value the number
+   * @return this buffer
+   * @throws IOException if the buffer cannot be flushed
+   */
+  public ExportBuffer put(long value) throws IOException {
+    ensureRemaining(MAX_VALUE_BYTES);
+    if (value == Long.MIN_VALUE) {
+      return put(Long.toString(value));
+    }
+    if (value < 0) {
+      buffer.put((byte) '-');
+      value = -value;
+    }
+    int length = 0;
+    do {
+      digits[length++] = (byte) ('0' + value % 10);
+      value /= 10;
+    } while (value != 0);
+    while (length > 0) {
+      buffer.put(digits[--length]);
+    }
+    return this;
+  }
+
+  /**
+   * Writes an amount with exactly two decimals.
+   *
+   * @param amount the amount
+   * @return this buffer
+   * @throws IOException if the buffer cannot be flushed
+   */
+  public ExportBuffer putAmount(BigDecimal amount) throws IOException {
+    return putCents(amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+  }
+
+  /**
+   * Writes an amount with two decimals, or with as many decimals as needed if it has more.
+   *
+   * @param amount the amount
+   * @return this buffer
+   * @throws IOException if the buffer cannot be flushed
+   */
+  public ExportBuffer putAmount(double amount) throws IOException {
+    long cents = Math.round(amount * 100);
+    if (cents / 100.0 != amount) {
+      return put(Double.toString(amount));
+    }
+    return putCents(cents);
+  }
+
+  /**
+   * Writes a date in ISO format, e.g. 2020-07-02.
+   *
+   * @param date the date
+   * @return this buffer
+   * @throws IOException if the buffer cannot be flushed
+   */
+  public ExportBuffer putDate(LocalDate date) throws IOException {
+    int year = date.getYear();
+    if (year < 0 || year > 9999) {
+      return put(date.toString());
+    }
+    ensureRemaining(10);
+    putDigits(year, 4);
+    buffer.put((byte) '-');
+    putDigits(date.getMonthValue(), 2);
+    buffer.put((byte) '-');
+    putDigits(date.getDayOfMonth(), 2);
+    return this;
+  }
+
+  /**
+   * Writes a UUID in its canonical format.
+   *
+   * @param uuid the UUID
+   * @return this buffer
+   * @throws IOException if the buffer cannot be flushed
+   */
+  public ExportBuffer put(UUID uuid) throws IOException {
+    ensureRemaining(MAX_VALUE_BYTES);
+    long msb = uuid.getMostSignificantBits();
+    long lsb = uuid.getLeastSignificantBits();
+    putHex(msb >>> 32, 8);
+    buffer.put((byte) '-');
+    putHex(msb >>> 16, 4);
+    buffer.put((byte) '-');
+    putHex(msb, 4);
+    buffer.put((byte) '-');
+    putHex(lsb >>> 48, 4);
+    buffer.put((byte) '-');
+    putHex(lsb, 12);
+    return this;
+  }
+
+  /**
+   * Writes the buffered bytes to the channel.
+   *
+   * @throws IOException if the bytes cannot be written
+   */
+  public void flush() throws IOException {
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      bytesWritten += channel.write(buffer);
+    }
+    buffer.clear();
+  }
+
+  /**
+   * Returns the number of bytes flushed to the channel so far.
+   *
+   * @return the number of bytes written
+   */
+  public long getBytesWritten() {
+    return bytesWritten;
+  }
+
+  private ExportBuffer putCents(long cents) throws IOException {
+    if (cents < 0) {
+      put('-');
+      cents = -cents;
+    }
+    put(cents / 100);
+    ensureRemaining(3);
+    buffer.put((byte) '.');
+    putDigits((int) (cents % 100), 2);
+    return this;
+  }
+
+  private void putChar(char c) throws IOException {
+    ensureRemaining(3);
+    if (c < 0x80) {
+      buffer.put((byte) c);
+    } else if (c < 0x800) {
+      buffer.put((byte) (0xC0 | c >> 6));
+      buffer.put((byte) (0x80 | c & 0x3F));
+    } else if (Character.isSurrogate(c)) {
+      // supplementary characters are not expected in exported fields
+      buffer.put((byte) '?');
+    } else {
+      buffer.put((byte) (0xE0 | c >> 12));
+      buffer.put((byte) (0x80 | c >> 6 & 0x3F));
+      buffer.put((byte) (0x80 | c & 0x3F));
+    }
+  }
+
+  private void putDigits(int value, int width) {
+    for (int i = width - 1; i >= 0; i--) {
+      digits[i] = (byte) ('0' + value % 10);
+      value /= 10;
+    }
+    buffer.put(digits, 0, width);
+  }
+
+  private void putHex(long value, int width) {
+    for (int i = width - 1; i >= 0; i--) {
+      digits[i] = HEX[(int) (value & 0xF)];
+      value >>>= 4;
+    }
+    buffer.put(digits, 0, width);
+  }
+
+  private void ensureRemaining(int bytes) throws IOException {
+    if (buffer.remaining() < bytes) {
+      flush();
+    }
+  }
+}
@@ -0,0 +1,35 @@
+package com.costacodecraft.toolrental.adapters.in.export;
+
+import com.costacodecraft.toolrental.application.domain.model.Order;
+import com.costacodecraft.toolrental.application.domain.model.RentalAgreement;
+import java.io.IOException;
+
+/**
+ * Encodes orders as JSON objects, one order per line.
+ */
+public class JsonLinesOrderRowEncoder implements OrderRowEncoder {
+
+  @Override
+  public void writeHeader(ExportBuffer buffer) {
+    // JSON lines files have no header
+  }
+
+  @Override
+  public void writeRow(Order order, ExportBuffer buffer) throws IOException {
+    RentalAgreement agreement = order.rentalAgreement();
+    buffer.put("{\"orderId\":\"").put(order.id().value())
+        .put("\",\"toolCode\":").putJsonString(agreement.toolCode())
+        .put(",\"toolType\":\"").put(agreement.toolType().name())
+        .put("\",\"toolBrand\":\"").put(agreement.toolBrand().name())
+        .put("\",\"rentalDays\":").put(agreement.rentalDays())
+        .put(",\"checkoutDate\":\"").putDate(agreement.checkoutDate())
+        .put("\",\"returnDate\":\"").putDate(agreement.returnDate())
+        .put("\",\"dailyChargeAmount\":").putAmount(agreement.dailyChargeAmount())
+        .put(",\"chargeDays\":").put(agreement.chargeDays())
+        .put(",\"preDiscountAmount\":").putAmount(agreement.preDiscountAmount())
+        .put(",\"discountPercent\":").put(agreement.discountPercent())
+        .put(",\"discountAmount\":").putAmount(agreement.discountAmount())
+        .put(",\"finalChargeAmount\":").putAmount(agreement.finalChargeAmount())
+        .put("}\n");
+  }
+}
@@ -0,0 +1,94 @@
+package com.costacodecraft.toolrental.adapters.in.export;
+
+import com.costacodecraft.toolrental.adapters.in.cli.RunMode;
+import com.costacodecraft.toolrental.application.domain.model.Order;
+import com.costacodecraft.toolrental.application.port.in.GetOrderUseCase;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Export of every order and its rental agreement, selected with {@code --export=<file>}. Files
+ * ending in {@code .jsonl} are written as JSON lines, any other file as CSV.
+ * <p>
+ * The orders exported are those of the orders file, {@code toolrental.orders.file}, written by
+ * earlier runs in any mode that creates orders; exporting without one is rejected, as there would
+ * be nothing to export. Orders are read a page at a time, in ascending order of their IDs, and
+ * encoded straight into a file channel, so the export itself holds no more than a page of orders
+ * whatever their number.
+ */
+@Component
+public class OrderExportRunner implements ApplicationRunner {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(OrderExportRunner.class);
+  private static final int PAGE_SIZE = 1000;
+
+  private final GetOrderUseCase orderUseCase;
+  private final String ordersFile;
+
+  public OrderExportRunner(GetOrderUseCase orderUseCase,
+      @Value("${toolrental.orders.file:}") String ordersFile) {
+    this.orderUseCase = orderUseCase;
+    this.ordersFile = ordersFile;
+  }
+
+  @Override
+  public void run(ApplicationArguments args) throws IOException {
+    if (RunMode.from(args) != RunMode.EXPORT) {
+      return;
+    }
+    List<String> outputs = args.getOptionValues(RunMode.EXPORT.getOption());
+    if (outputs.isEmpty() || outputs.getFirst().isBlank()) {
+      throw new IllegalArgumentException("Missing value for --" + RunMode.EXPORT.getOption());
+    }
+    if (ordersFile.isBlank()) {
+      throw new IllegalArgumentException("--" + RunMode.EXPORT.getOption()
+          + " needs toolrental.orders.file, the orders to export");
+    }
+    export(Path.of(outputs.getFirst()));
+  }
+
+  /**
+   * Exports every order to the given file.
+   *
+   * @param output the file to write
+   * @return the number of orders exported
+   * @throws IOException if the file cannot be written
+   */
+  long export(Path output) throws IOException {
+    OrderRowEncoder encoder = output.getFileName().toString().endsWith(".jsonl")
+        ? new JsonLinesOrderRowEncoder()
+        : new CsvOrderRowEncoder();
+    long start = System.nanoTime();
+    long count = 0;
+    long bytes;
+    try (FileChannel channel = FileChannel.open(output, StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      ExportBuffer buffer = new ExportBuffer(channel);
+      encoder.writeHeader(buffer);
+      List<Order> page = orderUseCase.getOrders(null, PAGE_SIZE);
+      while (!page.isEmpty()) {
+        for (Order order : page) {
+          encoder.writeRow(order, buffer);
+        }
+        count += page.size();
+        page = orderUseCase.getOrders(page.getLast().id(), PAGE_SIZE);
+      }
+      buffer.flush();
+      bytes = buffer.getBytesWritten();
+    }
+    long millis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    LOGGER.info("Exported {} orders to {}: {} bytes in {} ms ({} bytes/s)", count, output, bytes,
+        millis, bytes * 1000 / millis);
+    return count;
+  }
+}
@@ -0,0 +1,27 @@
+package com.costacodecraft.toolrental.adapters.in.export;
+
+import com.costacodecraft.toolrental.application.domain.model.Order;
+import java.io.IOException;
+
+/**
+ * Encodes orders as rows of an export file.
+ */
+public interface OrderRowEncoder {
+
+  /**
+   * Writes the header of the export file, if the format has one.
+   *
+   * @param buffer the buffer to write to
+   * @throws IOException if the buffer cannot be flushed
+   */
+  void writeHeader(ExportBuffer buffer) throws IOException;
+
+  /**
+   * Writes one order as a row, including the line terminator.
+   *
+   * @param order the order to write
+   * @param buffer the buffer to write to
+   * @throws IOException if the buffer cannot be flushed
+   */
+  void writeRow(Order order, ExportBuffer buffer) throws IOException;
+}
@@ -0,0 +1,106 @@
+package com.costacodecraft.toolrental.adapters.in.export;
+
+import com.costacodecraft.toolrental.adapters.in.cli.RunMode;
+import com.costacodecraft.toolrental.application.domain.model.RentalAgreement;
+import com.costacodecraft.toolrental.application.port.in.PriceDifference;
+import com.costacodecraft.toolrental.application.port.in.ReconcileOrdersUseCase;
+import com.costacodecraft.toolrental.application.port.in.Reconciliation;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reconciliation of the stored orders, selected with {@code --reconcile=<file>}. Every order of the
+ * orders file, {@code toolrental.orders.file}, is priced again with the current tools and rules,
+ * and the orders whose final charge changed are written to the file as CSV, with their stored and
+ * repriced charge days and final charges. Reconciling without an orders file is rejected, as there
+ * would be nothing to reconcile.
+ */
+@Component
+public class ReconciliationRunner implements ApplicationRunner {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ReconciliationRunner.class);
+  private static final String HEADER = "orderId,toolCode,rentalDays,checkoutDate,chargeDays,"
+      + "finalChargeAmount,repricedChargeDays,repricedFinalChargeAmount\n";
+
+  private final ReconcileOrdersUseCase reconcileOrdersUseCase;
+  private final String ordersFile;
+
+  public ReconciliationRunner(ReconcileOrdersUseCase reconcileOrdersUseCase,
+      @Value("${toolrental.orders.file:}") String ordersFile) {
+    this.reconcileOrdersUseCase = reconcileOrdersUseCase;
+    this.ordersFile = ordersFile;
+  }
+
+  @Override
+  public void run(ApplicationArguments args) throws IOException {
+    if (RunMode.from(args) != RunMode.RECONCILE) {
+      return;
+    }
+    List<String> outputs = args.getOptionValues(RunMode.RECONCILE.getOption());
+    if (outputs.isEmpty() || outputs.getFirst().isBlank()) {
+      throw new IllegalArgumentException("Missing value for --" + RunMode.RECONCILE.getOption());
+    }
+    if (ordersFile.isBlank()) {
+      throw new IllegalArgumentException("--" + RunMode.RECONCILE.getOption()
+          + " needs toolrental.orders.file, the orders to reconcile");
+    }
+    reconcile(Path.of(outputs.getFirst()));
+  }
+
+  /**
+   * Reconciles the stored orders, writing the differences to the given file.
+   *
+   * @param output the file to write
+   * @return the outcome of the reconciliation
+   * @throws IOException if the file cannot be written
+   */
+  Reconciliation reconcile(Path output) throws IOException {
+    long start = System.nanoTime();
+    Reconciliation reconciliation;
+    try (FileChannel channel = FileChannel.open(output, StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      ExportBuffer buffer = new ExportBuffer(channel);
+      buffer.put(HEADER);
+      try {
+        reconciliation = reconcileOrdersUseCase.reconcile(difference -> write(difference, buffer));
+      } catch (UncheckedIOException e) {
+        throw e.getCause();
+      }
+      buffer.flush();
+    }
+    long millis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    LOGGER.info("Reconciled {} orders in {} ms ({} orders/s): {} changed, {} with unknown tools,"
+            + " written to {}", reconciliation.orders(), millis,
+        reconciliation.orders() * 1000 / millis, reconciliation.differences(),
+        reconciliation.toolsNotFound(), output);
+    return reconciliation;
+  }
+
+  private static void write(PriceDifference difference, ExportBuffer buffer) {
+    RentalAgreement stored = difference.order().rentalAgreement();
+    RentalAgreement repriced = difference.repricedAgreement();
+    try {
+      buffer.put(difference.order().id().value()).put(',')
+          .putCsvField(stored.toolCode()).put(',')
+          .put(stored.rentalDays()).put(',')
+          .putDate(stored.checkoutDate()).put(',')
+          .put(stored.chargeDays()).put(',')
+          .putAmount(stored.finalChargeAmount()).put(',')
+          .put(repriced.chargeDays()).put(',')
+          .putAmount(repriced.finalChargeAmount()).put('\n');
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
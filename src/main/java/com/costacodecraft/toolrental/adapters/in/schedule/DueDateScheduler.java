@@ -0,0 +1,79 @@
+package com.costacodecraft.toolrental.adapters.in.schedule;
+
+import com.costacodecraft.toolrental.application.domain.service.DueDateTracker;
+import jakarta.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves the {@link DueDateTracker} to each new day at midnight, in the time zone of the clock, on a
+ * daemon thread started with the application.
+ */
+@Component
+public class DueDateScheduler {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(DueDateScheduler.class);
+
+  private final DueDateTracker dueDateTracker;
+  private final Clock clock;
+  private ScheduledExecutorService executor;
+
+  public DueDateScheduler(DueDateTracker dueDateTracker, Clock clock) {
+    this.dueDateTracker = dueDateTracker;
+    this.clock = clock;
+  }
+
+  /**
+   * Starts moving the tracker to each new day.
+   */
+  @EventListener(ApplicationStartedEvent.class)
+  public synchronized void start() {
+    if (executor != null) {
+      return;
+    }
+    executor = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("due-date-scheduler").daemon().factory());
+    scheduleNextDay();
+  }
+
+  /**
+   * Stops moving the tracker.
+   */
+  @PreDestroy
+  public synchronized void stop() {
+    if (executor != null) {
+      executor.shutdownNow();
+    }
+  }
+
+  private synchronized void scheduleNextDay() {
+    if (executor.isShutdown()) {
+      return;
+    }
+    ZonedDateTime now = ZonedDateTime.now(clock);
+    // recomputed every day, so that the delay follows daylight saving time and clock changes
+    ZonedDateTime midnight = now.toLocalDate().plusDays(1).atStartOfDay(now.getZone());
+    executor.schedule(this::advance, Duration.between(now, midnight).toMillis(),
+        TimeUnit.MILLISECONDS);
+  }
+
+  private void advance() {
+    try {
+      dueDateTracker.advanceTo(LocalDate.now(clock));
+    } catch (RuntimeException e) {
+      LOGGER.error("Failed to move the due date tracker to a new day", e);
+    } finally {
+      scheduleNextDay();
+    }
+  }
+}
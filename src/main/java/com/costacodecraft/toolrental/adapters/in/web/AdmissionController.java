@@ -0,0 +1,210 @@
+package com.costacodecraft.toolrental.adapters.in.web;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Limits how many checkouts and quotes the HTTP API handles at once, so that a traffic spike is
+ * turned away quickly instead of slowing every request down.
+ * <p>
+ * The limit adapts to latency (additive increase, multiplicative decrease): it shrinks by a tenth,
+ * at most once per {@code toolrental.admission.target-latency} (default 50 ms), whenever a
+ * request takes longer than that target, and grows by about one per round of requests while
+ * requests are fast and the limit is in use. It starts at
+ * {@code toolrental.admission.initial-limit} and stays between {@code min-limit} and
+ * {@code max-limit}.
+ * <p>
+ * Quotes may only use {@code toolrental.admission.quote-share} of the limit (default 0.75), so
+ * they are shed before checkouts. Rejected requests get a 503 with a {@code Retry-After} header.
+ * Other requests, such as reading orders or tools, are not limited.
+ * <p>
+ * Checkouts and quotes dispatched through {@link #admitting(Executor)} are timed from the moment
+ * they are dispatched rather than when their handler starts, so that time spent waiting for a
+ * thread backs the limit off too. Other requests pass through it untimed.
+ * <p>
+ * Completed requests adjust the limit with atomic updates rather than a lock, so that admission
+ * does not become the point of contention it is meant to relieve.
+ */
+@Component
+public class AdmissionController {
+
+  private static final double BACKOFF = 0.9;
+  // shared and stackless, as it is thrown most when the server is busiest
+  private static final HttpStatusException OVERLOADED = new HttpStatusException(503,
+      "Server overloaded, please retry later", Map.of("Retry-After", "1"), false);
+  private static final ThreadLocal<long[]> DISPATCHED_AT = new ThreadLocal<>();
+
+  /**
+   * The kinds of requests, in the order they are shed.
+   */
+  public enum Priority {
+    QUOTE,
+    CHECKOUT
+  }
+
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final LongAdder rejected = new LongAdder();
+  private final int minLimit;
+  private final int maxLimit;
+  private final long targetLatencyNanos;
+  private final double quoteShare;
+  // the bits of the limit, a double
+  private final AtomicLong limit = new AtomicLong();
+  private final AtomicLong lastDecrease;
+
+  public AdmissionController(@Value("${toolrental.admission.initial-limit:32}") int initialLimit,
+      @Value("${toolrental.admission.min-limit:4}") int minLimit,
+      @Value("${toolrental.admission.max-limit:256}") int maxLimit,
+      @Value("${toolrental.admission.target-latency:PT0.05S}") Duration targetLatency,
+      @Value("${toolrental.admission.quote-share:0.75}") double quoteShare) {
+    if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+      throw new IllegalArgumentException(
+          "Admission limits must satisfy 1 <= min <= initial <= max");
+    }
+    if (quoteShare <= 0 || quoteShare > 1) {
+      throw new IllegalArgumentException("Quote share must be above 0 and at most 1");
+    }
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.targetLatencyNanos = targetLatency.toNanos();
+    this.quoteShare = quoteShare;
+    this.limit.set(Double.doubleToRawLongBits(initialLimit));
+    this.lastDecrease = new AtomicLong(System.nanoTime() - targetLatencyNanos);
+  }
+
+  /**
+   * Admits a request, to be closed once it is handled.
+   *
+   * @param priority the kind of request
+   * @return the permit of the admitted request
+   * @throws HttpStatusException with status 503 if the limit for the priority is reached
+   */
+  public Permit acquire(Priority priority) {
+    double current = limit();
+    int cap = Math.max(1, (int) (priority == Priority.QUOTE ? current * quoteShare : current));
+    while (true) {
+      int running = inFlight.get();
+      if (running >= cap) {
+        rejected.increment();
+        throw OVERLOADED;
+      }
+      if (inFlight.compareAndSet(running, running + 1)) {
+        long[] dispatchedAt = DISPATCHED_AT.get();
+        return new Permit(running + 1, dispatchedAt == null ? System.nanoTime() : dispatchedAt[0]);
+      }
+    }
+  }
+
+  /**
+   * Wraps the executor of a server so that the checkouts and quotes it runs are timed from when
+   * they were dispatched.
+   *
+   * @param executor the executor running the requests
+   * @return an executor recording when each request was dispatched
+   */
+  public Executor admitting(Executor executor) {
+    return task -> {
+      long[] dispatchedAt = {System.nanoTime()};
+      executor.execute(() -> {
+        DISPATCHED_AT.set(dispatchedAt);
+        try {
+          task.run();
+        } finally {
+          DISPATCHED_AT.remove();
+        }
+      });
+    };
+  }
+
+  /**
+   * Returns the current concurrency limit.
+   *
+   * @return the limit
+   */
+  public int getLimit() {
+    return (int) limit();
+  }
+
+  private double limit() {
+    return Double.longBitsToDouble(limit.get());
+  }
+
+  /**
+   * Returns the number of requests being handled.
+   *
+   * @return the requests in flight
+   */
+  public int getInFlight() {
+    return inFlight.get();
+  }
+
+  /**
+   * Returns the number of requests rejected so far.
+   *
+   * @return the rejected requests
+   */
+  public long getRejected() {
+    return rejected.sum();
+  }
+
+  /**
+   * Adjusts the limit after a request completed.
+   *
+   * @param running the requests in flight when it was admitted, itself included
+   * @param latencyNanos how long it took
+   */
+  void onComplete(int running, long latencyNanos) {
+    if (latencyNanos > targetLatencyNanos) {
+      long now = System.nanoTime();
+      long last = lastDecrease.get();
+      // only the request winning the window backs off
+      if (now - last >= targetLatencyNanos && lastDecrease.compareAndSet(last, now)) {
+        long bits;
+        do {
+          bits = limit.get();
+        } while (!limit.compareAndSet(bits, Double.doubleToRawLongBits(
+            Math.max(minLimit, Double.longBitsToDouble(bits) * BACKOFF))));
+      }
+    } else {
+      long bits = limit.get();
+      double current = Double.longBitsToDouble(bits);
+      // only grow while the limit is in use, or it would drift up while idle; a lost race skips
+      // this small step rather than retrying
+      if (running * 2 >= current && current < maxLimit) {
+        limit.compareAndSet(bits,
+            Double.doubleToRawLongBits(Math.min(maxLimit, current + 1 / current)));
+      }
+    }
+  }
+
+  /**
+   * An admitted request. Closing it releases its slot and records its latency.
+   */
+  public final class Permit implements AutoCloseable {
+
+    private final int running;
+    private final long startNanos;
+    private boolean closed;
+
+    private Permit(int running, long startNanos) {
+      this.running = running;
+      this.startNanos = startNanos;
+    }
+
+    @Override
+    public void close() {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      inFlight.decrementAndGet();
+      onComplete(running, System.nanoTime() - startNanos);
+    }
+  }
+}
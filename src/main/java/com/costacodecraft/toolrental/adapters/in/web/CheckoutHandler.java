@@ -0,0 +1,122 @@
+package com.costacodecraft.toolrental.adapters.in.web;
+
+import com.costacodecraft.toolrental.adapters.in.web.AdmissionController.Permit;
+import com.costacodecraft.toolrental.adapters.in.web.AdmissionController.Priority;
+import com.costacodecraft.toolrental.application.domain.exception.InvalidDataEntryException;
+import com.costacodecraft.toolrental.application.domain.model.Order.OrderId;
+import com.costacodecraft.toolrental.application.port.in.AsyncCheckoutUseCase;
+import com.costacodecraft.toolrental.application.port.in.CheckoutCommand;
+import com.costacodecraft.toolrental.application.port.in.CheckoutUseCase;
+import com.costacodecraft.toolrental.application.port.in.GetOrderUseCase;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * {@code POST /checkout} checks out one command and {@code POST /checkout/batch} an array of them,
+ * answering with the created orders. A batch is checked out as a whole: if any command is invalid
+ * no order is created. Single checkouts go through the {@link AsyncCheckoutUseCase} pipeline, so
+ * concurrent requests share order batches.
+ * <p>
+ * An {@code Idempotency-Key} header on {@code POST /checkout}, or an {@code idempotencyKey} field
+ * in the commands, makes retries of the same request answer with the original order.
+ * <p>
+ * Checkouts are admitted by the {@link AdmissionController} with {@link Priority#CHECKOUT}. A
+ * single checkout not done within the checkout timeout is answered with 503; the order may still
+ * be created, and a retry with the same idempotency key answers with it.
+ */
+class CheckoutHandler extends JsonHandler {
+
+  private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+  static final TypeReference<List<CheckoutCommand>> COMMANDS = new TypeReference<>() {
+  };
+
+  private final CheckoutUseCase checkoutUseCase;
+  private final AsyncCheckoutUseCase asyncCheckoutUseCase;
+  private final GetOrderUseCase orderUseCase;
+  private final AdmissionController admissionController;
+  private final Duration checkoutTimeout;
+
+  CheckoutHandler(ObjectMapper objectMapper, CheckoutUseCase checkoutUseCase,
+      AsyncCheckoutUseCase asyncCheckoutUseCase, GetOrderUseCase orderUseCase,
+      AdmissionController admissionController, Duration checkoutTimeout) {
+    super(objectMapper);
+    this.checkoutUseCase = checkoutUseCase;
+    this.asyncCheckoutUseCase = asyncCheckoutUseCase;
+    this.orderUseCase = orderUseCase;
+    this.admissionController = admissionController;
+    this.checkoutTimeout = checkoutTimeout;
+  }
+
+  @Override
+  protected Response handleJson(HttpExchange exchange) throws IOException {
+    requireMethod(exchange, "POST");
+    String path = exchange.getRequestURI().getPath();
+    try (Permit permit = admissionController.acquire(Priority.CHECKOUT);
+        InputStream body = exchange.getRequestBody()) {
+      if (path.equals("/checkout")) {
+        CheckoutCommand command = objectMapper.readValue(body, CheckoutCommand.class);
+        String idempotencyKey = exchange.getRequestHeaders().getFirst(IDEMPOTENCY_KEY);
+        if (command != null && idempotencyKey != null) {
+          command = command.withIdempotencyKey(idempotencyKey);
+        }
+        requireFields(Collections.singletonList(command));
+        return Response.created(toResource(checkoutAsync(command)));
+      }
+      if (path.equals("/checkout/batch")) {
+        List<CheckoutCommand> commands = objectMapper.readValue(body, COMMANDS);
+        return Response.created(checkout(commands));
+      }
+    }
+    throw new HttpStatusException(404, "Not found");
+  }
+
+  /**
+   * Rejects commands that are missing fields the JSON body did not provide.
+   *
+   * @param commands the commands read from the request
+   * @throws InvalidDataEntryException if a command is missing its tool code or checkout date
+   */
+  static void requireFields(List<CheckoutCommand> commands) {
+    for (CheckoutCommand command : commands) {
+      if (command == null || command.toolCode() == null || command.checkoutDate() == null) {
+        throw new InvalidDataEntryException("Missing toolCode or checkoutDate");
+      }
+    }
+  }
+
+  private List<OrderResource> checkout(List<CheckoutCommand> commands) {
+    requireFields(commands);
+    List<OrderId> orderIds = checkoutUseCase.checkout(commands);
+    return orderIds.stream().map(this::toResource).toList();
+  }
+
+  private OrderId checkoutAsync(CheckoutCommand command) {
+    try {
+      return asyncCheckoutUseCase.checkoutAsync(command)
+          .get(checkoutTimeout.toNanos(), TimeUnit.NANOSECONDS);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw new IllegalStateException(e.getCause());
+    } catch (TimeoutException e) {
+      throw new HttpStatusException(503, "Checkout timed out");
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new HttpStatusException(503, "Checkout interrupted");
+    }
+  }
+
+  private OrderResource toResource(OrderId orderId) {
+    return orderUseCase.getOrder(orderId).map(OrderResource::from).orElseThrow();
+  }
+}
@@ -0,0 +1,149 @@
+package com.costacodecraft.toolrental.adapters.in.web;
+
+import com.costacodecraft.toolrental.adapters.in.cli.RunMode;
+import com.costacodecraft.toolrental.application.port.in.AmendRentalUseCase;
+import com.costacodecraft.toolrental.application.port.in.AsyncCheckoutUseCase;
+import com.costacodecraft.toolrental.application.port.in.CheckoutUseCase;
+import com.costacodecraft.toolrental.application.port.in.GetOrderUseCase;
+import com.costacodecraft.toolrental.application.port.in.GetRollupsUseCase;
+import com.costacodecraft.toolrental.application.port.in.GetTopToolsUseCase;
+import com.costacodecraft.toolrental.application.port.in.GetToolUseCase;
+import com.costacodecraft.toolrental.application.port.in.QuoteUseCase;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * JSON API over HTTP, selected with {@code --http} or {@code --http=<port>} (default 8080).
+ * <p>
+ * The server only listens on the loopback address and handles every request on its own virtual
+ * thread. It runs until the application is stopped. Checkouts and quotes are admitted by the
+ * {@link AdmissionController}. A single checkout waits at most
+ * {@code toolrental.http.checkout-timeout} (default 10 seconds) for the checkout pipeline.
+ * <p>
+ * Small responses are only sent without delay with {@code -Dsun.net.httpserver.nodelay=true},
+ * which {@code ToolRentalApplication.main} sets unless told otherwise.
+ */
+@Component
+public class HttpApiServer implements ApplicationRunner, DisposableBean {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(HttpApiServer.class);
+  private static final int DEFAULT_PORT = 8080;
+
+  private final CheckoutUseCase checkoutUseCase;
+  private final AsyncCheckoutUseCase asyncCheckoutUseCase;
+  private final GetOrderUseCase orderUseCase;
+  private final AmendRentalUseCase amendRentalUseCase;
+  private final GetToolUseCase toolUseCase;
+  private final QuoteUseCase quoteUseCase;
+  private final GetRollupsUseCase rollupsUseCase;
+  private final GetTopToolsUseCase topToolsUseCase;
+  private final AdmissionController admissionController;
+  private final PrometheusMeterRegistry meterRegistry;
+  private final ObjectMapper objectMapper;
+  private final Duration checkoutTimeout;
+  private HttpServer server;
+  private ExecutorService executor;
+
+  public HttpApiServer(CheckoutUseCase checkoutUseCase, AsyncCheckoutUseCase asyncCheckoutUseCase,
+      GetOrderUseCase orderUseCase, AmendRentalUseCase amendRentalUseCase,
+      GetToolUseCase toolUseCase, QuoteUseCase quoteUseCase, GetRollupsUseCase rollupsUseCase,
+      GetTopToolsUseCase topToolsUseCase, AdmissionController admissionController,
+      PrometheusMeterRegistry meterRegistry, ObjectMapper objectMapper,
+      @Value("${toolrental.http.checkout-timeout:PT10S}") Duration checkoutTimeout) {
+    this.checkoutUseCase = checkoutUseCase;
+    this.asyncCheckoutUseCase = asyncCheckoutUseCase;
+    this.orderUseCase = orderUseCase;
+    this.amendRentalUseCase = amendRentalUseCase;
+    this.toolUseCase = toolUseCase;
+    this.quoteUseCase = quoteUseCase;
+    this.rollupsUseCase = rollupsUseCase;
+    this.topToolsUseCase = topToolsUseCase;
+    this.admissionController = admissionController;
+    this.meterRegistry = meterRegistry;
+    this.objectMapper = objectMapper;
+    this.checkoutTimeout = checkoutTimeout;
+  }
+
+  @Override
+  public void run(ApplicationArguments args) throws IOException {
+    if (RunMode.from(args) != RunMode.HTTP) {
+      return;
+    }
+    List<String> ports = args.getOptionValues(RunMode.HTTP.getOption());
+    int port = ports.isEmpty() || ports.getFirst().isBlank()
+        ? DEFAULT_PORT
+        : Integer.parseInt(ports.getFirst());
+    InetSocketAddress address = start(port);
+    LOGGER.info("HTTP API listening on http://{}:{}", address.getHostString(), address.getPort());
+  }
+
+  /**
+   * Starts the server on the loopback address.
+   *
+   * @param port the port to listen on, or 0 for any free port
+   * @return the address the server listens on
+   * @throws IOException if the port cannot be bound
+   */
+  public synchronized InetSocketAddress start(int port) throws IOException {
+    if (server != null) {
+      throw new IllegalStateException("HTTP API already started");
+    }
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+    server.createContext("/checkout", new CheckoutHandler(objectMapper, checkoutUseCase,
+        asyncCheckoutUseCase, orderUseCase, admissionController, checkoutTimeout));
+    server.createContext("/orders/",
+        new OrderHandler(objectMapper, orderUseCase, amendRentalUseCase));
+    server.createContext("/tools", new ToolHandler(objectMapper, toolUseCase));
+    server.createContext("/quote",
+        new QuoteHandler(objectMapper, quoteUseCase, admissionController));
+    server.createContext("/rollups", new RollupHandler(objectMapper, rollupsUseCase));
+    server.createContext("/top-tools", new TopToolsHandler(objectMapper, topToolsUseCase));
+    server.createContext("/metrics", new MetricsHandler(meterRegistry));
+    executor = Executors.newVirtualThreadPerTaskExecutor();
+    server.setExecutor(admissionController.admitting(executor));
+    server.start();
+    return server.getAddress();
+  }
+
+  /**
+   * Returns the address the server listens on.
+   *
+   * @return the address, or null if the server is not running
+   */
+  public synchronized InetSocketAddress getAddress() {
+    return server == null ? null : server.getAddress();
+  }
+
+  /**
+   * Stops the server, waiting at most a second for requests in progress.
+   */
+  public synchronized void stop() {
+    if (server == null) {
+      return;
+    }
+    server.stop(1);
+    executor.close();
+    server = null;
+    executor = null;
+  }
+
+  @Override
+  public void destroy() {
+    stop();
+  }
+}
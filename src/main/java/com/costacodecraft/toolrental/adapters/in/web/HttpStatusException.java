@@ -0,0 +1,50 @@
+package com.costacodecraft.toolrental.adapters.in.web;
+
+import java.util.Map;
+
+/**
+ * Exception thrown by the JSON endpoints to answer with an error status.
+ */
+class HttpStatusException extends RuntimeException {
+
+  private final int status;
+  private final Map<String, String> headers;
+
+  HttpStatusException(int status, String message) {
+    this(status, message, Map.of());
+  }
+
+  HttpStatusException(int status, String message, Map<String, String> headers) {
+    this(status, message, headers, true);
+  }
+
+  /**
+   * Creates an exception, without a stack trace if it is thrown often enough for its cost to
+   * matter, such as the 503 of a shed request.
+   *
+   * @param status the status to answer with
+   * @param message the error message
+   * @param headers the headers to send with the error
+   * @param writableStackTrace whether to fill in the stack trace
+   */
+  HttpStatusException(int status, String message, Map<String, String> headers,
+      boolean writableStackTrace) {
+    super(message, null, writableStackTrace, writableStackTrace);
+    this.status = status;
+    this.headers = headers;
+  }
+
+  int getStatus() {
+    return status;
+  }
+
+  /**
+   * Returns the headers to send with the error, such as {@code Allow} for a 405 response or
+   * {@code Retry-After} for a 503 response.
+   *
+   * @return the headers, possibly empty
+   */
+  Map<String, String> getHeaders() {
+    return headers;
+  }
+}
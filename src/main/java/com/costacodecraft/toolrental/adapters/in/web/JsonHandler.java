@@ -0,0 +1,107 @@
+package com.costacodecraft.toolrental.adapters.in.web;
+
+import com.costacodecraft.toolrental.application.domain.exception.IdempotencyKeyReusedException;
+import com.costacodecraft.toolrental.application.domain.exception.InvalidDataEntryException;
+import com.costacodecraft.toolrental.application.domain.exception.InvalidDiscountException;
+import com.costacodecraft.toolrental.application.domain.exception.InvalidRentalDayException;
+import com.costacodecraft.toolrental.application.domain.exception.ToolNotFoundException;
+import com.fasterxml.jackson.core.JacksonException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Base class of the JSON endpoints. Subclasses return the response body, or throw
+ * {@link HttpStatusException} or one of the domain exceptions, which are mapped to error responses
+ * of the form {@code {"error":"message"}}.
+ */
+abstract class JsonHandler implements HttpHandler {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(JsonHandler.class);
+
+  protected final ObjectMapper objectMapper;
+
+  protected JsonHandler(ObjectMapper objectMapper) {
+    this.objectMapper = objectMapper;
+  }
+
+  @Override
+  public void handle(HttpExchange exchange) throws IOException {
+    try (exchange) {
+      int status;
+      Object body;
+      try {
+        Response response = handleJson(exchange);
+        status = response.status();
+        body = response.body();
+      } catch (HttpStatusException e) {
+        status = e.getStatus();
+        body = error(e.getMessage());
+        e.getHeaders().forEach(exchange.getResponseHeaders()::set);
+      } catch (InvalidDataEntryException | InvalidDiscountException | InvalidRentalDayException
+               | ToolNotFoundException e) {
+        status = 400;
+        body = error(e.getMessage());
+      } catch (IdempotencyKeyReusedException e) {
+        status = 422;
+        body = error(e.getMessage());
+      } catch (JacksonException e) {
+        status = 400;
+        body = error("Malformed JSON: " + e.getOriginalMessage());
+      } catch (RuntimeException e) {
+        LOGGER.error("Failed to handle {} {}", exchange.getRequestMethod(),
+            exchange.getRequestURI(), e);
+        status = 500;
+        body = error("Internal server error");
+      }
+      send(exchange, status, body);
+    }
+  }
+
+  /**
+   * Handles the request.
+   *
+   * @param exchange the request and response
+   * @return the status and body to send
+   * @throws IOException if the request cannot be read
+   */
+  protected abstract Response handleJson(HttpExchange exchange) throws IOException;
+
+  protected static void requireMethod(HttpExchange exchange, String method) {
+    if (!exchange.getRequestMethod().equals(method)) {
+      throw new HttpStatusException(405, "Method not allowed", Map.of("Allow", method));
+    }
+  }
+
+  private void send(HttpExchange exchange, int status, Object body) throws IOException {
+    byte[] bytes = objectMapper.writeValueAsBytes(body);
+    exchange.getResponseHeaders().set("Content-Type", "application/json");
+    exchange.sendResponseHeaders(status, bytes.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(bytes);
+    }
+  }
+
+  private static Map<String, String> error(String message) {
+    return Map.of("error", message == null ? "" : message);
+  }
+
+  /**
+   * A response status and the value to send as its JSON body.
+   */
+  protected record Response(int status, Object body) {
+
+    static Response ok(Object body) {
+      return new Response(200, body);
+    }
+
+    static Response created(Object body) {
+      return new Response(201, body);
+    }
+  }
+}
@@ -0,0 +1,108 @@
+package com.costacodecraft.toolrental.adapters.in.web;
+
+import com.costacodecraft.toolrental.application.domain.exception.InvalidDataEntryException;
+import com.costacodecraft.toolrental.application.domain.exception.RentalReturnedException;
+import com.costacodecraft.toolrental.application.domain.model.Order;
+import com.costacodecraft.toolrental.application.domain.model.Order.OrderId;
+import com.costacodecraft.toolrental.application.port.in.AmendRentalUseCase;
+import com.costacodecraft.toolrental.application.port.in.GetOrderUseCase;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * {@code GET /orders/{id}} answers with the order and its rental agreement.
+ * {@code POST /orders/{id}/extend} with {@code {"extraDays":n}} extends the rental and
+ * {@code POST /orders/{id}/return} with {@code {"returnDate":"yyyy-MM-dd"}} returns it, both
+ * answering with the amended order. Amending a rental that was already returned is answered with
+ * 409.
+ */
+class OrderHandler extends JsonHandler {
+
+  private static final String PREFIX = "/orders/";
+  private static final String EXTEND = "/extend";
+  private static final String RETURN = "/return";
+
+  private final GetOrderUseCase orderUseCase;
+  private final AmendRentalUseCase amendRentalUseCase;
+
+  OrderHandler(ObjectMapper objectMapper, GetOrderUseCase orderUseCase,
+      AmendRentalUseCase amendRentalUseCase) {
+    super(objectMapper);
+    this.orderUseCase = orderUseCase;
+    this.amendRentalUseCase = amendRentalUseCase;
+  }
+
+  @Override
+  protected Response handleJson(HttpExchange exchange) throws IOException {
+    String path = exchange.getRequestURI().getPath();
+    if (!path.startsWith(PREFIX)) {
+      throw new HttpStatusException(404, "Not found");
+    }
+    if (path.endsWith(EXTEND)) {
+      requireMethod(exchange, "POST");
+      OrderId id = orderId(path.substring(PREFIX.length(), path.length() - EXTEND.length()));
+      try (InputStream body = exchange.getRequestBody()) {
+        ExtendRequest request = objectMapper.readValue(body, ExtendRequest.class);
+        if (request == null || request.extraDays() == null) {
+          throw new InvalidDataEntryException("Missing extraDays");
+        }
+        return ok(amend(() -> amendRentalUseCase.extendRental(id, request.extraDays())));
+      }
+    }
+    if (path.endsWith(RETURN)) {
+      requireMethod(exchange, "POST");
+      OrderId id = orderId(path.substring(PREFIX.length(), path.length() - RETURN.length()));
+      try (InputStream body = exchange.getRequestBody()) {
+        ReturnRequest request = objectMapper.readValue(body, ReturnRequest.class);
+        if (request == null || request.returnDate() == null) {
+          throw new InvalidDataEntryException("Missing returnDate");
+        }
+        return ok(amend(() -> amendRentalUseCase.returnRental(id, request.returnDate())));
+      }
+    }
+    requireMethod(exchange, "GET");
+    return ok(orderUseCase.getOrder(orderId(path.substring(PREFIX.length()))));
+  }
+
+  private static OrderId orderId(String value) {
+    try {
+      return new OrderId(UUID.fromString(value));
+    } catch (IllegalArgumentException e) {
+      throw new HttpStatusException(404, "Order not found");
+    }
+  }
+
+  private static Optional<Order> amend(Supplier<Optional<Order>> amendment) {
+    try {
+      return amendment.get();
+    } catch (RentalReturnedException e) {
+      throw new HttpStatusException(409, e.getMessage());
+    }
+  }
+
+  private static Response ok(Optional<Order> order) {
+    return order
+        .map(found -> Response.ok(OrderResource.from(found)))
+        .orElseThrow(() -> new HttpStatusException(404, "Order not found"));
+  }
+
+  /**
+   * Body of {@code POST /orders/{id}/extend}.
+   */
+  record ExtendRequest(Integer extraDays) {
+
+  }
+
+  /**
+   * Body of {@code POST /orders/{id}/return}.
+   */
+  record ReturnRequest(LocalDate returnDate) {
+
+  }
+}
@@ -0,0 +1,48 @@
+package com.costacodecraft.toolrental.adapters.in.web;
+
+import com.costacodecraft.toolrental.application.domain.model.Order;
+import com.costacodecraft.toolrental.application.domain.model.RentalAgreement;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * JSON representation of an order and its rental agreement.
+ */
+record OrderResource(
+    UUID id,
+    String toolCode,
+    String toolType,
+    String toolBrand,
+    int rentalDays,
+    LocalDate checkoutDate,
+    LocalDate returnDate,
+    double dailyChargeAmount,
+    int chargeDays,
+    BigDecimal preDiscountAmount,
+    int discountPercent,
+    BigDecimal discountAmount,
+    BigDecimal finalChargeAmount,
+    boolean returned
+) {
+
+  static OrderResource from(Order order) {
+    RentalAgreement agreement = order.rentalAgreement();
+    return new OrderResource(
+        order.id().value(),
+        agreement.toolCode(),
+        agreement.toolType().getType(),
+        agreement.toolBrand().getName(),
+        agreement.rentalDays(),
+        agreement.checkoutDate(),
+        agreement.returnDate(),
+        agreement.dailyChargeAmount(),
+        agreement.chargeDays(),
+        agreement.preDiscountAmount(),
+        agreement.discountPercent(),
+        agreement.discountAmount(),
+        agreement.finalChargeAmount(),
+        agreement.returned()
+    );
+  }
+}
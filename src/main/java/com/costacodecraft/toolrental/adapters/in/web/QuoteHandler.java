@@ -0,0 +1,52 @@
+package com.costacodecraft.toolrental.adapters.in.web;
+
+import com.costacodecraft.toolrental.adapters.in.web.AdmissionController.Permit;
+import com.costacodecraft.toolrental.adapters.in.web.AdmissionController.Priority;
+import com.costacodecraft.toolrental.application.port.in.CheckoutCommand;
+import com.costacodecraft.toolrental.application.port.in.QuoteUseCase;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * {@code POST /quote} prices one checkout command and {@code POST /quote/batch} an array of them,
+ * with the same bodies as the checkout endpoints but without creating any order.
+ * <p>
+ * Quotes are admitted by the {@link AdmissionController} with {@link Priority#QUOTE}, so they are
+ * the first requests turned away under overload.
+ */
+class QuoteHandler extends JsonHandler {
+
+  private final QuoteUseCase quoteUseCase;
+  private final AdmissionController admissionController;
+
+  QuoteHandler(ObjectMapper objectMapper, QuoteUseCase quoteUseCase,
+      AdmissionController admissionController) {
+    super(objectMapper);
+    this.quoteUseCase = quoteUseCase;
+    this.admissionController = admissionController;
+  }
+
+  @Override
+  protected Response handleJson(HttpExchange exchange) throws IOException {
+    requireMethod(exchange, "POST");
+    String path = exchange.getRequestURI().getPath();
+    try (Permit permit = admissionController.acquire(Priority.QUOTE);
+        InputStream body = exchange.getRequestBody()) {
+      if (path.equals("/quote")) {
+        CheckoutCommand command = objectMapper.readValue(body, CheckoutCommand.class);
+        CheckoutHandler.requireFields(Collections.singletonList(command));
+        return Response.ok(QuoteResource.from(quoteUseCase.quote(command)));
+      }
+      if (path.equals("/quote/batch")) {
+        List<CheckoutCommand> commands = objectMapper.readValue(body, CheckoutHandler.COMMANDS);
+        CheckoutHandler.requireFields(commands);
+        return Response.ok(quoteUseCase.quote(commands).stream().map(QuoteResource::from).toList());
+      }
+    }
+    throw new HttpStatusException(404, "Not found");
+  }
+}
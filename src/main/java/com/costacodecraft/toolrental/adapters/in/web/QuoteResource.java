@@ -0,0 +1,41 @@
+package com.costacodecraft.toolrental.adapters.in.web;
+
+import com.costacodecraft.toolrental.application.domain.model.RentalAgreement;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * JSON representation of a quoted rental agreement.
+ */
+record QuoteResource(
+    String toolCode,
+    String toolType,
+    String toolBrand,
+    int rentalDays,
+    LocalDate checkoutDate,
+    LocalDate returnDate,
+    double dailyChargeAmount,
+    int chargeDays,
+    BigDecimal preDiscountAmount,
+    int discountPercent,
+    BigDecimal discountAmount,
+    BigDecimal finalChargeAmount
+) {
+
+  static QuoteResource from(RentalAgreement agreement) {
+    return new QuoteResource(
+        agreement.toolCode(),
+        agreement.toolType().getType(),
+        agreement.toolBrand().getName(),
+        agreement.rentalDays(),
+        agreement.checkoutDate(),
+        agreement.returnDate(),
+        agreement.dailyChargeAmount(),
+        agreement.chargeDays(),
+        agreement.preDiscountAmount(),
+        agreement.discountPercent(),
+        agreement.discountAmount(),
+        agreement.finalChargeAmount()
+    );
+  }
+}
@@ -0,0 +1,89 @@
+package com.costacodecraft.toolrental.adapters.in.web;
+
+import com.costacodecraft.toolrental.application.port.in.GetRollupsUseCase;
+import com.costacodecraft.toolrental.application.port.in.RollupTotals;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code GET /rollups?from=<date>&to=<date>} answers with the totals of the rentals checked out
+ * over the period, both dates included. {@code by=type}, {@code by=brand} or {@code by=tool}
+ * answers with the totals per tool type, brand or tool code instead.
+ */
+class RollupHandler extends JsonHandler {
+
+  private final GetRollupsUseCase rollupsUseCase;
+
+  RollupHandler(ObjectMapper objectMapper, GetRollupsUseCase rollupsUseCase) {
+    super(objectMapper);
+    this.rollupsUseCase = rollupsUseCase;
+  }
+
+  @Override
+  protected Response handleJson(HttpExchange exchange) {
+    requireMethod(exchange, "GET");
+    if (!exchange.getRequestURI().getPath().equals("/rollups")) {
+      throw new HttpStatusException(404, "Not found");
+    }
+    Map<String, String> query = query(exchange.getRequestURI().getRawQuery());
+    LocalDate from = date(query, "from");
+    LocalDate to = date(query, "to");
+    if (to.isBefore(from)) {
+      throw new HttpStatusException(400, "from must not be after to");
+    }
+    String by = query.get("by");
+    if (by == null) {
+      return Response.ok(rollupsUseCase.getTotals(from, to));
+    }
+    Map<String, RollupTotals> totals = new LinkedHashMap<>();
+    switch (by) {
+      case "type" -> rollupsUseCase.getTotalsByToolType(from, to)
+          .forEach((type, total) -> totals.put(type.getType(), total));
+      case "brand" -> rollupsUseCase.getTotalsByBrand(from, to)
+          .forEach((brand, total) -> totals.put(brand.getName(), total));
+      case "tool" -> totals.putAll(rollupsUseCase.getTotalsByToolCode(from, to));
+      default -> throw new HttpStatusException(400, "by must be type, brand or tool");
+    }
+    return Response.ok(totals);
+  }
+
+  private static LocalDate date(Map<String, String> query, String name) {
+    String value = query.get(name);
+    if (value == null) {
+      throw new HttpStatusException(400, name + " is required");
+    }
+    try {
+      return LocalDate.parse(value);
+    } catch (DateTimeParseException e) {
+      throw new HttpStatusException(400, name + " must be an ISO date");
+    }
+  }
+
+  /**
+   * Decodes the parameters of a query string.
+   *
+   * @param rawQuery the query string, or null
+   * @return the value of each parameter, the last one if it was repeated
+   */
+  static Map<String, String> query(String rawQuery) {
+    Map<String, String> query = new HashMap<>();
+    if (rawQuery == null) {
+      return query;
+    }
+    for (String parameter : rawQuery.split("&")) {
+      int equals = parameter.indexOf('=');
+      if (equals > 0) {
+        query.put(URLDecoder.decode(parameter.substring(0, equals), StandardCharsets.UTF_8),
+            URLDecoder.decode(parameter.substring(equals + 1), StandardCharsets.UTF_8));
+      }
+    }
+    return query;
+  }
+}
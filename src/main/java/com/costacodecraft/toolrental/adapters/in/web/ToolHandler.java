@@ -0,0 +1,36 @@
+package com.costacodecraft.toolrental.adapters.in.web;
+
+import com.costacodecraft.toolrental.application.domain.model.Tool;
+import com.costacodecraft.toolrental.application.port.in.GetToolUseCase;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * {@code GET /tools} answers with the tool catalog, sorted by tool code.
+ */
+class ToolHandler extends JsonHandler {
+
+  private final GetToolUseCase toolUseCase;
+
+  ToolHandler(ObjectMapper objectMapper, GetToolUseCase toolUseCase) {
+    super(objectMapper);
+    this.toolUseCase = toolUseCase;
+  }
+
+  @Override
+  protected Response handleJson(HttpExchange exchange) {
+    requireMethod(exchange, "GET");
+    if (!exchange.getRequestURI().getPath().equals("/tools")) {
+      throw new HttpStatusException(404, "Not found");
+    }
+    List<ToolResource> tools = new ArrayList<>();
+    for (Tool tool : toolUseCase.getAllTools()) {
+      tools.add(ToolResource.from(tool));
+    }
+    tools.sort(Comparator.comparing(ToolResource::code));
+    return Response.ok(tools);
+  }
+}
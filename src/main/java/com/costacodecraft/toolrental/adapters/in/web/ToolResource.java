@@ -0,0 +1,29 @@
+package com.costacodecraft.toolrental.adapters.in.web;
+
+import com.costacodecraft.toolrental.application.domain.model.Tool;
+
+/**
+ * JSON representation of a tool and its price.
+ */
+record ToolResource(
+    String code,
+    String type,
+    String brand,
+    double dailyCharge,
+    boolean weekdayCharge,
+    boolean weekendCharge,
+    boolean holidayCharge
+) {
+
+  static ToolResource from(Tool tool) {
+    return new ToolResource(
+        tool.id().code(),
+        tool.type().getType(),
+        tool.brand().getName(),
+        tool.price().dailyCharge(),
+        tool.price().weekdayCharge(),
+        tool.price().weekendCharge(),
+        tool.price().holidayCharge()
+    );
+  }
+}
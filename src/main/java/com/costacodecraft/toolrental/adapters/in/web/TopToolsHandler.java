@@ -0,0 +1,56 @@
+package com.costacodecraft.toolrental.adapters.in.web;
+
+import com.costacodecraft.toolrental.application.port.in.GetTopToolsUseCase;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+
+/**
+ * {@code GET /top-tools} answers with the 20 tools with the highest revenue over the window of
+ * days ending today. {@code end=<date>} ends the window at another checkout date,
+ * {@code count=<n>} returns another number of tools, and {@code by=charge-days} ranks the tools by
+ * charge days instead.
+ */
+class TopToolsHandler extends JsonHandler {
+
+  private static final int DEFAULT_COUNT = 20;
+
+  private final GetTopToolsUseCase topToolsUseCase;
+
+  TopToolsHandler(ObjectMapper objectMapper, GetTopToolsUseCase topToolsUseCase) {
+    super(objectMapper);
+    this.topToolsUseCase = topToolsUseCase;
+  }
+
+  @Override
+  protected Response handleJson(HttpExchange exchange) {
+    requireMethod(exchange, "GET");
+    if (!exchange.getRequestURI().getPath().equals("/top-tools")) {
+      throw new HttpStatusException(404, "Not found");
+    }
+    Map<String, String> query = RollupHandler.query(exchange.getRequestURI().getRawQuery());
+    LocalDate end;
+    int count;
+    try {
+      end = query.containsKey("end") ? LocalDate.parse(query.get("end")) : LocalDate.now();
+    } catch (DateTimeParseException e) {
+      throw new HttpStatusException(400, "end must be an ISO date");
+    }
+    try {
+      count = query.containsKey("count") ? Integer.parseInt(query.get("count")) : DEFAULT_COUNT;
+    } catch (NumberFormatException e) {
+      throw new HttpStatusException(400, "count must be a number");
+    }
+    try {
+      return switch (query.getOrDefault("by", "revenue")) {
+        case "revenue" -> Response.ok(topToolsUseCase.getTopToolsByRevenue(end, count));
+        case "charge-days" -> Response.ok(topToolsUseCase.getTopToolsByChargeDays(end, count));
+        default -> throw new HttpStatusException(400, "by must be revenue or charge-days");
+      };
+    } catch (IllegalArgumentException e) {
+      throw new HttpStatusException(400, e.getMessage());
+    }
+  }
+}
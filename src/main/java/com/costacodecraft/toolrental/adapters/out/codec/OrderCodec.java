@@ -0,0 +1,298 @@
+package com.costacodecraft.toolrental.adapters.out.codec;
+
+import com.costacodecraft.toolrental.application.domain.model.BrandName;
+import com.costacodecraft.toolrental.application.domain.model.Order;
+import com.costacodecraft.toolrental.application.domain.model.Order.OrderId;
+import com.costacodecraft.toolrental.application.domain.model.RentalAgreement;
+import com.costacodecraft.toolrental.application.domain.model.ToolType;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Compact binary codec for orders and rental agreements.
+ * <p>
+ * A rental agreement is encoded as a version byte, the length of the body, and the body:
+ * <pre>
+ * toolCode          length-prefixed UTF-8
+ * toolType          ordinal
+ * toolBrand         ordinal
+ * rentalDays        varint
+ * checkoutDate      signed varint, epoch day
+ * returnDate        signed varint, days after checkoutDate
+ * dailyChargeAmount signed varint, cents
+ * chargeDays        varint
+ * preDiscountAmount signed varint, cents
+ * discountPercent   varint
+ * discountAmount    signed varint, cents
+ * finalChargeAmount signed varint, cents
+ * flags             varint, since version 2: weekdayCharge (bit 0), weekendCharge (bit 1),
+ *                   holidayCharge (bit 2) and returned (bit 3)
+ * </pre>
+ * Version 1 records are read as charging every kind of day and not returned. New versions may
+ * only append fields to the body. Readers skip the fields they do not know, so
+ * records written by newer versions remain readable. An order is its ID, as two 64-bit values,
+ * followed by its rental agreement.
+ * <p>
+ * Enum constants are stored by ordinal, so new {@link ToolType} and {@link BrandName} constants
+ * must be added at the end.
+ * <p>
+ * Decoding never reads past the body of a record, so a corrupt record fails with an
+ * {@link IllegalArgumentException} instead of being read into the next one.
+ */
+public final class OrderCodec {
+
+  /**
+   * The version written by this codec.
+   */
+  public static final byte VERSION = 2;
+
+  // the body of an agreement is almost always shorter than this, so its length fits in one byte
+  private static final int SHORT_BODY = 0x7F;
+  private static final int WEEKDAY_CHARGE = 1;
+  private static final int WEEKEND_CHARGE = 1 << 1;
+  private static final int HOLIDAY_CHARGE = 1 << 2;
+  private static final int RETURNED = 1 << 3;
+
+  // This class should not allow instantiation
+  private OrderCodec() {
+  }
+
+  /**
+   * Writes an order.
+   *
+   * @param order the order
+   * @param buffer the buffer to write to
+   * @throws IllegalArgumentException if an amount is not a whole number of cents
+   * @throws BufferOverflowException if the buffer is too small
+   */
+  public static void encode(Order order, ByteBuffer buffer) {
+    UUID id = order.id().value();
+    buffer.putLong(id.getMostSignificantBits());
+    buffer.putLong(id.getLeastSignificantBits());
+    encode(order.rentalAgreement(), buffer);
+  }
+
+  /**
+   * Reads an order.
+   *
+   * @param buffer the buffer to read from
+   * @return the order
+   * @throws IllegalArgumentException if the record is truncated or corrupt, or was written by an
+   *     unsupported version
+   */
+  public static Order decodeOrder(ByteBuffer buffer) {
+    if (buffer.remaining() < 2 * Long.BYTES) {
+      throw new IllegalArgumentException("Truncated order: " + buffer.remaining() + " bytes");
+    }
+    UUID id = new UUID(buffer.getLong(), buffer.getLong());
+    return new Order(new OrderId(id), decodeRentalAgreement(buffer));
+  }
+
+  /**
+   * Writes a rental agreement.
+   *
+   * @param agreement the rental agreement
+   * @param buffer the buffer to write to
+   * @throws IllegalArgumentException if an amount is not a whole number of cents
+   * @throws BufferOverflowException if the buffer is too small
+   */
+  public static void encode(RentalAgreement agreement, ByteBuffer buffer) {
+    buffer.put(VERSION);
+    int lengthPosition = buffer.position();
+    // reserve a single byte for the length and move the body if it turns out to be longer
+    buffer.put((byte) 0);
+    int bodyStart = buffer.position();
+    putString(agreement.toolCode(), buffer);
+    VarInts.putUnsigned(agreement.toolType().ordinal(), buffer);
+    VarInts.putUnsigned(agreement.toolBrand().ordinal(), buffer);
+    VarInts.putUnsigned(agreement.rentalDays(), buffer);
+    long checkoutDay = agreement.checkoutDate().toEpochDay();
+    VarInts.putSigned(checkoutDay, buffer);
+    VarInts.putSigned(agreement.returnDate().toEpochDay() - checkoutDay, buffer);
+    VarInts.putSigned(toCents(agreement.dailyChargeAmount()), buffer);
+    VarInts.putUnsigned(agreement.chargeDays(), buffer);
+    VarInts.putSigned(toCents(agreement.preDiscountAmount()), buffer);
+    VarInts.putUnsigned(agreement.discountPercent(), buffer);
+    VarInts.putSigned(toCents(agreement.discountAmount()), buffer);
+    VarInts.putSigned(toCents(agreement.finalChargeAmount()), buffer);
+    VarInts.putUnsigned(flags(agreement), buffer);
+    int bodyLength = buffer.position() - bodyStart;
+    if (bodyLength <= SHORT_BODY) {
+      buffer.put(lengthPosition, (byte) bodyLength);
+    } else {
+      moveBody(buffer, lengthPosition, bodyStart, bodyLength);
+    }
+  }
+
+  /**
+   * Reads a rental agreement.
+   *
+   * @param buffer the buffer to read from
+   * @return the rental agreement, with amounts at a scale of two decimals
+   * @throws IllegalArgumentException if the record is truncated or corrupt, or was written by an
+   *     unsupported version
+   */
+  public static RentalAgreement decodeRentalAgreement(ByteBuffer buffer) {
+    if (!buffer.hasRemaining()) {
+      throw new IllegalArgumentException("Truncated rental agreement: no version");
+    }
+    byte version = buffer.get();
+    if (version < 1) {
+      throw new IllegalArgumentException("Unsupported rental agreement version: " + version);
+    }
+    long bodyLength;
+    try {
+      bodyLength = VarInts.getUnsigned(buffer);
+    } catch (BufferUnderflowException e) {
+      throw new IllegalArgumentException("Truncated rental agreement: no body length", e);
+    }
+    if (bodyLength < 0 || bodyLength > buffer.remaining()) {
+      throw new IllegalArgumentException("Truncated rental agreement: body of " + bodyLength
+          + " bytes, " + buffer.remaining() + " remaining");
+    }
+    int bodyEnd = buffer.position() + (int) bodyLength;
+    int limit = buffer.limit();
+    // a body shorter than its fields underflows instead of reading the next record
+    buffer.limit(bodyEnd);
+    try {
+      RentalAgreement agreement = decodeBody(version, buffer);
+      // skip the fields appended by newer versions
+      buffer.position(bodyEnd);
+      return agreement;
+    } catch (BufferUnderflowException e) {
+      throw new IllegalArgumentException(
+          "Corrupt rental agreement: body of " + bodyLength + " bytes is too short", e);
+    } catch (DateTimeException e) {
+      throw new IllegalArgumentException("Corrupt rental agreement: " + e.getMessage(), e);
+    } finally {
+      buffer.limit(limit);
+    }
+  }
+
+  private static RentalAgreement decodeBody(byte version, ByteBuffer buffer) {
+    String toolCode = getString(buffer);
+    ToolType toolType = constant(ToolType.values(), VarInts.getUnsigned(buffer));
+    BrandName toolBrand = constant(BrandName.values(), VarInts.getUnsigned(buffer));
+    int rentalDays = (int) VarInts.getUnsigned(buffer);
+    long checkoutDay = VarInts.getSigned(buffer);
+    long returnDay = checkoutDay + VarInts.getSigned(buffer);
+    RentalAgreement.Builder builder = RentalAgreement.newBuilder()
+        .toolCode(toolCode)
+        .toolType(toolType)
+        .toolBrand(toolBrand)
+        .rentalDays(rentalDays)
+        .checkoutDate(LocalDate.ofEpochDay(checkoutDay))
+        .returnDate(LocalDate.ofEpochDay(returnDay))
+        .dailyChargeAmount(VarInts.getSigned(buffer) / 100.0)
+        .chargeDays((int) VarInts.getUnsigned(buffer))
+        .preDiscountAmount(BigDecimal.valueOf(VarInts.getSigned(buffer), 2))
+        .discountPercent((int) VarInts.getUnsigned(buffer))
+        .discountAmount(BigDecimal.valueOf(VarInts.getSigned(buffer), 2))
+        .finalChargeAmount(BigDecimal.valueOf(VarInts.getSigned(buffer), 2));
+    if (version >= 2) {
+      long flags = VarInts.getUnsigned(buffer);
+      builder.weekdayCharge((flags & WEEKDAY_CHARGE) != 0)
+          .weekendCharge((flags & WEEKEND_CHARGE) != 0)
+          .holidayCharge((flags & HOLIDAY_CHARGE) != 0)
+          .returned((flags & RETURNED) != 0);
+    }
+    return builder.build();
+  }
+
+  private static int flags(RentalAgreement agreement) {
+    int flags = 0;
+    if (agreement.weekdayCharge()) {
+      flags |= WEEKDAY_CHARGE;
+    }
+    if (agreement.weekendCharge()) {
+      flags |= WEEKEND_CHARGE;
+    }
+    if (agreement.holidayCharge()) {
+      flags |= HOLIDAY_CHARGE;
+    }
+    if (agreement.returned()) {
+      flags |= RETURNED;
+    }
+    return flags;
+  }
+
+  private static <E extends Enum<E>> E constant(E[] constants, long ordinal) {
+    if (ordinal < 0 || ordinal >= constants.length) {
+      throw new IllegalArgumentException("Corrupt rental agreement: no "
+          + constants.getClass().getComponentType().getSimpleName() + " with ordinal " + ordinal);
+    }
+    return constants[(int) ordinal];
+  }
+
+  private static void putString(String value, ByteBuffer buffer) {
+    int length = value.length();
+    boolean ascii = true;
+    for (int i = 0; i < length && ascii; i++) {
+      ascii = value.charAt(i) < 0x80;
+    }
+    if (ascii) {
+      VarInts.putUnsigned(length, buffer);
+      for (int i = 0; i < length; i++) {
+        buffer.put((byte) value.charAt(i));
+      }
+    } else {
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      VarInts.putUnsigned(bytes.length, buffer);
+      buffer.put(bytes);
+    }
+  }
+
+  private static String getString(ByteBuffer buffer) {
+    long encodedLength = VarInts.getUnsigned(buffer);
+    if (encodedLength < 0 || encodedLength > buffer.remaining()) {
+      throw new BufferUnderflowException();
+    }
+    int length = (int) encodedLength;
+    if (buffer.hasArray()) {
+      int offset = buffer.arrayOffset() + buffer.position();
+      buffer.position(buffer.position() + length);
+      return new String(buffer.array(), offset, length, StandardCharsets.UTF_8);
+    }
+    byte[] bytes = new byte[length];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static long toCents(double amount) {
+    long cents = Math.round(amount * 100);
+    if (cents / 100.0 != amount) {
+      throw new IllegalArgumentException("Amount is not a whole number of cents: " + amount);
+    }
+    return cents;
+  }
+
+  private static long toCents(BigDecimal amount) {
+    try {
+      return amount.setScale(2, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    } catch (ArithmeticException e) {
+      throw new IllegalArgumentException("Amount is not a whole number of cents: " + amount, e);
+    }
+  }
+
+  private static void moveBody(ByteBuffer buffer, int lengthPosition, int bodyStart,
+      int bodyLength) {
+    int extra = VarInts.sizeOfUnsigned(bodyLength) - 1;
+    int end = buffer.position();
+    if (buffer.limit() - end < extra) {
+      throw new BufferOverflowException();
+    }
+    for (int i = end - 1; i >= bodyStart; i--) {
+      buffer.put(i + extra, buffer.get(i));
+    }
+    buffer.position(lengthPosition);
+    VarInts.putUnsigned(bodyLength, buffer);
+    buffer.position(end + extra);
+  }
+}
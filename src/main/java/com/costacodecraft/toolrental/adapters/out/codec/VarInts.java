@@ -0,0 +1,85 @@
+package com.costacodecraft.toolrental.adapters.out.codec;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Variable-length encoding of integers, seven bits per byte with the high bit set on every byte
+ * but the last. Small values take a single byte. Signed values are zigzag encoded first, so that
+ * small negative values are small too.
+ */
+public final class VarInts {
+
+  // This class should not allow instantiation
+  private VarInts() {
+  }
+
+  /**
+   * Writes an unsigned variable-length integer.
+   *
+   * @param value the value, treated as unsigned
+   * @param buffer the buffer to write to
+   */
+  public static void putUnsigned(long value, ByteBuffer buffer) {
+    while ((value & ~0x7FL) != 0) {
+      buffer.put((byte) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    buffer.put((byte) value);
+  }
+
+  /**
+   * Writes a signed variable-length integer.
+   *
+   * @param value the value
+   * @param buffer the buffer to write to
+   */
+  public static void putSigned(long value, ByteBuffer buffer) {
+    putUnsigned((value << 1) ^ (value >> 63), buffer);
+  }
+
+  /**
+   * Reads an unsigned variable-length integer.
+   *
+   * @param buffer the buffer to read from
+   * @return the value
+   * @throws IllegalArgumentException if the value is longer than ten bytes
+   */
+  public static long getUnsigned(ByteBuffer buffer) {
+    long value = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      byte b = buffer.get();
+      value |= (long) (b & 0x7F) << shift;
+      if (b >= 0) {
+        return value;
+      }
+    }
+    throw new IllegalArgumentException("Malformed variable-length integer");
+  }
+
+  /**
+   * Reads a signed variable-length integer.
+   *
+   * @param buffer the buffer to read from
+   * @return the value
+   * @throws IllegalArgumentException if the value is longer than ten bytes
+   */
+  public static long getSigned(ByteBuffer buffer) {
+    long value = getUnsigned(buffer);
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  /**
+   * Returns the number of bytes taken by an unsigned variable-length integer.
+   *
+   * @param value the value, treated as unsigned
+   * @return the encoded size in bytes
+   */
+  public static int sizeOfUnsigned(long value) {
+    int size = 1;
+    while ((value & ~0x7FL) != 0) {
+      size++;
+      value >>>= 7;
+    }
+    return size;
+  }
+}
@@ -0,0 +1,46 @@
+package com.costacodecraft.toolrental.adapters.out.metrics;
+
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes the meters of the application, in the Prometheus text format, to
+ * {@code toolrental.metrics.dump-file} when the application stops, so that runs without the HTTP
+ * API, such as batch checkouts, can be inspected too. Nothing is written when no file is set.
+ */
+@Component
+public class MetricsFileWriter implements DisposableBean {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(MetricsFileWriter.class);
+
+  private final PrometheusMeterRegistry meterRegistry;
+  private final String dumpFile;
+
+  public MetricsFileWriter(PrometheusMeterRegistry meterRegistry,
+      @Value("${toolrental.metrics.dump-file:}") String dumpFile) {
+    this.meterRegistry = meterRegistry;
+    this.dumpFile = dumpFile;
+  }
+
+  @Override
+  public void destroy() {
+    if (dumpFile.isBlank()) {
+      return;
+    }
+    Path file = Path.of(dumpFile);
+    try {
+      Files.writeString(file, meterRegistry.scrape(), StandardCharsets.UTF_8);
+      LOGGER.info("Metrics written to {}", file.toAbsolutePath());
+    } catch (IOException e) {
+      LOGGER.error("Failed to write the metrics to {}", file, e);
+    }
+  }
+}
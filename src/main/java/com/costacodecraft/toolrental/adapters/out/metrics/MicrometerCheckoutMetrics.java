@@ -0,0 +1,101 @@
+package com.costacodecraft.toolrental.adapters.out.metrics;
+
+import com.costacodecraft.toolrental.application.domain.model.ToolType;
+import com.costacodecraft.toolrental.application.port.out.CheckoutMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Micrometer meters of the checkout hot path:
+ * <ul>
+ *   <li>{@code toolrental.checkout.stage}, a timer per {@link Stage};</li>
+ *   <li>{@code toolrental.checkout.latency}, a latency histogram of pricing per tool type;</li>
+ *   <li>{@code toolrental.checkout.priced}, a counter of priced commands per tool type;</li>
+ *   <li>{@code toolrental.checkout.errors}, a counter of failed pricings per exception type.</li>
+ * </ul>
+ * Only checkouts are measured: quotes, imports and reconciliations price without these meters.
+ * Counters are exact: every checkout is counted, including those that shared an identical pricing
+ * in flight. Only one checkout in {@code toolrental.metrics.sample-every} (default 128, a power of
+ * two) is timed, as timing every stage of a checkout about doubles its cost; see
+ * {@code CheckoutMetricsBenchmark} for the cost at each rate. The timer counts are therefore a
+ * sample, while their percentiles and means stand for all checkouts. A rate of 0 records nothing at
+ * all.
+ */
+@Component
+public class MicrometerCheckoutMetrics implements CheckoutMetrics {
+
+  private final MeterRegistry registry;
+  private final int sampleMask;
+  private final Timer[] stageTimers = new Timer[Stage.values().length];
+  private final Timer[] latencyTimers = new Timer[ToolType.values().length];
+  private final Counter[] pricedCounters = new Counter[ToolType.values().length];
+  private final Map<Class<?>, Counter> errorCounters = new ConcurrentHashMap<>();
+
+  public MicrometerCheckoutMetrics(MeterRegistry registry,
+      @Value("${toolrental.metrics.sample-every:128}") int sampleEvery) {
+    if (sampleEvery < 0 || Integer.bitCount(sampleEvery) > 1) {
+      throw new IllegalArgumentException("Metrics sample rate must be 0 or a power of two");
+    }
+    this.registry = registry;
+    this.sampleMask = sampleEvery - 1;
+    for (Stage stage : Stage.values()) {
+      stageTimers[stage.ordinal()] = Timer.builder("toolrental.checkout.stage")
+          .description("Time spent in each stage of a checkout, sampled")
+          .tag("stage", stage.name().toLowerCase(Locale.ROOT).replace('_', '-'))
+          .register(registry);
+    }
+    for (ToolType type : ToolType.values()) {
+      String tag = type.name().toLowerCase(Locale.ROOT);
+      latencyTimers[type.ordinal()] = Timer.builder("toolrental.checkout.latency")
+          .description("Time to validate and price a checkout, sampled")
+          .tag("type", tag)
+          .publishPercentileHistogram()
+          .register(registry);
+      pricedCounters[type.ordinal()] = Counter.builder("toolrental.checkout.priced")
+          .description("Checkout commands priced")
+          .tag("type", tag)
+          .register(registry);
+    }
+  }
+
+  @Override
+  public boolean sample() {
+    return sampleMask >= 0 && (ThreadLocalRandom.current().nextInt() & sampleMask) == 0;
+  }
+
+  @Override
+  public void record(Stage stage, long nanos) {
+    stageTimers[stage.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public void recordPriced(ToolType type, long nanos) {
+    if (sampleMask < 0) {
+      return;
+    }
+    pricedCounters[type.ordinal()].increment();
+    if (nanos >= 0) {
+      latencyTimers[type.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  @Override
+  public void recordError(RuntimeException failure) {
+    if (sampleMask < 0) {
+      return;
+    }
+    errorCounters.computeIfAbsent(failure.getClass(), type -> Counter.builder(
+            "toolrental.checkout.errors")
+        .description("Checkout commands that failed to price")
+        .tag("exception", type.getSimpleName())
+        .register(registry)).increment();
+  }
+}
@@ -0,0 +1,35 @@
+package com.costacodecraft.toolrental.adapters.out.notification;
+
+import com.costacodecraft.toolrental.application.domain.model.Order.OrderId;
+import com.costacodecraft.toolrental.application.port.out.DueDateNotifier;
+import java.time.LocalDate;
+import java.util.Collection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Logs the rentals due back and overdue, their count at info level and their orders at debug
+ * level.
+ */
+@Component
+public class LoggingDueDateNotifier implements DueDateNotifier {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(LoggingDueDateNotifier.class);
+
+  @Override
+  public void dueToday(LocalDate date, Collection<OrderId> orderIds) {
+    LOGGER.info("{} rentals due back today, {}", orderIds.size(), date);
+    if (LOGGER.isDebugEnabled()) {
+      orderIds.forEach(orderId -> LOGGER.debug("Rental due back today: {}", orderId.value()));
+    }
+  }
+
+  @Override
+  public void overdue(LocalDate dueDate, Collection<OrderId> orderIds) {
+    LOGGER.warn("{} rentals due back on {} were not returned", orderIds.size(), dueDate);
+    if (LOGGER.isDebugEnabled()) {
+      orderIds.forEach(orderId -> LOGGER.debug("Rental overdue: {}", orderId.value()));
+    }
+  }
+}
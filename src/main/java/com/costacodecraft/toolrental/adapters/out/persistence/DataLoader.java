@@ -10,6 +10,8 @@ import com.costacodecraft.toolrental.application.port.in.AddToolUseCase;
 import java.util.List;
 import org.springframework.boot.context.event.ApplicationStartedEvent;
 import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 /**
@@ -24,6 +26,8 @@ public class DataLoader {
     this.addToolUseCase = addToolUseCase;
   }
 
+  // runs before the catalog file, if any, replaces the built-in catalog
+  @Order(Ordered.HIGHEST_PRECEDENCE)
   @EventListener(ApplicationStartedEvent.class)
   public void loadData() {
     var tools = List.of(
@@ -3,26 +3,173 @@ package com.costacodecraft.toolrental.adapters.out.persistence;
 import com.costacodecraft.toolrental.application.domain.model.Order;
 import com.costacodecraft.toolrental.application.domain.model.Order.OrderId;
 import com.costacodecraft.toolrental.application.port.out.OrderRepository;
-import java.util.HashMap;
-import java.util.Map;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
 /**
- * In-memory implementation of the OrderRepository.
+ * In-memory implementation of the OrderRepository. Orders are kept sorted by their ID, so they can
+ * be walked a page at a time. Each operation is recorded as a {@link RepositoryEvent} when the
+ * flight recorder is on.
+ * <p>
+ * When {@code toolrental.orders.file} is set, the orders are also written to that
+ * {@link OrderJournal} before they are stored in memory, and read back from it when the repository
+ * is created, so they outlive the process. Otherwise they are only kept in memory.
  */
 @Repository
 public class InMemoryOrderRepository implements OrderRepository {
 
-  private final Map<OrderId, Order> ordersDB = new HashMap<>();
+  private final ConcurrentNavigableMap<OrderId, Order> ordersDB =
+      new ConcurrentSkipListMap<>(Comparator.comparing(OrderId::value));
+  private final OrderJournal journal;
+
+  /**
+   * Creates a repository keeping its orders in memory only.
+   */
+  public InMemoryOrderRepository() {
+    journal = null;
+  }
+
+  /**
+   * Creates a repository writing its orders to a journal file, and loads the orders the file
+   * already holds.
+   *
+   * @param ordersFile the journal file, or a blank string to keep the orders in memory only
+   * @throws IOException if the file cannot be read or created
+   */
+  @Autowired
+  public InMemoryOrderRepository(@Value("${toolrental.orders.file:}") String ordersFile)
+      throws IOException {
+    journal = ordersFile.isBlank()
+        ? null
+        : OrderJournal.open(Path.of(ordersFile), order -> ordersDB.put(order.id(), order));
+  }
+
+  /**
+   * Closes the journal file, if any.
+   *
+   * @throws IOException if the file cannot be closed
+   */
+  @PreDestroy
+  public void close() throws IOException {
+    if (journal != null) {
+      journal.close();
+    }
+  }
 
   @Override
   public void createOrder(Order order) {
-    ordersDB.put(order.id(), order);
+    RepositoryEvent event = new RepositoryEvent();
+    event.begin();
+    if (journal == null) {
+      ordersDB.put(order.id(), order);
+    } else {
+      synchronized (journal) {
+        append(List.of(order));
+        ordersDB.put(order.id(), order);
+      }
+    }
+    commit(event, "orders.createOrder", 1);
+  }
+
+  @Override
+  public void createOrders(List<Order> orders) {
+    RepositoryEvent event = new RepositoryEvent();
+    event.begin();
+    if (journal == null) {
+      putAll(orders);
+    } else {
+      synchronized (journal) {
+        append(orders);
+        putAll(orders);
+      }
+    }
+    commit(event, "orders.createOrders", orders.size());
+  }
+
+  private void putAll(List<Order> orders) {
+    for (Order order : orders) {
+      ordersDB.put(order.id(), order);
+    }
+  }
+
+  @Override
+  public boolean updateOrder(Order order) {
+    RepositoryEvent event = new RepositoryEvent();
+    event.begin();
+    boolean updated;
+    if (journal == null) {
+      updated = ordersDB.replace(order.id(), order) != null;
+    } else {
+      synchronized (journal) {
+        updated = ordersDB.containsKey(order.id());
+        if (updated) {
+          append(List.of(order));
+          ordersDB.put(order.id(), order);
+        }
+      }
+    }
+    commit(event, "orders.updateOrder", updated ? 1 : 0);
+    return updated;
+  }
+
+  private void append(List<Order> orders) {
+    try {
+      journal.append(orders);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to write orders to the journal", e);
+    }
   }
 
   @Override
   public Optional<Order> findById(OrderId id) {
-    return Optional.ofNullable(ordersDB.get(id));
+    RepositoryEvent event = new RepositoryEvent();
+    event.begin();
+    Order order = ordersDB.get(id);
+    commit(event, "orders.findById", order == null ? 0 : 1);
+    return Optional.ofNullable(order);
+  }
+
+  @Override
+  public List<Order> findAll() {
+    RepositoryEvent event = new RepositoryEvent();
+    event.begin();
+    List<Order> orders = new ArrayList<>(ordersDB.values());
+    commit(event, "orders.findAll", orders.size());
+    return orders;
+  }
+
+  @Override
+  public List<Order> findPage(OrderId after, int limit) {
+    RepositoryEvent event = new RepositoryEvent();
+    event.begin();
+    List<Order> page = new ArrayList<>(Math.min(limit, 1024));
+    for (Order order : (after == null ? ordersDB : ordersDB.tailMap(after, false)).values()) {
+      if (page.size() == limit) {
+        break;
+      }
+      page.add(order);
+    }
+    commit(event, "orders.findPage", page.size());
+    return page;
+  }
+
+  private static void commit(RepositoryEvent event, String operation, int batchSize) {
+    event.end();
+    if (event.shouldCommit()) {
+      event.operation = operation;
+      event.batchSize = batchSize;
+      event.commit();
+    }
   }
 }
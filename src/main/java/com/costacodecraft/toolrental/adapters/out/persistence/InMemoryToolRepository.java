@@ -3,31 +3,78 @@ package com.costacodecraft.toolrental.adapters.out.persistence;
 import com.costacodecraft.toolrental.application.domain.model.Tool;
 import com.costacodecraft.toolrental.application.domain.model.Tool.ToolId;
 import com.costacodecraft.toolrental.application.port.out.ToolRepository;
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import org.springframework.stereotype.Repository;
 
 /**
  * In-memory implementation of the ToolRepository.
+ * <p>
+ * The catalog is kept as an immutable snapshot that is replaced on every write, so lookups never
+ * block and never see a partially applied change. Conditional changes compare the snapshot they
+ * were computed from with the current one, and are rejected if another write replaced it.
+ * Snapshots keep the tools in the order they were first added, so listings are stable from run to
+ * run. Lookups are recorded as a {@link RepositoryEvent} when the flight recorder is on.
  */
 @Repository
 public class InMemoryToolRepository implements ToolRepository {
 
-  private final Map<ToolId, Tool> toolsDB = new HashMap<>();
+  private volatile Snapshot toolsDB = new Snapshot(Map.of(), List.of());
 
   @Override
   public void addTool(Tool tool) {
-    toolsDB.put(tool.id(), tool);
+    applyChanges(List.of(tool), List.of());
+  }
+
+  @Override
+  public synchronized void applyChanges(Collection<Tool> upserts, Collection<ToolId> removals) {
+    // replaced tools keep their position, new ones are appended
+    Map<ToolId, Tool> next = new LinkedHashMap<>(toolsDB.byId());
+    removals.forEach(next::remove);
+    upserts.forEach(tool -> next.put(tool.id(), tool));
+    Map<ToolId, Tool> byId = Collections.unmodifiableMap(next);
+    toolsDB = new Snapshot(byId, byId.values());
+  }
+
+  @Override
+  public synchronized boolean applyChanges(Iterable<Tool> expected, Collection<Tool> upserts,
+      Collection<ToolId> removals) {
+    if (toolsDB.tools() != expected) {
+      return false;
+    }
+    applyChanges(upserts, removals);
+    return true;
   }
 
   @Override
   public Iterable<Tool> findAll() {
-    return toolsDB.values();
+    return toolsDB.tools();
   }
 
   @Override
   public Optional<Tool> findById(ToolId id) {
-    return Optional.ofNullable(toolsDB.get(id));
+    RepositoryEvent event = new RepositoryEvent();
+    event.begin();
+    Tool tool = toolsDB.byId().get(id);
+    event.end();
+    if (event.shouldCommit()) {
+      event.operation = "tools.findById";
+      event.toolCode = id.code();
+      event.batchSize = tool == null ? 0 : 1;
+      event.commit();
+    }
+    return Optional.ofNullable(tool);
+  }
+
+  /**
+   * The tools by ID, and the view of them returned by {@link #findAll()}, which identifies the
+   * snapshot in conditional changes.
+   */
+  private record Snapshot(Map<ToolId, Tool> byId, Collection<Tool> tools) {
+
   }
 }
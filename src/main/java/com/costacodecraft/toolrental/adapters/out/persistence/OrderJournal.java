@@ -0,0 +1,165 @@
+package com.costacodecraft.toolrental.adapters.out.persistence;
+
+import com.costacodecraft.toolrental.adapters.out.codec.OrderCodec;
+import com.costacodecraft.toolrental.application.domain.model.Order;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only file of the orders written by the {@link InMemoryOrderRepository}, so they survive
+ * the process and can be read by a later run, e.g. to export or reconcile them.
+ * <p>
+ * Each created or amended order is appended as a frame: the length of the record, its CRC32C and
+ * the order encoded by {@link OrderCodec}. A later frame of the same order replaces the earlier
+ * ones when the file is replayed. Writes are forced to the storage device before they return, one
+ * write per batch of orders. A frame cut short or corrupted by a crash can only be the last one
+ * written, and is truncated away when the file is opened again.
+ */
+final class OrderJournal implements Closeable {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(OrderJournal.class);
+  private static final int HEADER_BYTES = 2 * Integer.BYTES;
+  // a frame is well under this, see OrderCodec
+  private static final int MAX_RECORD_BYTES = 4096;
+
+  private final Path file;
+  private final FileChannel channel;
+  private final CRC32C crc = new CRC32C();
+  private ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+
+  private OrderJournal(Path file, FileChannel channel) {
+    this.file = file;
+    this.channel = channel;
+  }
+
+  /**
+   * Opens a journal, creating it if needed, and replays the orders it holds.
+   *
+   * @param file the journal file
+   * @param orders receives every order of the journal, in the order they were written
+   * @return the journal, positioned to append after its last complete frame
+   * @throws IOException if the file cannot be read or written
+   */
+  static OrderJournal open(Path file, Consumer<Order> orders) throws IOException {
+    FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+        StandardOpenOption.READ, StandardOpenOption.WRITE);
+    try {
+      OrderJournal journal = new OrderJournal(file, channel);
+      journal.replay(orders);
+      return journal;
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Appends orders to the journal and forces them to the storage device.
+   *
+   * @param orders the orders
+   * @throws IOException if the orders cannot be written
+   * @throws IllegalArgumentException if an order cannot be encoded, in which case none is written
+   */
+  synchronized void append(List<Order> orders) throws IOException {
+    buffer.clear();
+    for (Order order : orders) {
+      while (!tryPut(order)) {
+        buffer = ByteBuffer.allocate(buffer.capacity() * 2).put(buffer.flip());
+      }
+    }
+    buffer.flip();
+    long end = channel.position();
+    try {
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+      channel.force(false);
+    } catch (IOException e) {
+      // drop a partly written batch, the next one would otherwise follow a torn frame
+      try {
+        channel.truncate(end);
+        channel.position(end);
+      } catch (IOException suppressed) {
+        e.addSuppressed(suppressed);
+      }
+      throw e;
+    }
+  }
+
+  private boolean tryPut(Order order) {
+    int frameStart = buffer.position();
+    if (buffer.remaining() < HEADER_BYTES + MAX_RECORD_BYTES) {
+      return false;
+    }
+    buffer.position(frameStart + HEADER_BYTES);
+    int length;
+    try {
+      OrderCodec.encode(order, buffer);
+      length = buffer.position() - frameStart - HEADER_BYTES;
+    } catch (BufferOverflowException e) {
+      length = Integer.MAX_VALUE;
+    }
+    if (length > MAX_RECORD_BYTES) {
+      buffer.position(frameStart);
+      throw new IllegalArgumentException("Order is too large to be journaled: " + order.id());
+    }
+    crc.reset();
+    crc.update(buffer.slice(frameStart + HEADER_BYTES, length));
+    buffer.putInt(frameStart, length);
+    buffer.putInt(frameStart + Integer.BYTES, (int) crc.getValue());
+    return true;
+  }
+
+  private void replay(Consumer<Order> orders) throws IOException {
+    long size = channel.size();
+    long position = 0;
+    int count = 0;
+    ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+    ByteBuffer record = ByteBuffer.allocate(MAX_RECORD_BYTES);
+    while (position < size) {
+      header.clear();
+      if (channel.read(header, position) < HEADER_BYTES) {
+        break;
+      }
+      int length = header.getInt(0);
+      if (length <= 0 || length > MAX_RECORD_BYTES
+          || position + HEADER_BYTES + length > size) {
+        break;
+      }
+      record.clear().limit(length);
+      channel.read(record, position + HEADER_BYTES);
+      record.flip();
+      crc.reset();
+      crc.update(record.duplicate());
+      if ((int) crc.getValue() != header.getInt(Integer.BYTES)) {
+        break;
+      }
+      orders.accept(OrderCodec.decodeOrder(record));
+      position += HEADER_BYTES + length;
+      count++;
+    }
+    if (position < size) {
+      LOGGER.warn("Truncating {} bytes of an incomplete order at the end of {}",
+          size - position, file);
+      channel.truncate(position);
+      channel.force(false);
+    }
+    channel.position(position);
+    LOGGER.info("Replayed {} order records from {}", count, file);
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    channel.close();
+  }
+}
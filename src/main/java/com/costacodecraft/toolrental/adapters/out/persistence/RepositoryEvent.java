@@ -0,0 +1,30 @@
+package com.costacodecraft.toolrental.adapters.out.persistence;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of a repository operation.
+ */
+@Name("com.costacodecraft.toolrental.Repository")
+@Label("Repository")
+@Category({"Tool Rental", "Repository"})
+@Description("Reads or writes tools or orders")
+@StackTrace(false)
+final class RepositoryEvent extends Event {
+
+  @Label("Operation")
+  @Description("Repository and method, e.g. tools.findById")
+  String operation;
+
+  @Label("Tool Code")
+  String toolCode;
+
+  @Label("Batch Size")
+  @Description("Number of orders written or read")
+  int batchSize;
+}
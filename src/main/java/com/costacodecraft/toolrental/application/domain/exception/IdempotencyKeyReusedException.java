@@ -0,0 +1,12 @@
+package com.costacodecraft.toolrental.application.domain.exception;
+
+/**
+ * Exception thrown when an idempotency key is sent with a different checkout than the one it was
+ * first used for.
+ */
+public class IdempotencyKeyReusedException extends RuntimeException {
+
+  public IdempotencyKeyReusedException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,11 @@
+package com.costacodecraft.toolrental.application.domain.exception;
+
+/**
+ * Exception thrown when a rental that was already returned is amended.
+ */
+public class RentalReturnedException extends RuntimeException {
+
+  public RentalReturnedException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,27 @@
+package com.costacodecraft.toolrental.application.domain.model;
+
+import com.costacodecraft.toolrental.application.domain.model.Tool.ToolId;
+import java.util.List;
+
+/**
+ * Represents the difference between the current tool catalog and a new version of it.
+ *
+ * @param added the tools that are not in the current catalog
+ * @param updated the tools whose type, brand or price changed
+ * @param removed the IDs of the tools that are no longer in the catalog
+ */
+public record CatalogDiff(
+    List<Tool> added,
+    List<Tool> updated,
+    List<ToolId> removed
+) {
+
+  /**
+   * Returns whether the new catalog is identical to the current one.
+   *
+   * @return true if there are no changes, false otherwise
+   */
+  public boolean isEmpty() {
+    return added.isEmpty() && updated.isEmpty() && removed.isEmpty();
+  }
+}
@@ -44,20 +44,7 @@ public record CheckoutItem(
    */
   public int getChargeableDaysCount() {
     LOGGER.debug("Calculating chargeable days");
-    int weekdayCount = chargeableDaysCount.weekdayCount();
-    int weekendCount = chargeableDaysCount.weekendCount();
-    int holidayCount = chargeableDaysCount.holidayCount();
-    Price price = tool.price();
-    int chargeableDays = 0;
-    if (price.weekdayCharge()) {
-      chargeableDays += weekdayCount;
-    }
-    if (price.weekendCharge()) {
-      chargeableDays += weekendCount;
-    }
-    if (price.holidayCharge()) {
-      chargeableDays += holidayCount;
-    }
+    int chargeableDays = tool.price().getChargeDays(chargeableDaysCount);
     LOGGER.debug("Chargeable days calculated: {}", chargeableDays);
     return chargeableDays;
   }
@@ -81,10 +68,21 @@ public record CheckoutItem(
    * @return the pre-discount amount
    */
   public BigDecimal getPreDiscountAmount() {
+    return preDiscountAmount(tool.price().dailyCharge(), getChargeableDaysCount());
+  }
+
+  /**
+   * Calculates a pre-discount charge as charge days multiplied by a daily charge, rounded half up
+   * to cents. Checkouts and amended rentals are both priced with it, so they round alike.
+   *
+   * @param dailyCharge the daily charge
+   * @param chargeDays the charge days
+   * @return the pre-discount amount
+   */
+  public static BigDecimal preDiscountAmount(double dailyCharge, int chargeDays) {
     LOGGER.debug("Calculating pre-discount amount");
-    BigDecimal dailyCharge = BigDecimal.valueOf(tool.price().dailyCharge());
-    BigDecimal chargeableDays = BigDecimal.valueOf(getChargeableDaysCount());
-    BigDecimal preDiscountAmount = dailyCharge.multiply(chargeableDays)
+    BigDecimal preDiscountAmount = BigDecimal.valueOf(dailyCharge)
+        .multiply(BigDecimal.valueOf(chargeDays))
         .setScale(2, RoundingMode.HALF_UP);
     LOGGER.debug("Pre-discount amount calculated: {}", preDiscountAmount);
     return preDiscountAmount;
@@ -97,10 +95,32 @@ public record CheckoutItem(
    * @return the discount amount
    */
   public BigDecimal getDiscountAmount() {
+    return getDiscountAmount(getPreDiscountAmount());
+  }
+
+  /**
+   * Calculates the discount amount from the discount percentage and an already calculated
+   * pre-discount charge, rounded half up to cents.
+   *
+   * @param preDiscountAmount the pre-discount amount of this item
+   * @return the discount amount
+   */
+  public BigDecimal getDiscountAmount(BigDecimal preDiscountAmount) {
+    return discountAmount(preDiscountAmount, discountPercentage);
+  }
+
+  /**
+   * Calculates a discount amount from a pre-discount charge and a discount percentage, in exact
+   * decimal arithmetic, rounded half up to cents.
+   *
+   * @param preDiscountAmount the pre-discount amount
+   * @param discountPercentage the discount percentage, from 0 to 100
+   * @return the discount amount
+   */
+  public static BigDecimal discountAmount(BigDecimal preDiscountAmount, int discountPercentage) {
     LOGGER.debug("Calculating discount amount");
-    BigDecimal preDiscountAmount = getPreDiscountAmount();
-    double percent = discountPercentage / 100.0;
-    BigDecimal discountAmount = preDiscountAmount.multiply(BigDecimal.valueOf(percent))
+    BigDecimal discountAmount = preDiscountAmount.multiply(BigDecimal.valueOf(discountPercentage))
+        .movePointLeft(2)
         .setScale(2, RoundingMode.HALF_UP);
     LOGGER.debug("Discount amount calculated: {}", discountAmount);
     return discountAmount;
@@ -112,8 +132,33 @@ public record CheckoutItem(
    * @return the final charge amount
    */
   public BigDecimal getFinalChargeAmount() {
+    BigDecimal preDiscountAmount = getPreDiscountAmount();
+    return getFinalChargeAmount(preDiscountAmount, getDiscountAmount(preDiscountAmount));
+  }
+
+  /**
+   * Calculates the final charge from already calculated pre-discount and discount amounts, which
+   * spares computing them again when all amounts of the item are needed.
+   *
+   * @param preDiscountAmount the pre-discount amount of this item
+   * @param discountAmount the discount amount of this item
+   * @return the final charge amount
+   */
+  public BigDecimal getFinalChargeAmount(BigDecimal preDiscountAmount, BigDecimal discountAmount) {
+    return finalChargeAmount(preDiscountAmount, discountAmount);
+  }
+
+  /**
+   * Calculates a final charge as a pre-discount charge minus its discount amount.
+   *
+   * @param preDiscountAmount the pre-discount amount
+   * @param discountAmount the discount amount
+   * @return the final charge amount
+   */
+  public static BigDecimal finalChargeAmount(BigDecimal preDiscountAmount,
+      BigDecimal discountAmount) {
     LOGGER.debug("Calculating final charge amount");
-    BigDecimal finalChargeAmount = getPreDiscountAmount().subtract(getDiscountAmount())
+    BigDecimal finalChargeAmount = preDiscountAmount.subtract(discountAmount)
         .setScale(2, RoundingMode.HALF_UP);
     LOGGER.debug("Final charge amount calculated: {}", finalChargeAmount);
     return finalChargeAmount;
@@ -1,5 +1,7 @@
 package com.costacodecraft.toolrental.application.domain.model;
 
+import com.costacodecraft.toolrental.application.port.in.ChargeableDaysCount;
+
 /**
  * Represents the price details of a tool, including daily charge and charge applicability for
  * weekdays, weekends, and holidays.
@@ -20,6 +22,26 @@ public record Price(
     return new Builder();
   }
 
+  /**
+   * Returns how many of the counted days are charged, leaving out the kinds of days that are free.
+   *
+   * @param chargeableDaysCount the count of weekdays, weekend days and holidays
+   * @return the number of charge days
+   */
+  public int getChargeDays(ChargeableDaysCount chargeableDaysCount) {
+    int chargeDays = 0;
+    if (weekdayCharge) {
+      chargeDays += chargeableDaysCount.weekdayCount();
+    }
+    if (weekendCharge) {
+      chargeDays += chargeableDaysCount.weekendCount();
+    }
+    if (holidayCharge) {
+      chargeDays += chargeableDaysCount.holidayCount();
+    }
+    return chargeDays;
+  }
+
   /**
    * Builder class for constructing Price instances.
    */
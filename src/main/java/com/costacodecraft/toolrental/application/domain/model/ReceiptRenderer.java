@@ -0,0 +1,379 @@
+package com.costacodecraft.toolrental.application.domain.model;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Renders the text of a {@link RentalAgreement} receipt into an {@link Appendable} or a
+ * {@link ByteBuffer} without building intermediate strings.
+ * <p>
+ * The output is identical to formatting the amounts with a USD currency {@link NumberFormat}, the
+ * dates with the {@code M/d/yy} pattern and the discount with {@code %d%%} in the renderer's
+ * locale. The currency layout of the locale is resolved once; amounts it cannot render exactly
+ * (negative values, negative zero included, or more than two decimals) fall back to a per-thread
+ * {@link NumberFormat}. Instances are thread-safe.
+ */
+public final class ReceiptRenderer {
+
+  private static final Currency USD = Currency.getInstance("USD");
+  private static final Map<Locale, ReceiptRenderer> RENDERERS = new ConcurrentHashMap<>();
+
+  private static final String[] LABELS = {
+      "Tool Code: ",
+      "\nTool Type: ",
+      "\nTool Brand: ",
+      "\nRental Days: ",
+      "\nCheckout Date: ",
+      "\nDue Date: ",
+      "\nDaily Rental Charge: ",
+      "\nCharge Days: ",
+      "\nPre-discount Amount: ",
+      "\nDiscount Percent: ",
+      "\nDiscount Amount: ",
+      "\nFinal Charge: "
+  };
+  private static final byte[][] LABEL_BYTES = new byte[LABELS.length][];
+
+  static {
+    for (int i = 0; i < LABELS.length; i++) {
+      LABEL_BYTES[i] = LABELS[i].getBytes(StandardCharsets.US_ASCII);
+    }
+  }
+
+  private final Locale locale;
+  private final ThreadLocal<NumberFormat> currencyFormat;
+  private final boolean exactAmounts;
+  private final String prefix;
+  private final String suffix;
+  private final char groupingSeparator;
+  private final char decimalSeparator;
+  private final char zeroDigit;
+
+  private ReceiptRenderer(Locale locale) {
+    this.locale = locale;
+    this.currencyFormat = ThreadLocal.withInitial(() -> newCurrencyFormat(locale));
+    NumberFormat format = newCurrencyFormat(locale);
+    DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(locale);
+    this.zeroDigit = symbols.getZeroDigit();
+    if (format instanceof DecimalFormat decimalFormat) {
+      this.prefix = decimalFormat.getPositivePrefix();
+      this.suffix = decimalFormat.getPositiveSuffix();
+      this.groupingSeparator = decimalFormat.isGroupingUsed()
+          ? decimalFormat.getDecimalFormatSymbols().getMonetaryGroupingSeparator() : 0;
+      this.decimalSeparator = decimalFormat.getDecimalFormatSymbols().getMonetaryDecimalSeparator();
+      this.exactAmounts = decimalFormat.getMinimumFractionDigits() == 2
+          && decimalFormat.getMaximumFractionDigits() == 2
+          && decimalFormat.getMinimumIntegerDigits() == 1
+          && decimalFormat.getMultiplier() == 1
+          && decimalFormat.getRoundingMode() == RoundingMode.HALF_EVEN
+          && (!decimalFormat.isGroupingUsed() || decimalFormat.getGroupingSize() == 3)
+          && matchesFormat(format);
+    } else {
+      this.prefix = "";
+      this.suffix = "";
+      this.groupingSeparator = 0;
+      this.decimalSeparator = '.';
+      this.exactAmounts = false;
+    }
+  }
+
+  /**
+   * Returns the renderer for the default formatting locale.
+   *
+   * @return a shared renderer
+   */
+  public static ReceiptRenderer forDefaultLocale() {
+    return forLocale(Locale.getDefault(Locale.Category.FORMAT));
+  }
+
+  /**
+   * Returns the renderer for the given locale.
+   *
+   * @param locale the locale used for currency amounts and the discount percentage
+   * @return a shared renderer
+   */
+  public static ReceiptRenderer forLocale(Locale locale) {
+    return RENDERERS.computeIfAbsent(locale, ReceiptRenderer::new);
+  }
+
+  public Locale getLocale() {
+    return locale;
+  }
+
+  /**
+   * Renders the receipt into a new string.
+   *
+   * @param agreement the rental agreement
+   * @return the receipt text
+   */
+  public String render(RentalAgreement agreement) {
+    StringBuilder builder = new StringBuilder(320);
+    try {
+      render(agreement, builder);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return builder.toString();
+  }
+
+  /**
+   * Appends the receipt to the given destination.
+   *
+   * @param agreement the rental agreement
+   * @param out the destination
+   * @throws IOException if the destination fails
+   */
+  public void render(RentalAgreement agreement, Appendable out) throws IOException {
+    write(agreement, new AppendableSink(out));
+  }
+
+  /**
+   * Writes the receipt to the given buffer as UTF-8.
+   *
+   * @param agreement the rental agreement
+   * @param buffer the destination
+   * @throws java.nio.BufferOverflowException if the buffer has too little room; its position is
+   *                                          then undefined
+   */
+  public void render(RentalAgreement agreement, ByteBuffer buffer) {
+    try {
+      write(agreement, new ByteBufferSink(buffer));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private void write(RentalAgreement agreement, Sink out) throws IOException {
+    out.label(0);
+    out.text(agreement.toolCode());
+    out.label(1);
+    out.text(agreement.toolType().getType());
+    out.label(2);
+    out.text(agreement.toolBrand().getName());
+    out.label(3);
+    out.number(agreement.rentalDays(), '0');
+    out.label(4);
+    date(agreement.checkoutDate(), out);
+    out.label(5);
+    date(agreement.returnDate(), out);
+    out.label(6);
+    amount(agreement.dailyChargeAmount(), out);
+    out.label(7);
+    out.number(agreement.chargeDays(), '0');
+    out.label(8);
+    amount(agreement.preDiscountAmount(), out);
+    out.label(9);
+    out.number(agreement.discountPercent(), zeroDigit);
+    out.put('%');
+    out.label(10);
+    amount(agreement.discountAmount(), out);
+    out.label(11);
+    amount(agreement.finalChargeAmount(), out);
+  }
+
+  private static void date(LocalDate date, Sink out) throws IOException {
+    out.number(date.getMonthValue(), '0');
+    out.put('/');
+    out.number(date.getDayOfMonth(), '0');
+    out.put('/');
+    int year = Math.abs(date.getYear()) % 100;
+    out.put((char) ('0' + year / 10));
+    out.put((char) ('0' + year % 10));
+  }
+
+  private void amount(double value, Sink out) throws IOException {
+    // the sign bit rather than value >= 0, as NumberFormat renders -0.0 with its minus sign
+    if (exactAmounts && Double.doubleToRawLongBits(value) >= 0 && value < 1e15) {
+      long cents = Math.round(value * 100);
+      if (cents / 100.0 == value) {
+        cents(cents, out);
+        return;
+      }
+    }
+    out.text(currencyFormat.get().format(value));
+  }
+
+  private void amount(BigDecimal value, Sink out) throws IOException {
+    if (exactAmounts && value.signum() >= 0 && value.scale() >= 0 && value.scale() <= 2
+        && value.precision() <= 17) {
+      cents(value.movePointRight(2).longValueExact(), out);
+      return;
+    }
+    out.text(currencyFormat.get().format(value));
+  }
+
+  private void cents(long cents, Sink out) throws IOException {
+    char[] digits = new char[32];
+    int position = digits.length;
+    digits[--position] = (char) (zeroDigit + cents % 10);
+    cents /= 10;
+    digits[--position] = (char) (zeroDigit + cents % 10);
+    cents /= 10;
+    digits[--position] = decimalSeparator;
+    int grouped = 0;
+    do {
+      if (grouped == 3 && groupingSeparator != 0) {
+        digits[--position] = groupingSeparator;
+        grouped = 0;
+      }
+      digits[--position] = (char) (zeroDigit + cents % 10);
+      cents /= 10;
+      grouped++;
+    } while (cents > 0);
+    out.text(prefix);
+    out.chars(digits, position, digits.length - position);
+    out.text(suffix);
+  }
+
+  private boolean matchesFormat(NumberFormat format) {
+    double[] probes = {0, 0.01, 0.5, 9.99, 999.99, 1000, 1234567.89};
+    StringBuilder builder = new StringBuilder();
+    try {
+      for (double probe : probes) {
+        builder.setLength(0);
+        cents(Math.round(probe * 100), new AppendableSink(builder));
+        if (!builder.toString().equals(format.format(probe))) {
+          return false;
+        }
+      }
+    } catch (IOException e) {
+      return false;
+    }
+    return true;
+  }
+
+  private static NumberFormat newCurrencyFormat(Locale locale) {
+    NumberFormat format = NumberFormat.getCurrencyInstance(locale);
+    format.setCurrency(USD);
+    return format;
+  }
+
+  private interface Sink {
+
+    void label(int index) throws IOException;
+
+    void text(String value) throws IOException;
+
+    void chars(char[] value, int offset, int length) throws IOException;
+
+    void put(char value) throws IOException;
+
+    default void number(int value, char zero) throws IOException {
+      long remaining = value;
+      if (remaining < 0) {
+        put('-');
+        remaining = -remaining;
+      }
+      if (remaining < 10) {
+        put((char) (zero + remaining));
+        return;
+      }
+      char[] digits = new char[10];
+      int position = digits.length;
+      do {
+        digits[--position] = (char) (zero + remaining % 10);
+        remaining /= 10;
+      } while (remaining > 0);
+      chars(digits, position, digits.length - position);
+    }
+  }
+
+  private record AppendableSink(Appendable out) implements Sink {
+
+    @Override
+    public void label(int index) throws IOException {
+      out.append(LABELS[index]);
+    }
+
+    @Override
+    public void text(String value) throws IOException {
+      out.append(value);
+    }
+
+    @Override
+    public void chars(char[] value, int offset, int length) throws IOException {
+      if (out instanceof StringBuilder builder) {
+        builder.append(value, offset, length);
+        return;
+      }
+      for (int i = offset; i < offset + length; i++) {
+        out.append(value[i]);
+      }
+    }
+
+    @Override
+    public void put(char value) throws IOException {
+      out.append(value);
+    }
+  }
+
+  private record ByteBufferSink(ByteBuffer buffer) implements Sink {
+
+    @Override
+    public void label(int index) {
+      buffer.put(LABEL_BYTES[index]);
+    }
+
+    @Override
+    public void text(String value) {
+      int length = value.length();
+      for (int i = 0; i < length; i++) {
+        char c = value.charAt(i);
+        if (Character.isHighSurrogate(c) && i + 1 < length
+            && Character.isLowSurrogate(value.charAt(i + 1))) {
+          codePoint(Character.toCodePoint(c, value.charAt(++i)));
+        } else {
+          put(c);
+        }
+      }
+    }
+
+    @Override
+    public void chars(char[] value, int offset, int length) {
+      for (int i = offset; i < offset + length; i++) {
+        put(value[i]);
+      }
+    }
+
+    @Override
+    public void put(char value) {
+      if (value < 0x80) {
+        buffer.put((byte) value);
+      } else if (Character.isSurrogate(value)) {
+        buffer.put((byte) '?');
+      } else {
+        codePoint(value);
+      }
+    }
+
+    private void codePoint(int codePoint) {
+      if (codePoint < 0x80) {
+        buffer.put((byte) codePoint);
+      } else if (codePoint < 0x800) {
+        buffer.put((byte) (0xC0 | (codePoint >> 6)));
+        buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+      } else if (codePoint < 0x10000) {
+        buffer.put((byte) (0xE0 | (codePoint >> 12)));
+        buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+        buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+      } else {
+        buffer.put((byte) (0xF0 | (codePoint >> 18)));
+        buffer.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+        buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+        buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+      }
+    }
+  }
+}
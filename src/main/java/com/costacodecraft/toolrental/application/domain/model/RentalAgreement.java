@@ -1,14 +1,14 @@
 package com.costacodecraft.toolrental.application.domain.model;
 
 import java.math.BigDecimal;
-import java.text.NumberFormat;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.util.Currency;
 
 /**
  * Represents a rental agreement for a tool, including details such as tool code, type, brand,
  * rental days, charges, and discount information.
+ * <p>
+ * The kinds of days charged are those of the tool's price at checkout, so the rental keeps its
+ * terms when the catalog changes. A returned rental is closed and can no longer be amended.
  */
 public record RentalAgreement(
     String toolCode,
@@ -22,35 +22,33 @@ public record RentalAgreement(
     BigDecimal preDiscountAmount,
     int discountPercent,
     BigDecimal discountAmount,
-    BigDecimal finalChargeAmount
+    BigDecimal finalChargeAmount,
+    boolean weekdayCharge,
+    boolean weekendCharge,
+    boolean holidayCharge,
+    boolean returned
 ) {
 
   public static Builder newBuilder() {
     return new Builder();
   }
 
+  /**
+   * Returns the price the rental was charged at: its daily charge and the kinds of days charged.
+   *
+   * @return the price of the rental
+   */
+  public Price price() {
+    return new Price(dailyChargeAmount, weekdayCharge, weekendCharge, holidayCharge);
+  }
+
   /**
    * Returns a formatted string representation of the rental agreement.
    *
    * @return a pretty-printed text of the rental agreement
    */
   public String getPrettyPrintText() {
-    Currency currency = Currency.getInstance("USD");
-    NumberFormat nf = NumberFormat.getCurrencyInstance();
-    nf.setCurrency(currency);
-    DateTimeFormatter df = DateTimeFormatter.ofPattern("M/d/yy");
-    return "Tool Code: " + toolCode
-        + "\nTool Type: " + toolType.getType()
-        + "\nTool Brand: " + toolBrand.getName()
-        + "\nRental Days: " + rentalDays
-        + "\nCheckout Date: " + df.format(checkoutDate)
-        + "\nDue Date: " + df.format(returnDate)
-        + "\nDaily Rental Charge: " + nf.format(dailyChargeAmount)
-        + "\nCharge Days: " + chargeDays
-        + "\nPre-discount Amount: " + nf.format(preDiscountAmount)
-        + "\nDiscount Percent: " + String.format("%d%%", discountPercent)
-        + "\nDiscount Amount: " + nf.format(discountAmount)
-        + "\nFinal Charge: " + nf.format(finalChargeAmount);
+    return ReceiptRenderer.forDefaultLocale().render(this);
   }
 
   /**
@@ -70,6 +68,10 @@ public record RentalAgreement(
     private int discountPercent;
     private BigDecimal discountAmount;
     private BigDecimal finalChargeAmount;
+    private boolean weekdayCharge = true;
+    private boolean weekendCharge = true;
+    private boolean holidayCharge = true;
+    private boolean returned;
 
     private Builder() {
     }
@@ -134,6 +136,26 @@ public record RentalAgreement(
       return this;
     }
 
+    public Builder weekdayCharge(boolean value) {
+      weekdayCharge = value;
+      return this;
+    }
+
+    public Builder weekendCharge(boolean value) {
+      weekendCharge = value;
+      return this;
+    }
+
+    public Builder holidayCharge(boolean value) {
+      holidayCharge = value;
+      return this;
+    }
+
+    public Builder returned(boolean value) {
+      returned = value;
+      return this;
+    }
+
     public RentalAgreement build() {
       return new RentalAgreement(
           toolCode,
@@ -147,7 +169,11 @@ public record RentalAgreement(
           preDiscountAmount,
           discountPercent,
           discountAmount,
-          finalChargeAmount
+          finalChargeAmount,
+          weekdayCharge,
+          weekendCharge,
+          holidayCharge,
+          returned
       );
     }
   }
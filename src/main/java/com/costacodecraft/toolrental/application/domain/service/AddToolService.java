@@ -25,6 +25,7 @@ public class AddToolService implements AddToolUseCase {
 
   @Override
   public void addTools(List<Tool> tools) {
-    tools.forEach(this::addTool);
+    // one snapshot for the whole list instead of one per tool
+    toolRepository.applyChanges(tools, List.of());
   }
 }
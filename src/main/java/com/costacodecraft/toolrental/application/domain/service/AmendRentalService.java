@@ -0,0 +1,149 @@
+package com.costacodecraft.toolrental.application.domain.service;
+
+import com.costacodecraft.toolrental.application.domain.exception.InvalidRentalDayException;
+import com.costacodecraft.toolrental.application.domain.exception.RentalReturnedException;
+import com.costacodecraft.toolrental.application.domain.model.CheckoutItem;
+import com.costacodecraft.toolrental.application.domain.model.Order;
+import com.costacodecraft.toolrental.application.domain.model.Order.OrderId;
+import com.costacodecraft.toolrental.application.domain.model.RentalAgreement;
+import com.costacodecraft.toolrental.application.domain.model.Price;
+import com.costacodecraft.toolrental.application.port.in.AmendRentalUseCase;
+import com.costacodecraft.toolrental.application.port.in.ChargeableDaysCount;
+import com.costacodecraft.toolrental.application.port.in.GetChargeableDaysUseCase;
+import com.costacodecraft.toolrental.application.port.out.OrderRepository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service implementation for extending and returning rentals.
+ * <p>
+ * The charge days of an amended rental are those of its agreement plus or minus the chargeable
+ * days between the old and the new due date, so only the days added or taken off are counted,
+ * however long the rental. The days are charged by the kinds of days and priced at the daily
+ * charge and discount of the agreement with the same arithmetic as {@link CheckoutItem}, so an
+ * amended rental costs what a checkout of the new period at the same terms would, whatever the
+ * catalog says today. A returned rental cannot be amended again. Amendments of the same order are
+ * made one at a time and told to the {@link OrderListener} beans once written.
+ */
+@Service
+public class AmendRentalService implements AmendRentalUseCase {
+
+  // amendments of different orders rarely share a lock
+  private static final int LOCK_STRIPES = 256;
+
+  private final OrderRepository orderRepository;
+  private final GetChargeableDaysUseCase chargeableDaysUseCase;
+  private final OrderListener[] listeners;
+  private final Object[] locks = new Object[LOCK_STRIPES];
+
+  public AmendRentalService(OrderRepository orderRepository,
+      GetChargeableDaysUseCase chargeableDaysUseCase, List<OrderListener> listeners) {
+    this.orderRepository = orderRepository;
+    this.chargeableDaysUseCase = chargeableDaysUseCase;
+    this.listeners = listeners.toArray(OrderListener[]::new);
+    for (int i = 0; i < locks.length; i++) {
+      locks[i] = new Object();
+    }
+  }
+
+  @Override
+  public Optional<Order> extendRental(OrderId id, int extraDays) {
+    if (extraDays < 1) {
+      throw new InvalidRentalDayException("Extra days must be 1 or greater");
+    }
+    synchronized (lock(id)) {
+      return orderRepository.findById(id).map(order -> {
+        LocalDate dueDate = order.rentalAgreement().returnDate().plusDays(extraDays);
+        Order extended = amend(order, dueDate, false);
+        for (OrderListener listener : listeners) {
+          listener.rentalExtended(order, extended);
+        }
+        return extended;
+      });
+    }
+  }
+
+  @Override
+  public Optional<Order> returnRental(OrderId id, LocalDate returnDate) {
+    if (returnDate == null) {
+      throw new InvalidRentalDayException("Return date cannot be null");
+    }
+    synchronized (lock(id)) {
+      return orderRepository.findById(id).map(order -> {
+        if (!returnDate.isAfter(order.rentalAgreement().checkoutDate())) {
+          throw new InvalidRentalDayException("Return date must be after the checkout date");
+        }
+        Order returned = amend(order, returnDate, true);
+        for (OrderListener listener : listeners) {
+          listener.rentalReturned(order, returned);
+        }
+        return returned;
+      });
+    }
+  }
+
+  private Object lock(OrderId id) {
+    return locks[Math.floorMod(id.hashCode(), locks.length)];
+  }
+
+  private Order amend(Order order, LocalDate dueDate, boolean returned) {
+    if (order.rentalAgreement().returned()) {
+      throw new RentalReturnedException("Rental " + order.id().value() + " was already returned");
+    }
+    Order amended = new Order(order.id(), amend(order.rentalAgreement(), dueDate, returned));
+    if (!orderRepository.updateOrder(amended)) {
+      throw new IllegalStateException("Order " + order.id().value() + " could not be updated");
+    }
+    return amended;
+  }
+
+  /**
+   * Moves the due date of a rental agreement, counting only the days between the two due dates.
+   *
+   * @param agreement the agreement of the rental
+   * @param dueDate the new due date, after the checkout date
+   * @param returned whether the rental ends on the new due date
+   * @return the agreement for the new rental period
+   */
+  RentalAgreement amend(RentalAgreement agreement, LocalDate dueDate, boolean returned) {
+    LocalDate previousDueDate = agreement.returnDate();
+    int chargeDays = agreement.chargeDays();
+    if (dueDate.isAfter(previousDueDate)) {
+      chargeDays += getChargeDays(agreement.price(), previousDueDate, dueDate);
+    } else if (dueDate.isBefore(previousDueDate)) {
+      chargeDays -= getChargeDays(agreement.price(), dueDate, previousDueDate);
+    }
+    BigDecimal preDiscountAmount =
+        CheckoutItem.preDiscountAmount(agreement.dailyChargeAmount(), chargeDays);
+    BigDecimal discountAmount =
+        CheckoutItem.discountAmount(preDiscountAmount, agreement.discountPercent());
+    return RentalAgreement.newBuilder()
+        .toolCode(agreement.toolCode())
+        .toolType(agreement.toolType())
+        .toolBrand(agreement.toolBrand())
+        .rentalDays((int) ChronoUnit.DAYS.between(agreement.checkoutDate(), dueDate))
+        .checkoutDate(agreement.checkoutDate())
+        .returnDate(dueDate)
+        .dailyChargeAmount(agreement.dailyChargeAmount())
+        .chargeDays(chargeDays)
+        .preDiscountAmount(preDiscountAmount)
+        .discountPercent(agreement.discountPercent())
+        .discountAmount(discountAmount)
+        .finalChargeAmount(CheckoutItem.finalChargeAmount(preDiscountAmount, discountAmount))
+        .weekdayCharge(agreement.weekdayCharge())
+        .weekendCharge(agreement.weekendCharge())
+        .holidayCharge(agreement.holidayCharge())
+        .returned(returned)
+        .build();
+  }
+
+  private int getChargeDays(Price price, LocalDate startDate, LocalDate endDate) {
+    ChargeableDaysCount chargeableDaysCount =
+        chargeableDaysUseCase.getChargeableDays(startDate, endDate);
+    return price.getChargeDays(chargeableDaysCount);
+  }
+}
@@ -0,0 +1,25 @@
+package com.costacodecraft.toolrental.application.domain.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of the chargeable days of a rental being counted.
+ */
+@Name("com.costacodecraft.toolrental.ChargeableDays")
+@Label("Chargeable Days")
+@Category({"Tool Rental", "Calendar"})
+@Description("Counts the weekdays, weekend days and holidays of a rental")
+@StackTrace(false)
+final class ChargeableDaysEvent extends Event {
+
+  @Label("Rental Days")
+  int rentalDays;
+
+  @Label("Holidays")
+  int holidays;
+}
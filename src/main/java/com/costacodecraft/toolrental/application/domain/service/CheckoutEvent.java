@@ -0,0 +1,24 @@
+package com.costacodecraft.toolrental.application.domain.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of a checkout, from the first command being priced to the last order being
+ * created.
+ */
+@Name("com.costacodecraft.toolrental.Checkout")
+@Label("Checkout")
+@Category({"Tool Rental", "Checkout"})
+@Description("Checks out commands, from pricing to order creation")
+@StackTrace(false)
+final class CheckoutEvent extends Event {
+
+  @Label("Batch Size")
+  @Description("Number of commands checked out together")
+  int batchSize;
+}
@@ -0,0 +1,303 @@
+package com.costacodecraft.toolrental.application.domain.service;
+
+import com.costacodecraft.toolrental.application.domain.model.Order;
+import com.costacodecraft.toolrental.application.domain.model.Order.OrderId;
+import com.costacodecraft.toolrental.application.domain.model.RentalAgreement;
+import com.costacodecraft.toolrental.application.domain.service.IdempotencyIndex.Claim;
+import com.costacodecraft.toolrental.application.port.in.AsyncCheckoutUseCase;
+import com.costacodecraft.toolrental.application.port.in.CheckoutCommand;
+import com.costacodecraft.toolrental.application.port.in.CreateOrderUseCase;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Checks out commands in two stages connected by bounded queues:
+ * <ol>
+ *   <li>pricing workers ({@code toolrental.pipeline.pricing-threads}, by default one per
+ *   processor) validate and price each command;</li>
+ *   <li>a persistence worker creates the priced orders in batches of up to
+ *   {@code toolrental.pipeline.batch-size} (default 256), mixing the commands of all callers.</li>
+ * </ol>
+ * Each queue holds at most {@code toolrental.pipeline.queue-capacity} commands (default 1024). When
+ * they are full, submitting blocks, which pushes back on callers. The workers are daemon threads
+ * started with the first checkout.
+ * <p>
+ * An {@link Error} in a worker, such as running out of memory, stops the pipeline: the commands
+ * in flight and queued fail with an {@link IllegalStateException} caused by the error, and later
+ * commands are rejected, rather than waiting for a worker that is gone.
+ */
+@Service
+public class CheckoutPipeline implements AsyncCheckoutUseCase, DisposableBean {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(CheckoutPipeline.class);
+
+  private final CheckoutPricer checkoutPricer;
+  private final CreateOrderUseCase createOrderUseCase;
+  private final IdempotencyIndex idempotencyIndex;
+  private final int pricingThreads;
+  private final int batchSize;
+  private final BlockingQueue<Job> pricingQueue;
+  private final BlockingQueue<Job> persistenceQueue;
+  private final List<Thread> workers = new ArrayList<>();
+  private volatile boolean started;
+  private volatile boolean stopped;
+
+  public CheckoutPipeline(CheckoutPricer checkoutPricer, CreateOrderUseCase createOrderUseCase,
+      IdempotencyIndex idempotencyIndex,
+      @Value("${toolrental.pipeline.pricing-threads:0}") int pricingThreads,
+      @Value("${toolrental.pipeline.queue-capacity:1024}") int queueCapacity,
+      @Value("${toolrental.pipeline.batch-size:256}") int batchSize) {
+    if (queueCapacity < 1 || batchSize < 1) {
+      throw new IllegalArgumentException(
+          "Pipeline queue capacity and batch size must be 1 or more");
+    }
+    this.checkoutPricer = checkoutPricer;
+    this.createOrderUseCase = createOrderUseCase;
+    this.idempotencyIndex = idempotencyIndex;
+    this.pricingThreads = pricingThreads > 0
+        ? pricingThreads
+        : Runtime.getRuntime().availableProcessors();
+    this.batchSize = batchSize;
+    this.pricingQueue = new ArrayBlockingQueue<>(queueCapacity);
+    this.persistenceQueue = new ArrayBlockingQueue<>(queueCapacity);
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * A command whose idempotency key was already checked out, or is being checked out, gets the
+   * outcome of that checkout without entering the pipeline.
+   */
+  @Override
+  public CompletableFuture<OrderId> checkoutAsync(CheckoutCommand checkoutCommand) {
+    start();
+    Claim claim = null;
+    if (checkoutCommand.idempotencyKey() != null) {
+      claim = idempotencyIndex.claim(checkoutCommand);
+      if (!claim.isOwner()) {
+        return claim.toFuture();
+      }
+    }
+    Job job = new Job(checkoutCommand, new CompletableFuture<>(), claim);
+    try {
+      pricingQueue.put(job);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      RejectedExecutionException rejected =
+          new RejectedExecutionException("Interrupted while waiting for the checkout pipeline");
+      job.fail(rejected);
+      throw rejected;
+    }
+    if (stopped) {
+      failQueued();
+    }
+    return job.result;
+  }
+
+  /**
+   * Returns the number of commands waiting to be priced.
+   *
+   * @return the pricing backlog
+   */
+  public int getPricingBacklog() {
+    return pricingQueue.size();
+  }
+
+  /**
+   * Returns the number of priced commands waiting for their order to be created.
+   *
+   * @return the persistence backlog
+   */
+  public int getPersistenceBacklog() {
+    return persistenceQueue.size();
+  }
+
+  /**
+   * Stops the workers. Commands still queued fail with a {@link RejectedExecutionException}.
+   */
+  @Override
+  public void destroy() throws InterruptedException {
+    synchronized (workers) {
+      stopped = true;
+      for (Thread worker : workers) {
+        worker.interrupt();
+      }
+      for (Thread worker : workers) {
+        worker.join(1000);
+      }
+    }
+    failQueued();
+  }
+
+  private void start() {
+    if (stopped) {
+      throw new RejectedExecutionException("Checkout pipeline stopped");
+    }
+    if (started) {
+      return;
+    }
+    synchronized (workers) {
+      if (started || stopped) {
+        return;
+      }
+      for (int i = 0; i < pricingThreads; i++) {
+        workers.add(Thread.ofPlatform().name("checkout-pricing-" + i).daemon()
+            .start(this::price));
+      }
+      workers.add(Thread.ofPlatform().name("checkout-persistence").daemon().start(this::persist));
+      started = true;
+    }
+  }
+
+  private void price() {
+    while (!stopped) {
+      Job job;
+      try {
+        job = pricingQueue.take();
+      } catch (InterruptedException e) {
+        return;
+      }
+      try {
+        job.rentalAgreement = checkoutPricer.price(job.command);
+      } catch (RuntimeException e) {
+        job.fail(e);
+        continue;
+      } catch (Error e) {
+        abort(List.of(job), e);
+        return;
+      }
+      try {
+        persistenceQueue.put(job);
+      } catch (InterruptedException e) {
+        job.fail(new RejectedExecutionException("Checkout pipeline stopped"));
+        return;
+      }
+      if (stopped) {
+        failQueued();
+      }
+    }
+  }
+
+  private void persist() {
+    List<Job> batch = new ArrayList<>(batchSize);
+    List<RentalAgreement> rentalAgreements = new ArrayList<>(batchSize);
+    while (!stopped) {
+      try {
+        batch.add(persistenceQueue.take());
+      } catch (InterruptedException e) {
+        return;
+      }
+      persistenceQueue.drainTo(batch, batchSize - 1);
+      for (Job job : batch) {
+        rentalAgreements.add(job.rentalAgreement);
+      }
+      try {
+        List<Order> orders = createOrderUseCase.createOrders(rentalAgreements);
+        for (int i = 0; i < batch.size(); i++) {
+          batch.get(i).complete(orders.get(i).id());
+        }
+        LOGGER.debug("Created a batch of {} orders", orders.size());
+      } catch (RuntimeException e) {
+        LOGGER.error("Failed to create a batch of {} orders", batch.size(), e);
+        for (Job job : batch) {
+          job.fail(e);
+        }
+      } catch (Error e) {
+        abort(batch, e);
+        return;
+      }
+      batch.clear();
+      rentalAgreements.clear();
+    }
+  }
+
+  /**
+   * Stops the pipeline after an error in a worker, failing the jobs the worker was handling and
+   * the queued ones, and interrupting the other workers.
+   *
+   * @param inFlight the jobs of the failed worker
+   * @param error the error
+   */
+  private void abort(List<Job> inFlight, Error error) {
+    LOGGER.error("Checkout pipeline stopped by an error in {}", Thread.currentThread().getName(),
+        error);
+    stopped = true;
+    IllegalStateException failure = new IllegalStateException("Checkout pipeline failed", error);
+    for (Job job : inFlight) {
+      job.fail(failure);
+    }
+    failQueued();
+    synchronized (workers) {
+      for (Thread worker : workers) {
+        if (worker != Thread.currentThread()) {
+          worker.interrupt();
+        }
+      }
+    }
+  }
+
+  private void failQueued() {
+    List<Job> queued = new ArrayList<>();
+    pricingQueue.drainTo(queued);
+    persistenceQueue.drainTo(queued);
+    RejectedExecutionException failure =
+        new RejectedExecutionException("Checkout pipeline stopped");
+    for (Job job : queued) {
+      job.fail(failure);
+    }
+  }
+
+  /**
+   * A command moving through the pipeline. The rental agreement is set by the pricing stage and
+   * read by the persistence stage, the queue between them publishing it safely. Its checkout event
+   * spans the whole pipeline, from being submitted to being completed.
+   */
+  private static final class Job {
+
+    private final CheckoutCommand command;
+    private final CompletableFuture<OrderId> result;
+    private final Claim claim;
+    private final CheckoutEvent event = new CheckoutEvent();
+    private RentalAgreement rentalAgreement;
+
+    private Job(CheckoutCommand command, CompletableFuture<OrderId> result, Claim claim) {
+      this.command = command;
+      this.result = result;
+      this.claim = claim;
+      event.begin();
+    }
+
+    void complete(OrderId orderId) {
+      if (claim != null) {
+        claim.complete(orderId);
+      }
+      commitEvent();
+      result.complete(orderId);
+    }
+
+    void fail(RuntimeException failure) {
+      if (claim != null) {
+        claim.fail(failure);
+      }
+      commitEvent();
+      result.completeExceptionally(failure);
+    }
+
+    private void commitEvent() {
+      event.end();
+      if (event.shouldCommit()) {
+        event.batchSize = 1;
+        event.commit();
+      }
+    }
+  }
+}
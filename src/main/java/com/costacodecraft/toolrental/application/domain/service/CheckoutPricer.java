@@ -0,0 +1,221 @@
+package com.costacodecraft.toolrental.application.domain.service;
+
+import com.costacodecraft.toolrental.application.domain.exception.ToolNotFoundException;
+import com.costacodecraft.toolrental.application.domain.model.CheckoutItem;
+import com.costacodecraft.toolrental.application.domain.model.RentalAgreement;
+import com.costacodecraft.toolrental.application.domain.model.Tool;
+import com.costacodecraft.toolrental.application.domain.model.Tool.ToolId;
+import com.costacodecraft.toolrental.application.port.in.ChargeableDaysCount;
+import com.costacodecraft.toolrental.application.port.in.CheckoutCommand;
+import com.costacodecraft.toolrental.application.port.in.CheckoutValidation;
+import com.costacodecraft.toolrental.application.port.in.GetChargeableDaysUseCase;
+import com.costacodecraft.toolrental.application.port.out.CheckoutMetrics;
+import com.costacodecraft.toolrental.application.port.out.CheckoutMetrics.Stage;
+import com.costacodecraft.toolrental.application.port.out.ToolRepository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Prices checkout commands into rental agreements without creating any order.
+ */
+@Component
+public class CheckoutPricer {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(CheckoutPricer.class);
+
+  private final ToolRepository toolRepository;
+  private final GetChargeableDaysUseCase chargeableDaysUseCase;
+  private final CheckoutValidator checkoutValidator;
+  private final CheckoutMetrics checkoutMetrics;
+  private final SingleFlight<PricingKey, RentalAgreement> pricing = new SingleFlight<>();
+
+  /**
+   * Creates a pricer that measures nothing.
+   *
+   * @param toolRepository the repository of the tools priced
+   * @param chargeableDaysUseCase the use case counting the chargeable days
+   * @param checkoutValidator the validator of the commands
+   */
+  public CheckoutPricer(ToolRepository toolRepository,
+      GetChargeableDaysUseCase chargeableDaysUseCase, CheckoutValidator checkoutValidator) {
+    this(toolRepository, chargeableDaysUseCase, checkoutValidator, CheckoutMetrics.NONE);
+  }
+
+  @Autowired
+  public CheckoutPricer(ToolRepository toolRepository,
+      GetChargeableDaysUseCase chargeableDaysUseCase, CheckoutValidator checkoutValidator,
+      CheckoutMetrics checkoutMetrics) {
+    this.toolRepository = toolRepository;
+    this.chargeableDaysUseCase = chargeableDaysUseCase;
+    this.checkoutValidator = checkoutValidator;
+    this.checkoutMetrics = checkoutMetrics;
+  }
+
+  /**
+   * Validates and prices the command of a checkout. Concurrent calls for the same tool, dates and
+   * discount share a single computation, whose stages are timed in the {@link CheckoutMetrics} and
+   * recorded as a {@link PricingEvent} when the flight recorder is on. Every call is counted as
+   * priced or failed, including those that shared another call's computation.
+   *
+   * @param checkoutCommand the command to price
+   * @return the rental agreement for the command
+   * @throws ToolNotFoundException if the tool does not exist
+   */
+  public RentalAgreement price(CheckoutCommand checkoutCommand) {
+    // the latency of a sampled computation, set only in the call that ran it
+    long[] latency = {-1};
+    RentalAgreement rentalAgreement;
+    try {
+      rentalAgreement = pricing.execute(PricingKey.of(checkoutCommand),
+          () -> compute(checkoutCommand, latency));
+    } catch (RuntimeException e) {
+      checkoutMetrics.recordError(e);
+      throw e;
+    }
+    checkoutMetrics.recordPriced(rentalAgreement.toolType(), latency[0]);
+    return rentalAgreement;
+  }
+
+  /**
+   * Validates and prices a command outside of a checkout, such as a quote or an imported rental,
+   * which the {@link CheckoutMetrics} neither count nor time, so that they keep measuring
+   * checkouts only. Computations in flight are shared with {@link #price(CheckoutCommand)}.
+   *
+   * @param checkoutCommand the command to price
+   * @return the rental agreement for the command
+   * @throws ToolNotFoundException if the tool does not exist
+   */
+  public RentalAgreement priceUnmeasured(CheckoutCommand checkoutCommand) {
+    return pricing.execute(PricingKey.of(checkoutCommand), () -> compute(checkoutCommand, null));
+  }
+
+  /**
+   * Returns how many pricings ran and how many calls shared an identical pricing in flight.
+   *
+   * @return the pricing counts
+   */
+  public SingleFlight.Stats getPricingStats() {
+    return pricing.getStats();
+  }
+
+  /**
+   * Prices a command, timing its stages if the latency is to be handed back and the metrics sample
+   * it.
+   *
+   * @param latency where the latency of a sampled computation is set, or null to time nothing
+   */
+  private RentalAgreement compute(CheckoutCommand checkoutCommand, long[] latency) {
+    LOGGER.debug("Pricing checkout item with tool code: {}", checkoutCommand.toolCode());
+    PricingEvent event = new PricingEvent();
+    event.begin();
+    try {
+      if (latency != null && checkoutMetrics.sample()) {
+        return computeTimed(checkoutCommand, latency);
+      }
+      checkoutValidator.validate(checkoutCommand);
+      Tool tool = findTool(checkoutCommand);
+      ChargeableDaysCount chargeableDaysCount = getChargeableDays(checkoutCommand);
+      return createRentalAgreement(new CheckoutItem(tool, checkoutCommand, chargeableDaysCount));
+    } finally {
+      event.end();
+      if (event.shouldCommit()) {
+        event.toolCode = checkoutCommand.toolCode();
+        event.rentalDays = checkoutCommand.rentalDays();
+        event.commit();
+      }
+    }
+  }
+
+  private RentalAgreement computeTimed(CheckoutCommand checkoutCommand, long[] latency) {
+    long start = System.nanoTime();
+    checkoutValidator.validate(checkoutCommand);
+    long validated = System.nanoTime();
+    Tool tool = findTool(checkoutCommand);
+    long found = System.nanoTime();
+    ChargeableDaysCount chargeableDaysCount = getChargeableDays(checkoutCommand);
+    long counted = System.nanoTime();
+    RentalAgreement rentalAgreement =
+        createRentalAgreement(new CheckoutItem(tool, checkoutCommand, chargeableDaysCount));
+    long priced = System.nanoTime();
+    checkoutMetrics.record(Stage.VALIDATION, validated - start);
+    checkoutMetrics.record(Stage.TOOL_LOOKUP, found - validated);
+    checkoutMetrics.record(Stage.CHARGEABLE_DAYS, counted - found);
+    checkoutMetrics.record(Stage.PRICING, priced - counted);
+    latency[0] = priced - start;
+    return rentalAgreement;
+  }
+
+  /**
+   * Finds the tool of a checkout command.
+   *
+   * @param checkoutCommand the checkout command
+   * @return the tool
+   * @throws ToolNotFoundException if the tool does not exist
+   */
+  Tool findTool(CheckoutCommand checkoutCommand) {
+    ToolId toolId = new ToolId(checkoutCommand.toolCode());
+    return toolRepository.findById(toolId)
+        .orElseThrow(() -> new ToolNotFoundException(
+            CheckoutValidation.toolNotFoundMessage(checkoutCommand.toolCode())));
+  }
+
+  /**
+   * Counts the chargeable days of a checkout command.
+   *
+   * @param checkoutCommand the checkout command
+   * @return the count of chargeable days
+   */
+  ChargeableDaysCount getChargeableDays(CheckoutCommand checkoutCommand) {
+    LocalDate returnDate = checkoutCommand.checkoutDate().plusDays(checkoutCommand.rentalDays());
+    return chargeableDaysUseCase.getChargeableDays(checkoutCommand.checkoutDate(), returnDate);
+  }
+
+  /**
+   * Creates a rental agreement for the specified checkout item.
+   *
+   * @param checkoutItem the details of the checkout item
+   * @return the created rental agreement
+   */
+  RentalAgreement createRentalAgreement(CheckoutItem checkoutItem) {
+    Tool tool = checkoutItem.tool();
+    BigDecimal preDiscountAmount = checkoutItem.getPreDiscountAmount();
+    BigDecimal discountAmount = checkoutItem.getDiscountAmount(preDiscountAmount);
+    return RentalAgreement.newBuilder()
+        .toolCode(tool.id().code())
+        .toolType(tool.type())
+        .toolBrand(tool.brand())
+        .rentalDays(checkoutItem.rentalDays())
+        .checkoutDate(checkoutItem.checkoutDate())
+        .returnDate(checkoutItem.getReturnDate())
+        .dailyChargeAmount(tool.price().dailyCharge())
+        .chargeDays(checkoutItem.getChargeableDaysCount())
+        .preDiscountAmount(preDiscountAmount)
+        .discountPercent(checkoutItem.discountPercentage())
+        .discountAmount(discountAmount)
+        .finalChargeAmount(checkoutItem.getFinalChargeAmount(preDiscountAmount, discountAmount))
+        .weekdayCharge(tool.price().weekdayCharge())
+        .weekendCharge(tool.price().weekendCharge())
+        .holidayCharge(tool.price().holidayCharge())
+        .build();
+  }
+
+  /**
+   * The fields of a checkout command that determine its price.
+   */
+  private record PricingKey(
+      String toolCode,
+      int rentalDays,
+      int discountPercentage,
+      LocalDate checkoutDate
+  ) {
+
+    static PricingKey of(CheckoutCommand command) {
+      return new PricingKey(command.toolCode(), command.rentalDays(),
+          command.discountPercentage(), command.checkoutDate());
+    }
+  }
+}
@@ -1,19 +1,14 @@
 package com.costacodecraft.toolrental.application.domain.service;
 
-import com.costacodecraft.toolrental.application.domain.exception.ToolNotFoundException;
-import com.costacodecraft.toolrental.application.domain.model.CheckoutItem;
 import com.costacodecraft.toolrental.application.domain.model.Order;
 import com.costacodecraft.toolrental.application.domain.model.Order.OrderId;
 import com.costacodecraft.toolrental.application.domain.model.RentalAgreement;
-import com.costacodecraft.toolrental.application.domain.model.Tool;
-import com.costacodecraft.toolrental.application.domain.model.Tool.ToolId;
-import com.costacodecraft.toolrental.application.port.in.ChargeableDaysCount;
+import com.costacodecraft.toolrental.application.domain.service.IdempotencyIndex.Claim;
 import com.costacodecraft.toolrental.application.port.in.CheckoutCommand;
 import com.costacodecraft.toolrental.application.port.in.CheckoutUseCase;
 import com.costacodecraft.toolrental.application.port.in.CreateOrderUseCase;
-import com.costacodecraft.toolrental.application.port.in.GetChargeableDaysUseCase;
-import com.costacodecraft.toolrental.application.port.out.ToolRepository;
-import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,71 +22,153 @@ public class CheckoutService implements CheckoutUseCase {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(CheckoutService.class);
 
-  private final ToolRepository toolRepository;
+  private final CheckoutPricer checkoutPricer;
   private final CreateOrderUseCase createOrderUseCase;
-  private final GetChargeableDaysUseCase chargeableDaysUseCase;
-  private final CheckoutValidator checkoutValidator;
+  private final IdempotencyIndex idempotencyIndex;
 
-  public CheckoutService(ToolRepository toolRepository, CreateOrderUseCase createOrderUseCase,
-      GetChargeableDaysUseCase chargeableDaysUseCase, CheckoutValidator checkoutValidator) {
-    this.toolRepository = toolRepository;
+  public CheckoutService(CheckoutPricer checkoutPricer, CreateOrderUseCase createOrderUseCase,
+      IdempotencyIndex idempotencyIndex) {
+    this.checkoutPricer = checkoutPricer;
     this.createOrderUseCase = createOrderUseCase;
-    this.chargeableDaysUseCase = chargeableDaysUseCase;
-    this.checkoutValidator = checkoutValidator;
+    this.idempotencyIndex = idempotencyIndex;
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Every command is validated and priced before any order is created, so a batch containing an
+   * invalid command creates no orders at all.
+   * <p>
+   * A command with an idempotency key that was already checked out returns the original order
+   * without being priced again. If a checkout with the same key is still in progress, the command
+   * is priced with the others and waits for its outcome; should that checkout fail, the command
+   * claims the key again and is checked out by this batch, so the batch does not fail after
+   * creating its other orders.
+   */
   @Override
   public List<OrderId> checkout(List<CheckoutCommand> checkoutCommands) {
     LOGGER.debug("Starting checkout process for {} items", checkoutCommands.size());
-    return checkoutCommands.stream()
-        .map(this::processCheckoutItem)
-        .toList();
+    int size = checkoutCommands.size();
+    CheckoutEvent event = new CheckoutEvent();
+    event.begin();
+    Claim[] claims = new Claim[size];
+    RentalAgreement[] rentalAgreements = new RentalAgreement[size];
+    try {
+      for (int index = 0; index < size; index++) {
+        CheckoutCommand command = checkoutCommands.get(index);
+        if (command.idempotencyKey() != null) {
+          claims[index] = idempotencyIndex.claim(command);
+          if (claims[index].isCompleted()) {
+            continue;
+          }
+        }
+        rentalAgreements[index] = checkoutPricer.price(command);
+      }
+      Iterator<Order> orders = createOrders(claims, rentalAgreements).iterator();
+      List<OrderId> orderIds = new ArrayList<>(size);
+      for (int index = 0; index < size; index++) {
+        if (claims[index] == null) {
+          orderIds.add(orders.next().id());
+        } else if (claims[index].isOwner()) {
+          OrderId orderId = orders.next().id();
+          claims[index].complete(orderId);
+          orderIds.add(orderId);
+        } else {
+          orderIds.add(null);
+        }
+      }
+      // only wait for other checkouts once this one's keys are released, so that two batches
+      // sharing keys cannot wait for each other
+      for (int index = 0; index < size; index++) {
+        if (claims[index] != null && !claims[index].isOwner()) {
+          orderIds.set(index,
+              join(claims[index], checkoutCommands.get(index), rentalAgreements[index]));
+        }
+      }
+      return orderIds;
+    } catch (RuntimeException e) {
+      failPendingClaims(claims, e);
+      throw e;
+    } finally {
+      event.end();
+      if (event.shouldCommit()) {
+        event.batchSize = size;
+        event.commit();
+      }
+    }
   }
 
   /**
-   * Processes a single checkout item.
+   * Waits for the order of a key claimed by another checkout. If that checkout fails, the key is
+   * claimed again and the command checked out here, unless yet another checkout claimed it first.
    *
-   * @param checkoutCommand the item to process
-   * @return the UUID of the created order
+   * @param claim the claim waiting for the key
+   * @param command the command
+   * @param rentalAgreement the rental agreement of the command
+   * @return the ID of the order of the key
    */
-  private OrderId processCheckoutItem(CheckoutCommand checkoutCommand) {
-    LOGGER.debug("Processing checkout item with tool code: {}", checkoutCommand.toolCode());
-    checkoutValidator.validate(checkoutCommand);
-    ToolId toolId = new ToolId(checkoutCommand.toolCode());
-    Tool tool = toolRepository.findById(toolId)
-        .orElseThrow(() -> new ToolNotFoundException(
-            "Tool with code \"" + checkoutCommand.toolCode() + "\" not found"));
-    LocalDate returnDate = checkoutCommand.checkoutDate().plusDays(checkoutCommand.rentalDays());
-    ChargeableDaysCount chargeableDaysCount = chargeableDaysUseCase.getChargeableDays(
-        checkoutCommand.checkoutDate(), returnDate);
-    CheckoutItem checkoutItem = new CheckoutItem(tool, checkoutCommand, chargeableDaysCount);
-    RentalAgreement rentalAgreement = rentalAgreementFactory(checkoutItem);
-    Order order = createOrderUseCase.createOrder(rentalAgreement);
-    LOGGER.debug("Checkout item processed successfully with order ID: {}", order.id());
-    return order.id();
+  private OrderId join(Claim claim, CheckoutCommand command, RentalAgreement rentalAgreement) {
+    while (true) {
+      try {
+        return claim.join();
+      } catch (RuntimeException e) {
+        LOGGER.debug("Checkout holding idempotency key {} failed, claiming it again",
+            command.idempotencyKey(), e);
+      }
+      claim = idempotencyIndex.claim(command);
+      if (claim.isOwner()) {
+        try {
+          OrderId orderId = createOrder(rentalAgreement);
+          claim.complete(orderId);
+          return orderId;
+        } catch (RuntimeException e) {
+          claim.fail(e);
+          throw e;
+        }
+      }
+    }
+  }
+
+  private static void failPendingClaims(Claim[] claims, RuntimeException failure) {
+    for (Claim claim : claims) {
+      if (claim != null && claim.isOwner()) {
+        claim.fail(failure);
+      }
+    }
   }
 
   /**
-   * Creates a rental agreement for the specified checkout item.
+   * Creates the orders of the commands without an idempotency key and of the keys this checkout
+   * claimed, in one write so that a batch is forced to the orders file once.
    *
-   * @param checkoutItem the details of the checkout item
-   * @return the created rental agreement
+   * @param claims the claims of the commands, null for commands without a key
+   * @param rentalAgreements the rental agreements of the commands
+   * @return the created orders, in the order of the commands
    */
-  private RentalAgreement rentalAgreementFactory(CheckoutItem checkoutItem) {
-    Tool tool = checkoutItem.tool();
-    return RentalAgreement.newBuilder()
-        .toolCode(tool.id().code())
-        .toolType(tool.type())
-        .toolBrand(tool.brand())
-        .rentalDays(checkoutItem.rentalDays())
-        .checkoutDate(checkoutItem.checkoutDate())
-        .returnDate(checkoutItem.getReturnDate())
-        .dailyChargeAmount(tool.price().dailyCharge())
-        .chargeDays(checkoutItem.getChargeableDaysCount())
-        .preDiscountAmount(checkoutItem.getPreDiscountAmount())
-        .discountPercent(checkoutItem.discountPercentage())
-        .discountAmount(checkoutItem.getDiscountAmount())
-        .finalChargeAmount(checkoutItem.getFinalChargeAmount())
-        .build();
+  private List<Order> createOrders(Claim[] claims, RentalAgreement[] rentalAgreements) {
+    List<RentalAgreement> pending = new ArrayList<>(rentalAgreements.length);
+    for (int index = 0; index < rentalAgreements.length; index++) {
+      if (claims[index] == null || claims[index].isOwner()) {
+        pending.add(rentalAgreements[index]);
+      }
+    }
+    if (pending.isEmpty()) {
+      return List.of();
+    }
+    List<Order> orders = createOrderUseCase.createOrders(pending);
+    LOGGER.debug("Checkout created {} orders", orders.size());
+    return orders;
+  }
+
+  /**
+   * Creates the order for a rental agreement.
+   *
+   * @param rentalAgreement the rental agreement
+   * @return the ID of the created order
+   */
+  private OrderId createOrder(RentalAgreement rentalAgreement) {
+    Order order = createOrderUseCase.createOrder(rentalAgreement);
+    LOGGER.debug("Checkout item processed successfully with order ID: {}", order.id());
+    return order.id();
   }
 }
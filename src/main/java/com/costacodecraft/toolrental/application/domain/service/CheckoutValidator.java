@@ -3,6 +3,7 @@ package com.costacodecraft.toolrental.application.domain.service;
 import com.costacodecraft.toolrental.application.domain.exception.InvalidDiscountException;
 import com.costacodecraft.toolrental.application.domain.exception.InvalidRentalDayException;
 import com.costacodecraft.toolrental.application.port.in.CheckoutCommand;
+import com.costacodecraft.toolrental.application.port.in.CheckoutValidation;
 import org.springframework.stereotype.Component;
 
 
@@ -20,12 +21,30 @@ public class CheckoutValidator {
    * @throws InvalidDiscountException if discount percentage is not between 0 and 100
    */
   public void validate(CheckoutCommand checkoutCommand) {
+    int errors = check(checkoutCommand);
+    if ((errors & CheckoutValidation.INVALID_RENTAL_DAYS) != 0) {
+      throw new InvalidRentalDayException(CheckoutValidation.INVALID_RENTAL_DAYS_MESSAGE);
+    }
+    if ((errors & CheckoutValidation.INVALID_DISCOUNT) != 0) {
+      throw new InvalidDiscountException(CheckoutValidation.INVALID_DISCOUNT_MESSAGE);
+    }
+  }
+
+  /**
+   * Checks a checkout item without throwing.
+   *
+   * @param checkoutCommand the item to check
+   * @return the {@link CheckoutValidation} error bits of the item, 0 if it is valid
+   */
+  public int check(CheckoutCommand checkoutCommand) {
     // It would also, be good to set a max rental days allowed!
+    int errors = 0;
     if (checkoutCommand.rentalDays() < 1) {
-      throw new InvalidRentalDayException("Rental days must be 1 or more days");
+      errors |= CheckoutValidation.INVALID_RENTAL_DAYS;
     }
     if (checkoutCommand.discountPercentage() < 0 || checkoutCommand.discountPercentage() > 100) {
-      throw new InvalidDiscountException("Discount percent must be between 0 and 100");
+      errors |= CheckoutValidation.INVALID_DISCOUNT;
     }
+    return errors;
   }
 }
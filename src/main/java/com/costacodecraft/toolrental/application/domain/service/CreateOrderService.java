@@ -4,25 +4,104 @@ import com.costacodecraft.toolrental.application.domain.model.Order;
 import com.costacodecraft.toolrental.application.domain.model.Order.OrderId;
 import com.costacodecraft.toolrental.application.domain.model.RentalAgreement;
 import com.costacodecraft.toolrental.application.port.in.CreateOrderUseCase;
+import com.costacodecraft.toolrental.application.port.out.CheckoutMetrics;
+import com.costacodecraft.toolrental.application.port.out.CheckoutMetrics.Stage;
 import com.costacodecraft.toolrental.application.port.out.OrderRepository;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 /**
- * Service implementation for creating orders.
+ * Service implementation for creating orders. Each {@link OrderListener} bean, such as the
+ * {@link RentalRollups}, is told of the created orders.
  */
 @Service
 public class CreateOrderService implements CreateOrderUseCase {
 
   private final OrderRepository orderRepository;
+  private final CheckoutMetrics checkoutMetrics;
+  private final OrderListener[] orderListeners;
 
+  /**
+   * Creates orders without measuring them or telling any listener.
+   *
+   * @param orderRepository the repository the orders are created in
+   */
   public CreateOrderService(OrderRepository orderRepository) {
+    this(orderRepository, CheckoutMetrics.NONE, List.of());
+  }
+
+  @Autowired
+  public CreateOrderService(OrderRepository orderRepository, CheckoutMetrics checkoutMetrics,
+      List<OrderListener> orderListeners) {
     this.orderRepository = orderRepository;
+    this.checkoutMetrics = checkoutMetrics;
+    this.orderListeners = orderListeners.toArray(OrderListener[]::new);
   }
 
   @Override
   public Order createOrder(RentalAgreement rentalAgreement) {
-    var order = new Order(OrderId.autoGenerate(), rentalAgreement);
-    orderRepository.createOrder(order);
+    return createOrder(OrderId.autoGenerate(), rentalAgreement);
+  }
+
+  @Override
+  public Order createOrder(OrderId id, RentalAgreement rentalAgreement) {
+    var order = new Order(id, rentalAgreement);
+    if (checkoutMetrics.sample()) {
+      long start = System.nanoTime();
+      orderRepository.createOrder(order);
+      checkoutMetrics.record(Stage.ORDER_CREATION, System.nanoTime() - start);
+    } else {
+      orderRepository.createOrder(order);
+    }
+    for (OrderListener orderListener : orderListeners) {
+      orderListener.orderCreated(order);
+    }
     return order;
   }
+
+  @Override
+  public List<Order> createOrders(List<RentalAgreement> rentalAgreements) {
+    List<Order> orders = new ArrayList<>(rentalAgreements.size());
+    for (RentalAgreement rentalAgreement : rentalAgreements) {
+      orders.add(new Order(OrderId.autoGenerate(), rentalAgreement));
+    }
+    return store(orders);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws IllegalArgumentException if there are not as many IDs as rental agreements
+   */
+  @Override
+  public List<Order> createOrders(List<OrderId> ids, List<RentalAgreement> rentalAgreements) {
+    if (ids.size() != rentalAgreements.size()) {
+      throw new IllegalArgumentException("Expected " + rentalAgreements.size()
+          + " order IDs but got " + ids.size());
+    }
+    List<Order> orders = new ArrayList<>(rentalAgreements.size());
+    for (int i = 0; i < ids.size(); i++) {
+      orders.add(new Order(ids.get(i), rentalAgreements.get(i)));
+    }
+    return store(orders);
+  }
+
+  private List<Order> store(List<Order> orders) {
+    if (!orders.isEmpty() && checkoutMetrics.sample()) {
+      long start = System.nanoTime();
+      orderRepository.createOrders(orders);
+      // recorded per order, to be comparable with single creations
+      checkoutMetrics.record(Stage.ORDER_CREATION, (System.nanoTime() - start) / orders.size());
+    } else {
+      orderRepository.createOrders(orders);
+    }
+    for (OrderListener orderListener : orderListeners) {
+      for (Order order : orders) {
+        orderListener.orderCreated(order);
+      }
+    }
+    return orders;
+  }
 }
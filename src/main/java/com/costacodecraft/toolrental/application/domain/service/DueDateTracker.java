@@ -0,0 +1,265 @@
+package com.costacodecraft.toolrental.application.domain.service;
+
+import com.costacodecraft.toolrental.application.domain.model.Order;
+import com.costacodecraft.toolrental.application.domain.model.Order.OrderId;
+import com.costacodecraft.toolrental.application.domain.model.RentalAgreement;
+import com.costacodecraft.toolrental.application.port.out.DueDateNotifier;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Tracks the rentals that are out by the day they are due back, and tells the
+ * {@link DueDateNotifier} about the rentals due back each day and about those not returned by the
+ * end of it.
+ * <p>
+ * Rentals are kept in one bucket per due date, so moving to the next day reads the bucket of the
+ * day ending and the one of the day starting, however many rentals are out. Orders are registered
+ * as they are created; those due back before the current day, such as imported historical
+ * rentals, are not tracked. A rental is tracked until it is returned, and stays in its bucket
+ * once overdue, and an extended rental moves to the bucket of its new due date. A rental
+ * registered while its due date starts may be told about as overdue only, and one registered while
+ * its due date ends is counted as overdue but may not be told about.
+ * <p>
+ * The rentals stored by earlier runs are registered once at startup by the
+ * {@link ReplayOrdersService}. Those not returned yet are tracked again, and those due back before
+ * the current day are counted as overdue at once, unless they would have been forgotten already.
+ * <p>
+ * Overdue rentals are counted as their buckets roll over and as they are returned, and are
+ * forgotten once overdue for more than {@code toolrental.due-dates.overdue-days} (default 90), so
+ * rentals never returned do not pile up.
+ */
+@Service
+public class DueDateTracker implements OrderListener {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(DueDateTracker.class);
+
+  private final ConcurrentNavigableMap<LocalDate, Bucket> buckets = new ConcurrentSkipListMap<>();
+  private final AtomicLong overdueCount = new AtomicLong();
+  private final DueDateNotifier dueDateNotifier;
+  private final int overdueDays;
+  private volatile LocalDate today;
+
+  public DueDateTracker(Clock clock, DueDateNotifier dueDateNotifier,
+      @Value("${toolrental.due-dates.overdue-days:90}") int overdueDays) {
+    if (overdueDays < 1) {
+      throw new IllegalArgumentException("Overdue days must be 1 or more");
+    }
+    this.dueDateNotifier = dueDateNotifier;
+    this.overdueDays = overdueDays;
+    this.today = LocalDate.now(clock);
+  }
+
+  @Override
+  public void orderCreated(Order order) {
+    LocalDate dueDate = order.rentalAgreement().returnDate();
+    if (dueDate.isBefore(today)) {
+      return;
+    }
+    track(order.id(), dueDate);
+  }
+
+  @Override
+  public void orderLoaded(Order order) {
+    RentalAgreement agreement = order.rentalAgreement();
+    // rentals overdue for longer would have been forgotten had this run tracked them all along
+    if (agreement.returned() || agreement.returnDate().isBefore(today.minusDays(overdueDays))) {
+      return;
+    }
+    track(order.id(), agreement.returnDate());
+  }
+
+  private void track(OrderId orderId, LocalDate dueDate) {
+    while (true) {
+      Bucket bucket = buckets.get(dueDate);
+      if (bucket == null) {
+        bucket = buckets.computeIfAbsent(dueDate, date -> new Bucket(date.isBefore(today)));
+      }
+      if (bucket.add(orderId)) {
+        return;
+      }
+      // the bucket ended its day empty and is being removed; start a new one
+      buckets.remove(dueDate, bucket);
+    }
+  }
+
+  @Override
+  public void rentalExtended(Order previous, Order extended) {
+    returned(previous.id(), previous.rentalAgreement().returnDate());
+    orderCreated(extended);
+  }
+
+  @Override
+  public void rentalReturned(Order previous, Order returned) {
+    returned(previous.id(), previous.rentalAgreement().returnDate());
+  }
+
+  /**
+   * Stops tracking a returned rental.
+   *
+   * @param orderId the order of the rental
+   * @param dueDate the day the rental was due back
+   * @return whether the rental was tracked
+   */
+  public boolean returned(OrderId orderId, LocalDate dueDate) {
+    Bucket bucket = buckets.get(dueDate);
+    return bucket != null && bucket.remove(orderId);
+  }
+
+  /**
+   * Moves to a later day, telling about the rentals that became overdue at the end of each day
+   * passed and about those due back on each new day, and forgets the rentals overdue for too long.
+   * Nothing happens if the day is not later than the current one.
+   *
+   * @param date the new current day
+   */
+  public synchronized void advanceTo(LocalDate date) {
+    if (!today.isBefore(date)) {
+      return;
+    }
+    while (today.isBefore(date)) {
+      LocalDate endingDay = today;
+      // moved first, so that a bucket made for the ending day from now on starts overdue
+      today = today.plusDays(1);
+      Bucket ending = buckets.get(endingDay);
+      if (ending != null) {
+        List<OrderId> overdue = ending.becomeOverdue();
+        if (overdue.isEmpty()) {
+          // retired under the bucket's lock, so a rental added meanwhile keeps it instead
+          if (ending.retireIfEmpty()) {
+            buckets.remove(endingDay, ending);
+          }
+        } else {
+          dueDateNotifier.overdue(endingDay, overdue);
+        }
+      }
+      Bucket starting = buckets.get(today);
+      if (starting != null) {
+        List<OrderId> due = starting.orderIds();
+        if (!due.isEmpty()) {
+          dueDateNotifier.dueToday(today, due);
+        }
+      }
+    }
+    prune(today.minusDays(overdueDays));
+  }
+
+  private void prune(LocalDate cutoff) {
+    int forgotten = 0;
+    for (Map.Entry<LocalDate, Bucket> expired : buckets.headMap(cutoff).entrySet()) {
+      forgotten += expired.getValue().clear();
+      buckets.remove(expired.getKey(), expired.getValue());
+    }
+    if (forgotten > 0) {
+      LOGGER.info("Stopped tracking {} rentals overdue since before {}", forgotten, cutoff);
+    }
+  }
+
+  /**
+   * Returns the current day.
+   *
+   * @return the day rentals are currently due back
+   */
+  public LocalDate getToday() {
+    return today;
+  }
+
+  /**
+   * Returns the number of rentals due back on a day and not returned yet.
+   *
+   * @param date the due date
+   * @return the number of rentals
+   */
+  public int getDueCount(LocalDate date) {
+    Bucket bucket = buckets.get(date);
+    return bucket == null ? 0 : bucket.size();
+  }
+
+  /**
+   * Returns the number of rentals due back before the current day, and not returned or
+   * forgotten yet.
+   *
+   * @return the number of overdue rentals
+   */
+  public long getOverdueCount() {
+    return overdueCount.get();
+  }
+
+  /**
+   * The rentals due back on one day. Whether they are overdue and their count change together, so
+   * a rental returned as its day ends is counted exactly once. A bucket retired, as it is being
+   * removed, takes no more rentals.
+   */
+  private final class Bucket {
+
+    private final Set<OrderId> orderIds = new HashSet<>();
+    private boolean overdue;
+    private boolean retired;
+
+    Bucket(boolean overdue) {
+      this.overdue = overdue;
+    }
+
+    /**
+     * Adds a rental to the bucket.
+     *
+     * @return false if the bucket is retired and the rental must go in a new one
+     */
+    synchronized boolean add(OrderId orderId) {
+      if (retired) {
+        return false;
+      }
+      if (orderIds.add(orderId) && overdue) {
+        overdueCount.incrementAndGet();
+      }
+      return true;
+    }
+
+    synchronized boolean remove(OrderId orderId) {
+      boolean removed = orderIds.remove(orderId);
+      if (removed && overdue) {
+        overdueCount.decrementAndGet();
+      }
+      return removed;
+    }
+
+    synchronized int size() {
+      return orderIds.size();
+    }
+
+    synchronized List<OrderId> orderIds() {
+      return List.copyOf(orderIds);
+    }
+
+    synchronized List<OrderId> becomeOverdue() {
+      overdue = true;
+      overdueCount.addAndGet(orderIds.size());
+      return List.copyOf(orderIds);
+    }
+
+    synchronized boolean retireIfEmpty() {
+      retired = orderIds.isEmpty();
+      return retired;
+    }
+
+    synchronized int clear() {
+      int size = orderIds.size();
+      if (overdue) {
+        overdueCount.addAndGet(-size);
+      }
+      orderIds.clear();
+      retired = true;
+      return size;
+    }
+  }
+}
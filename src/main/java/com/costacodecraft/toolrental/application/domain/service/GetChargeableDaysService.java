@@ -5,7 +5,7 @@ import com.costacodecraft.toolrental.application.port.in.GeHolidayUseCase;
 import com.costacodecraft.toolrental.application.port.in.GetChargeableDaysUseCase;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
-import java.util.Set;
+import java.time.temporal.ChronoUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -39,30 +39,55 @@ public class GetChargeableDaysService implements GetChargeableDaysUseCase {
       throw new IllegalArgumentException("Start date must be before end date");
     }
     LOGGER.debug("Calculating chargeable days from {} to {}", startDate, endDate);
-    int weekdayCount = 0;
-    int weekendCount = 0;
+    ChargeableDaysEvent event = new ChargeableDaysEvent();
+    event.begin();
+    // count the days of the week arithmetically rather than walking the range a date at a time,
+    // then move the few holidays of the range out of their day of the week
+    int dayCount = (int) ChronoUnit.DAYS.between(startDate, endDate);
+    int weekendCount = countWeekendDays(startDate.getDayOfWeek().plus(1), dayCount);
+    int weekdayCount = dayCount - weekendCount;
     int holidayCount = 0;
-    Set<LocalDate> holidays = holidayUseCase.getHolidays(startDate, endDate);
-    LocalDate currentDate = startDate.plusDays(1);
-    while (!currentDate.isAfter(endDate)) {
-      if (holidays.contains(currentDate)) {
+    for (LocalDate holiday : holidayUseCase.getHolidays(startDate, endDate)) {
+      if (holiday.isAfter(startDate) && !holiday.isAfter(endDate)) {
         holidayCount++;
-      } else {
-        DayOfWeek dayOfWeek = currentDate.getDayOfWeek();
-        switch (dayOfWeek) {
-          case SATURDAY:
-          case SUNDAY:
-            weekendCount++;
-            break;
-          default:
-            weekdayCount++;
-            break;
+        if (isWeekend(holiday.getDayOfWeek())) {
+          weekendCount--;
+        } else {
+          weekdayCount--;
         }
       }
-      currentDate = currentDate.plusDays(1);
     }
-    LOGGER.debug("Chargeable days calculated: weekdays={}, weekends={}, holidays={}",
-        weekdayCount, weekendCount, holidayCount);
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug("Chargeable days calculated: weekdays={}, weekends={}, holidays={}",
+          weekdayCount, weekendCount, holidayCount);
+    }
+    event.end();
+    if (event.shouldCommit()) {
+      event.rentalDays = dayCount;
+      event.holidays = holidayCount;
+      event.commit();
+    }
     return new ChargeableDaysCount(weekdayCount, weekendCount, holidayCount);
   }
+
+  /**
+   * Counts the Saturdays and Sundays among consecutive days.
+   *
+   * @param firstDay the day of the week of the first day
+   * @param dayCount the number of days
+   * @return the number of weekend days
+   */
+  private static int countWeekendDays(DayOfWeek firstDay, int dayCount) {
+    int weekendCount = dayCount / 7 * 2;
+    for (int day = 0; day < dayCount % 7; day++) {
+      if (isWeekend(firstDay.plus(day))) {
+        weekendCount++;
+      }
+    }
+    return weekendCount;
+  }
+
+  private static boolean isWeekend(DayOfWeek dayOfWeek) {
+    return dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY;
+  }
 }
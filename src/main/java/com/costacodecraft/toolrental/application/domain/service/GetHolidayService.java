@@ -34,12 +34,19 @@ public class GetHolidayService implements GeHolidayUseCase {
       throw new IllegalArgumentException("Start date must be before end date");
     }
     LOGGER.debug("Calculating holidays from {} to {}", startDate, endDate);
+    HolidaysEvent event = new HolidaysEvent();
+    event.begin();
     Set<LocalDate> holidays = new HashSet<>();
     for (int year = startDate.getYear(); year <= endDate.getYear(); year++) {
       holidays.add(getObservedIndependenceDay(year));
       holidays.add(getLaborDay(year));
     }
     LOGGER.debug("Holidays calculated: {}", holidays);
+    event.end();
+    if (event.shouldCommit()) {
+      event.years = endDate.getYear() - startDate.getYear() + 1;
+      event.commit();
+    }
     return holidays;
   }
 
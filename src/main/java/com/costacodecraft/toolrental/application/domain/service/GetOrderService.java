@@ -4,11 +4,12 @@ import com.costacodecraft.toolrental.application.domain.model.Order;
 import com.costacodecraft.toolrental.application.domain.model.Order.OrderId;
 import com.costacodecraft.toolrental.application.port.in.GetOrderUseCase;
 import com.costacodecraft.toolrental.application.port.out.OrderRepository;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.stereotype.Service;
 
 /**
- * Service for retrieving orders by their ID.
+ * Service for retrieving orders.
  */
 @Service
 public class GetOrderService implements GetOrderUseCase {
@@ -23,4 +24,9 @@ public class GetOrderService implements GetOrderUseCase {
   public Optional<Order> getOrder(OrderId id) {
     return orderRepository.findById(id);
   }
+
+  @Override
+  public List<Order> getOrders(OrderId after, int limit) {
+    return orderRepository.findPage(after, limit);
+  }
 }
@@ -0,0 +1,22 @@
+package com.costacodecraft.toolrental.application.domain.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of the holidays of a date range being computed.
+ */
+@Name("com.costacodecraft.toolrental.Holidays")
+@Label("Holidays")
+@Category({"Tool Rental", "Calendar"})
+@Description("Computes the holidays of the years a date range spans")
+@StackTrace(false)
+final class HolidaysEvent extends Event {
+
+  @Label("Years")
+  int years;
+}
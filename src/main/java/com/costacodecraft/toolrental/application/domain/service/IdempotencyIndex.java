@@ -0,0 +1,250 @@
+package com.costacodecraft.toolrental.application.domain.service;
+
+import com.costacodecraft.toolrental.application.domain.exception.IdempotencyKeyReusedException;
+import com.costacodecraft.toolrental.application.domain.model.Order.OrderId;
+import com.costacodecraft.toolrental.application.port.in.CheckoutCommand;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Future.State;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Remembers the order created for each idempotency key, so that retried checkouts return the
+ * original order.
+ * <p>
+ * The first caller to {@link #claim(CheckoutCommand) claim} a key owns it and creates the order;
+ * concurrent and later callers with the same key wait for that order instead. Keys are forgotten
+ * after a time to live ({@code toolrental.idempotency.ttl}, default 24 hours) or, oldest first,
+ * once more than {@code toolrental.idempotency.capacity} keys (default 100,000) with an order are
+ * held. Keys whose checkout is still in progress are never forgotten, nor counted against the
+ * capacity, as a retry would otherwise create a second order. Keys whose checkout failed are
+ * forgotten at once, so the request can be retried, and no longer count against the capacity.
+ * <p>
+ * Each key is held with the command it was first claimed with, and claiming it with a different
+ * command is rejected, so a key reused by mistake does not answer with the order of another
+ * checkout.
+ */
+@Component
+public class IdempotencyIndex {
+
+  private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+  private final Queue<Entry> insertionOrder = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger queued = new AtomicInteger();
+  // keys whose checkout is in progress, which are queued but not counted against the capacity
+  private final AtomicInteger pending = new AtomicInteger();
+  // keys whose checkout failed, which are already forgotten but still queued until evicted
+  private final AtomicInteger failed = new AtomicInteger();
+  private final int capacity;
+  private final long ttlNanos;
+
+  public IdempotencyIndex(@Value("${toolrental.idempotency.capacity:100000}") int capacity,
+      @Value("${toolrental.idempotency.ttl:PT24H}") Duration ttl) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("Idempotency capacity must be 1 or more");
+    }
+    this.capacity = capacity;
+    this.ttlNanos = ttl.toNanos();
+  }
+
+  /**
+   * Claims the idempotency key of a command.
+   *
+   * @param command the command, with its idempotency key
+   * @return a claim owning the key if no live order or checkout in progress holds it, otherwise a
+   *     claim that waits for that order
+   * @throws IdempotencyKeyReusedException if the key is held for a different command
+   */
+  public Claim claim(CheckoutCommand command) {
+    String key = command.idempotencyKey();
+    long now = System.nanoTime();
+    while (true) {
+      Entry existing = entries.get(key);
+      if (existing != null) {
+        if (existing.expiresAt() - now > 0 || !existing.order().isDone()) {
+          if (!existing.command().equals(command)) {
+            throw new IdempotencyKeyReusedException(
+                "Idempotency key " + key + " was already used for a different checkout");
+          }
+          return new Claim(existing, false);
+        }
+        entries.remove(key, existing);
+        continue;
+      }
+      Entry entry = new Entry(key, command, new CompletableFuture<>(), now + ttlNanos,
+          new AtomicBoolean());
+      if (entries.putIfAbsent(key, entry) == null) {
+        pending.incrementAndGet();
+        insertionOrder.add(entry);
+        queued.incrementAndGet();
+        evict(now);
+        return new Claim(entry, true);
+      }
+    }
+  }
+
+  /**
+   * Returns the number of keys held, including those of checkouts in progress.
+   *
+   * @return the number of keys
+   */
+  public int size() {
+    return entries.size();
+  }
+
+  /**
+   * Forgets the oldest keys with an order while there are more than the capacity, and the expired
+   * ones. Failed keys are dropped once they reach the front of the queue, or all at once when they
+   * make up more than half of it. Keys whose checkout is in progress are moved to the back of the
+   * queue instead; each call looks at every queued key at most once, so keys in progress cannot
+   * keep it spinning.
+   *
+   * @param now the current time, as given by {@link System#nanoTime()}
+   */
+  private void evict(long now) {
+    if (failed.get() > queued.get() / 2) {
+      insertionOrder.removeIf(this::discountFailed);
+    }
+    for (int budget = queued.get(); budget > 0; budget--) {
+      Entry head = insertionOrder.peek();
+      if (head == null
+          || (head.order().state() != State.FAILED
+              && queued.get() - pending.get() - failed.get() <= capacity
+              && head.expiresAt() - now > 0)) {
+        return;
+      }
+      if (insertionOrder.remove(head)) {
+        switch (head.order().state()) {
+          case FAILED -> discountFailed(head);
+          case SUCCESS -> {
+            queued.decrementAndGet();
+            entries.remove(head.key(), head);
+          }
+          default -> insertionOrder.add(head);
+        }
+      }
+    }
+  }
+
+  /**
+   * Stops counting a failed key as queued, if no other thread did already.
+   *
+   * @param entry the key taken out of the queue, or about to be
+   * @return true if the key had failed and was still counted
+   */
+  private boolean discountFailed(Entry entry) {
+    if (entry.order().state() != State.FAILED || !entry.discounted().compareAndSet(false, true)) {
+      return false;
+    }
+    queued.decrementAndGet();
+    failed.decrementAndGet();
+    return true;
+  }
+
+  private record Entry(String key, CheckoutCommand command, CompletableFuture<OrderId> order,
+      long expiresAt, AtomicBoolean discounted) {
+
+  }
+
+  /**
+   * A claim on an idempotency key, either owning it or waiting for its owner.
+   */
+  public final class Claim {
+
+    private final Entry entry;
+    private final boolean owner;
+
+    private Claim(Entry entry, boolean owner) {
+      this.entry = entry;
+      this.owner = owner;
+    }
+
+    /**
+     * Returns whether this claim owns the key and must create its order.
+     *
+     * @return true for the owner
+     */
+    public boolean isOwner() {
+      return owner;
+    }
+
+    /**
+     * Returns whether the owner already created the order of the key.
+     *
+     * @return true once the order exists
+     */
+    public boolean isCompleted() {
+      CompletableFuture<OrderId> order = entry.order();
+      return order.isDone() && !order.isCompletedExceptionally();
+    }
+
+    /**
+     * Records the order created by the owner and releases the callers waiting for it.
+     *
+     * @param orderId the ID of the created order
+     */
+    public void complete(OrderId orderId) {
+      requireOwner();
+      if (entry.order().complete(orderId)) {
+        pending.decrementAndGet();
+      }
+    }
+
+    /**
+     * Forgets the key after the owner's checkout failed. Callers waiting for it fail the same way.
+     * Does nothing once the order was completed.
+     *
+     * @param failure the failure
+     */
+    public void fail(RuntimeException failure) {
+      requireOwner();
+      if (entry.order().isDone()) {
+        return;
+      }
+      entries.remove(entry.key(), entry);
+      if (entry.order().completeExceptionally(failure)) {
+        failed.incrementAndGet();
+        pending.decrementAndGet();
+      }
+    }
+
+    /**
+     * Returns a future of the order of the key, completed once the owner completes or fails.
+     *
+     * @return a future of the ID of the order created by the owner
+     */
+    public CompletableFuture<OrderId> toFuture() {
+      return entry.order().copy();
+    }
+
+    /**
+     * Waits for the order of the key.
+     *
+     * @return the ID of the order created by the owner
+     * @throws RuntimeException the failure of the owner's checkout
+     */
+    public OrderId join() {
+      try {
+        return entry.order().join();
+      } catch (CompletionException e) {
+        if (e.getCause() instanceof RuntimeException cause) {
+          throw cause;
+        }
+        throw e;
+      }
+    }
+
+    private void requireOwner() {
+      if (!owner) {
+        throw new IllegalStateException("Claim does not own key " + entry.key());
+      }
+    }
+  }
+}
@@ -0,0 +1,60 @@
+package com.costacodecraft.toolrental.application.domain.service;
+
+import com.costacodecraft.toolrental.application.domain.model.Order.OrderId;
+import com.costacodecraft.toolrental.application.domain.model.RentalAgreement;
+import com.costacodecraft.toolrental.application.port.in.CreateOrderUseCase;
+import com.costacodecraft.toolrental.application.port.in.ImportOrderCommand;
+import com.costacodecraft.toolrental.application.port.in.ImportOrdersUseCase;
+import com.costacodecraft.toolrental.application.port.out.OrderRepository;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service for importing historical rentals as orders.
+ */
+@Service
+public class ImportOrdersService implements ImportOrdersUseCase {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ImportOrdersService.class);
+
+  private final CheckoutPricer checkoutPricer;
+  private final CreateOrderUseCase createOrderUseCase;
+  private final OrderRepository orderRepository;
+
+  public ImportOrdersService(CheckoutPricer checkoutPricer, CreateOrderUseCase createOrderUseCase,
+      OrderRepository orderRepository) {
+    this.checkoutPricer = checkoutPricer;
+    this.createOrderUseCase = createOrderUseCase;
+    this.orderRepository = orderRepository;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Every command is validated and priced before any order is created, so a batch containing an
+   * invalid command creates no orders at all. The orders of a batch are created together. Imported
+   * rentals are left out of the checkout metrics.
+   */
+  @Override
+  public List<OrderId> importOrders(List<ImportOrderCommand> importOrderCommands) {
+    LOGGER.debug("Importing {} orders", importOrderCommands.size());
+    List<ImportOrderCommand> pending = importOrderCommands.stream()
+        .filter(command -> orderRepository.findById(command.orderId()).isEmpty())
+        .toList();
+    List<RentalAgreement> rentalAgreements = pending.stream()
+        .map(command -> checkoutPricer.priceUnmeasured(command.checkoutCommand()))
+        .toList();
+    List<OrderId> orderIds = pending.stream()
+        .map(ImportOrderCommand::orderId)
+        .toList();
+    if (!pending.isEmpty()) {
+      // one write, and one force of the orders file, for the whole batch
+      createOrderUseCase.createOrders(orderIds, rentalAgreements);
+    }
+    LOGGER.debug("Imported {} orders, {} already existed", orderIds.size(),
+        importOrderCommands.size() - orderIds.size());
+    return orderIds;
+  }
+}
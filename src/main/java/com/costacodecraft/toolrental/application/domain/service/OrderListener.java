@@ -0,0 +1,49 @@
+package com.costacodecraft.toolrental.application.domain.service;
+
+import com.costacodecraft.toolrental.application.domain.model.Order;
+
+/**
+ * Listener told by {@link CreateOrderService} of each order it creates, such as the
+ * {@link RentalRollups}, by {@link AmendRentalService} of each rental extended or returned, and by
+ * {@link ReplayOrdersService} of the orders stored before the application started. Listeners are
+ * called on the thread writing the order, after it is written, so they must be quick and
+ * thread-safe.
+ */
+public interface OrderListener {
+
+  /**
+   * Called once an order is created.
+   *
+   * @param order the created order
+   */
+  void orderCreated(Order order);
+
+  /**
+   * Called once for each order already stored when the application starts, such as one read back
+   * from the orders file, before any order is created. The order is the latest version of it, so
+   * it may be extended or returned already. By default it is counted as if it were created.
+   *
+   * @param order the stored order
+   */
+  default void orderLoaded(Order order) {
+    orderCreated(order);
+  }
+
+  /**
+   * Called once a rental is extended and its order amended.
+   *
+   * @param previous the order before the extension
+   * @param extended the amended order
+   */
+  default void rentalExtended(Order previous, Order extended) {
+  }
+
+  /**
+   * Called once a rental is returned and its order amended to the day it came back.
+   *
+   * @param previous the order before the return
+   * @param returned the amended order
+   */
+  default void rentalReturned(Order previous, Order returned) {
+  }
+}
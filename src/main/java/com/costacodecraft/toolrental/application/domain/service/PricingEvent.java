@@ -0,0 +1,25 @@
+package com.costacodecraft.toolrental.application.domain.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of a checkout command being validated and priced.
+ */
+@Name("com.costacodecraft.toolrental.Pricing")
+@Label("Pricing")
+@Category({"Tool Rental", "Checkout"})
+@Description("Validates and prices a checkout command")
+@StackTrace(false)
+final class PricingEvent extends Event {
+
+  @Label("Tool Code")
+  String toolCode;
+
+  @Label("Rental Days")
+  int rentalDays;
+}
@@ -0,0 +1,33 @@
+package com.costacodecraft.toolrental.application.domain.service;
+
+import com.costacodecraft.toolrental.application.domain.model.RentalAgreement;
+import com.costacodecraft.toolrental.application.port.in.CheckoutCommand;
+import com.costacodecraft.toolrental.application.port.in.QuoteUseCase;
+import java.util.List;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service for quoting checkouts. Quotes only read the tool catalog: no order is created and no ID
+ * is generated. They are left out of the checkout metrics.
+ */
+@Service
+public class QuoteService implements QuoteUseCase {
+
+  private final CheckoutPricer checkoutPricer;
+
+  public QuoteService(CheckoutPricer checkoutPricer) {
+    this.checkoutPricer = checkoutPricer;
+  }
+
+  @Override
+  public RentalAgreement quote(CheckoutCommand checkoutCommand) {
+    return checkoutPricer.priceUnmeasured(checkoutCommand);
+  }
+
+  @Override
+  public List<RentalAgreement> quote(List<CheckoutCommand> checkoutCommands) {
+    return checkoutCommands.stream()
+        .map(checkoutPricer::priceUnmeasured)
+        .toList();
+  }
+}
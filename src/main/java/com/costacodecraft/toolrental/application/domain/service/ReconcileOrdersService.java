@@ -0,0 +1,148 @@
+package com.costacodecraft.toolrental.application.domain.service;
+
+import com.costacodecraft.toolrental.application.domain.model.CheckoutItem;
+import com.costacodecraft.toolrental.application.domain.model.Order;
+import com.costacodecraft.toolrental.application.domain.model.RentalAgreement;
+import com.costacodecraft.toolrental.application.domain.model.Tool;
+import com.costacodecraft.toolrental.application.domain.model.Tool.ToolId;
+import com.costacodecraft.toolrental.application.port.in.CheckoutCommand;
+import com.costacodecraft.toolrental.application.port.in.PriceDifference;
+import com.costacodecraft.toolrental.application.port.in.ReconcileOrdersUseCase;
+import com.costacodecraft.toolrental.application.port.in.Reconciliation;
+import com.costacodecraft.toolrental.application.port.out.OrderRepository;
+import com.costacodecraft.toolrental.application.port.out.ToolRepository;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service implementation for pricing the stored orders again.
+ * <p>
+ * The orders are read a page of {@code toolrental.reconcile.page-size} orders (default 1000) at a
+ * time, in ascending order of their IDs, and each page is priced as one task on a fork-join pool of
+ * {@code toolrental.reconcile.parallelism} threads (default 0, one per processor). At most two
+ * pages per thread are read ahead of the pricing, so a reconciliation holds a few pages of orders
+ * however many are stored. Orders are priced with the {@link CheckoutPricer} pieces used by
+ * checkouts, without recording checkout metrics.
+ */
+@Service
+public class ReconcileOrdersService implements ReconcileOrdersUseCase {
+
+  private final OrderRepository orderRepository;
+  private final ToolRepository toolRepository;
+  private final CheckoutPricer checkoutPricer;
+  private final int parallelism;
+  private final int pageSize;
+
+  /**
+   * Creates a service reading the orders a thousand at a time.
+   *
+   * @param orderRepository the repository of the orders reconciled
+   * @param toolRepository the repository of the tools they are priced with
+   * @param checkoutPricer the pricer of the orders
+   * @param parallelism the number of pricing threads, or 0 for one per processor
+   */
+  public ReconcileOrdersService(OrderRepository orderRepository, ToolRepository toolRepository,
+      CheckoutPricer checkoutPricer, int parallelism) {
+    this(orderRepository, toolRepository, checkoutPricer, parallelism, 1000);
+  }
+
+  @Autowired
+  public ReconcileOrdersService(OrderRepository orderRepository, ToolRepository toolRepository,
+      CheckoutPricer checkoutPricer,
+      @Value("${toolrental.reconcile.parallelism:0}") int parallelism,
+      @Value("${toolrental.reconcile.page-size:1000}") int pageSize) {
+    if (parallelism < 0) {
+      throw new IllegalArgumentException("Reconcile parallelism must be 0 or more");
+    }
+    if (pageSize < 1) {
+      throw new IllegalArgumentException("Reconcile page size must be 1 or more");
+    }
+    this.orderRepository = orderRepository;
+    this.toolRepository = toolRepository;
+    this.checkoutPricer = checkoutPricer;
+    this.parallelism = parallelism == 0 ? Runtime.getRuntime().availableProcessors() : parallelism;
+    this.pageSize = pageSize;
+  }
+
+  @Override
+  public Reconciliation reconcile(Consumer<PriceDifference> differences) {
+    Job job = new Job(differences);
+    Queue<ForkJoinTask<?>> pricing = new ArrayDeque<>();
+    try (ForkJoinPool pool = new ForkJoinPool(parallelism)) {
+      List<Order> page = orderRepository.findPage(null, pageSize);
+      while (!page.isEmpty()) {
+        if (pricing.size() == 2 * parallelism) {
+          // waits for the oldest page, and rethrows its failure
+          pricing.remove().join();
+        }
+        List<Order> orders = page;
+        pricing.add(pool.submit(() -> orders.forEach(job::reconcile)));
+        page = orderRepository.findPage(page.getLast().id(), pageSize);
+      }
+      while (!pricing.isEmpty()) {
+        pricing.remove().join();
+      }
+    }
+    return new Reconciliation(job.orders.sum(), job.differences.sum(), job.toolsNotFound.sum());
+  }
+
+  /**
+   * Prices an order again.
+   *
+   * @param order the stored order
+   * @return the rental agreement priced with the current rules, or empty if the tool is no longer
+   *     in the catalog
+   */
+  Optional<RentalAgreement> reprice(Order order) {
+    RentalAgreement agreement = order.rentalAgreement();
+    Optional<Tool> tool = toolRepository.findById(new ToolId(agreement.toolCode()));
+    if (tool.isEmpty()) {
+      return Optional.empty();
+    }
+    CheckoutCommand command = new CheckoutCommand(agreement.toolCode(), agreement.rentalDays(),
+        agreement.discountPercent(), agreement.checkoutDate());
+    return Optional.of(checkoutPricer.createRentalAgreement(
+        new CheckoutItem(tool.get(), command, checkoutPricer.getChargeableDays(command))));
+  }
+
+  /**
+   * One reconciliation: its counts and where its differences go.
+   */
+  private final class Job {
+
+    private final Consumer<PriceDifference> differenceConsumer;
+    private final LongAdder orders = new LongAdder();
+    private final LongAdder differences = new LongAdder();
+    private final LongAdder toolsNotFound = new LongAdder();
+
+    Job(Consumer<PriceDifference> differenceConsumer) {
+      this.differenceConsumer = differenceConsumer;
+    }
+
+    void reconcile(Order order) {
+      orders.increment();
+      Optional<RentalAgreement> priced = reprice(order);
+      if (priced.isEmpty()) {
+        toolsNotFound.increment();
+        return;
+      }
+      RentalAgreement repriced = priced.get();
+      if (repriced.finalChargeAmount().compareTo(order.rentalAgreement().finalChargeAmount())
+          != 0) {
+        differences.increment();
+        synchronized (this) {
+          differenceConsumer.accept(new PriceDifference(order, repriced));
+        }
+      }
+    }
+  }
+}
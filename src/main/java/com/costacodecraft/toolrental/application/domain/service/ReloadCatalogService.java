@@ -0,0 +1,84 @@
+package com.costacodecraft.toolrental.application.domain.service;
+
+import com.costacodecraft.toolrental.application.domain.model.CatalogDiff;
+import com.costacodecraft.toolrental.application.domain.model.Tool;
+import com.costacodecraft.toolrental.application.domain.model.Tool.ToolId;
+import com.costacodecraft.toolrental.application.port.in.ReloadCatalogUseCase;
+import com.costacodecraft.toolrental.application.port.out.ToolRepository;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service for reloading the tool catalog by applying only the tools that changed.
+ * <p>
+ * The changes are computed from one snapshot of the repository and applied only if it still holds
+ * that snapshot. If another write got in between, such as a tool added meanwhile, the changes are
+ * computed again from the new snapshot, so the catalog always ends up as reloaded.
+ */
+@Service
+public class ReloadCatalogService implements ReloadCatalogUseCase {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ReloadCatalogService.class);
+
+  private final ToolRepository toolRepository;
+
+  public ReloadCatalogService(ToolRepository toolRepository) {
+    this.toolRepository = toolRepository;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws IllegalArgumentException if the catalog contains the same tool code more than once
+   */
+  @Override
+  public CatalogDiff reloadCatalog(List<Tool> catalog) {
+    while (true) {
+      Iterable<Tool> tools = toolRepository.findAll();
+      CatalogDiff diff = diff(tools, catalog);
+      List<Tool> upserts = new ArrayList<>(diff.added());
+      upserts.addAll(diff.updated());
+      if (diff.isEmpty() || toolRepository.applyChanges(tools, upserts, diff.removed())) {
+        LOGGER.debug("Catalog reloaded: added={}, updated={}, removed={}",
+            diff.added().size(), diff.updated().size(), diff.removed().size());
+        return diff;
+      }
+      LOGGER.debug("Tools changed while the catalog was reloaded, computing the changes again");
+    }
+  }
+
+  /**
+   * Computes the changes turning the given tools into the catalog.
+   *
+   * @param tools the tools currently in the repository
+   * @param catalog the new catalog
+   * @return the tools added, updated and removed by the catalog
+   * @throws IllegalArgumentException if the catalog contains the same tool code more than once
+   */
+  private static CatalogDiff diff(Iterable<Tool> tools, List<Tool> catalog) {
+    Map<ToolId, Tool> current = new HashMap<>();
+    tools.forEach(tool -> current.put(tool.id(), tool));
+    List<Tool> added = new ArrayList<>();
+    List<Tool> updated = new ArrayList<>();
+    Map<ToolId, Tool> seen = new HashMap<>();
+    for (Tool tool : catalog) {
+      if (seen.put(tool.id(), tool) != null) {
+        throw new IllegalArgumentException("Duplicate tool code: " + tool.id().code());
+      }
+      Tool existing = current.remove(tool.id());
+      if (existing == null) {
+        added.add(tool);
+      } else if (!existing.equals(tool)) {
+        updated.add(tool);
+      }
+    }
+    // whatever is left in the current catalog is no longer in the new one
+    return new CatalogDiff(List.copyOf(added), List.copyOf(updated),
+        List.copyOf(current.keySet()));
+  }
+}
@@ -0,0 +1,258 @@
+package com.costacodecraft.toolrental.application.domain.service;
+
+import com.costacodecraft.toolrental.application.domain.model.BrandName;
+import com.costacodecraft.toolrental.application.domain.model.Order;
+import com.costacodecraft.toolrental.application.domain.model.RentalAgreement;
+import com.costacodecraft.toolrental.application.domain.model.ToolType;
+import com.costacodecraft.toolrental.application.port.in.GetRollupsUseCase;
+import com.costacodecraft.toolrental.application.port.in.RollupTotals;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Revenue, discount, charge days and rental count per checkout date, tool type, brand and tool
+ * code, updated by {@link CreateOrderService} as each order is created and by
+ * {@link AmendRentalService} as rentals are extended or returned. A report over a period reads one
+ * entry per day of the period, however many orders were created.
+ * <p>
+ * Orders are added to striped counters ({@link LongAdder}), so concurrent checkouts do not contend
+ * on the totals. A report taken while orders are being created may count part of an order.
+ * <p>
+ * As the orders are already written when the listener is told of them, an order whose amounts
+ * cannot be added up, such as one with fractions of a cent, is logged and left out of the totals
+ * rather than failing its checkout or amendment.
+ */
+@Service
+public class RentalRollups implements GetRollupsUseCase, OrderListener {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(RentalRollups.class);
+  private static final ToolType[] TOOL_TYPES = ToolType.values();
+  private static final BrandName[] BRANDS = BrandName.values();
+
+  private final ConcurrentNavigableMap<LocalDate, Day> days = new ConcurrentSkipListMap<>();
+
+  @Override
+  public void orderCreated(Order order) {
+    try {
+      add(order.rentalAgreement());
+    } catch (RuntimeException e) {
+      LOGGER.warn("Order {} left out of the rollups", order.id(), e);
+    }
+  }
+
+  @Override
+  public void rentalExtended(Order previous, Order extended) {
+    amendOrder(previous, extended);
+  }
+
+  @Override
+  public void rentalReturned(Order previous, Order returned) {
+    amendOrder(previous, returned);
+  }
+
+  private void amendOrder(Order previous, Order amended) {
+    try {
+      amend(previous.rentalAgreement(), amended.rentalAgreement());
+    } catch (RuntimeException e) {
+      LOGGER.warn("Amendment of order {} left out of the rollups", amended.id(), e);
+    }
+  }
+
+  /**
+   * Adds the rental of a created order to the totals.
+   *
+   * @param rentalAgreement the rental agreement of the order
+   * @throws ArithmeticException if an amount has fractions of a cent, in which case the totals are
+   *     left unchanged
+   */
+  public void add(RentalAgreement rentalAgreement) {
+    Day day = days.get(rentalAgreement.checkoutDate());
+    if (day == null) {
+      day = days.computeIfAbsent(rentalAgreement.checkoutDate(), date -> new Day());
+    }
+    long revenueCents = cents(rentalAgreement.finalChargeAmount());
+    long discountCents = cents(rentalAgreement.discountAmount());
+    int chargeDays = rentalAgreement.chargeDays();
+    day.byToolType[rentalAgreement.toolType().ordinal()]
+        .add(revenueCents, discountCents, chargeDays);
+    day.byBrand[rentalAgreement.toolBrand().ordinal()]
+        .add(revenueCents, discountCents, chargeDays);
+    Totals byToolCode = day.byToolCode.get(rentalAgreement.toolCode());
+    if (byToolCode == null) {
+      byToolCode = day.byToolCode.computeIfAbsent(rentalAgreement.toolCode(), code -> new Totals());
+    }
+    byToolCode.add(revenueCents, discountCents, chargeDays);
+  }
+
+  /**
+   * Moves the totals of a rental from its previous agreement to its amended one, which has the
+   * same checkout date and tool.
+   */
+  private void amend(RentalAgreement previous, RentalAgreement amended) {
+    Day day = days.get(previous.checkoutDate());
+    if (day == null) {
+      day = days.computeIfAbsent(previous.checkoutDate(), date -> new Day());
+    }
+    long revenueCents = cents(amended.finalChargeAmount()) - cents(previous.finalChargeAmount());
+    long discountCents = cents(amended.discountAmount()) - cents(previous.discountAmount());
+    int chargeDays = amended.chargeDays() - previous.chargeDays();
+    day.byToolType[previous.toolType().ordinal()].adjust(revenueCents, discountCents, chargeDays);
+    day.byBrand[previous.toolBrand().ordinal()].adjust(revenueCents, discountCents, chargeDays);
+    day.byToolCode.computeIfAbsent(previous.toolCode(), code -> new Totals())
+        .adjust(revenueCents, discountCents, chargeDays);
+  }
+
+  @Override
+  public RollupTotals getTotals(LocalDate from, LocalDate to) {
+    Sum sum = new Sum();
+    for (Day day : period(from, to)) {
+      for (Totals totals : day.byToolType) {
+        totals.addTo(sum);
+      }
+    }
+    return sum.toRollupTotals();
+  }
+
+  @Override
+  public Map<ToolType, RollupTotals> getTotalsByToolType(LocalDate from, LocalDate to) {
+    Sum[] sums = sums(TOOL_TYPES.length);
+    for (Day day : period(from, to)) {
+      for (int i = 0; i < TOOL_TYPES.length; i++) {
+        day.byToolType[i].addTo(sums[i]);
+      }
+    }
+    Map<ToolType, RollupTotals> totals = new EnumMap<>(ToolType.class);
+    for (int i = 0; i < TOOL_TYPES.length; i++) {
+      if (sums[i].rentals > 0) {
+        totals.put(TOOL_TYPES[i], sums[i].toRollupTotals());
+      }
+    }
+    return totals;
+  }
+
+  @Override
+  public Map<BrandName, RollupTotals> getTotalsByBrand(LocalDate from, LocalDate to) {
+    Sum[] sums = sums(BRANDS.length);
+    for (Day day : period(from, to)) {
+      for (int i = 0; i < BRANDS.length; i++) {
+        day.byBrand[i].addTo(sums[i]);
+      }
+    }
+    Map<BrandName, RollupTotals> totals = new EnumMap<>(BrandName.class);
+    for (int i = 0; i < BRANDS.length; i++) {
+      if (sums[i].rentals > 0) {
+        totals.put(BRANDS[i], sums[i].toRollupTotals());
+      }
+    }
+    return totals;
+  }
+
+  @Override
+  public Map<String, RollupTotals> getTotalsByToolCode(LocalDate from, LocalDate to) {
+    Map<String, Sum> sums = new TreeMap<>();
+    Function<String, Sum> newSum = code -> new Sum();
+    for (Day day : period(from, to)) {
+      day.byToolCode.forEach((code, totals) -> totals.addTo(sums.computeIfAbsent(code, newSum)));
+    }
+    Map<String, RollupTotals> totals = new TreeMap<>();
+    sums.forEach((code, sum) -> totals.put(code, sum.toRollupTotals()));
+    return totals;
+  }
+
+  private Iterable<Day> period(LocalDate from, LocalDate to) {
+    if (from == null || to == null) {
+      throw new IllegalArgumentException("Start date and end date cannot be null");
+    }
+    if (to.isBefore(from)) {
+      throw new IllegalArgumentException("Start date must not be after end date");
+    }
+    return days.subMap(from, true, to, true).values();
+  }
+
+  private static Sum[] sums(int count) {
+    Sum[] sums = new Sum[count];
+    for (int i = 0; i < count; i++) {
+      sums[i] = new Sum();
+    }
+    return sums;
+  }
+
+  private static long cents(BigDecimal amount) {
+    return amount.movePointRight(2).longValueExact();
+  }
+
+  /**
+   * The totals of one checkout date.
+   */
+  private static final class Day {
+
+    private final Totals[] byToolType = new Totals[TOOL_TYPES.length];
+    private final Totals[] byBrand = new Totals[BRANDS.length];
+    private final Map<String, Totals> byToolCode = new ConcurrentHashMap<>();
+
+    Day() {
+      for (int i = 0; i < byToolType.length; i++) {
+        byToolType[i] = new Totals();
+      }
+      for (int i = 0; i < byBrand.length; i++) {
+        byBrand[i] = new Totals();
+      }
+    }
+  }
+
+  /**
+   * Totals updated concurrently, amounts in cents.
+   */
+  private static final class Totals {
+
+    private final LongAdder revenueCents = new LongAdder();
+    private final LongAdder discountCents = new LongAdder();
+    private final LongAdder chargeDays = new LongAdder();
+    private final LongAdder rentals = new LongAdder();
+
+    void add(long revenue, long discount, int days) {
+      adjust(revenue, discount, days);
+      rentals.increment();
+    }
+
+    void adjust(long revenue, long discount, int days) {
+      revenueCents.add(revenue);
+      discountCents.add(discount);
+      chargeDays.add(days);
+    }
+
+    void addTo(Sum sum) {
+      sum.revenueCents += revenueCents.sum();
+      sum.discountCents += discountCents.sum();
+      sum.chargeDays += chargeDays.sum();
+      sum.rentals += rentals.sum();
+    }
+  }
+
+  /**
+   * Totals being added up by a report, amounts in cents.
+   */
+  private static final class Sum {
+
+    private long revenueCents;
+    private long discountCents;
+    private long chargeDays;
+    private long rentals;
+
+    RollupTotals toRollupTotals() {
+      return new RollupTotals(BigDecimal.valueOf(revenueCents, 2),
+          BigDecimal.valueOf(discountCents, 2), chargeDays, rentals);
+    }
+  }
+}
@@ -0,0 +1,58 @@
+package com.costacodecraft.toolrental.application.domain.service;
+
+import com.costacodecraft.toolrental.application.domain.model.Order;
+import com.costacodecraft.toolrental.application.port.out.OrderRepository;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Service;
+
+/**
+ * Tells each {@link OrderListener} bean, such as the {@link RentalRollups}, of the orders already
+ * stored when the application starts, such as those read back from the orders file, so that their
+ * totals cover the orders of earlier runs too.
+ * <p>
+ * The orders are read a page at a time, once the application has started and before any runner
+ * can create orders, and are told of with {@link OrderListener#orderLoaded(Order)}.
+ */
+@Service
+public class ReplayOrdersService {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ReplayOrdersService.class);
+  private static final int PAGE_SIZE = 1000;
+
+  private final OrderRepository orderRepository;
+  private final OrderListener[] orderListeners;
+
+  public ReplayOrdersService(OrderRepository orderRepository,
+      List<OrderListener> orderListeners) {
+    this.orderRepository = orderRepository;
+    this.orderListeners = orderListeners.toArray(OrderListener[]::new);
+  }
+
+  /**
+   * Tells the listeners of every stored order.
+   */
+  // the domain Order hides the annotation of the same name
+  @org.springframework.core.annotation.Order(Ordered.HIGHEST_PRECEDENCE)
+  @EventListener(ApplicationStartedEvent.class)
+  public void replay() {
+    long count = 0;
+    List<Order> page = orderRepository.findPage(null, PAGE_SIZE);
+    while (!page.isEmpty()) {
+      for (OrderListener orderListener : orderListeners) {
+        for (Order order : page) {
+          orderListener.orderLoaded(order);
+        }
+      }
+      count += page.size();
+      page = orderRepository.findPage(page.getLast().id(), PAGE_SIZE);
+    }
+    if (count > 0) {
+      LOGGER.info("Replayed {} stored orders to {} listeners", count, orderListeners.length);
+    }
+  }
+}
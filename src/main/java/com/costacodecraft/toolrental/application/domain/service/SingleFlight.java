@@ -0,0 +1,84 @@
+package com.costacodecraft.toolrental.application.domain.service;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent computations of the same key: while a computation is in flight, callers
+ * asking for the same key wait for it and share its result or failure instead of computing it
+ * again. Nothing is cached once the computation completes.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the results
+ */
+public final class SingleFlight<K, V> {
+
+  private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+  private final LongAdder executions = new LongAdder();
+  private final LongAdder coalesced = new LongAdder();
+
+  /**
+   * Returns the result of the computation for the key, running it unless an identical one is
+   * already in flight.
+   *
+   * @param key the key identifying the computation
+   * @param computation the computation to run
+   * @return the result of the computation
+   */
+  public V execute(K key, Supplier<V> computation) {
+    CompletableFuture<V> flight = new CompletableFuture<>();
+    CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+    if (existing != null) {
+      coalesced.increment();
+      return join(existing);
+    }
+    executions.increment();
+    try {
+      V result = computation.get();
+      flight.complete(result);
+      return result;
+    } catch (RuntimeException | Error e) {
+      flight.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(key, flight);
+    }
+  }
+
+  /**
+   * Returns how many computations ran and how many calls shared another call's computation.
+   *
+   * @return the counts since this instance was created
+   */
+  public Stats getStats() {
+    return new Stats(executions.sum(), coalesced.sum());
+  }
+
+  private static <V> V join(CompletableFuture<V> flight) {
+    try {
+      return flight.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      if (e.getCause() instanceof Error cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Counts of a {@link SingleFlight}.
+   *
+   * @param executions the number of computations that ran
+   * @param coalesced the number of calls that waited for a computation in flight instead
+   */
+  public record Stats(long executions, long coalesced) {
+
+  }
+}
@@ -0,0 +1,426 @@
+package com.costacodecraft.toolrental.application.domain.service;
+
+import com.costacodecraft.toolrental.application.domain.model.Order;
+import com.costacodecraft.toolrental.application.domain.model.RentalAgreement;
+import com.costacodecraft.toolrental.application.port.in.GetTopToolsUseCase;
+import com.costacodecraft.toolrental.application.port.in.ToolRanking;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Ranks the tools rented most over a sliding window of checkout dates
+ * ({@code toolrental.top-tools.window-days}, default 7 days), as orders are created and rentals
+ * extended or returned. The orders stored by earlier runs are added once at startup by the
+ * {@link ReplayOrdersService}.
+ * <p>
+ * The window is a ring of one bucket per day. A bucket is cleared when an order of a later day
+ * than the one it holds arrives, so orders checked out before the days held are not counted. Each
+ * bucket counts the revenue and charge days of the first {@code toolrental.top-tools.exact-limit}
+ * tools (default 1024) rented that day exactly, in striped counters that concurrent orders update
+ * without a lock. The tools rented after them are counted in Count-Min sketches, which estimate
+ * their totals in fixed memory but may overestimate them, and the
+ * {@code toolrental.top-tools.capacity} tools (default 64) with the highest estimates are kept as
+ * candidates for the rankings. Rankings over a day with sketched tools are flagged as estimated.
+ * Either way, adding an order costs the same however many orders were added before.
+ * <p>
+ * An extended or returned rental moves the totals of its tool by the difference in revenue and
+ * charge days, in the bucket of its checkout date, as long as the window still holds that day.
+ * <p>
+ * As the orders are already written when the listener is told of them, an order whose revenue
+ * cannot be counted in cents is logged and left out of the rankings rather than failing its
+ * checkout or amendment.
+ */
+@Service
+public class TopTools implements GetTopToolsUseCase, OrderListener {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(TopTools.class);
+
+  private static final int REVENUE = 0;
+  private static final int CHARGE_DAYS = 1;
+
+  // an estimate exceeds the true total by at most 2 / WIDTH of the day's total, unless the tool
+  // collides in all DEPTH rows, which happens with a probability under 2^-DEPTH
+  private static final int DEPTH = 4;
+  private static final int WIDTH = 1024;
+
+  private final Bucket[] buckets;
+  private final int capacity;
+
+  public TopTools(@Value("${toolrental.top-tools.window-days:7}") int windowDays,
+      @Value("${toolrental.top-tools.capacity:64}") int capacity,
+      @Value("${toolrental.top-tools.exact-limit:1024}") int exactLimit) {
+    if (windowDays < 1) {
+      throw new IllegalArgumentException("Top tools window must be 1 day or more");
+    }
+    if (capacity < 1) {
+      throw new IllegalArgumentException("Top tools capacity must be 1 or more");
+    }
+    if (exactLimit < 0) {
+      throw new IllegalArgumentException("Top tools exact limit must be 0 or more");
+    }
+    this.capacity = capacity;
+    buckets = new Bucket[windowDays];
+    for (int i = 0; i < windowDays; i++) {
+      buckets[i] = new Bucket(capacity, exactLimit);
+    }
+  }
+
+  @Override
+  public void orderCreated(Order order) {
+    try {
+      add(order.rentalAgreement());
+    } catch (RuntimeException e) {
+      LOGGER.warn("Order {} left out of the top tools", order.id(), e);
+    }
+  }
+
+  @Override
+  public void rentalExtended(Order previous, Order extended) {
+    amendOrder(previous, extended);
+  }
+
+  @Override
+  public void rentalReturned(Order previous, Order returned) {
+    amendOrder(previous, returned);
+  }
+
+  private void amendOrder(Order previous, Order amended) {
+    try {
+      amend(previous.rentalAgreement(), amended.rentalAgreement());
+    } catch (RuntimeException e) {
+      LOGGER.warn("Amendment of order {} left out of the top tools", amended.id(), e);
+    }
+  }
+
+  /**
+   * Adds the rental of a created order to the rankings.
+   *
+   * @param rentalAgreement the rental agreement of the order
+   * @throws ArithmeticException if the revenue has fractions of a cent, in which case the rankings
+   *     are left unchanged
+   */
+  public void add(RentalAgreement rentalAgreement) {
+    long day = rentalAgreement.checkoutDate().toEpochDay();
+    buckets[(int) Math.floorMod(day, buckets.length)].add(day, rentalAgreement.toolCode(),
+        cents(rentalAgreement.finalChargeAmount()), rentalAgreement.chargeDays());
+  }
+
+  /**
+   * Moves the totals of a rental from its previous agreement to its amended one, which has the
+   * same checkout date and tool.
+   */
+  private void amend(RentalAgreement previous, RentalAgreement amended) {
+    long day = previous.checkoutDate().toEpochDay();
+    buckets[(int) Math.floorMod(day, buckets.length)].adjust(day, previous.toolCode(),
+        cents(amended.finalChargeAmount()) - cents(previous.finalChargeAmount()),
+        amended.chargeDays() - previous.chargeDays());
+  }
+
+  @Override
+  public List<ToolRanking> getTopToolsByRevenue(LocalDate end, int count) {
+    return top(end, count, REVENUE, Comparator.comparing(ToolRanking::revenue).reversed());
+  }
+
+  @Override
+  public List<ToolRanking> getTopToolsByChargeDays(LocalDate end, int count) {
+    return top(end, count, CHARGE_DAYS,
+        Comparator.comparingLong(ToolRanking::chargeDays).reversed());
+  }
+
+  private List<ToolRanking> top(LocalDate end, int count, int metric,
+      Comparator<ToolRanking> ranking) {
+    if (end == null) {
+      throw new IllegalArgumentException("End date cannot be null");
+    }
+    if (count < 1 || count > capacity) {
+      throw new IllegalArgumentException("Count must be between 1 and " + capacity);
+    }
+    long last = end.toEpochDay();
+    long first = last - buckets.length + 1;
+    Set<String> candidates = new HashSet<>();
+    for (Bucket bucket : buckets) {
+      bucket.addCandidates(first, last, metric, candidates);
+    }
+    List<ToolRanking> rankings = new ArrayList<>(candidates.size());
+    long[] totals = new long[2];
+    for (String toolCode : candidates) {
+      totals[REVENUE] = 0;
+      totals[CHARGE_DAYS] = 0;
+      boolean exact = true;
+      for (Bucket bucket : buckets) {
+        exact &= bucket.addTotals(first, last, toolCode, totals);
+      }
+      rankings.add(new ToolRanking(toolCode, BigDecimal.valueOf(totals[REVENUE], 2),
+          totals[CHARGE_DAYS], exact));
+    }
+    rankings.sort(ranking.thenComparing(ToolRanking::toolCode));
+    return rankings.size() > count ? List.copyOf(rankings.subList(0, count)) : rankings;
+  }
+
+  /**
+   * The slot of the ring holding the totals of one checkout date. Moving to a later day replaces
+   * them under the bucket's lock, which is taken once a day; orders are added without it.
+   */
+  private static final class Bucket {
+
+    private final int capacity;
+    private final int exactLimit;
+    private volatile Day current = new Day(Long.MIN_VALUE);
+
+    Bucket(int capacity, int exactLimit) {
+      this.capacity = capacity;
+      this.exactLimit = exactLimit;
+    }
+
+    void add(long orderDay, String toolCode, long revenueCents, long chargeDays) {
+      Day day = current;
+      if (day.day != orderDay) {
+        if (orderDay < day.day) {
+          return;
+        }
+        day = advance(orderDay);
+        if (day.day != orderDay) {
+          // another order moved the bucket past this one's day meanwhile
+          return;
+        }
+      }
+      day.add(toolCode, revenueCents, chargeDays);
+    }
+
+    void adjust(long orderDay, String toolCode, long revenueCents, long chargeDays) {
+      Day day = current;
+      // a bucket holding another day holds none of the rental's totals; a sketched tool still
+      // has its total overestimated, as no tool's total goes below zero
+      if (day.day == orderDay) {
+        day.add(toolCode, revenueCents, chargeDays);
+      }
+    }
+
+    private synchronized Day advance(long orderDay) {
+      if (current.day < orderDay) {
+        current = new Day(orderDay, capacity, exactLimit);
+      }
+      return current;
+    }
+
+    void addCandidates(long first, long last, int metric, Set<String> candidates) {
+      Day day = current;
+      if (day.day < first || day.day > last) {
+        return;
+      }
+      candidates.addAll(day.exactTotals.keySet());
+      Sketch sketch = day.sketch;
+      if (sketch != null) {
+        synchronized (sketch) {
+          candidates.addAll(sketch.candidates[metric].byToolCode.keySet());
+        }
+      }
+    }
+
+    /**
+     * Adds the totals of a tool to those of the window.
+     *
+     * @return whether the totals added are exact
+     */
+    boolean addTotals(long first, long last, String toolCode, long[] totals) {
+      Day day = current;
+      if (day.day < first || day.day > last) {
+        return true;
+      }
+      Totals exact = day.exactTotals.get(toolCode);
+      if (exact != null) {
+        totals[REVENUE] += exact.revenueCents.sum();
+        totals[CHARGE_DAYS] += exact.chargeDays.sum();
+      }
+      Sketch sketch = day.sketch;
+      if (sketch == null) {
+        return true;
+      }
+      if (exact == null) {
+        long hash = hash(toolCode);
+        synchronized (sketch) {
+          totals[REVENUE] += estimate(sketch.counts[REVENUE], hash);
+          totals[CHARGE_DAYS] += estimate(sketch.counts[CHARGE_DAYS], hash);
+        }
+      }
+      return false;
+    }
+  }
+
+  /**
+   * The totals of one checkout date. The first {@code exactLimit} tools rented that day are
+   * counted exactly in striped counters, so concurrent orders do not contend on a lock; the tools
+   * rented after them are counted in a sketch, which is locked.
+   */
+  private static final class Day {
+
+    private final long day;
+    private final int capacity;
+    private final int exactLimit;
+    private final Map<String, Totals> exactTotals = new ConcurrentHashMap<>();
+    private final AtomicInteger exactCount = new AtomicInteger();
+    private volatile Sketch sketch;
+
+    Day(long day) {
+      this(day, 0, 0);
+    }
+
+    Day(long day, int capacity, int exactLimit) {
+      this.day = day;
+      this.capacity = capacity;
+      this.exactLimit = exactLimit;
+    }
+
+    void add(String toolCode, long revenueCents, long chargeDays) {
+      Totals totals = exactTotals.get(toolCode);
+      if (totals == null) {
+        // decided once per tool, so a tool is either counted exactly or sketched, never both
+        totals = exactTotals.computeIfAbsent(toolCode, code -> {
+          if (exactCount.get() >= exactLimit) {
+            return null;
+          }
+          exactCount.incrementAndGet();
+          return new Totals();
+        });
+        if (totals == null) {
+          Sketch sketch = sketch();
+          synchronized (sketch) {
+            sketch.add(toolCode, revenueCents, chargeDays);
+          }
+          return;
+        }
+      }
+      totals.revenueCents.add(revenueCents);
+      totals.chargeDays.add(chargeDays);
+    }
+
+    private Sketch sketch() {
+      Sketch sketch = this.sketch;
+      if (sketch == null) {
+        synchronized (this) {
+          sketch = this.sketch;
+          if (sketch == null) {
+            sketch = new Sketch(capacity);
+            this.sketch = sketch;
+          }
+        }
+      }
+      return sketch;
+    }
+  }
+
+  /**
+   * The exact totals of a tool on one day.
+   */
+  private static final class Totals {
+
+    private final LongAdder revenueCents = new LongAdder();
+    private final LongAdder chargeDays = new LongAdder();
+  }
+
+  /**
+   * Count-Min sketches of the revenue and charge days of the tools, and the tools with the
+   * highest estimates.
+   */
+  private static final class Sketch {
+
+    private final long[][] counts = new long[2][DEPTH * WIDTH];
+    private final Candidates[] candidates;
+
+    Sketch(int capacity) {
+      candidates = new Candidates[] {new Candidates(capacity), new Candidates(capacity)};
+    }
+
+    void add(String toolCode, long revenueCents, long chargeDays) {
+      long hash = hash(toolCode);
+      candidates[REVENUE].offer(toolCode, addAndEstimate(counts[REVENUE], hash, revenueCents));
+      candidates[CHARGE_DAYS].offer(toolCode,
+          addAndEstimate(counts[CHARGE_DAYS], hash, chargeDays));
+    }
+  }
+
+  /**
+   * The tools with the highest estimates, at most {@code capacity} of them.
+   */
+  private static final class Candidates {
+
+    private final int capacity;
+    private final Map<String, Candidate> byToolCode = new HashMap<>();
+    private final TreeSet<Candidate> byEstimate = new TreeSet<>(
+        Comparator.comparingLong(Candidate::estimate).thenComparing(Candidate::toolCode));
+
+    Candidates(int capacity) {
+      this.capacity = capacity;
+    }
+
+    void offer(String toolCode, long estimate) {
+      Candidate previous = byToolCode.get(toolCode);
+      if (previous != null) {
+        byEstimate.remove(previous);
+      } else if (byToolCode.size() == capacity) {
+        if (estimate <= byEstimate.first().estimate()) {
+          return;
+        }
+        byToolCode.remove(byEstimate.pollFirst().toolCode());
+      }
+      Candidate candidate = new Candidate(toolCode, estimate);
+      byToolCode.put(toolCode, candidate);
+      byEstimate.add(candidate);
+    }
+  }
+
+  private record Candidate(String toolCode, long estimate) {
+
+  }
+
+  private static long cents(BigDecimal amount) {
+    return amount.movePointRight(2).longValueExact();
+  }
+
+  private static long addAndEstimate(long[] counts, long hash, long amount) {
+    long estimate = Long.MAX_VALUE;
+    for (int row = 0; row < DEPTH; row++) {
+      int index = index(hash, row);
+      counts[index] += amount;
+      estimate = Math.min(estimate, counts[index]);
+    }
+    return estimate;
+  }
+
+  private static long estimate(long[] counts, long hash) {
+    long estimate = Long.MAX_VALUE;
+    for (int row = 0; row < DEPTH; row++) {
+      estimate = Math.min(estimate, counts[index(hash, row)]);
+    }
+    return estimate;
+  }
+
+  private static int index(long hash, int row) {
+    // one column per row from two halves of the hash (Kirsch-Mitzenmacher)
+    int column = ((int) hash + row * ((int) (hash >>> 32) | 1)) & (WIDTH - 1);
+    return row * WIDTH + column;
+  }
+
+  private static long hash(String toolCode) {
+    // SplitMix64 finalizer, spreading the bits of the string hash over the whole long
+    long hash = toolCode.hashCode() + 0x9E3779B97F4A7C15L;
+    hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+    hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+    return hash ^ (hash >>> 31);
+  }
+}
@@ -0,0 +1,39 @@
+package com.costacodecraft.toolrental.application.domain.service;
+
+import com.costacodecraft.toolrental.application.domain.model.Tool.ToolId;
+import com.costacodecraft.toolrental.application.port.in.CheckoutCommand;
+import com.costacodecraft.toolrental.application.port.in.CheckoutValidation;
+import com.costacodecraft.toolrental.application.port.in.ValidateCheckoutUseCase;
+import com.costacodecraft.toolrental.application.port.out.ToolRepository;
+import java.util.List;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service implementation for validating checkout commands in bulk.
+ */
+@Service
+public class ValidateCheckoutService implements ValidateCheckoutUseCase {
+
+  private final ToolRepository toolRepository;
+  private final CheckoutValidator checkoutValidator;
+
+  public ValidateCheckoutService(ToolRepository toolRepository,
+      CheckoutValidator checkoutValidator) {
+    this.toolRepository = toolRepository;
+    this.checkoutValidator = checkoutValidator;
+  }
+
+  @Override
+  public CheckoutValidation validate(List<CheckoutCommand> checkoutCommands) {
+    byte[] errors = new byte[checkoutCommands.size()];
+    for (int i = 0; i < errors.length; i++) {
+      CheckoutCommand checkoutCommand = checkoutCommands.get(i);
+      int error = checkoutValidator.check(checkoutCommand);
+      if (toolRepository.findById(new ToolId(checkoutCommand.toolCode())).isEmpty()) {
+        error |= CheckoutValidation.TOOL_NOT_FOUND;
+      }
+      errors[i] = (byte) error;
+    }
+    return new CheckoutValidation(checkoutCommands, errors);
+  }
+}
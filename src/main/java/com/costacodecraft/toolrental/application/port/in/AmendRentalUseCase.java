@@ -0,0 +1,38 @@
+package com.costacodecraft.toolrental.application.port.in;
+
+import com.costacodecraft.toolrental.application.domain.exception.InvalidRentalDayException;
+import com.costacodecraft.toolrental.application.domain.exception.RentalReturnedException;
+import com.costacodecraft.toolrental.application.domain.model.Order;
+import com.costacodecraft.toolrental.application.domain.model.Order.OrderId;
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Use case for extending rentals and returning them, which amends their orders to the new rental
+ * period.
+ */
+public interface AmendRentalUseCase {
+
+  /**
+   * Extends a rental by some days past its due date.
+   *
+   * @param id the ID of the order
+   * @param extraDays the number of days added to the rental
+   * @return an Optional containing the amended order, or empty if the order was not found
+   * @throws InvalidRentalDayException if extra days are less than 1
+   * @throws RentalReturnedException if the rental was already returned
+   */
+  Optional<Order> extendRental(OrderId id, int extraDays);
+
+  /**
+   * Returns a rental, charging the days up to the return date: days before the due date are
+   * credited and days after it are charged.
+   *
+   * @param id the ID of the order
+   * @param returnDate the day the tool came back
+   * @return an Optional containing the amended order, or empty if the order was not found
+   * @throws InvalidRentalDayException if the return date is not after the checkout date
+   * @throws RentalReturnedException if the rental was already returned
+   */
+  Optional<Order> returnRental(OrderId id, LocalDate returnDate);
+}
@@ -0,0 +1,25 @@
+package com.costacodecraft.toolrental.application.port.in;
+
+import com.costacodecraft.toolrental.application.domain.exception.IdempotencyKeyReusedException;
+import com.costacodecraft.toolrental.application.domain.model.Order.OrderId;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Use case for checking out tools without waiting for the order to be created.
+ */
+public interface AsyncCheckoutUseCase {
+
+  /**
+   * Submits a checkout command. The call blocks while the checkout backlog is full, so callers are
+   * slowed down instead of the backlog growing without limit.
+   *
+   * @param checkoutCommand the command to check out
+   * @return a future completed with the ID of the created order, or with the exception that
+   *     rejected the command
+   * @throws java.util.concurrent.RejectedExecutionException if checkouts are no longer accepted or
+   *     the caller was interrupted while waiting
+   * @throws IdempotencyKeyReusedException if the idempotency key of the command was used for a
+   *     different checkout
+   */
+  CompletableFuture<OrderId> checkoutAsync(CheckoutCommand checkoutCommand);
+}
@@ -9,12 +9,29 @@ import java.time.LocalDate;
  * @param rentalDays the number of days the tool will be rented
  * @param discountPercentage the discount percentage to be applied
  * @param checkoutDate the date when the tool is checked out
+ * @param idempotencyKey a key identifying the request, so that a retried checkout returns the order
+ *                       of the first attempt instead of creating another one, or null
  */
 public record CheckoutCommand(
     String toolCode,
     int rentalDays,
     int discountPercentage,
-    LocalDate checkoutDate
+    LocalDate checkoutDate,
+    String idempotencyKey
 ) {
 
+  public CheckoutCommand(String toolCode, int rentalDays, int discountPercentage,
+      LocalDate checkoutDate) {
+    this(toolCode, rentalDays, discountPercentage, checkoutDate, null);
+  }
+
+  /**
+   * Returns a copy of this command with the given idempotency key.
+   *
+   * @param key the idempotency key, or null
+   * @return the command with the key
+   */
+  public CheckoutCommand withIdempotencyKey(String key) {
+    return new CheckoutCommand(toolCode, rentalDays, discountPercentage, checkoutDate, key);
+  }
 }
@@ -1,5 +1,6 @@
 package com.costacodecraft.toolrental.application.port.in;
 
+import com.costacodecraft.toolrental.application.domain.exception.IdempotencyKeyReusedException;
 import com.costacodecraft.toolrental.application.domain.model.Order.OrderId;
 import java.util.List;
 
@@ -13,6 +14,8 @@ public interface CheckoutUseCase {
    *
    * @param checkoutCommands the list of items to checkout
    * @return a list of OrderIds representing the created orders
+   * @throws IdempotencyKeyReusedException if the idempotency key of a command was used for a
+   *                                       different checkout
    */
   List<OrderId> checkout(List<CheckoutCommand> checkoutCommands);
 }
\ No newline at end of file
@@ -0,0 +1,126 @@
+package com.costacodecraft.toolrental.application.port.in;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The errors of a list of checkout commands, one bit set per error and command, so that bulk input
+ * can be checked without an exception per invalid command.
+ */
+public final class CheckoutValidation {
+
+  /** The rental days are less than 1. */
+  public static final int INVALID_RENTAL_DAYS = 1;
+  /** The discount percentage is not between 0 and 100. */
+  public static final int INVALID_DISCOUNT = 1 << 1;
+  /** No tool has the tool code. */
+  public static final int TOOL_NOT_FOUND = 1 << 2;
+
+  public static final String INVALID_RENTAL_DAYS_MESSAGE = "Rental days must be 1 or more days";
+  public static final String INVALID_DISCOUNT_MESSAGE =
+      "Discount percent must be between 0 and 100";
+
+  private final List<CheckoutCommand> checkoutCommands;
+  private final byte[] errors;
+  private final int invalidCount;
+
+  /**
+   * Creates the validation of a list of commands.
+   *
+   * @param checkoutCommands the commands that were validated
+   * @param errors the error bits of each command, in the order of the commands
+   */
+  public CheckoutValidation(List<CheckoutCommand> checkoutCommands, byte[] errors) {
+    if (checkoutCommands.size() != errors.length) {
+      throw new IllegalArgumentException("Expected one error mask per command");
+    }
+    this.checkoutCommands = checkoutCommands;
+    this.errors = errors;
+    int invalid = 0;
+    for (byte error : errors) {
+      if (error != 0) {
+        invalid++;
+      }
+    }
+    this.invalidCount = invalid;
+  }
+
+  /**
+   * Returns the message of a tool code that matches no tool.
+   *
+   * @param toolCode the tool code
+   * @return the message
+   */
+  public static String toolNotFoundMessage(String toolCode) {
+    return "Tool with code \"" + toolCode + "\" not found";
+  }
+
+  public int size() {
+    return errors.length;
+  }
+
+  public boolean isValid() {
+    return invalidCount == 0;
+  }
+
+  public int getInvalidCount() {
+    return invalidCount;
+  }
+
+  public boolean isValid(int index) {
+    return errors[index] == 0;
+  }
+
+  /**
+   * Returns the errors of a command.
+   *
+   * @param index the index of the command
+   * @return the error bits, 0 if the command is valid
+   */
+  public int getErrors(int index) {
+    return errors[index];
+  }
+
+  /**
+   * Returns the messages of the errors of a command, which are the messages of the exceptions a
+   * checkout of the command would throw.
+   *
+   * @param index the index of the command
+   * @return the messages, empty if the command is valid
+   */
+  public List<String> getMessages(int index) {
+    int error = errors[index];
+    List<String> messages = new ArrayList<>(Integer.bitCount(error));
+    if ((error & INVALID_RENTAL_DAYS) != 0) {
+      messages.add(INVALID_RENTAL_DAYS_MESSAGE);
+    }
+    if ((error & INVALID_DISCOUNT) != 0) {
+      messages.add(INVALID_DISCOUNT_MESSAGE);
+    }
+    if ((error & TOOL_NOT_FOUND) != 0) {
+      messages.add(toolNotFoundMessage(checkoutCommands.get(index).toolCode()));
+    }
+    return messages;
+  }
+
+  /**
+   * Returns the valid elements of a list matching the validated commands, such as the commands
+   * themselves.
+   *
+   * @param elements the elements, in the order of the commands
+   * @param <T> the type of the elements
+   * @return the elements of the valid commands, in order
+   */
+  public <T> List<T> valid(List<T> elements) {
+    if (invalidCount == 0) {
+      return elements;
+    }
+    List<T> valid = new ArrayList<>(errors.length - invalidCount);
+    for (int i = 0; i < errors.length; i++) {
+      if (errors[i] == 0) {
+        valid.add(elements.get(i));
+      }
+    }
+    return valid;
+  }
+}
@@ -1,7 +1,9 @@
 package com.costacodecraft.toolrental.application.port.in;
 
 import com.costacodecraft.toolrental.application.domain.model.Order;
+import com.costacodecraft.toolrental.application.domain.model.Order.OrderId;
 import com.costacodecraft.toolrental.application.domain.model.RentalAgreement;
+import java.util.List;
 
 /**
  * Use case for creating orders based on rental agreements.
@@ -15,4 +17,31 @@ public interface CreateOrderUseCase {
    * @return the created order
    */
   Order createOrder(RentalAgreement rentalAgreement);
+
+  /**
+   * Creates an order with the given ID from the specified rental agreement.
+   *
+   * @param id the ID of the order
+   * @param rentalAgreement the rental agreement
+   * @return the created order
+   */
+  Order createOrder(OrderId id, RentalAgreement rentalAgreement);
+
+  /**
+   * Creates an order for each of the specified rental agreements, writing them together.
+   *
+   * @param rentalAgreements the rental agreements
+   * @return the created orders, in the order of the rental agreements
+   */
+  List<Order> createOrders(List<RentalAgreement> rentalAgreements);
+
+  /**
+   * Creates an order with each of the given IDs from the rental agreement at the same position,
+   * writing them together.
+   *
+   * @param ids the IDs of the orders
+   * @param rentalAgreements the rental agreements, one for each ID
+   * @return the created orders, in the order of the rental agreements
+   */
+  List<Order> createOrders(List<OrderId> ids, List<RentalAgreement> rentalAgreements);
 }
@@ -2,10 +2,11 @@ package com.costacodecraft.toolrental.application.port.in;
 
 import com.costacodecraft.toolrental.application.domain.model.Order;
 import com.costacodecraft.toolrental.application.domain.model.Order.OrderId;
+import java.util.List;
 import java.util.Optional;
 
 /**
- * Use case for retrieving orders by their ID.
+ * Use case for retrieving orders.
  */
 public interface GetOrderUseCase {
 
@@ -16,4 +17,13 @@ public interface GetOrderUseCase {
    * @return an Optional containing the order if found, or empty if not found
    */
   Optional<Order> getOrder(OrderId id);
-}
\ No newline at end of file
+
+  /**
+   * Retrieves a page of orders, in ascending order of their IDs.
+   *
+   * @param after the ID of the last order of the previous page, or null for the first page
+   * @param limit the maximum number of orders in the page
+   * @return the orders of the page, empty once all orders have been returned
+   */
+  List<Order> getOrders(OrderId after, int limit);
+}
@@ -0,0 +1,49 @@
+package com.costacodecraft.toolrental.application.port.in;
+
+import com.costacodecraft.toolrental.application.domain.model.BrandName;
+import com.costacodecraft.toolrental.application.domain.model.ToolType;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Use case for reporting on the rentals checked out over a period, such as the revenue of a
+ * quarter by tool type. Periods run from one checkout date to another, both included.
+ */
+public interface GetRollupsUseCase {
+
+  /**
+   * Returns the totals of all rentals of a period.
+   *
+   * @param from the first checkout date of the period
+   * @param to the last checkout date of the period
+   * @return the totals, zero if there were no rentals
+   */
+  RollupTotals getTotals(LocalDate from, LocalDate to);
+
+  /**
+   * Returns the totals of the rentals of a period per tool type.
+   *
+   * @param from the first checkout date of the period
+   * @param to the last checkout date of the period
+   * @return the totals of the tool types that were rented
+   */
+  Map<ToolType, RollupTotals> getTotalsByToolType(LocalDate from, LocalDate to);
+
+  /**
+   * Returns the totals of the rentals of a period per brand.
+   *
+   * @param from the first checkout date of the period
+   * @param to the last checkout date of the period
+   * @return the totals of the brands that were rented
+   */
+  Map<BrandName, RollupTotals> getTotalsByBrand(LocalDate from, LocalDate to);
+
+  /**
+   * Returns the totals of the rentals of a period per tool code.
+   *
+   * @param from the first checkout date of the period
+   * @param to the last checkout date of the period
+   * @return the totals of the tools that were rented
+   */
+  Map<String, RollupTotals> getTotalsByToolCode(LocalDate from, LocalDate to);
+}
@@ -0,0 +1,30 @@
+package com.costacodecraft.toolrental.application.port.in;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Use case for ranking the tools rented most over the last days, such as the top 20 tools by
+ * revenue this week. The window of days is fixed by the implementation and ends at a given
+ * checkout date, included.
+ */
+public interface GetTopToolsUseCase {
+
+  /**
+   * Returns the tools with the highest revenue over the window.
+   *
+   * @param end the last checkout date of the window
+   * @param count the number of tools to return
+   * @return at most {@code count} tools, highest revenue first
+   */
+  List<ToolRanking> getTopToolsByRevenue(LocalDate end, int count);
+
+  /**
+   * Returns the tools with the most charge days over the window, the most utilized.
+   *
+   * @param end the last checkout date of the window
+   * @param count the number of tools to return
+   * @return at most {@code count} tools, most charge days first
+   */
+  List<ToolRanking> getTopToolsByChargeDays(LocalDate end, int count);
+}
@@ -0,0 +1,16 @@
+package com.costacodecraft.toolrental.application.port.in;
+
+import com.costacodecraft.toolrental.application.domain.model.Order.OrderId;
+
+/**
+ * Command representing a historical rental to import as an order with a known ID.
+ *
+ * @param orderId the ID of the order to create
+ * @param checkoutCommand the details of the rental
+ */
+public record ImportOrderCommand(
+    OrderId orderId,
+    CheckoutCommand checkoutCommand
+) {
+
+}
@@ -0,0 +1,19 @@
+package com.costacodecraft.toolrental.application.port.in;
+
+import com.costacodecraft.toolrental.application.domain.model.Order.OrderId;
+import java.util.List;
+
+/**
+ * Use case for importing historical rentals as orders.
+ */
+public interface ImportOrdersUseCase {
+
+  /**
+   * Prices and creates an order for each command. Commands whose order ID already exists are
+   * skipped, so importing the same commands again never creates duplicate orders.
+   *
+   * @param importOrderCommands the rentals to import
+   * @return the IDs of the orders created by this call
+   */
+  List<OrderId> importOrders(List<ImportOrderCommand> importOrderCommands);
+}
@@ -0,0 +1,17 @@
+package com.costacodecraft.toolrental.application.port.in;
+
+import com.costacodecraft.toolrental.application.domain.model.Order;
+import com.costacodecraft.toolrental.application.domain.model.RentalAgreement;
+
+/**
+ * Record representing a stored order whose final charge changed when it was priced again.
+ *
+ * @param order the stored order and its rental agreement
+ * @param repricedAgreement the rental agreement priced with the current rules
+ */
+public record PriceDifference(
+    Order order,
+    RentalAgreement repricedAgreement
+) {
+
+}
@@ -0,0 +1,26 @@
+package com.costacodecraft.toolrental.application.port.in;
+
+import com.costacodecraft.toolrental.application.domain.model.RentalAgreement;
+import java.util.List;
+
+/**
+ * Use case for pricing checkouts without creating any order.
+ */
+public interface QuoteUseCase {
+
+  /**
+   * Prices a checkout command.
+   *
+   * @param checkoutCommand the command to price
+   * @return a preview of the rental agreement a checkout would create
+   */
+  RentalAgreement quote(CheckoutCommand checkoutCommand);
+
+  /**
+   * Prices a list of checkout commands.
+   *
+   * @param checkoutCommands the commands to price
+   * @return the rental agreement previews, in the order of the commands
+   */
+  List<RentalAgreement> quote(List<CheckoutCommand> checkoutCommands);
+}
@@ -0,0 +1,19 @@
+package com.costacodecraft.toolrental.application.port.in;
+
+import java.util.function.Consumer;
+
+/**
+ * Use case for pricing the stored orders again, after a pricing rule, a holiday or a tool price
+ * was changed, to find the orders whose final charge would now be different.
+ */
+public interface ReconcileOrdersUseCase {
+
+  /**
+   * Prices every stored order again with the current tools and rules.
+   *
+   * @param differences called with each order whose final charge changed, in no particular order;
+   *     it may be called from several threads, but never concurrently
+   * @return the counts of the orders priced
+   */
+  Reconciliation reconcile(Consumer<PriceDifference> differences);
+}
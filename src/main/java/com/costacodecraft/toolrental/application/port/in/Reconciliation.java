@@ -0,0 +1,17 @@
+package com.costacodecraft.toolrental.application.port.in;
+
+/**
+ * Record representing the outcome of a reconciliation of the stored orders.
+ *
+ * @param orders the number of orders priced again
+ * @param differences the number of orders whose final charge changed
+ * @param toolsNotFound the number of orders that could not be priced again, their tool being no
+ *     longer in the catalog
+ */
+public record Reconciliation(
+    long orders,
+    long differences,
+    long toolsNotFound
+) {
+
+}
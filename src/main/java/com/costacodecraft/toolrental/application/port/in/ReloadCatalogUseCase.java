@@ -0,0 +1,20 @@
+package com.costacodecraft.toolrental.application.port.in;
+
+import com.costacodecraft.toolrental.application.domain.model.CatalogDiff;
+import com.costacodecraft.toolrental.application.domain.model.Tool;
+import java.util.List;
+
+/**
+ * Use case for replacing the tool catalog with a new version of it.
+ */
+public interface ReloadCatalogUseCase {
+
+  /**
+   * Replaces the tool catalog with the given tools. Only the tools that changed are written, and
+   * the changes are applied atomically.
+   *
+   * @param catalog the complete new catalog
+   * @return the changes applied to the catalog
+   */
+  CatalogDiff reloadCatalog(List<Tool> catalog);
+}
@@ -0,0 +1,20 @@
+package com.costacodecraft.toolrental.application.port.in;
+
+import java.math.BigDecimal;
+
+/**
+ * Record representing the totals of the rentals of a period.
+ *
+ * @param revenue the sum of the final charges
+ * @param discount the sum of the discounts given
+ * @param chargeDays the sum of the charge days
+ * @param rentals the number of rentals
+ */
+public record RollupTotals(
+    BigDecimal revenue,
+    BigDecimal discount,
+    long chargeDays,
+    long rentals
+) {
+
+}
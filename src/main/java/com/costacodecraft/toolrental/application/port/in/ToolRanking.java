@@ -0,0 +1,20 @@
+package com.costacodecraft.toolrental.application.port.in;
+
+import java.math.BigDecimal;
+
+/**
+ * Record representing the place of a tool in a ranking of the most rented tools.
+ *
+ * @param toolCode the code of the tool
+ * @param revenue the sum of the final charges of the tool's rentals
+ * @param chargeDays the sum of the charge days of the tool's rentals
+ * @param exact whether the totals are exact, or estimates that may be too high
+ */
+public record ToolRanking(
+    String toolCode,
+    BigDecimal revenue,
+    long chargeDays,
+    boolean exact
+) {
+
+}
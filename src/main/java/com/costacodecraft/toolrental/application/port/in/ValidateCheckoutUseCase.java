@@ -0,0 +1,17 @@
+package com.costacodecraft.toolrental.application.port.in;
+
+import java.util.List;
+
+/**
+ * Use case for validating checkout commands without throwing.
+ */
+public interface ValidateCheckoutUseCase {
+
+  /**
+   * Validates checkout commands, collecting every error of every command.
+   *
+   * @param checkoutCommands the commands to validate
+   * @return the errors of the commands
+   */
+  CheckoutValidation validate(List<CheckoutCommand> checkoutCommands);
+}
@@ -0,0 +1,73 @@
+package com.costacodecraft.toolrental.application.port.out;
+
+import com.costacodecraft.toolrental.application.domain.model.ToolType;
+
+/**
+ * Port for measuring the checkout hot path. Only the checkouts for which {@link #sample()} is true
+ * are timed, while priced commands and failures are all counted.
+ */
+public interface CheckoutMetrics {
+
+  /**
+   * Metrics that record nothing and time no checkout.
+   */
+  CheckoutMetrics NONE = new CheckoutMetrics() {
+    @Override
+    public boolean sample() {
+      return false;
+    }
+
+    @Override
+    public void record(Stage stage, long nanos) {
+    }
+
+    @Override
+    public void recordPriced(ToolType type, long nanos) {
+    }
+
+    @Override
+    public void recordError(RuntimeException failure) {
+    }
+  };
+
+  /**
+   * The timed stages of a checkout.
+   */
+  enum Stage {
+    VALIDATION,
+    TOOL_LOOKUP,
+    CHARGEABLE_DAYS,
+    PRICING,
+    ORDER_CREATION
+  }
+
+  /**
+   * Decides whether the current checkout is timed.
+   *
+   * @return true to time the checkout, false otherwise
+   */
+  boolean sample();
+
+  /**
+   * Records the time of a stage of a sampled checkout.
+   *
+   * @param stage the stage
+   * @param nanos the time spent, in nanoseconds
+   */
+  void record(Stage stage, long nanos);
+
+  /**
+   * Counts a priced command and, if it was sampled, records its latency.
+   *
+   * @param type the type of the tool
+   * @param nanos the time to price it in nanoseconds, or a negative value if it was not sampled
+   */
+  void recordPriced(ToolType type, long nanos);
+
+  /**
+   * Counts a failed pricing.
+   *
+   * @param failure the exception it failed with
+   */
+  void recordError(RuntimeException failure);
+}
@@ -0,0 +1,27 @@
+package com.costacodecraft.toolrental.application.port.out;
+
+import com.costacodecraft.toolrental.application.domain.model.Order.OrderId;
+import java.time.LocalDate;
+import java.util.Collection;
+
+/**
+ * Port for telling about the rentals due back today and those not returned on time.
+ */
+public interface DueDateNotifier {
+
+  /**
+   * Tells about the rentals due back on a day, at the start of that day.
+   *
+   * @param date the day the rentals are due back
+   * @param orderIds the orders of the rentals, never empty
+   */
+  void dueToday(LocalDate date, Collection<OrderId> orderIds);
+
+  /**
+   * Tells about the rentals not returned by the end of the day they were due back.
+   *
+   * @param dueDate the day the rentals were due back
+   * @param orderIds the orders of the rentals, never empty
+   */
+  void overdue(LocalDate dueDate, Collection<OrderId> orderIds);
+}
@@ -2,6 +2,7 @@ package com.costacodecraft.toolrental.application.port.out;
 
 import com.costacodecraft.toolrental.application.domain.model.Order;
 import com.costacodecraft.toolrental.application.domain.model.Order.OrderId;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -16,6 +17,21 @@ public interface OrderRepository {
    */
   void createOrder(Order order);
 
+  /**
+   * Creates several orders in one write.
+   *
+   * @param orders the orders to be created
+   */
+  void createOrders(List<Order> orders);
+
+  /**
+   * Replaces an existing order with an amended one of the same ID.
+   *
+   * @param order the amended order
+   * @return whether the order existed and was replaced
+   */
+  boolean updateOrder(Order order);
+
   /**
    * Finds an order by its ID.
    *
@@ -23,4 +39,22 @@ public interface OrderRepository {
    * @return an Optional containing the order if found, or empty if not found
    */
   Optional<Order> findById(OrderId id);
+
+  /**
+   * Finds a page of orders, in ascending order of their IDs. Passing the ID of the last order of a
+   * page returns the next page, so all orders can be walked without copying them at once.
+   *
+   * @param after the ID after which the page starts, or null to start with the first order
+   * @param limit the maximum number of orders in the page
+   * @return the orders of the page, empty once all orders have been returned
+   */
+  List<Order> findPage(OrderId after, int limit);
+
+  /**
+   * Finds all orders, in no particular order. The list is a new one, which the caller may change
+   * and later writes do not.
+   *
+   * @return the orders
+   */
+  List<Order> findAll();
 }
@@ -2,6 +2,7 @@ package com.costacodecraft.toolrental.application.port.out;
 
 import com.costacodecraft.toolrental.application.domain.model.Tool;
 import com.costacodecraft.toolrental.application.domain.model.Tool.ToolId;
+import java.util.Collection;
 import java.util.Optional;
 
 /**
@@ -17,7 +18,29 @@ public interface ToolRepository {
   void addTool(Tool tool);
 
   /**
-   * Finds all tools in the repository.
+   * Atomically applies a set of changes to the repository. Readers observe either none or all of
+   * the changes.
+   *
+   * @param upserts the tools to be added or replaced
+   * @param removals the IDs of the tools to be removed
+   */
+  void applyChanges(Collection<Tool> upserts, Collection<ToolId> removals);
+
+  /**
+   * Atomically applies a set of changes computed from the tools returned by {@link #findAll()},
+   * unless the repository changed since they were returned.
+   *
+   * @param expected the tools the changes were computed from, as returned by {@link #findAll()}
+   * @param upserts the tools to be added or replaced
+   * @param removals the IDs of the tools to be removed
+   * @return true if the changes were applied, false if the repository changed meanwhile and
+   *     nothing was applied
+   */
+  boolean applyChanges(Iterable<Tool> expected, Collection<Tool> upserts,
+      Collection<ToolId> removals);
+
+  /**
+   * Finds all tools in the repository. The tools are a snapshot, unaffected by later changes.
    *
    * @return an Iterable containing all tools
    */
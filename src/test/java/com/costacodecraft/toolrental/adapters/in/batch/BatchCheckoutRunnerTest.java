@@ -0,0 +1,154 @@
+package com.costacodecraft.toolrental.adapters.in.batch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.costacodecraft.toolrental.adapters.out.persistence.InMemoryOrderRepository;
+import com.costacodecraft.toolrental.adapters.out.persistence.InMemoryToolRepository;
+import com.costacodecraft.toolrental.application.domain.exception.InvalidDataEntryException;
+import com.costacodecraft.toolrental.application.domain.model.BrandName;
+import com.costacodecraft.toolrental.application.domain.model.Order;
+import com.costacodecraft.toolrental.application.domain.model.Order.OrderId;
+import com.costacodecraft.toolrental.application.domain.model.Price;
+import com.costacodecraft.toolrental.application.domain.model.Tool;
+import com.costacodecraft.toolrental.application.domain.model.Tool.ToolId;
+import com.costacodecraft.toolrental.application.domain.model.ToolType;
+import com.costacodecraft.toolrental.application.domain.service.CheckoutPricer;
+import com.costacodecraft.toolrental.application.domain.service.CheckoutService;
+import com.costacodecraft.toolrental.application.domain.service.CheckoutValidator;
+import com.costacodecraft.toolrental.application.domain.service.CreateOrderService;
+import com.costacodecraft.toolrental.application.domain.service.GetChargeableDaysService;
+import com.costacodecraft.toolrental.application.domain.service.GetHolidayService;
+import com.costacodecraft.toolrental.application.domain.service.GetOrderService;
+import com.costacodecraft.toolrental.application.domain.service.IdempotencyIndex;
+import com.costacodecraft.toolrental.application.domain.service.ValidateCheckoutService;
+import com.costacodecraft.toolrental.application.port.in.GetOrderUseCase;
+import com.costacodecraft.toolrental.application.port.out.OrderRepository;
+import com.costacodecraft.toolrental.application.port.out.ToolRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.DefaultApplicationArguments;
+
+class BatchCheckoutRunnerTest {
+
+  @TempDir
+  Path tempDir;
+
+  private ToolRepository toolRepository;
+  private CheckoutService checkoutService;
+  private ObjectMapper objectMapper;
+  private BatchCheckoutRunner batchCheckoutRunner;
+
+  @BeforeEach
+  void setUp() {
+    toolRepository toolRepository = new InMemoryToolRepository();
+    toolRepository.addTool(new Tool(new ToolId("LADW"), ToolType.LADDER, BrandName.WERNER,
+        Price.newBuilder()
+            .dailyCharge(1.99)
+            .weekdayCharge(true)
+            .weekendCharge(true)
+            .holidayCharge(false)
+            .build()));
+    OrderRepository orderRepository = new InMemoryOrderRepository();
+    CheckoutPricer checkoutPricer = new CheckoutPricer(toolRepository,
+        new GetChargeableDaysService(new GetHolidayService()), new CheckoutValidator());
+    checkoutService = new CheckoutService(checkoutPricer,
+        new CreateOrderService(orderRepository),
+        new IdempotencyIndex(1000, Duration.ofHours(1)));
+    objectMapper = JsonMapper.builder().findAndAddModules().build();
+    batchCheckoutRunner = new BatchCheckoutRunner(checkoutService,
+        new ValidateCheckoutService(toolRepository, new CheckoutValidator()),
+        new GetOrderService(orderRepository), objectMapper);
+  }
+
+  @Test
+  void testCsvBatchSkipsInvalidCommands() throws IOException {
+    Path input = tempDir.resolve("commands.csv");
+    Files.writeString(input, """
+        toolCode,rentalDays,discountPercentage,checkoutDate
+        LADW,3,10,7/2/20
+        LADW,3,101,7/2/20
+        NONE,3,10,7/2/20
+        LADW,x,10,7/2/20
+        LADW,5,0,9/3/15
+        """);
+    StringWriter output = new StringWriter();
+
+    batchCheckoutRunner.process(input, 2, output);
+
+    assertThat(output.toString())
+        .containsOnlyOnce("Checkout Date: 7/2/20")
+        .containsOnlyOnce("Checkout Date: 9/3/15")
+        .contains("Final Charge: $3.58");
+  }
+
+  @Test
+  void testJsonLinesBatch() throws IOException {
+    Path input = tempDir.resolve("commands.jsonl");
+    Files.writeString(input, """
+        {"toolCode":"LADW","rentalDays":3,"discountPercentage":10,"checkoutDate":"2020-07-02"}
+        {"toolCode":"LADW","rentalDays":3}
+        """);
+    StringWriter output = new StringWriter();
+
+    batchCheckoutRunner.process(input, 1000, output);
+
+    assertThat(output.toString())
+        .containsOnlyOnce("Tool Code: LADW")
+        .contains("Final Charge: $3.58");
+  }
+
+  @Test
+  void testOrdersThatCannotBeReadBackAreCounted() throws IOException {
+    Path input = tempDir.resolve("commands.csv");
+    Files.writeString(input, """
+        toolCode,rentalDays,discountPercentage,checkoutDate
+        LADW,3,10,7/2/20
+        LADW,5,0,9/3/15
+        """);
+    GetOrderUseCase forgetful = new GetOrderUseCase() {
+      @Override
+      public Optional<Order> getOrder(OrderId id) {
+        return Optional.empty();
+      }
+
+      @Override
+      public List<Order> getOrders(OrderId after, int limit) {
+        return List.of();
+      }
+    };
+    BatchCheckoutRunner runner = new BatchCheckoutRunner(checkoutService,
+        new ValidateCheckoutService(toolRepository, new CheckoutValidator()), forgetful,
+        objectMapper);
+    StringWriter output = new StringWriter();
+
+    assertThat(runner.process(input, 1000, output)).isEqualTo(2);
+    assertThat(output.toString()).isEmpty();
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"0", "-1", "abc", ""})
+  void testInvalidChunkSizeIsRejected(String chunkSize) throws IOException {
+    Path input = tempDir.resolve("commands.csv");
+    Files.writeString(input, "LADW,3,10,7/2/20\n");
+    Path output = tempDir.resolve("agreements.txt");
+
+    assertThatExceptionOfType(InvalidDataEntryException.class)
+        .isThrownBy(() -> batchCheckoutRunner.run(new DefaultApplicationArguments(
+            "--batch=" + input, "--batch-output=" + output, "--batch-chunk-size=" + chunkSize)))
+        .withMessage("--batch-chunk-size: Invalid positive integer value: " + chunkSize);
+    assertThat(output).doesNotExist();
+  }
+}
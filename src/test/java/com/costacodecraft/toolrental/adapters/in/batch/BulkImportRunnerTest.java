@@ -0,0 +1,167 @@
+package com.costacodecraft.toolrental.adapters.in.batch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.costacodecraft.toolrental.adapters.out.persistence.InMemoryOrderRepository;
+import com.costacodecraft.toolrental.adapters.out.persistence.InMemoryToolRepository;
+import com.costacodecraft.toolrental.application.domain.exception.InvalidDataEntryException;
+import com.costacodecraft.toolrental.application.domain.model.BrandName;
+import com.costacodecraft.toolrental.application.domain.model.Order.OrderId;
+import com.costacodecraft.toolrental.application.domain.model.Price;
+import com.costacodecraft.toolrental.application.domain.model.RentalAgreement;
+import com.costacodecraft.toolrental.application.domain.model.Tool;
+import com.costacodecraft.toolrental.application.domain.model.Tool.ToolId;
+import com.costacodecraft.toolrental.application.domain.model.ToolType;
+import com.costacodecraft.toolrental.application.domain.service.CheckoutPricer;
+import com.costacodecraft.toolrental.application.domain.service.CheckoutValidator;
+import com.costacodecraft.toolrental.application.domain.service.CreateOrderService;
+import com.costacodecraft.toolrental.application.domain.service.GetChargeableDaysService;
+import com.costacodecraft.toolrental.application.domain.service.GetHolidayService;
+import com.costacodecraft.toolrental.application.domain.service.ImportOrdersService;
+import com.costacodecraft.toolrental.application.domain.service.ValidateCheckoutService;
+import com.costacodecraft.toolrental.application.port.out.ToolRepository;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.DefaultApplicationArguments;
+
+class BulkImportRunnerTest {
+
+  private static final String IMPORT_ID = "rentals.csv";
+
+  @TempDir
+  Path tempDir;
+
+  private final ToolRepository toolRepository = new InMemoryToolRepository();
+  private InMemoryOrderRepository orderRepository;
+  private CreateOrderService createOrderService;
+  private BulkImportRunner bulkImportRunner;
+  private Path ordersFile;
+  private Path input;
+  private Path checkpointFile;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    toolRepository.addTool(new Tool(new ToolId("JAKR"), ToolType.JACKHAMMER, BrandName.REDGID,
+        Price.newBuilder()
+            .dailyCharge(2.99)
+            .weekdayCharge(true)
+            .weekendCharge(false)
+            .holidayCharge(false)
+            .build()));
+    ordersFile = tempDir.resolve("orders.bin");
+    start();
+    input = tempDir.resolve(IMPORT_ID);
+    checkpointFile = tempDir.resolve("rentals.checkpoint");
+    Files.writeString(input, """
+        JAKR,9,0,7/2/15
+        JAKR,4,50,7/2/20
+        JAKR,4,101,7/2/20
+        JAKR,5,10,9/3/15
+        JAKR,6,0,9/3/15
+        """);
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    orderRepository.close();
+  }
+
+  @Test
+  void testImportSavesCheckpointAfterEachChunk() throws IOException {
+    ImportCheckpoint checkpoint = bulkImportRunner.importFile(input, 2, checkpointFile, IMPORT_ID);
+
+    assertThat(checkpoint).isEqualTo(new ImportCheckpoint(IMPORT_ID, 5, 4, 1));
+    assertThat(ImportCheckpoint.load(checkpointFile)).contains(checkpoint);
+    assertThat(orderRepository.findById(BulkImportRunner.orderId(IMPORT_ID, 4)))
+        .hasValueSatisfying(order -> assertThat(order.rentalAgreement().rentalDays()).isEqualTo(5));
+    // one write for each chunk, the invalid line 3 shares its chunk with line 4
+    verify(createOrderService, times(3)).createOrders(anyList(), anyList());
+    verify(createOrderService, never()).createOrder(any(OrderId.class),
+        any(RentalAgreement.class));
+  }
+
+  @Test
+  void testResumeAfterCrashDoesNotDuplicateOrders() throws IOException {
+    // every chunk was committed but the process died before the second checkpoint
+    bulkImportRunner.importFile(input, 2, checkpointFile, IMPORT_ID);
+    new ImportCheckpoint(IMPORT_ID, 2, 2, 0).save(checkpointFile);
+    orderRepository.close();
+    start();
+
+    ImportCheckpoint checkpoint = bulkImportRunner.importFile(input, 2, checkpointFile, IMPORT_ID);
+
+    assertThat(checkpoint).isEqualTo(new ImportCheckpoint(IMPORT_ID, 5, 2, 1));
+    assertThat(orderRepository.findAll()).hasSize(4);
+    verify(createOrderService, never()).createOrders(anyList(), anyList());
+  }
+
+  @Test
+  void testDefaultImportIdTellsFilesOfTheSameNameApart() throws IOException {
+    Path other = Files.createDirectory(tempDir.resolve("other")).resolve(IMPORT_ID);
+    Files.copy(input, other);
+
+    assertThat(BulkImportRunner.defaultImportId(input))
+        .isEqualTo(BulkImportRunner.defaultImportId(input))
+        .isNotEqualTo(BulkImportRunner.defaultImportId(other));
+  }
+
+  @Test
+  void testDefaultImportIdChangesWhenFileIsRewritten() throws IOException {
+    String importId = BulkImportRunner.defaultImportId(input);
+
+    Files.writeString(input, "JAKR,9,0,7/2/15\n");
+
+    assertThat(BulkImportRunner.defaultImportId(input)).isNotEqualTo(importId);
+  }
+
+  @Test
+  void testImportWithoutOrdersFileIsRejected() {
+    BulkImportRunner runner = new BulkImportRunner(null, null, null, "");
+
+    assertThatThrownBy(() -> runner.run(new DefaultApplicationArguments("--import=" + input)))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("toolrental.orders.file");
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"0", "-1", "abc"})
+  void testInvalidChunkSizeIsRejectedBeforeTheCheckpoint(String chunkSize) {
+    assertThatExceptionOfType(InvalidDataEntryException.class)
+        .isThrownBy(() -> bulkImportRunner.run(new DefaultApplicationArguments(
+            "--import=" + input, "--import-checkpoint=" + checkpointFile,
+            "--import-chunk-size=" + chunkSize)))
+        .withMessage("--import-chunk-size: Invalid positive integer value: " + chunkSize);
+    assertThat(checkpointFile).doesNotExist();
+    assertThat(orderRepository.findAll()).isEmpty();
+  }
+
+  /**
+   * Starts the import as a new process would, over the orders of the orders file.
+   */
+  private void start() throws IOException {
+    orderRepository = new InMemoryOrderRepository(ordersFile.toString());
+    createOrderService = spy(new CreateOrderService(orderRepository));
+    CheckoutPricer checkoutPricer = new CheckoutPricer(toolRepository,
+        new GetChargeableDaysService(new GetHolidayService()), new CheckoutValidator());
+    bulkImportRunner = new BulkImportRunner(
+        new ImportOrdersService(checkoutPricer, createOrderService, orderRepository),
+        new ValidateCheckoutService(toolRepository, new CheckoutValidator()),
+        JsonMapper.builder().findAndAddModules().build(), ordersFile.toString());
+  }
+}
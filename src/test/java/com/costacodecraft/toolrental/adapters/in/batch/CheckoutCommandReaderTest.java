@@ -0,0 +1,82 @@
+package com.costacodecraft.toolrental.adapters.in.batch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.costacodecraft.toolrental.adapters.in.batch.CheckoutCommandReader.Chunk;
+import com.costacodecraft.toolrental.application.port.in.CheckoutCommand;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CheckoutCommandReaderTest {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void testCsvLinesAreParsed() throws IOException {
+    Chunk chunk = read("commands.csv", """
+        toolCode,rentalDays,discountPercentage,checkoutDate
+        # comment
+
+         LADW , 3 , 10 , 7/2/20
+        JAKR,9,0,7/2/15
+        """);
+
+    assertThat(chunk.commands()).containsExactly(
+        new CheckoutCommand("LADW", 3, 10, LocalDate.of(2020, 7, 2)),
+        new CheckoutCommand("JAKR", 9, 0, LocalDate.of(2015, 7, 2)));
+    assertThat(chunk.lineNumbers()).containsExactly(4, 5);
+    assertThat(chunk.errors()).isEmpty();
+    assertThat(chunk.lastLineNumber()).isEqualTo(5);
+  }
+
+  @Test
+  void testInvalidCsvLinesAreReported() throws IOException {
+    Chunk chunk = read("commands.csv", """
+        LADW,three,10,7/2/20
+        LADW,3,10
+        LADW,3,10,7/2/20,extra
+        LADW,3,99999999999,7/2/20
+        LADW,3,10,13/2/20
+        JAKR,9,0,7/2/15
+        """);
+
+    assertThat(chunk.commands())
+        .containsExactly(new CheckoutCommand("JAKR", 9, 0, LocalDate.of(2015, 7, 2)));
+    assertThat(chunk.lineNumbers()).containsExactly(6);
+    assertThat(chunk.errors()).containsExactly(
+        "line 1: Invalid integer value: three",
+        "line 2: Expected 4 fields but found 3",
+        "line 3: Expected 4 fields but found 5",
+        "line 4: Invalid integer value: 99999999999",
+        "line 5: Invalid date format: 13/2/20. Expected format: mm/dd/yy");
+  }
+
+  @Test
+  void testInvalidJsonLinesAreReported() throws IOException {
+    Chunk chunk = read("commands.jsonl", """
+        {"toolCode":"LADW","rentalDays":3,"discountPercentage":10,"checkoutDate":"2020-07-02"}
+        {"toolCode":"LADW","rentalDays":3}
+        not json
+        """);
+
+    assertThat(chunk.commands())
+        .containsExactly(new CheckoutCommand("LADW", 3, 10, LocalDate.of(2020, 7, 2)));
+    assertThat(chunk.errors()).hasSize(2)
+        .first().isEqualTo("line 2: Missing toolCode or checkoutDate");
+    assertThat(chunk.errors().getLast()).startsWith("line 3: Invalid JSON: ");
+  }
+
+  private Chunk read(String fileName, String content) throws IOException {
+    Path file = Files.writeString(tempDir.resolve(fileName), content);
+    try (CheckoutCommandReader reader = CheckoutCommandReader.open(file,
+        JsonMapper.builder().findAndAddModules().build())) {
+      return reader.readChunk(100);
+    }
+  }
+}
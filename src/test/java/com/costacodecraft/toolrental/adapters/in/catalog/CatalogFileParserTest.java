@@ -0,0 +1,102 @@
+package com.costacodecraft.toolrental.adapters.in.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.costacodecraft.toolrental.application.domain.exception.InvalidDataEntryException;
+import com.costacodecraft.toolrental.application.domain.model.BrandName;
+import com.costacodecraft.toolrental.application.domain.model.Price;
+import com.costacodecraft.toolrental.application.domain.model.Tool;
+import com.costacodecraft.toolrental.application.domain.model.Tool.ToolId;
+import com.costacodecraft.toolrental.application.domain.model.ToolType;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CatalogFileParserTest {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void testParseSkipsBlankAndCommentLines() throws IOException {
+    Path file = write("""
+        # code,type,brand,dailyCharge,weekdayCharge,weekendCharge,holidayCharge
+
+        LADW,LADDER,WERNER,1.99,true,true,false
+          CHNS , CHAINSAW , STIHL , 1.49 , TRUE , False , true
+        """);
+
+    assertThat(CatalogFileParser.parse(file)).containsExactly(
+        new Tool(new ToolId("LADW"), ToolType.LADDER, BrandName.WERNER,
+            Price.newBuilder()
+                .dailyCharge(1.99)
+                .weekdayCharge(true)
+                .weekendCharge(true)
+                .holidayCharge(false)
+                .build()),
+        new Tool(new ToolId("CHNS"), ToolType.CHAINSAW, BrandName.STIHL,
+            Price.newBuilder()
+                .dailyCharge(1.49)
+                .weekdayCharge(true)
+                .weekendCharge(false)
+                .holidayCharge(true)
+                .build()));
+  }
+
+  @Test
+  void testParseWithWrongFieldCount() throws IOException {
+    Path file = write("""
+        LADW,LADDER,WERNER,1.99,true,true,false
+        CHNS,CHAINSAW,STIHL,1.49,true,false
+        """);
+
+    assertThatThrownBy(() -> CatalogFileParser.parse(file))
+        .isInstanceOf(InvalidDataEntryException.class)
+        .hasMessage("Invalid catalog entry at line 2: expected 7 fields");
+  }
+
+  @Test
+  void testParseWithUnknownToolType() throws IOException {
+    Path file = write("LADW,STEPLADDER,WERNER,1.99,true,true,false\n");
+
+    assertThatThrownBy(() -> CatalogFileParser.parse(file))
+        .isInstanceOf(InvalidDataEntryException.class)
+        .hasMessageStartingWith("Invalid catalog entry at line 1: ")
+        .hasMessageContaining("STEPLADDER");
+  }
+
+  @Test
+  void testParseWithInvalidCharge() throws IOException {
+    Path file = write("LADW,LADDER,WERNER,cheap,true,true,false\n");
+
+    assertThatThrownBy(() -> CatalogFileParser.parse(file))
+        .isInstanceOf(InvalidDataEntryException.class)
+        .hasMessageStartingWith("Invalid catalog entry at line 1: ")
+        .hasMessageContaining("cheap");
+  }
+
+  @Test
+  void testParseWithInvalidBoolean() throws IOException {
+    Path file = write("LADW,LADDER,WERNER,1.99,true,yes,false\n");
+
+    assertThatThrownBy(() -> CatalogFileParser.parse(file))
+        .isInstanceOf(InvalidDataEntryException.class)
+        .hasMessage("Invalid catalog entry at line 1: Invalid boolean value: yes");
+  }
+
+  @Test
+  void testParseMissingFile() {
+    Path file = tempDir.resolve("missing.csv");
+
+    assertThatThrownBy(() -> CatalogFileParser.parse(file))
+        .isInstanceOf(NoSuchFileException.class);
+  }
+
+  private Path write(String content) throws IOException {
+    return Files.writeString(tempDir.resolve("catalog.csv"), content);
+  }
+}
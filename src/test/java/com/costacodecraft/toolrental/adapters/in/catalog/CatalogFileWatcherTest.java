@@ -0,0 +1,86 @@
+package com.costacodecraft.toolrental.adapters.in.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.costacodecraft.toolrental.adapters.out.persistence.InMemoryToolRepository;
+import com.costacodecraft.toolrental.application.domain.model.Tool;
+import com.costacodecraft.toolrental.application.domain.model.Tool.ToolId;
+import com.costacodecraft.toolrental.application.domain.service.ReloadCatalogService;
+import com.costacodecraft.toolrental.application.port.out.ToolRepository;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CatalogFileWatcherTest {
+
+  @TempDir
+  Path tempDir;
+
+  private final ToolRepository toolRepository = new InMemoryToolRepository();
+  private Path catalogFile;
+  private CatalogFileWatcher catalogFileWatcher;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    catalogFile = tempDir.resolve("catalog.csv");
+    Files.writeString(catalogFile, """
+        LADW,LADDER,WERNER,1.99,true,true,false
+        CHNS,CHAINSAW,STIHL,1.49,true,false,true
+        """);
+    catalogFileWatcher = new CatalogFileWatcher(new ReloadCatalogService(toolRepository),
+        catalogFile.toString());
+    catalogFileWatcher.start();
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    catalogFileWatcher.stop();
+  }
+
+  @Test
+  void testStartLoadsCatalog() {
+    assertThat(toolRepository.findAll())
+        .extracting(tool -> tool.id().code())
+        .containsExactly("LADW", "CHNS");
+  }
+
+  @Test
+  void testEditedCatalogIsReloaded() throws Exception {
+    Files.writeString(catalogFile, """
+        LADW,LADDER,WERNER,2.49,true,true,false
+        JAKR,JACKHAMMER,REDGID,2.99,true,false,false
+        """);
+
+    awaitCatalog(repository -> repository.findById(new ToolId("JAKR")).isPresent());
+    assertThat(toolRepository.findAll())
+        .extracting(tool -> tool.id().code())
+        .containsExactly("LADW", "JAKR");
+    assertThat(toolRepository.findById(new ToolId("LADW")))
+        .map(Tool::price)
+        .hasValueSatisfying(price -> assertThat(price.dailyCharge()).isEqualTo(2.49));
+  }
+
+  @Test
+  void testInvalidCatalogKeepsCurrentOne() throws Exception {
+    Files.writeString(catalogFile, "LADW,LADDER,WERNER,1.99,true,true\n");
+    Thread.sleep(300);
+
+    assertThat(toolRepository.findAll())
+        .extracting(tool -> tool.id().code())
+        .containsExactly("LADW", "CHNS");
+  }
+
+  private void awaitCatalog(Predicate<ToolRepository> condition) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (!condition.test(toolRepository) && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    assertThat(condition.test(toolRepository)).isTrue();
+  }
+}
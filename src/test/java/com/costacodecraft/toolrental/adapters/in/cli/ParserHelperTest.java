@@ -0,0 +1,107 @@
+package com.costacodecraft.toolrental.adapters.in.cli;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.costacodecraft.toolrental.application.domain.exception.InvalidDataEntryException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class ParserHelperTest {
+
+  private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("M/d/yy");
+
+  @Test
+  void testParseInt() {
+    assertThat(ParserHelper.parseInt("0")).isZero();
+    assertThat(ParserHelper.parseInt("0042")).isEqualTo(42);
+    assertThat(ParserHelper.parseInt("2147483647")).isEqualTo(Integer.MAX_VALUE);
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"", " 1", "-1", "+1", "1.5", "abc", "2147483648", "99999999999x"})
+  void testParseIntInvalid(String value) {
+    assertThatExceptionOfType(InvalidDataEntryException.class)
+        .isThrownBy(() -> ParserHelper.parseInt(value))
+        .withMessage("Invalid integer value: " + value);
+  }
+
+  @Test
+  void testParseIntNull() {
+    assertThatExceptionOfType(InvalidDataEntryException.class)
+        .isThrownBy(() -> ParserHelper.parseInt(null))
+        .withMessage("Invalid integer value: null");
+  }
+
+  @Test
+  void testParsePositiveInt() {
+    assertThat(ParserHelper.parsePositiveInt("1")).isOne();
+    assertThat(ParserHelper.parsePositiveInt("1000")).isEqualTo(1000);
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"0", "-1", "", "abc", "2147483648"})
+  void testParsePositiveIntInvalid(String value) {
+    assertThatExceptionOfType(InvalidDataEntryException.class)
+        .isThrownBy(() -> ParserHelper.parsePositiveInt(value))
+        .withMessage("Invalid positive integer value: " + value);
+  }
+
+  @Test
+  void testFastParserResultCodes() {
+    byte[] bytes = "x12,2147483648,7/2/20".getBytes(StandardCharsets.US_ASCII);
+
+    assertThat(FastParser.parseInt(bytes, 1, 3)).isEqualTo(12);
+    assertThat(FastParser.parseInt(bytes, 0, 3)).isEqualTo(FastParser.NOT_A_NUMBER);
+    assertThat(FastParser.parseInt(bytes, 4, 14)).isEqualTo(FastParser.OVERFLOW);
+    assertThat(FastParser.parseDate(bytes, 15, 21))
+        .isEqualTo(LocalDate.of(2020, Month.JULY, 2).toEpochDay());
+    assertThat(FastParser.parseDate(bytes, 14, 21)).isEqualTo(FastParser.INVALID_DATE);
+  }
+
+  @Test
+  void testParseDateMatchesFormatterForEveryDay() {
+    for (LocalDate date = LocalDate.of(2000, 1, 1); date.getYear() < 2100;
+        date = date.plusDays(1)) {
+      String value = FORMATTER.format(date);
+      assertThat(ParserHelper.parseDate(value)).isEqualTo(date);
+      String padded = String.format("%02d/%02d/%02d", date.getMonthValue(),
+          date.getDayOfMonth(), date.getYear() % 100);
+      assertThat(ParserHelper.parseDate(padded)).isEqualTo(date);
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"2/30/23", "2/29/24", "2/29/23", "4/31/24", "13/1/20", "0/1/20",
+      "1/0/20", "1/32/20", "7/2/2020", "7/2/0", "7/2/20 ", " 7/2/20", "7//20", "/2/20", "7/2/",
+      "a/b/cc", "7-2-20", "7/2/20/1", "-7/2/20", "+7/2/20", "1/1/-1"})
+  void testParseDateMatchesFormatterForEdgeCases(String value) {
+    LocalDate expected;
+    try {
+      expected = LocalDate.parse(value, FORMATTER);
+    } catch (DateTimeParseException e) {
+      expected = null;
+    }
+
+    if (expected == null) {
+      assertThatExceptionOfType(InvalidDataEntryException.class)
+          .isThrownBy(() -> ParserHelper.parseDate(value))
+          .withMessage("Invalid date format: " + value + ". Expected format: mm/dd/yy");
+    } else {
+      assertThat(ParserHelper.parseDate(value)).isEqualTo(expected);
+    }
+  }
+
+  @Test
+  void testParseDateEmpty() {
+    assertThatExceptionOfType(InvalidDataEntryException.class)
+        .isThrownBy(() -> ParserHelper.parseDate(""))
+        .withMessage("Invalid date value: ");
+  }
+}
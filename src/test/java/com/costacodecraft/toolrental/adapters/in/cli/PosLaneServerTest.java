@@ -0,0 +1,123 @@
+package com.costacodecraft.toolrental.adapters.in.cli;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.costacodecraft.toolrental.adapters.out.persistence.InMemoryOrderRepository;
+import com.costacodecraft.toolrental.adapters.out.persistence.InMemoryToolRepository;
+import com.costacodecraft.toolrental.application.domain.model.BrandName;
+import com.costacodecraft.toolrental.application.domain.model.Price;
+import com.costacodecraft.toolrental.application.domain.model.Tool;
+import com.costacodecraft.toolrental.application.domain.model.Tool.ToolId;
+import com.costacodecraft.toolrental.application.domain.model.ToolType;
+import com.costacodecraft.toolrental.application.domain.service.CheckoutPricer;
+import com.costacodecraft.toolrental.application.domain.service.CheckoutService;
+import com.costacodecraft.toolrental.application.domain.service.CheckoutValidator;
+import com.costacodecraft.toolrental.application.domain.service.CreateOrderService;
+import com.costacodecraft.toolrental.application.domain.service.GetChargeableDaysService;
+import com.costacodecraft.toolrental.application.domain.service.GetHolidayService;
+import com.costacodecraft.toolrental.application.domain.service.GetOrderService;
+import com.costacodecraft.toolrental.application.domain.service.GetToolService;
+import com.costacodecraft.toolrental.application.domain.service.IdempotencyIndex;
+import com.costacodecraft.toolrental.application.port.out.OrderRepository;
+import com.costacodecraft.toolrental.application.port.out.ToolRepository;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PosLaneServerTest {
+
+  private PosLaneServer server;
+  private InetSocketAddress address;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    ToolRepository toolRepository = new InMemoryToolRepository();
+    toolRepository.addTool(new Tool(new ToolId("LADW"), ToolType.LADDER, BrandName.WERNER,
+        Price.newBuilder()
+            .dailyCharge(1.99)
+            .weekdayCharge(true)
+            .weekendCharge(true)
+            .holidayCharge(false)
+            .build()));
+    OrderRepository orderRepository = new InMemoryOrderRepository();
+    CheckoutPricer checkoutPricer = new CheckoutPricer(toolRepository,
+        new GetChargeableDaysService(new GetHolidayService()), new CheckoutValidator());
+    CheckoutService checkoutService = new CheckoutService(checkoutPricer,
+        new CreateOrderService(orderRepository),
+        new IdempotencyIndex(1000, Duration.ofHours(1)));
+    server = new PosLaneServer(checkoutService, new GetOrderService(orderRepository),
+        new GetToolService(toolRepository));
+    address = server.start(0, 2);
+  }
+
+  @AfterEach
+  void tearDown() {
+    server.stop();
+  }
+
+  @Test
+  void testLanesCheckOutConcurrently() throws Exception {
+    try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+      List<Future<String>> lanes = new ArrayList<>();
+      lanes.add(executor.submit(() -> session("1\nLADW\n3 10 7/2/20\n3\n")));
+      lanes.add(executor.submit(() -> session("1\nLADW\n5 0 9/3/15\n3\n")));
+
+      assertThat(lanes.get(0).get())
+          .contains("Checkout Date: 7/2/20")
+          .doesNotContain("Checkout Date: 9/3/15")
+          .endsWith("Exiting...\n");
+      assertThat(lanes.get(1).get())
+          .contains("Checkout Date: 9/3/15")
+          .doesNotContain("Checkout Date: 7/2/20")
+          .endsWith("Exiting...\n");
+    }
+  }
+
+  @Test
+  void testErrorsStayInTheirLane() throws Exception {
+    assertThat(session("1\nLADW\n3 101 7/2/20\n3\n"))
+        .contains("Discount percent must be between 0 and 100")
+        .endsWith("Exiting...\n");
+  }
+
+  @Test
+  void testRejectsSessionsOverTheLimit() throws Exception {
+    try (Socket first = new Socket(address.getAddress(), address.getPort());
+        Socket second = new Socket(address.getAddress(), address.getPort());
+        Socket third = new Socket(address.getAddress(), address.getPort())) {
+      BufferedReader firstIn = reader(first);
+      BufferedReader secondIn = reader(second);
+      assertThat(firstIn.readLine()).contains("****");
+      assertThat(secondIn.readLine()).contains("****");
+
+      assertThat(reader(third).readLine()).isEqualTo(PosLaneServer.BUSY_MESSAGE);
+    }
+  }
+
+  private String session(String input) throws IOException {
+    try (Socket socket = new Socket(address.getAddress(), address.getPort())) {
+      PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+      out.print(input);
+      out.flush();
+      return new String(socket.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+    }
+  }
+
+  private static BufferedReader reader(Socket socket) throws IOException {
+    return new BufferedReader(new InputStreamReader(socket.getInputStream(),
+        StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,129 @@
+package com.costacodecraft.toolrental.adapters.in.export;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import com.costacodecraft.toolrental.ToolRentalApplication;
+import com.costacodecraft.toolrental.adapters.out.persistence.InMemoryOrderRepository;
+import com.costacodecraft.toolrental.application.domain.model.BrandName;
+import com.costacodecraft.toolrental.application.domain.model.Order;
+import com.costacodecraft.toolrental.application.domain.model.Order.OrderId;
+import com.costacodecraft.toolrental.application.domain.model.RentalAgreement;
+import com.costacodecraft.toolrental.application.domain.model.ToolType;
+import com.costacodecraft.toolrental.application.domain.service.GetOrderService;
+import com.costacodecraft.toolrental.application.port.out.OrderRepository;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.SpringApplication;
+
+class OrderExportRunnerTest {
+
+  private static final UUID ORDER_ID = UUID.fromString("0f0e0d0c-0b0a-4908-8706-050403020100");
+
+  @TempDir
+  Path tempDir;
+
+  private OrderRepository orderRepository;
+  private OrderExportRunner orderExportRunner;
+
+  @BeforeEach
+  void setUp() {
+    orderRepository = new InMemoryOrderRepository();
+    orderRepository.createOrder(order());
+    orderExportRunner = new OrderExportRunner(new GetOrderService(orderRepository), "orders.bin");
+  }
+
+  @Test
+  void testExportModeExportsTheOrdersFile() throws IOException {
+    Path ordersFile = tempDir.resolve("orders.bin");
+    InMemoryOrderRepository earlierRun = new InMemoryOrderRepository(ordersFile.toString());
+    earlierRun.createOrder(order());
+    earlierRun.close();
+    Path output = tempDir.resolve("orders.csv");
+
+    SpringApplication.run(ToolRentalApplication.class,
+        "--toolrental.orders.file=" + ordersFile, "--export=" + output).close();
+
+    assertThat(Files.readAllLines(output)).hasSize(2).last().asString().startsWith(ORDER_ID + ",");
+  }
+
+  @Test
+  void testExportWithoutOrdersFileIsRejected() {
+    OrderExportRunner runner = new OrderExportRunner(new GetOrderService(orderRepository), "");
+
+    assertThatIllegalArgumentException().isThrownBy(() -> runner.run(
+            new DefaultApplicationArguments("--export=" + tempDir.resolve("orders.csv"))))
+        .withMessageContaining("toolrental.orders.file");
+  }
+
+  @Test
+  void testCsvExport() throws IOException {
+    Path output = tempDir.resolve("orders.csv");
+
+    long count = orderExportRunner.export(output);
+
+    assertThat(count).isEqualTo(1);
+    assertThat(Files.readAllLines(output)).containsExactly(
+        "orderId,toolCode,toolType,toolBrand,rentalDays,checkoutDate,returnDate,"
+            + "dailyChargeAmount,chargeDays,preDiscountAmount,discountPercent,discountAmount,"
+            + "finalChargeAmount",
+        ORDER_ID + ",\"LA,DW\",LADDER,WERNER,3,2020-07-02,2020-07-05,1.99,2,3.98,10,0.40,3.58");
+  }
+
+  @Test
+  void testJsonLinesExport() throws IOException {
+    Path output = tempDir.resolve("orders.jsonl");
+
+    orderExportRunner.export(output);
+
+    assertThat(Files.readAllLines(output)).containsExactly("{\"orderId\":\"" + ORDER_ID
+        + "\",\"toolCode\":\"LA,DW\",\"toolType\":\"LADDER\",\"toolBrand\":\"WERNER\","
+        + "\"rentalDays\":3,\"checkoutDate\":\"2020-07-02\",\"returnDate\":\"2020-07-05\","
+        + "\"dailyChargeAmount\":1.99,\"chargeDays\":2,\"preDiscountAmount\":3.98,"
+        + "\"discountPercent\":10,\"discountAmount\":0.40,\"finalChargeAmount\":3.58}");
+  }
+
+  @Test
+  void testExportsEveryOrderById() throws IOException {
+    for (int i = 0; i < 2500; i++) {
+      orderRepository.createOrder(new Order(OrderId.autoGenerate(), order().rentalAgreement()));
+    }
+    Path output = tempDir.resolve("orders.csv");
+
+    long count = orderExportRunner.export(output);
+
+    assertThat(count).isEqualTo(2501);
+    List<String> lines = Files.readAllLines(output);
+    assertThat(lines).hasSize(2502).doesNotHaveDuplicates();
+    assertThat(lines.subList(1, lines.size()).stream()
+        .map(line -> UUID.fromString(line.substring(0, line.indexOf(','))))
+        .toList()).isSorted();
+  }
+
+  private static Order order() {
+    return new Order(new OrderId(ORDER_ID), RentalAgreement.newBuilder()
+        .toolCode("LA,DW")
+        .toolType(ToolType.LADDER)
+        .toolBrand(BrandName.WERNER)
+        .rentalDays(3)
+        .checkoutDate(LocalDate.of(2020, Month.JULY, 2))
+        .returnDate(LocalDate.of(2020, Month.JULY, 5))
+        .dailyChargeAmount(1.99)
+        .chargeDays(2)
+        .preDiscountAmount(new BigDecimal("3.98"))
+        .discountPercent(10)
+        .discountAmount(new BigDecimal("0.40"))
+        .finalChargeAmount(new BigDecimal("3.58"))
+        .build());
+  }
+}
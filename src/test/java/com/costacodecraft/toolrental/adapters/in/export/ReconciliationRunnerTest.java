@@ -0,0 +1,111 @@
+package com.costacodecraft.toolrental.adapters.in.export;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import com.costacodecraft.toolrental.ToolRentalApplication;
+import com.costacodecraft.toolrental.adapters.out.persistence.DataLoader;
+import com.costacodecraft.toolrental.adapters.out.persistence.InMemoryOrderRepository;
+import com.costacodecraft.toolrental.adapters.out.persistence.InMemoryToolRepository;
+import com.costacodecraft.toolrental.application.domain.model.BrandName;
+import com.costacodecraft.toolrental.application.domain.model.Order;
+import com.costacodecraft.toolrental.application.domain.model.Order.OrderId;
+import com.costacodecraft.toolrental.application.domain.model.RentalAgreement;
+import com.costacodecraft.toolrental.application.domain.model.ToolType;
+import com.costacodecraft.toolrental.application.domain.service.AddToolService;
+import com.costacodecraft.toolrental.application.domain.service.CheckoutPricer;
+import com.costacodecraft.toolrental.application.domain.service.CheckoutValidator;
+import com.costacodecraft.toolrental.application.domain.service.GetChargeableDaysService;
+import com.costacodecraft.toolrental.application.domain.service.GetHolidayService;
+import com.costacodecraft.toolrental.application.domain.service.ReconcileOrdersService;
+import com.costacodecraft.toolrental.application.port.in.Reconciliation;
+import com.costacodecraft.toolrental.application.port.out.OrderRepository;
+import com.costacodecraft.toolrental.application.port.out.ToolRepository;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.SpringApplication;
+
+class ReconciliationRunnerTest {
+
+  private static final UUID ORDER_ID = UUID.fromString("0f0e0d0c-0b0a-4908-8706-050403020100");
+  private static final String HEADER = "orderId,toolCode,rentalDays,checkoutDate,chargeDays,"
+      + "finalChargeAmount,repricedChargeDays,repricedFinalChargeAmount";
+  private static final String DIFFERENCE =
+      "0f0e0d0c-0b0a-4908-8706-050403020100,LADW,3,2020-07-02,3,5.37,2,3.58";
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void testWritesChangedOrders() throws IOException {
+    ToolRepository toolRepository = new InMemoryToolRepository();
+    new DataLoader(new AddToolService(toolRepository)).loadData();
+    OrderRepository orderRepository = new InMemoryOrderRepository();
+    createOrders(orderRepository);
+    ReconciliationRunner runner = new ReconciliationRunner(new ReconcileOrdersService(
+        orderRepository, toolRepository, new CheckoutPricer(toolRepository,
+        new GetChargeableDaysService(new GetHolidayService()), new CheckoutValidator()), 2),
+        "orders.bin");
+    Path output = tempDir.resolve("differences.csv");
+
+    Reconciliation reconciliation = runner.reconcile(output);
+
+    assertThat(reconciliation).isEqualTo(new Reconciliation(2, 1, 0));
+    assertThat(Files.readAllLines(output)).containsExactly(HEADER, DIFFERENCE);
+  }
+
+  @Test
+  void testReconcileModeReconcilesTheOrdersFile() throws IOException {
+    Path ordersFile = tempDir.resolve("orders.bin");
+    InMemoryOrderRepository earlierRun = new InMemoryOrderRepository(ordersFile.toString());
+    createOrders(earlierRun);
+    earlierRun.close();
+    Path output = tempDir.resolve("differences.csv");
+
+    SpringApplication.run(ToolRentalApplication.class,
+        "--toolrental.orders.file=" + ordersFile, "--reconcile=" + output).close();
+
+    assertThat(Files.readAllLines(output)).containsExactly(HEADER, DIFFERENCE);
+  }
+
+  @Test
+  void testReconcileWithoutOrdersFileIsRejected() {
+    ReconciliationRunner runner = new ReconciliationRunner(difference -> null, "");
+
+    assertThatIllegalArgumentException().isThrownBy(() -> runner.run(
+            new DefaultApplicationArguments("--reconcile=" + tempDir.resolve("out.csv"))))
+        .withMessageContaining("toolrental.orders.file");
+  }
+
+  private static void createOrders(OrderRepository orderRepository) {
+    // stored as if July 3 had not been a holiday
+    orderRepository.createOrder(new Order(new OrderId(ORDER_ID), agreement(3, "5.37")));
+    orderRepository.createOrder(new Order(OrderId.autoGenerate(), agreement(2, "3.58")));
+  }
+
+  private static RentalAgreement agreement(int chargeDays, String finalChargeAmount) {
+    BigDecimal preDiscountAmount = BigDecimal.valueOf(199L * chargeDays, 2);
+    return RentalAgreement.newBuilder()
+        .toolCode("LADW")
+        .toolType(ToolType.LADDER)
+        .toolBrand(BrandName.WERNER)
+        .rentalDays(3)
+        .checkoutDate(LocalDate.of(2020, Month.JULY, 2))
+        .returnDate(LocalDate.of(2020, Month.JULY, 5))
+        .dailyChargeAmount(1.99)
+        .chargeDays(chargeDays)
+        .preDiscountAmount(preDiscountAmount)
+        .discountPercent(10)
+        .discountAmount(preDiscountAmount.subtract(new BigDecimal(finalChargeAmount)))
+        .finalChargeAmount(new BigDecimal(finalChargeAmount))
+        .build();
+  }
+}
@@ -0,0 +1,106 @@
+package com.costacodecraft.toolrental.adapters.in.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.costacodecraft.toolrental.adapters.in.web.AdmissionController.Permit;
+import com.costacodecraft.toolrental.adapters.in.web.AdmissionController.Priority;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class AdmissionControllerTest {
+
+  private final AdmissionController controller =
+      new AdmissionController(4, 2, 8, Duration.ofMillis(50), 0.5);
+
+  @Test
+  void testRejectsCheckoutsOverTheLimit() {
+    Permit first = controller.acquire(Priority.CHECKOUT);
+    for (int i = 1; i < 4; i++) {
+      controller.acquire(Priority.CHECKOUT);
+    }
+
+    assertThatExceptionOfType(HttpStatusException.class)
+        .isThrownBy(() -> controller.acquire(Priority.CHECKOUT))
+        .satisfies(e -> {
+          assertThat(e.getStatus()).isEqualTo(503);
+          assertThat(e.getHeaders()).containsKey("Retry-After");
+          assertThat(e.getStackTrace()).isEmpty();
+        });
+    assertThat(controller.getRejected()).isEqualTo(1);
+
+    first.close();
+    assertThat(controller.acquire(Priority.CHECKOUT)).isNotNull();
+    assertThat(controller.getInFlight()).isEqualTo(4);
+  }
+
+  @Test
+  void testShedsQuotesBeforeCheckouts() {
+    controller.acquire(Priority.QUOTE);
+    controller.acquire(Priority.QUOTE);
+
+    assertThatExceptionOfType(HttpStatusException.class)
+        .isThrownBy(() -> controller.acquire(Priority.QUOTE));
+    controller.acquire(Priority.CHECKOUT);
+    controller.acquire(Priority.CHECKOUT);
+    assertThat(controller.getInFlight()).isEqualTo(4);
+  }
+
+  @Test
+  void testClosingTwiceReleasesOnce() {
+    Permit permit = controller.acquire(Priority.CHECKOUT);
+    controller.acquire(Priority.CHECKOUT);
+
+    permit.close();
+    permit.close();
+
+    assertThat(controller.getInFlight()).isEqualTo(1);
+  }
+
+  @Test
+  void testDecreasesLimitOnSlowRequests() throws InterruptedException {
+    controller.onComplete(4, TimeUnit.SECONDS.toNanos(1));
+    assertThat(controller.getLimit()).isEqualTo(3);
+
+    // at most once per target latency
+    controller.onComplete(4, TimeUnit.SECONDS.toNanos(1));
+    assertThat(controller.getLimit()).isEqualTo(3);
+
+    for (int i = 0; i < 10; i++) {
+      Thread.sleep(60);
+      controller.onComplete(4, TimeUnit.SECONDS.toNanos(1));
+    }
+    assertThat(controller.getLimit()).isEqualTo(2);
+  }
+
+  @Test
+  void testIncreasesLimitOnFastRequestsAtTheLimit() {
+    for (int i = 0; i < 100; i++) {
+      controller.onComplete(0, TimeUnit.MILLISECONDS.toNanos(1));
+    }
+    assertThat(controller.getLimit()).isEqualTo(4);
+
+    for (int i = 0; i < 100; i++) {
+      controller.onComplete(controller.getLimit(), TimeUnit.MILLISECONDS.toNanos(1));
+    }
+    assertThat(controller.getLimit()).isEqualTo(8);
+  }
+
+  @Test
+  void testTimesDispatchedRequestsFromDispatch() throws InterruptedException {
+    List<Runnable> waiting = new ArrayList<>();
+    Executor executor = controller.admitting(waiting::add);
+    executor.execute(() -> controller.acquire(Priority.CHECKOUT).close());
+
+    // the wait for a thread counts as latency, so a slow queue backs the limit off
+    Thread.sleep(60);
+    waiting.forEach(Runnable::run);
+
+    assertThat(controller.getLimit()).isEqualTo(3);
+    assertThat(controller.getInFlight()).isZero();
+  }
+}
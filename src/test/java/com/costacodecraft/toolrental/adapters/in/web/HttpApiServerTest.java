@@ -0,0 +1,344 @@
+package com.costacodecraft.toolrental.adapters.in.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.costacodecraft.toolrental.adapters.in.web.AdmissionController.Permit;
+import com.costacodecraft.toolrental.adapters.in.web.AdmissionController.Priority;
+import com.costacodecraft.toolrental.adapters.out.metrics.MicrometerCheckoutMetrics;
+import com.costacodecraft.toolrental.adapters.out.persistence.InMemoryOrderRepository;
+import com.costacodecraft.toolrental.adapters.out.persistence.InMemoryToolRepository;
+import com.costacodecraft.toolrental.application.domain.model.BrandName;
+import com.costacodecraft.toolrental.application.domain.model.Price;
+import com.costacodecraft.toolrental.application.domain.model.Tool;
+import com.costacodecraft.toolrental.application.domain.model.Tool.ToolId;
+import com.costacodecraft.toolrental.application.domain.model.ToolType;
+import com.costacodecraft.toolrental.application.domain.service.AmendRentalService;
+import com.costacodecraft.toolrental.application.domain.service.CheckoutPipeline;
+import com.costacodecraft.toolrental.application.domain.service.CheckoutPricer;
+import com.costacodecraft.toolrental.application.domain.service.CheckoutService;
+import com.costacodecraft.toolrental.application.domain.service.CheckoutValidator;
+import com.costacodecraft.toolrental.application.domain.service.CreateOrderService;
+import com.costacodecraft.toolrental.application.domain.service.GetChargeableDaysService;
+import com.costacodecraft.toolrental.application.domain.service.GetHolidayService;
+import com.costacodecraft.toolrental.application.domain.service.GetOrderService;
+import com.costacodecraft.toolrental.application.domain.service.GetToolService;
+import com.costacodecraft.toolrental.application.domain.service.IdempotencyIndex;
+import com.costacodecraft.toolrental.application.domain.service.QuoteService;
+import com.costacodecraft.toolrental.application.domain.service.RentalRollups;
+import com.costacodecraft.toolrental.application.domain.service.TopTools;
+import com.costacodecraft.toolrental.application.port.out.OrderRepository;
+import com.costacodecraft.toolrental.application.port.out.ToolRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class HttpApiServerTest {
+
+  private final ObjectMapper objectMapper = JsonMapper.builder()
+      .findAndAddModules()
+      .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+      .build();
+  private final HttpClient client = HttpClient.newHttpClient();
+  private final PrometheusMeterRegistry meterRegistry =
+      new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+  private OrderRepository orderRepository;
+  private CheckoutPipeline checkoutPipeline;
+  private final AdmissionController admissionController =
+      new AdmissionController(32, 4, 256, Duration.ofMillis(50), 0.75);
+  private HttpApiServer server;
+  private URI baseUri;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    ToolRepository toolRepository = new InMemoryToolRepository();
+    toolRepository.addTool(new Tool(new ToolId("LADW"), ToolType.LADDER, BrandName.WERNER,
+        Price.newBuilder()
+            .dailyCharge(1.99)
+            .weekdayCharge(true)
+            .weekendCharge(true)
+            .holidayCharge(false)
+            .build()));
+    orderRepository = new InMemoryOrderRepository();
+    CheckoutPricer checkoutPricer = new CheckoutPricer(toolRepository,
+        new GetChargeableDaysService(new GetHolidayService()), new CheckoutValidator(),
+        new MicrometerCheckoutMetrics(meterRegistry, 1));
+    RentalRollups rentalRollups = new RentalRollups();
+    TopTools topTools = new TopTools(7, 64, 1024);
+    CreateOrderService createOrderService = new CreateOrderService(orderRepository,
+        new MicrometerCheckoutMetrics(meterRegistry, 1), List.of(rentalRollups, topTools));
+    IdempotencyIndex idempotencyIndex = new IdempotencyIndex(1000, Duration.ofHours(1));
+    CheckoutService checkoutService = new CheckoutService(checkoutPricer, createOrderService,
+        idempotencyIndex);
+    checkoutPipeline = new CheckoutPipeline(checkoutPricer, createOrderService, idempotencyIndex,
+        1, 16, 16);
+    AmendRentalService amendRentalService = new AmendRentalService(orderRepository,
+        new GetChargeableDaysService(new GetHolidayService()),
+        List.of(rentalRollups, topTools));
+    server = new HttpApiServer(checkoutService, checkoutPipeline,
+        new GetOrderService(orderRepository), amendRentalService,
+        new GetToolService(toolRepository),
+        new QuoteService(checkoutPricer), rentalRollups, topTools,
+        admissionController, meterRegistry,
+        objectMapper, Duration.ofSeconds(10));
+    InetSocketAddress address = server.start(0);
+    baseUri = URI.create("http://127.0.0.1:" + address.getPort());
+  }
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    server.stop();
+    checkoutPipeline.destroy();
+  }
+
+  @Test
+  void testCheckoutAndGetOrder() throws Exception {
+    HttpResponse<String> checkout = post("/checkout", """
+        {"toolCode":"LADW","rentalDays":3,"discountPercentage":10,"checkoutDate":"2020-07-02"}
+        """);
+
+    assertThat(checkout.statusCode()).isEqualTo(201);
+    JsonNode order = objectMapper.readTree(checkout.body());
+    assertThat(order.get("returnDate").asText()).isEqualTo("2020-07-05");
+    assertThat(order.get("finalChargeAmount").decimalValue()).isEqualByComparingTo("3.58");
+
+    HttpResponse<String> found = get("/orders/" + order.get("id").asText());
+    assertThat(found.statusCode()).isEqualTo(200);
+    assertThat(objectMapper.readTree(found.body())).isEqualTo(order);
+  }
+
+  @Test
+  void testExtendAndReturnOrder() throws Exception {
+    HttpResponse<String> checkout = post("/checkout", """
+        {"toolCode":"LADW","rentalDays":3,"discountPercentage":10,"checkoutDate":"2020-07-02"}
+        """);
+    String path = "/orders/" + objectMapper.readTree(checkout.body()).get("id").asText();
+
+    HttpResponse<String> extended = post(path + "/extend", "{\"extraDays\":2}");
+    HttpResponse<String> returned = post(path + "/return", "{\"returnDate\":\"2020-07-06\"}");
+
+    assertThat(extended.statusCode()).isEqualTo(200);
+    JsonNode order = objectMapper.readTree(extended.body());
+    assertThat(order.get("returnDate").asText()).isEqualTo("2020-07-07");
+    assertThat(order.get("chargeDays").asInt()).isEqualTo(4);
+    assertThat(returned.statusCode()).isEqualTo(200);
+    order = objectMapper.readTree(returned.body());
+    assertThat(order.get("rentalDays").asInt()).isEqualTo(4);
+    assertThat(order.get("finalChargeAmount").decimalValue()).isEqualByComparingTo("5.37");
+    assertThat(order.get("returned").asBoolean()).isTrue();
+    assertThat(objectMapper.readTree(get(path).body())).isEqualTo(order);
+    assertThat(post(path + "/extend", "{\"extraDays\":1}").statusCode()).isEqualTo(409);
+    assertThat(post(path + "/return", "{\"returnDate\":\"2020-07-07\"}").statusCode())
+        .isEqualTo(409);
+    assertThat(post(path + "/extend", "{\"extraDays\":0}").statusCode()).isEqualTo(400);
+    assertThat(post(path + "/return", "{}").statusCode()).isEqualTo(400);
+    assertThat(get(path + "/extend").statusCode()).isEqualTo(405);
+  }
+
+  @Test
+  void testOnlyCheckoutsAndQuotesAreShed() throws Exception {
+    List<Permit> permits = new ArrayList<>();
+    for (int i = 0; i < admissionController.getLimit(); i++) {
+      permits.add(admissionController.acquire(Priority.CHECKOUT));
+    }
+
+    HttpResponse<String> checkout = post("/checkout", """
+        {"toolCode":"LADW","rentalDays":3,"discountPercentage":10,"checkoutDate":"2020-07-02"}
+        """);
+    HttpResponse<String> tools = get("/tools");
+    permits.forEach(Permit::close);
+
+    assertThat(checkout.statusCode()).isEqualTo(503);
+    assertThat(checkout.headers().firstValue("Retry-After")).contains("1");
+    assertThat(tools.statusCode()).isEqualTo(200);
+  }
+
+  @Test
+  void testIdempotencyKeyReturnsOriginalOrder() throws Exception {
+    String body = """
+        {"toolCode":"LADW","rentalDays":3,"discountPercentage":10,"checkoutDate":"2020-07-02"}
+        """;
+    HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("/checkout"))
+        .header("Content-Type", "application/json")
+        .header("Idempotency-Key", "lane-1-receipt-42")
+        .POST(BodyPublishers.ofString(body))
+        .build();
+
+    HttpRequest reused = HttpRequest.newBuilder(request, (name, value) -> true)
+        .POST(BodyPublishers.ofString(body.replace("\"rentalDays\":3", "\"rentalDays\":4")))
+        .build();
+
+    HttpResponse<String> first = client.send(request, BodyHandlers.ofString());
+    HttpResponse<String> retried = client.send(request, BodyHandlers.ofString());
+    HttpResponse<String> rejected = client.send(reused, BodyHandlers.ofString());
+
+    assertThat(first.statusCode()).isEqualTo(201);
+    assertThat(objectMapper.readTree(retried.body()).get("id"))
+        .isEqualTo(objectMapper.readTree(first.body()).get("id"));
+    assertThat(rejected.statusCode()).isEqualTo(422);
+    assertThat(orderRepository.findAll()).hasSize(1);
+  }
+
+  @Test
+  void testBatchCheckoutIsAllOrNothing() throws Exception {
+    HttpResponse<String> accepted = post("/checkout/batch", """
+        [{"toolCode":"LADW","rentalDays":3,"discountPercentage":10,"checkoutDate":"2020-07-02"},
+         {"toolCode":"LADW","rentalDays":5,"discountPercentage":0,"checkoutDate":"2015-09-03"}]
+        """);
+    HttpResponse<String> rejected = post("/checkout/batch", """
+        [{"toolCode":"LADW","rentalDays":3,"discountPercentage":10,"checkoutDate":"2020-07-02"},
+         {"toolCode":"LADW","rentalDays":3,"discountPercentage":101,"checkoutDate":"2020-07-02"}]
+        """);
+
+    assertThat(accepted.statusCode()).isEqualTo(201);
+    assertThat(objectMapper.readTree(accepted.body())).hasSize(2);
+    assertThat(rejected.statusCode()).isEqualTo(400);
+    assertThat(objectMapper.readTree(rejected.body()).get("error").asText())
+        .contains("Discount percent");
+  }
+
+  @Test
+  void testQuoteDoesNotCreateOrders() throws Exception {
+    HttpResponse<String> quote = post("/quote", """
+        {"toolCode":"LADW","rentalDays":3,"discountPercentage":10,"checkoutDate":"2020-07-02"}
+        """);
+    HttpResponse<String> batch = post("/quote/batch", """
+        [{"toolCode":"LADW","rentalDays":3,"discountPercentage":10,"checkoutDate":"2020-07-02"},
+         {"toolCode":"LADW","rentalDays":5,"discountPercentage":0,"checkoutDate":"2015-09-03"}]
+        """);
+
+    assertThat(quote.statusCode()).isEqualTo(200);
+    JsonNode agreement = objectMapper.readTree(quote.body());
+    assertThat(agreement.has("id")).isFalse();
+    assertThat(agreement.get("finalChargeAmount").decimalValue()).isEqualByComparingTo("3.58");
+    assertThat(batch.statusCode()).isEqualTo(200);
+    assertThat(objectMapper.readTree(batch.body()).get(1).get("chargeDays").asInt()).isEqualTo(4);
+    assertThat(orderRepository.findAll()).isEmpty();
+  }
+
+  @Test
+  void testErrors() throws Exception {
+    assertThat(post("/checkout", "{\"toolCode\":\"NONE\",\"rentalDays\":3,"
+        + "\"discountPercentage\":10,\"checkoutDate\":\"2020-07-02\"}").statusCode())
+        .isEqualTo(400);
+    assertThat(post("/checkout", "{not json").statusCode()).isEqualTo(400);
+    assertThat(post("/checkout", "{\"rentalDays\":3}").statusCode()).isEqualTo(400);
+    assertThat(get("/orders/00000000-0000-0000-0000-000000000000").statusCode()).isEqualTo(404);
+    assertThat(get("/orders/nope").statusCode()).isEqualTo(404);
+    assertThat(get("/checkout").statusCode()).isEqualTo(405);
+  }
+
+  @Test
+  void testGetTools() throws Exception {
+    HttpResponse<String> response = get("/tools");
+
+    assertThat(response.statusCode()).isEqualTo(200);
+    JsonNode tools = objectMapper.readTree(response.body());
+    assertThat(tools).hasSize(1);
+    assertThat(tools.get(0).get("code").asText()).isEqualTo("LADW");
+    assertThat(tools.get(0).get("holidayCharge").asBoolean()).isFalse();
+  }
+
+  @Test
+  void testGetRollups() throws Exception {
+    post("/checkout/batch", """
+        [{"toolCode":"LADW","rentalDays":3,"discountPercentage":10,"checkoutDate":"2020-07-02"},
+         {"toolCode":"LADW","rentalDays":5,"discountPercentage":0,"checkoutDate":"2020-09-30"},
+         {"toolCode":"LADW","rentalDays":5,"discountPercentage":0,"checkoutDate":"2020-10-01"}]
+        """);
+
+    HttpResponse<String> totals = get("/rollups?from=2020-07-01&to=2020-09-30");
+    HttpResponse<String> byType = get("/rollups?from=2020-07-01&to=2020-09-30&by=type");
+
+    assertThat(totals.statusCode()).isEqualTo(200);
+    JsonNode total = objectMapper.readTree(totals.body());
+    assertThat(total.get("rentals").asLong()).isEqualTo(2);
+    assertThat(total.get("chargeDays").asLong()).isEqualTo(7);
+    assertThat(total.get("revenue").decimalValue()).isEqualByComparingTo("13.53");
+    assertThat(total.get("discount").decimalValue()).isEqualByComparingTo("0.40");
+    assertThat(objectMapper.readTree(byType.body()).get("Ladder").get("rentals").asLong())
+        .isEqualTo(2);
+    assertThat(get("/rollups?from=2020-07-01").statusCode()).isEqualTo(400);
+    assertThat(get("/rollups?from=2020-10-01&to=2020-07-01").statusCode()).isEqualTo(400);
+    assertThat(get("/rollups?from=2020-07-01&to=2020-09-30&by=day").statusCode())
+        .isEqualTo(400);
+  }
+
+  @Test
+  void testGetTopTools() throws Exception {
+    post("/checkout/batch", """
+        [{"toolCode":"LADW","rentalDays":3,"discountPercentage":10,"checkoutDate":"2020-07-02"},
+         {"toolCode":"LADW","rentalDays":5,"discountPercentage":0,"checkoutDate":"2020-07-08"}]
+        """);
+
+    HttpResponse<String> response = get("/top-tools?end=2020-07-08&count=5");
+    HttpResponse<String> byChargeDays = get("/top-tools?end=2020-07-04&by=charge-days");
+
+    assertThat(response.statusCode()).isEqualTo(200);
+    JsonNode tools = objectMapper.readTree(response.body());
+    assertThat(tools).hasSize(1);
+    assertThat(tools.get(0).get("toolCode").asText()).isEqualTo("LADW");
+    assertThat(tools.get(0).get("revenue").decimalValue()).isEqualByComparingTo("13.53");
+    assertThat(tools.get(0).get("exact").asBoolean()).isTrue();
+    assertThat(objectMapper.readTree(byChargeDays.body()).get(0).get("chargeDays").asLong())
+        .isEqualTo(2);
+    assertThat(get("/top-tools?count=1000").statusCode()).isEqualTo(400);
+    assertThat(get("/top-tools?by=rentals").statusCode()).isEqualTo(400);
+  }
+
+  @Test
+  void testMetrics() throws Exception {
+    post("/checkout", """
+        {"toolCode":"LADW","rentalDays":3,"discountPercentage":10,"checkoutDate":"2020-07-02"}
+        """);
+    post("/checkout", """
+        {"toolCode":"LADW","rentalDays":3,"discountPercentage":101,"checkoutDate":"2020-07-02"}
+        """);
+    post("/quote", """
+        {"toolCode":"LADW","rentalDays":4,"discountPercentage":10,"checkoutDate":"2020-07-02"}
+        """);
+    post("/quote", """
+        {"toolCode":"LADW","rentalDays":4,"discountPercentage":101,"checkoutDate":"2020-07-02"}
+        """);
+
+    HttpResponse<String> metrics = get("/metrics");
+
+    assertThat(metrics.statusCode()).isEqualTo(200);
+    assertThat(metrics.headers().firstValue("Content-Type")).hasValueSatisfying(
+        contentType -> assertThat(contentType).startsWith("text/plain"));
+    assertThat(metrics.body())
+        .contains("toolrental_checkout_stage_seconds_count{stage=\"validation\"} 1")
+        .contains("toolrental_checkout_stage_seconds_count{stage=\"order-creation\"} 1")
+        .contains("toolrental_checkout_priced_total{type=\"ladder\"} 1")
+        .contains("toolrental_checkout_latency_seconds_bucket{type=\"ladder\"")
+        .contains("toolrental_checkout_errors_total{exception=\"InvalidDiscountException\"} 1");
+  }
+
+  private HttpResponse<String> get(String path) throws Exception {
+    return client.send(HttpRequest.newBuilder(baseUri.resolve(path)).GET().build(),
+        BodyHandlers.ofString());
+  }
+
+  private HttpResponse<String> post(String path, String body) throws Exception {
+    return client.send(HttpRequest.newBuilder(baseUri.resolve(path))
+        .header("Content-Type", "application/json")
+        .POST(BodyPublishers.ofString(body))
+        .build(), BodyHandlers.ofString());
+  }
+}
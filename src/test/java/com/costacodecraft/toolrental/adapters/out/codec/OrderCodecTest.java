@@ -0,0 +1,207 @@
+package com.costacodecraft.toolrental.adapters.out.codec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import com.costacodecraft.toolrental.application.domain.model.BrandName;
+import com.costacodecraft.toolrental.application.domain.model.Order;
+import com.costacodecraft.toolrental.application.domain.model.Order.OrderId;
+import com.costacodecraft.toolrental.application.domain.model.RentalAgreement;
+import com.costacodecraft.toolrental.application.domain.model.ToolType;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+class OrderCodecTest {
+
+  // version 1 encoding of agreement(), kept to make sure old records stay readable
+  private static final byte[] VERSION_1 = bytes(
+      0x01, 0x15, 0x04, 'L', 'A', 'D', 'W', 0x01, 0x01, 0x03, 0x9A, 0xA0, 0x02, 0x06, 0x8E, 0x03,
+      0x02, 0x9C, 0x06, 0x0A, 0x50, 0xCC, 0x05);
+  // version 2 adds the flags of the kinds of days charged and of the return
+  private static final byte[] VERSION_2 = bytes(
+      0x02, 0x16, 0x04, 'L', 'A', 'D', 'W', 0x01, 0x01, 0x03, 0x9A, 0xA0, 0x02, 0x06, 0x8E, 0x03,
+      0x02, 0x9C, 0x06, 0x0A, 0x50, 0xCC, 0x05, 0x07);
+
+  @Test
+  void testRoundTrip() {
+    Order order = new Order(OrderId.autoGenerate(), agreement());
+    ByteBuffer buffer = ByteBuffer.allocate(64);
+
+    OrderCodec.encode(order, buffer);
+    buffer.flip();
+
+    assertThat(OrderCodec.decodeOrder(buffer)).isEqualTo(order);
+    assertThat(buffer.hasRemaining()).isFalse();
+  }
+
+  @Test
+  void testAgreementIsSmallerThan40Bytes() {
+    ByteBuffer buffer = ByteBuffer.allocate(64);
+
+    OrderCodec.encode(agreement(), buffer);
+
+    assertThat(buffer.position()).isLessThan(40);
+  }
+
+  @Test
+  void testVersion1RecordIsStillReadable() {
+    ByteBuffer buffer = ByteBuffer.allocate(64);
+    OrderCodec.encode(agreement(), buffer);
+
+    assertThat(Arrays.copyOf(buffer.array(), buffer.position())).isEqualTo(VERSION_2);
+    assertThat(OrderCodec.decodeRentalAgreement(ByteBuffer.wrap(VERSION_1)))
+        .isEqualTo(agreement());
+  }
+
+  @Test
+  void testFlagsRoundTrip() {
+    RentalAgreement original = agreement();
+    RentalAgreement agreement = new RentalAgreement(original.toolCode(), original.toolType(),
+        original.toolBrand(), original.rentalDays(), original.checkoutDate(),
+        original.returnDate(), original.dailyChargeAmount(), original.chargeDays(),
+        original.preDiscountAmount(), original.discountPercent(), original.discountAmount(),
+        original.finalChargeAmount(), true, false, false, true);
+    ByteBuffer buffer = ByteBuffer.allocate(64);
+
+    OrderCodec.encode(agreement, buffer);
+    buffer.flip();
+
+    assertThat(OrderCodec.decodeRentalAgreement(buffer)).isEqualTo(agreement);
+  }
+
+  @Test
+  void testFieldsAppendedByNewerVersionAreSkipped() {
+    // a version 3 record with two unknown trailing bytes, followed by another record
+    byte[] newer = Arrays.copyOf(VERSION_2, VERSION_2.length + 2);
+    newer[0] = 3;
+    newer[1] = (byte) (VERSION_2[1] + 2);
+    ByteBuffer buffer = ByteBuffer.allocate(64).put(newer).put(VERSION_1).flip();
+
+    assertThat(OrderCodec.decodeRentalAgreement(buffer)).isEqualTo(agreement());
+    assertThat(OrderCodec.decodeRentalAgreement(buffer)).isEqualTo(agreement());
+  }
+
+  @Test
+  void testUnsupportedVersionIsRejected() {
+    byte[] invalid = VERSION_1.clone();
+    invalid[0] = 0;
+
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> OrderCodec.decodeRentalAgreement(ByteBuffer.wrap(invalid)))
+        .withMessage("Unsupported rental agreement version: 0");
+  }
+
+  @Test
+  void testOutOfRangeOrdinalsAreRejected() {
+    byte[] toolType = VERSION_1.clone();
+    toolType[7] = 0x7F;
+    byte[] toolBrand = VERSION_1.clone();
+    toolBrand[8] = 0x7F;
+
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> OrderCodec.decodeRentalAgreement(ByteBuffer.wrap(toolType)))
+        .withMessageContaining("ToolType");
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> OrderCodec.decodeRentalAgreement(ByteBuffer.wrap(toolBrand)))
+        .withMessageContaining("BrandName");
+  }
+
+  @Test
+  void testTruncatedRecordsAreRejected() {
+    byte[] longerBody = VERSION_1.clone();
+    longerBody[1] = 0x40;
+
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> OrderCodec.decodeRentalAgreement(ByteBuffer.wrap(longerBody)))
+        .withMessageStartingWith("Truncated rental agreement");
+    assertThatIllegalArgumentException().isThrownBy(() -> OrderCodec.decodeRentalAgreement(
+        ByteBuffer.wrap(Arrays.copyOf(VERSION_1, 1))));
+    assertThatIllegalArgumentException().isThrownBy(() -> OrderCodec.decodeRentalAgreement(
+        ByteBuffer.allocate(0)));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> OrderCodec.decodeOrder(ByteBuffer.allocate(Long.BYTES)));
+  }
+
+  @Test
+  void testShortBodyIsNotReadIntoNextRecord() {
+    byte[] shorterBody = VERSION_1.clone();
+    shorterBody[1] = 0x0A;
+    ByteBuffer buffer = ByteBuffer.allocate(64).put(shorterBody).put(VERSION_1).flip();
+    byte[] longString = VERSION_1.clone();
+    longString[2] = 0x7F;
+
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> OrderCodec.decodeRentalAgreement(buffer))
+        .withMessageStartingWith("Corrupt rental agreement");
+    assertThat(buffer.limit()).isEqualTo(2 * VERSION_1.length);
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> OrderCodec.decodeRentalAgreement(ByteBuffer.wrap(longString)));
+  }
+
+  @Test
+  void testLongBodyLength() {
+    RentalAgreement agreement = RentalAgreement.newBuilder()
+        .toolCode("T".repeat(200))
+        .toolType(ToolType.CHAINSAW)
+        .toolBrand(BrandName.STIHL)
+        .rentalDays(3650)
+        .checkoutDate(LocalDate.of(2020, Month.JULY, 2))
+        .returnDate(LocalDate.of(2020, Month.JULY, 2).plusDays(3650))
+        .dailyChargeAmount(1.49)
+        .chargeDays(2600)
+        .preDiscountAmount(new BigDecimal("3874.00"))
+        .discountPercent(0)
+        .discountAmount(new BigDecimal("0.00"))
+        .finalChargeAmount(new BigDecimal("3874.00"))
+        .build();
+    ByteBuffer buffer = ByteBuffer.allocate(512);
+
+    OrderCodec.encode(agreement, buffer);
+    buffer.flip();
+
+    assertThat(OrderCodec.decodeRentalAgreement(buffer)).isEqualTo(agreement);
+  }
+
+  @Test
+  void testFractionalCentsAreRejected() {
+    RentalAgreement original = agreement();
+    RentalAgreement agreement = new RentalAgreement(original.toolCode(), original.toolType(),
+        original.toolBrand(), original.rentalDays(), original.checkoutDate(),
+        original.returnDate(), 1.995, original.chargeDays(), original.preDiscountAmount(),
+        original.discountPercent(), original.discountAmount(), original.finalChargeAmount(),
+        original.weekdayCharge(), original.weekendCharge(), original.holidayCharge(),
+        original.returned());
+
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> OrderCodec.encode(agreement, ByteBuffer.allocate(64)));
+  }
+
+  private static RentalAgreement agreement() {
+    return RentalAgreement.newBuilder()
+        .toolCode("LADW")
+        .toolType(ToolType.LADDER)
+        .toolBrand(BrandName.WERNER)
+        .rentalDays(3)
+        .checkoutDate(LocalDate.of(2020, Month.JULY, 2))
+        .returnDate(LocalDate.of(2020, Month.JULY, 5))
+        .dailyChargeAmount(1.99)
+        .chargeDays(2)
+        .preDiscountAmount(new BigDecimal("3.98"))
+        .discountPercent(10)
+        .discountAmount(new BigDecimal("0.40"))
+        .finalChargeAmount(new BigDecimal("3.58"))
+        .build();
+  }
+
+  private static byte[] bytes(int... values) {
+    byte[] bytes = new byte[values.length];
+    for (int i = 0; i < values.length; i++) {
+      bytes[i] = (byte) values[i];
+    }
+    return bytes;
+  }
+}
@@ -0,0 +1,127 @@
+package com.costacodecraft.toolrental.adapters.out.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.costacodecraft.toolrental.application.domain.model.BrandName;
+import com.costacodecraft.toolrental.application.domain.model.Order;
+import com.costacodecraft.toolrental.application.domain.model.Order.OrderId;
+import com.costacodecraft.toolrental.application.domain.model.RentalAgreement;
+import com.costacodecraft.toolrental.application.domain.model.ToolType;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class InMemoryOrderRepositoryTest {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void testOrdersOutliveTheRepository() throws IOException {
+    Path ordersFile = tempDir.resolve("orders.bin");
+    List<Order> orders = new ArrayList<>();
+    for (int i = 1; i <= 1000; i++) {
+      orders.add(order(OrderId.autoGenerate(), i));
+    }
+    InMemoryOrderRepository repository = new InMemoryOrderRepository(ordersFile.toString());
+    repository.createOrder(orders.getFirst());
+    repository.createOrders(orders.subList(1, orders.size()));
+    Order amended = order(orders.getFirst().id(), 2000);
+    repository.updateOrder(amended);
+    repository.close();
+
+    InMemoryOrderRepository restarted = new InMemoryOrderRepository(ordersFile.toString());
+
+    assertThat(restarted.findAll()).hasSize(1000);
+    assertThat(restarted.findById(amended.id())).contains(amended);
+    assertThat(restarted.findById(orders.getLast().id())).contains(orders.getLast());
+    restarted.close();
+  }
+
+  @Test
+  void testIncompleteLastOrderIsDropped() throws IOException {
+    Path ordersFile = tempDir.resolve("orders.bin");
+    Order kept = order(OrderId.autoGenerate(), 3);
+    Order torn = order(OrderId.autoGenerate(), 4);
+    InMemoryOrderRepository repository = new InMemoryOrderRepository(ordersFile.toString());
+    repository.createOrder(kept);
+    long keptSize = Files.size(ordersFile);
+    repository.createOrder(torn);
+    repository.close();
+    // as if the process died while writing the second order
+    try (FileChannel channel = FileChannel.open(ordersFile, StandardOpenOption.WRITE)) {
+      channel.truncate(Files.size(ordersFile) - 3);
+    }
+
+    InMemoryOrderRepository restarted = new InMemoryOrderRepository(ordersFile.toString());
+    Order next = order(OrderId.autoGenerate(), 5);
+    restarted.createOrder(next);
+    restarted.close();
+
+    assertThat(Files.size(ordersFile)).isEqualTo(2 * keptSize);
+    InMemoryOrderRepository reopened = new InMemoryOrderRepository(ordersFile.toString());
+    assertThat(reopened.findAll()).containsExactlyInAnyOrder(kept, next);
+    reopened.close();
+  }
+
+  @Test
+  void testPagesWalkAllOrdersInIdOrder() {
+    InMemoryOrderRepository repository = new InMemoryOrderRepository();
+    List<Order> orders = new ArrayList<>();
+    for (int i = 1; i <= 25; i++) {
+      orders.add(order(OrderId.autoGenerate(), i));
+    }
+    repository.createOrders(orders);
+
+    List<Order> walked = new ArrayList<>();
+    List<Order> page = repository.findPage(null, 10);
+    while (!page.isEmpty()) {
+      assertThat(page).hasSizeLessThanOrEqualTo(10);
+      walked.addAll(page);
+      page = repository.findPage(page.getLast().id(), 10);
+    }
+
+    assertThat(walked)
+        .containsExactlyInAnyOrderElementsOf(orders)
+        .isSortedAccordingTo(Comparator.comparing(order -> order.id().value()));
+  }
+
+  @Test
+  void testUpdateOfUnknownOrderIsNotWritten() throws IOException {
+    Path ordersFile = tempDir.resolve("orders.bin");
+    InMemoryOrderRepository repository = new InMemoryOrderRepository(ordersFile.toString());
+
+    assertThat(repository.updateOrder(order(OrderId.autoGenerate(), 3))).isFalse();
+    repository.close();
+
+    assertThat(Files.size(ordersFile)).isZero();
+  }
+
+  private static Order order(OrderId id, int rentalDays) {
+    LocalDate checkoutDate = LocalDate.of(2020, Month.JULY, 2);
+    return new Order(id, RentalAgreement.newBuilder()
+        .toolCode("LADW")
+        .toolType(ToolType.LADDER)
+        .toolBrand(BrandName.WERNER)
+        .rentalDays(rentalDays)
+        .checkoutDate(checkoutDate)
+        .returnDate(checkoutDate.plusDays(rentalDays))
+        .dailyChargeAmount(1.99)
+        .chargeDays(rentalDays)
+        .preDiscountAmount(BigDecimal.valueOf(199L * rentalDays, 2))
+        .discountPercent(0)
+        .discountAmount(BigDecimal.ZERO.setScale(2))
+        .finalChargeAmount(BigDecimal.valueOf(199L * rentalDays, 2))
+        .build());
+  }
+}
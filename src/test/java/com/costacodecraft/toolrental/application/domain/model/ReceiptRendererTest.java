@@ -0,0 +1,141 @@
+package com.costacodecraft.toolrental.application.domain.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.NumberFormat;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Currency;
+import java.util.Locale;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class ReceiptRendererTest {
+
+  @ParameterizedTest
+  @ValueSource(strings = {"en-US", "en-GB", "de-DE", "fr-FR", "fr-CH", "ja-JP", "hi-IN", "ar-EG",
+      "th-TH-u-nu-thai", "es-ES", "pt-BR"})
+  void testMatchesLegacyFormatting(String languageTag) {
+    Locale locale = Locale.forLanguageTag(languageTag);
+    ReceiptRenderer renderer = ReceiptRenderer.forLocale(locale);
+    Random random = new Random(42);
+
+    for (int i = 0; i < 2_000; i++) {
+      RentalAgreement agreement = randomAgreement(random);
+      String expected = legacyPrettyPrintText(agreement, locale);
+
+      assertThat(renderer.render(agreement)).isEqualTo(expected);
+
+      ByteBuffer buffer = ByteBuffer.allocate(1024);
+      renderer.render(agreement, buffer);
+      assertThat(Arrays.copyOf(buffer.array(), buffer.position()))
+          .isEqualTo(expected.getBytes(StandardCharsets.UTF_8));
+    }
+  }
+
+  @Test
+  void testFallsBackForAmountsOutsideTheFastPath() {
+    Locale locale = Locale.US;
+    RentalAgreement agreement = RentalAgreement.newBuilder()
+        .toolCode("JAKR")
+        .toolType(ToolType.JACKHAMMER)
+        .toolBrand(BrandName.REDGID)
+        .rentalDays(-3)
+        .checkoutDate(LocalDate.of(1999, 2, 28))
+        .returnDate(LocalDate.of(2100, 3, 1))
+        .dailyChargeAmount(1.005)
+        .chargeDays(0)
+        .preDiscountAmount(new BigDecimal("-12.345"))
+        .discountPercent(-1)
+        .discountAmount(new BigDecimal("1E+3"))
+        .finalChargeAmount(new BigDecimal("123456789012345678.99"))
+        .build();
+
+    assertThat(ReceiptRenderer.forLocale(locale).render(agreement))
+        .isEqualTo(legacyPrettyPrintText(agreement, locale));
+  }
+
+  @ParameterizedTest
+  @ValueSource(doubles = {-0.0, -0.001, -0.004})
+  void testNegativeZeroKeepsItsSign(double dailyCharge) {
+    Locale locale = Locale.US;
+    RentalAgreement agreement = RentalAgreement.newBuilder()
+        .toolCode("LADW")
+        .toolType(ToolType.LADDER)
+        .toolBrand(BrandName.WERNER)
+        .rentalDays(1)
+        .checkoutDate(LocalDate.of(2020, 7, 2))
+        .returnDate(LocalDate.of(2020, 7, 3))
+        .dailyChargeAmount(dailyCharge)
+        .chargeDays(1)
+        .preDiscountAmount(new BigDecimal("-0.001"))
+        .discountPercent(0)
+        .discountAmount(BigDecimal.ZERO)
+        .finalChargeAmount(new BigDecimal("-0.00"))
+        .build();
+
+    String receipt = ReceiptRenderer.forLocale(locale).render(agreement);
+
+    assertThat(receipt).isEqualTo(legacyPrettyPrintText(agreement, locale));
+    assertThat(receipt).contains("Daily Rental Charge: -$0.00", "Pre-discount Amount: -$0.00");
+  }
+
+  @Test
+  void testGetPrettyPrintTextUsesDefaultLocale() {
+    Locale original = Locale.getDefault(Locale.Category.FORMAT);
+    try {
+      Locale.setDefault(Locale.Category.FORMAT, Locale.GERMANY);
+      RentalAgreement agreement = randomAgreement(new Random(7));
+
+      assertThat(agreement.getPrettyPrintText())
+          .isEqualTo(legacyPrettyPrintText(agreement, Locale.GERMANY));
+    } finally {
+      Locale.setDefault(Locale.Category.FORMAT, original);
+    }
+  }
+
+  private static RentalAgreement randomAgreement(Random random) {
+    LocalDate checkoutDate = LocalDate.ofEpochDay(random.nextInt(40_000));
+    long cents = random.nextInt(4) == 0
+        ? random.nextLong(1_000_000_000_000L)
+        : random.nextInt(100_000);
+    return RentalAgreement.newBuilder()
+        .toolCode("LADW")
+        .toolType(ToolType.LADDER)
+        .toolBrand(BrandName.WERNER)
+        .rentalDays(random.nextInt(1, 4000))
+        .checkoutDate(checkoutDate)
+        .returnDate(checkoutDate.plusDays(random.nextInt(4000)))
+        .dailyChargeAmount(random.nextInt(10_000) / 100.0)
+        .chargeDays(random.nextInt(4000))
+        .preDiscountAmount(BigDecimal.valueOf(cents, 2))
+        .discountPercent(random.nextInt(101))
+        .discountAmount(BigDecimal.valueOf(cents / 10, random.nextInt(3)))
+        .finalChargeAmount(BigDecimal.valueOf(cents - cents / 10, 2))
+        .build();
+  }
+
+  private static String legacyPrettyPrintText(RentalAgreement agreement, Locale locale) {
+    NumberFormat nf = NumberFormat.getCurrencyInstance(locale);
+    nf.setCurrency(Currency.getInstance("USD"));
+    DateTimeFormatter df = DateTimeFormatter.ofPattern("M/d/yy", locale);
+    return "Tool Code: " + agreement.toolCode()
+        + "\nTool Type: " + agreement.toolType().getType()
+        + "\nTool Brand: " + agreement.toolBrand().getName()
+        + "\nRental Days: " + agreement.rentalDays()
+        + "\nCheckout Date: " + df.format(agreement.checkoutDate())
+        + "\nDue Date: " + df.format(agreement.returnDate())
+        + "\nDaily Rental Charge: " + nf.format(agreement.dailyChargeAmount())
+        + "\nCharge Days: " + agreement.chargeDays()
+        + "\nPre-discount Amount: " + nf.format(agreement.preDiscountAmount())
+        + "\nDiscount Percent: " + String.format(locale, "%d%%", agreement.discountPercent())
+        + "\nDiscount Amount: " + nf.format(agreement.discountAmount())
+        + "\nFinal Charge: " + nf.format(agreement.finalChargeAmount());
+  }
+}
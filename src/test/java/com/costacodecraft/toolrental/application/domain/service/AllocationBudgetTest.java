@@ -0,0 +1,96 @@
+package com.costacodecraft.toolrental.application.domain.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assumptions.assumeThat;
+
+import com.costacodecraft.toolrental.adapters.out.persistence.DataLoader;
+import com.costacodecraft.toolrental.adapters.out.persistence.InMemoryOrderRepository;
+import com.costacodecraft.toolrental.adapters.out.persistence.InMemoryToolRepository;
+import com.costacodecraft.toolrental.application.port.in.CheckoutCommand;
+import com.costacodecraft.toolrental.application.port.out.CheckoutMetrics;
+import com.costacodecraft.toolrental.application.port.out.ToolRepository;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Budgets of the bytes allocated per {@link CheckoutService#checkout(List)} call, so that garbage
+ * removed from the checkout path does not creep back. Allocations are counted by the JVM for the
+ * test thread, after a warm-up long enough for the JIT to remove what escape analysis can. The
+ * budgets leave a wide margin over what a warmed-up JVM allocates, but still depend on its JIT,
+ * so they are tagged out of {@code ./gradlew test} and run in their own JVM with
+ * {@code ./gradlew allocationTest}, which {@code ./gradlew check} runs too.
+ * <p>
+ * A failure means a change allocates more per checkout: find where with the GC profiler of
+ * {@code ./gradlew jmh -PjmhArgs=CheckoutBenchmark}, and only raise the budget if the extra
+ * allocation is worth it.
+ */
+@Tag("allocation")
+class AllocationBudgetTest {
+
+  private static final com.sun.management.ThreadMXBean THREADS =
+      (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+  private CheckoutService checkoutService;
+
+  @BeforeEach
+  void setUp() {
+    ToolRepository toolRepository = new InMemoryToolRepository();
+    new DataLoader(new AddToolService(toolRepository)).loadData();
+    CheckoutPricer checkoutPricer = new CheckoutPricer(toolRepository,
+        new GetChargeableDaysService(new GetHolidayService()), new CheckoutValidator());
+    checkoutService = new CheckoutService(checkoutPricer,
+        new CreateOrderService(new InMemoryOrderRepository(), CheckoutMetrics.NONE,
+            List.of(new RentalRollups(), new TopTools(7, 64, 1024))),
+        new IdempotencyIndex(1000, Duration.ofHours(1)));
+    assumeThat(THREADS.isThreadAllocatedMemorySupported()).isTrue();
+    THREADS.setThreadAllocatedMemoryEnabled(true);
+  }
+
+  @Test
+  void testShortRental() {
+    List<CheckoutCommand> commands = List.of(
+        new CheckoutCommand("LADW", 5, 10, LocalDate.of(2015, 9, 3)));
+
+    assertThat(bytesPerCheckout(commands, 20_000, 2_000)).isLessThanOrEqualTo(4_000);
+  }
+
+  @Test
+  void testYearLongRental() {
+    List<CheckoutCommand> commands = List.of(
+        new CheckoutCommand("CHNS", 365, 10, LocalDate.of(2015, 9, 3)));
+
+    // as much as a short rental: the days are counted without a date per day, which would take
+    // more than 8 KB
+    assertThat(bytesPerCheckout(commands, 20_000, 2_000)).isLessThanOrEqualTo(4_000);
+  }
+
+  @Test
+  void testBatchOfThousand() {
+    List<CheckoutCommand> commands = new ArrayList<>();
+    String[] toolCodes = {"CHNS", "LADW", "JAKD", "JAKR"};
+    for (int i = 0; i < 1000; i++) {
+      commands.add(new CheckoutCommand(toolCodes[i & 3], 1 + i % 14, i % 101,
+          LocalDate.of(2020, 1 + i % 12, 1 + i % 28)));
+    }
+
+    assertThat(bytesPerCheckout(commands, 50, 20)).isLessThanOrEqualTo(3_500_000);
+  }
+
+  private long bytesPerCheckout(List<CheckoutCommand> commands, int warmups, int checkouts) {
+    for (int i = 0; i < warmups; i++) {
+      checkoutService.checkout(commands);
+    }
+    long threadId = Thread.currentThread().threadId();
+    long before = THREADS.getThreadAllocatedBytes(threadId);
+    for (int i = 0; i < checkouts; i++) {
+      checkoutService.checkout(commands);
+    }
+    return (THREADS.getThreadAllocatedBytes(threadId) - before) / checkouts;
+  }
+}
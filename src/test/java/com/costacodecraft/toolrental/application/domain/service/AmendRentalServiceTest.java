@@ -0,0 +1,183 @@
+package com.costacodecraft.toolrental.application.domain.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.costacodecraft.toolrental.adapters.out.persistence.DataLoader;
+import com.costacodecraft.toolrental.adapters.out.persistence.InMemoryOrderRepository;
+import com.costacodecraft.toolrental.adapters.out.persistence.InMemoryToolRepository;
+import com.costacodecraft.toolrental.application.domain.exception.InvalidRentalDayException;
+import com.costacodecraft.toolrental.application.domain.exception.RentalReturnedException;
+import com.costacodecraft.toolrental.application.domain.model.BrandName;
+import com.costacodecraft.toolrental.application.domain.model.Order;
+import com.costacodecraft.toolrental.application.domain.model.Order.OrderId;
+import com.costacodecraft.toolrental.application.domain.model.Price;
+import com.costacodecraft.toolrental.application.domain.model.RentalAgreement;
+import com.costacodecraft.toolrental.application.domain.model.Tool;
+import com.costacodecraft.toolrental.application.domain.model.Tool.ToolId;
+import com.costacodecraft.toolrental.application.domain.model.ToolType;
+import com.costacodecraft.toolrental.application.port.in.CheckoutCommand;
+import com.costacodecraft.toolrental.application.port.in.RollupTotals;
+import com.costacodecraft.toolrental.application.port.out.OrderRepository;
+import com.costacodecraft.toolrental.application.port.out.ToolRepository;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class AmendRentalServiceTest {
+
+  private static final String[] TOOL_CODES = {"CHNS", "LADW", "JAKD", "JAKR"};
+
+  private final ToolRepository toolRepository = new InMemoryToolRepository();
+  private final OrderRepository orderRepository = new InMemoryOrderRepository();
+  private final CheckoutPricer checkoutPricer = new CheckoutPricer(toolRepository,
+      new GetChargeableDaysService(new GetHolidayService()), new CheckoutValidator());
+  private final RentalRollups rentalRollups = new RentalRollups();
+  private final List<String> events = new ArrayList<>();
+  private final AmendRentalService amendRentalService = new AmendRentalService(orderRepository,
+      new GetChargeableDaysService(new GetHolidayService()),
+      List.of(rentalRollups, new OrderListener() {
+        @Override
+        public void orderCreated(Order order) {
+        }
+
+        @Override
+        public void rentalExtended(Order previous, Order extended) {
+          events.add("extended " + extended.rentalAgreement().returnDate());
+        }
+
+        @Override
+        public void rentalReturned(Order previous, Order returned) {
+          events.add("returned " + returned.rentalAgreement().returnDate());
+        }
+      }));
+
+  AmendRentalServiceTest() {
+    new DataLoader(new AddToolService(toolRepository)).loadData();
+  }
+
+  @Test
+  void testAmendedAgreementsMatchFullPricing() {
+    for (int i = 0; i < 2_000; i++) {
+      CheckoutCommand command = new CheckoutCommand(TOOL_CODES[i & 3], 1 + i % 40, i % 101,
+          LocalDate.of(2015 + i % 10, 1 + i % 12, 1 + i % 28));
+      RentalAgreement agreement = checkoutPricer.price(command);
+      int rentalDays = 1 + (i * 7) % 60;
+
+      RentalAgreement amended = amendRentalService.amend(agreement,
+          command.checkoutDate().plusDays(rentalDays), false);
+
+      assertThat(amended).isEqualTo(checkoutPricer.price(new CheckoutCommand(command.toolCode(),
+          rentalDays, command.discountPercentage(), command.checkoutDate())));
+    }
+  }
+
+  @Test
+  void testExtendedThenReturnedRentalsCostAFreshCheckout() {
+    for (int i = 0; i < 500; i++) {
+      CheckoutCommand command = new CheckoutCommand(TOOL_CODES[i & 3], 1 + i % 20, i % 101,
+          LocalDate.of(2015 + i % 10, 1 + i % 12, 1 + i % 28));
+      Order order = checkout(command);
+      int returnDays = 1 + (i * 7) % 40;
+
+      amendRentalService.extendRental(order.id(), 1 + i % 15).orElseThrow();
+      RentalAgreement returned = amendRentalService
+          .returnRental(order.id(), command.checkoutDate().plusDays(returnDays)).orElseThrow()
+          .rentalAgreement();
+
+      RentalAgreement fresh = checkoutPricer.price(new CheckoutCommand(command.toolCode(),
+          returnDays, command.discountPercentage(), command.checkoutDate()));
+      assertThat(returned.chargeDays()).isEqualTo(fresh.chargeDays());
+      assertThat(returned.preDiscountAmount()).isEqualTo(fresh.preDiscountAmount());
+      assertThat(returned.discountAmount()).isEqualTo(fresh.discountAmount());
+      assertThat(returned.finalChargeAmount()).isEqualTo(fresh.finalChargeAmount());
+    }
+  }
+
+  @Test
+  void testExtendAndReturnRental() {
+    // 2.99 a day, only Monday charged from Thursday, July 2, 2020 as the holiday is free
+    Order order = checkout(new CheckoutCommand("JAKR", 4, 50, LocalDate.of(2020, Month.JULY, 2)));
+
+    Order extended = amendRentalService.extendRental(order.id(), 3).orElseThrow();
+    Order returned = amendRentalService
+        .returnRental(order.id(), LocalDate.of(2020, Month.JULY, 8)).orElseThrow();
+
+    assertThat(extended.rentalAgreement().returnDate()).isEqualTo(LocalDate.of(2020, 7, 9));
+    assertThat(extended.rentalAgreement().chargeDays()).isEqualTo(4);
+    assertThat(returned.rentalAgreement().rentalDays()).isEqualTo(6);
+    assertThat(returned.rentalAgreement().chargeDays()).isEqualTo(3);
+    assertThat(returned.rentalAgreement().finalChargeAmount()).isEqualByComparingTo("4.48");
+    assertThat(orderRepository.findById(order.id())).contains(returned);
+    assertThat(events).containsExactly("extended 2020-07-09", "returned 2020-07-08");
+    assertThat(rentalRollups.getTotalsByToolType(LocalDate.of(2020, 7, 2),
+        LocalDate.of(2020, 7, 2))).containsEntry(ToolType.JACKHAMMER,
+        new RollupTotals(returned.rentalAgreement().finalChargeAmount(),
+            returned.rentalAgreement().discountAmount(), 3, 1));
+  }
+
+  @Test
+  void testReturnAfterDueDateChargesLateDays() {
+    Order order = checkout(new CheckoutCommand("LADW", 3, 0, LocalDate.of(2020, 7, 2)));
+
+    RentalAgreement returned = amendRentalService
+        .returnRental(order.id(), LocalDate.of(2020, 7, 7)).orElseThrow().rentalAgreement();
+
+    assertThat(returned.chargeDays()).isEqualTo(4);
+    assertThat(returned.finalChargeAmount()).isEqualByComparingTo("7.96");
+  }
+
+  @Test
+  void testInvalidAmendments() {
+    Order order = checkout(new CheckoutCommand("LADW", 3, 0, LocalDate.of(2020, 7, 2)));
+
+    assertThat(amendRentalService.extendRental(OrderId.autoGenerate(), 1)).isEmpty();
+    assertThatThrownBy(() -> amendRentalService.extendRental(order.id(), 0))
+        .isInstanceOf(InvalidRentalDayException.class);
+    assertThatThrownBy(() -> amendRentalService.returnRental(order.id(),
+        LocalDate.of(2020, 7, 2))).isInstanceOf(InvalidRentalDayException.class);
+    assertThat(orderRepository.findById(order.id())).contains(order);
+  }
+
+  @Test
+  void testReturnedRentalCannotBeAmended() {
+    Order order = checkout(new CheckoutCommand("LADW", 3, 0, LocalDate.of(2020, 7, 2)));
+    Order returned = amendRentalService
+        .returnRental(order.id(), LocalDate.of(2020, 7, 4)).orElseThrow();
+
+    assertThat(returned.rentalAgreement().returned()).isTrue();
+    assertThatThrownBy(() -> amendRentalService.extendRental(order.id(), 1))
+        .isInstanceOf(RentalReturnedException.class);
+    assertThatThrownBy(() -> amendRentalService.returnRental(order.id(),
+        LocalDate.of(2020, 7, 5))).isInstanceOf(RentalReturnedException.class);
+    assertThat(orderRepository.findById(order.id())).contains(returned);
+    assertThat(events).containsExactly("returned 2020-07-04");
+  }
+
+  @Test
+  void testAmendmentsKeepThePriceOfTheCheckout() {
+    // 2.99 a day, weekdays only, from Thursday, July 2, 2020, then every day in the catalog
+    Order order = checkout(new CheckoutCommand("JAKR", 4, 0, LocalDate.of(2020, 7, 2)));
+    toolRepository.addTool(new Tool(new ToolId("JAKR"), ToolType.JACKHAMMER, BrandName.REDGID,
+        Price.newBuilder().dailyCharge(2.99).build()));
+
+    Order extended = amendRentalService.extendRental(order.id(), 6).orElseThrow();
+    toolRepository.applyChanges(List.of(), List.of(new ToolId("JAKR")));
+    Order returned = amendRentalService
+        .returnRental(order.id(), LocalDate.of(2020, 7, 13)).orElseThrow();
+
+    // the weekend of July 11 is still free, and Monday, July 13 is charged without the tool
+    assertThat(extended.rentalAgreement().chargeDays()).isEqualTo(5);
+    assertThat(returned.rentalAgreement().chargeDays()).isEqualTo(6);
+    assertThat(returned.rentalAgreement().finalChargeAmount()).isEqualByComparingTo("17.94");
+  }
+
+  private Order checkout(CheckoutCommand command) {
+    Order order = new Order(OrderId.autoGenerate(), checkoutPricer.price(command));
+    orderRepository.createOrder(order);
+    rentalRollups.orderCreated(order);
+    return order;
+  }
+}
@@ -0,0 +1,121 @@
+package com.costacodecraft.toolrental.application.domain.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.costacodecraft.toolrental.adapters.out.persistence.InMemoryOrderRepository;
+import com.costacodecraft.toolrental.adapters.out.persistence.InMemoryToolRepository;
+import com.costacodecraft.toolrental.application.domain.exception.ToolNotFoundException;
+import com.costacodecraft.toolrental.application.domain.model.BrandName;
+import com.costacodecraft.toolrental.application.domain.model.Price;
+import com.costacodecraft.toolrental.application.domain.model.Tool;
+import com.costacodecraft.toolrental.application.domain.model.Tool.ToolId;
+import com.costacodecraft.toolrental.application.domain.model.ToolType;
+import com.costacodecraft.toolrental.application.port.in.CheckoutCommand;
+import com.costacodecraft.toolrental.application.port.out.ToolRepository;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Predicate;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CheckoutEventsTest {
+
+  private static final String PREFIX = "com.costacodecraft.toolrental.";
+
+  @TempDir
+  private Path tempDir;
+
+  private CheckoutService checkoutService;
+
+  @BeforeEach
+  void setUp() {
+    ToolRepository toolRepository = new InMemoryToolRepository();
+    toolRepository.addTool(new Tool(new ToolId("LADW"), ToolType.LADDER, BrandName.WERNER,
+        Price.newBuilder()
+            .dailyCharge(1.99)
+            .weekdayCharge(true)
+            .weekendCharge(true)
+            .holidayCharge(false)
+            .build()));
+    CheckoutPricer checkoutPricer = new CheckoutPricer(toolRepository,
+        new GetChargeableDaysService(new GetHolidayService()), new CheckoutValidator());
+    checkoutService = new CheckoutService(checkoutPricer,
+        new CreateOrderService(new InMemoryOrderRepository()),
+        new IdempotencyIndex(1000, Duration.ofHours(1)));
+  }
+
+  @Test
+  void testCheckoutRecordsEvents() throws Exception {
+    List<RecordedEvent> events = record(() -> checkoutService.checkout(List.of(
+        new CheckoutCommand("LADW", 5, 0, LocalDate.of(2015, 9, 3)),
+        new CheckoutCommand("LADW", 3, 10, LocalDate.of(2020, 7, 2)))));
+
+    assertThat(events).filteredOn(named("Checkout"))
+        .singleElement()
+        .satisfies(event -> assertThat(event.getInt("batchSize")).isEqualTo(2));
+    assertThat(events).filteredOn(named("Pricing"))
+        .extracting(event -> event.getString("toolCode") + " " + event.getInt("rentalDays"))
+        .containsExactlyInAnyOrder("LADW 5", "LADW 3");
+    assertThat(events).filteredOn(named("ChargeableDays"))
+        .extracting(event -> event.getInt("rentalDays") + " " + event.getInt("holidays"))
+        .containsExactlyInAnyOrder("5 1", "3 1");
+    assertThat(events).filteredOn(named("Holidays"))
+        .extracting(event -> event.getInt("years"))
+        .containsExactly(1, 1);
+    assertThat(events).filteredOn(named("Repository"))
+        .extracting(event -> event.getString("operation"))
+        .containsExactlyInAnyOrder("tools.findById", "tools.findById", "orders.createOrders");
+    assertThat(events).filteredOn(named("Repository"))
+        .filteredOn(event -> event.getString("operation").equals("tools.findById"))
+        .allSatisfy(event -> assertThat(event.getString("toolCode")).isEqualTo("LADW"));
+  }
+
+  @Test
+  void testFailedCheckoutRecordsEvents() throws Exception {
+    List<RecordedEvent> events = record(() -> assertThatExceptionOfType(
+        ToolNotFoundException.class).isThrownBy(() -> checkoutService.checkout(List.of(
+        new CheckoutCommand("NONE", 5, 0, LocalDate.of(2015, 9, 3))))));
+
+    assertThat(events).filteredOn(named("Checkout")).hasSize(1);
+    assertThat(events).filteredOn(named("Pricing"))
+        .singleElement()
+        .satisfies(event -> assertThat(event.getString("toolCode")).isEqualTo("NONE"));
+    assertThat(events).filteredOn(named("Repository"))
+        .singleElement()
+        .satisfies(event -> assertThat(event.getInt("batchSize")).isZero());
+  }
+
+  @Test
+  void testNoEventsWithoutRecording() {
+    // the events are only committed while recording, which must not get in the way of checkouts
+    assertThat(checkoutService.checkout(List.of(
+        new CheckoutCommand("LADW", 5, 0, LocalDate.of(2015, 9, 3))))).hasSize(1);
+    assertThat(new CheckoutEvent().isEnabled()).isFalse();
+  }
+
+  private List<RecordedEvent> record(Runnable action) throws Exception {
+    Path file = tempDir.resolve("checkout.jfr");
+    try (Recording recording = new Recording()) {
+      for (String name : List.of("Checkout", "Pricing", "ChargeableDays", "Holidays",
+          "Repository")) {
+        recording.enable(PREFIX + name).withoutThreshold();
+      }
+      recording.start();
+      action.run();
+      recording.stop();
+      recording.dump(file);
+    }
+    return RecordingFile.readAllEvents(file);
+  }
+
+  private static Predicate<RecordedEvent> named(String name) {
+    return event -> event.getEventType().getName().equals(PREFIX + name);
+  }
+}
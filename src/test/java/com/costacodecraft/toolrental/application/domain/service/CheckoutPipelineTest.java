@@ -0,0 +1,196 @@
+package com.costacodecraft.toolrental.application.domain.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.costacodecraft.toolrental.adapters.out.persistence.InMemoryOrderRepository;
+import com.costacodecraft.toolrental.adapters.out.persistence.InMemoryToolRepository;
+import com.costacodecraft.toolrental.application.domain.exception.InvalidDiscountException;
+import com.costacodecraft.toolrental.application.domain.model.BrandName;
+import com.costacodecraft.toolrental.application.domain.model.Order;
+import com.costacodecraft.toolrental.application.domain.model.Order.OrderId;
+import com.costacodecraft.toolrental.application.domain.model.Price;
+import com.costacodecraft.toolrental.application.domain.model.RentalAgreement;
+import com.costacodecraft.toolrental.application.domain.model.Tool;
+import com.costacodecraft.toolrental.application.domain.model.Tool.ToolId;
+import com.costacodecraft.toolrental.application.domain.model.ToolType;
+import com.costacodecraft.toolrental.application.port.in.CheckoutCommand;
+import com.costacodecraft.toolrental.application.port.out.OrderRepository;
+import com.costacodecraft.toolrental.application.port.out.ToolRepository;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CheckoutPipelineTest {
+
+  private static final LocalDate CHECKOUT_DATE = LocalDate.of(2015, 9, 3);
+
+  private OrderRepository orderRepository;
+  private CheckoutPricer checkoutPricer;
+  private GatedCreateOrderService createOrderService;
+  private CheckoutPipeline pipeline;
+
+  @BeforeEach
+  void setUp() {
+    ToolRepository toolRepository = new InMemoryToolRepository();
+    toolRepository.addTool(new Tool(new ToolId("LADW"), ToolType.LADDER, BrandName.WERNER,
+        Price.newBuilder()
+            .dailyCharge(1.99)
+            .weekdayCharge(true)
+            .weekendCharge(true)
+            .holidayCharge(false)
+            .build()));
+    orderRepository = new InMemoryOrderRepository();
+    checkoutPricer = new CheckoutPricer(toolRepository,
+        new GetChargeableDaysService(new GetHolidayService()), new CheckoutValidator());
+    createOrderService = new GatedCreateOrderService(orderRepository);
+  }
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    createOrderService.gate.countDown();
+    pipeline.destroy();
+  }
+
+  @Test
+  void testBatchesOrdersAcrossCallers() {
+    pipeline = pipeline(64, 64);
+    List<CompletableFuture<OrderId>> results = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      results.add(pipeline.checkoutAsync(new CheckoutCommand("LADW", 5, i, CHECKOUT_DATE)));
+    }
+    createOrderService.gate.countDown();
+
+    for (int i = 0; i < results.size(); i++) {
+      Order order = orderRepository.findById(results.get(i).join()).orElseThrow();
+      assertThat(order.rentalAgreement().discountPercent()).isEqualTo(i);
+      assertThat(order.rentalAgreement().chargeDays()).isEqualTo(4);
+    }
+    assertThat(createOrderService.batches.get()).isLessThan(results.size());
+  }
+
+  @Test
+  void testInvalidCommandFailsOnlyItsOwnFuture() {
+    pipeline = pipeline(16, 16);
+    createOrderService.gate.countDown();
+
+    CompletableFuture<OrderId> invalid =
+        pipeline.checkoutAsync(new CheckoutCommand("LADW", 5, 101, CHECKOUT_DATE));
+    CompletableFuture<OrderId> valid =
+        pipeline.checkoutAsync(new CheckoutCommand("LADW", 5, 10, CHECKOUT_DATE));
+
+    assertThatExceptionOfType(CompletionException.class)
+        .isThrownBy(invalid::join)
+        .withCauseInstanceOf(InvalidDiscountException.class)
+        .withMessageContaining("Discount percent must be between 0 and 100");
+    assertThat(orderRepository.findById(valid.join())).isPresent();
+  }
+
+  @Test
+  void testIdempotencyKeyReturnsTheSameOrder() {
+    pipeline = pipeline(16, 16);
+    CheckoutCommand command =
+        new CheckoutCommand("LADW", 5, 10, CHECKOUT_DATE).withIdempotencyKey("retry-1");
+
+    CompletableFuture<OrderId> first = pipeline.checkoutAsync(command);
+    CompletableFuture<OrderId> retry = pipeline.checkoutAsync(command);
+    createOrderService.gate.countDown();
+
+    assertThat(retry.join()).isEqualTo(first.join());
+    assertThat(createOrderService.orders.get()).isEqualTo(1);
+  }
+
+  @Test
+  void testBlocksCallersWhenFull() throws Exception {
+    pipeline = pipeline(1, 1);
+    CountDownLatch submitted = new CountDownLatch(1);
+    Thread caller = Thread.ofPlatform().daemon().start(() -> {
+      for (int i = 0; i < 10; i++) {
+        pipeline.checkoutAsync(new CheckoutCommand("LADW", 5, i, CHECKOUT_DATE));
+      }
+      submitted.countDown();
+    });
+
+    assertThat(submitted.await(200, TimeUnit.MILLISECONDS)).isFalse();
+    assertThat(caller.getState()).isIn(Thread.State.WAITING, Thread.State.TIMED_WAITING);
+
+    createOrderService.gate.countDown();
+    assertThat(submitted.await(5, TimeUnit.SECONDS)).isTrue();
+  }
+
+  @Test
+  void testRejectsCommandsOnceStopped() throws InterruptedException {
+    pipeline = pipeline(16, 16);
+    pipeline.destroy();
+
+    assertThatExceptionOfType(RejectedExecutionException.class)
+        .isThrownBy(() -> pipeline.checkoutAsync(
+            new CheckoutCommand("LADW", 5, 10, CHECKOUT_DATE)));
+  }
+
+  @Test
+  void testErrorInWorkerFailsCommandsAndStopsThePipeline() {
+    CheckoutPricer failingPricer = new CheckoutPricer(null, null, null) {
+      @Override
+      public RentalAgreement price(CheckoutCommand checkoutCommand) {
+        throw new StackOverflowError();
+      }
+    };
+    pipeline = new CheckoutPipeline(failingPricer, createOrderService,
+        new IdempotencyIndex(1000, Duration.ofHours(1)), 1, 16, 16);
+
+    CompletableFuture<OrderId> result =
+        pipeline.checkoutAsync(new CheckoutCommand("LADW", 5, 10, CHECKOUT_DATE));
+
+    assertThatExceptionOfType(CompletionException.class)
+        .isThrownBy(() -> result.orTimeout(5, TimeUnit.SECONDS).join())
+        .havingCause()
+        .isInstanceOf(IllegalStateException.class)
+        .withCauseInstanceOf(StackOverflowError.class);
+    assertThatExceptionOfType(RejectedExecutionException.class)
+        .isThrownBy(() -> pipeline.checkoutAsync(
+            new CheckoutCommand("LADW", 5, 10, CHECKOUT_DATE)));
+  }
+
+  private CheckoutPipeline pipeline(int queueCapacity, int batchSize) {
+    return new CheckoutPipeline(checkoutPricer, createOrderService,
+        new IdempotencyIndex(1000, Duration.ofHours(1)), 1, queueCapacity, batchSize);
+  }
+
+  /**
+   * Holds every batch until the gate opens and counts the batches and orders created.
+   */
+  private static final class GatedCreateOrderService extends CreateOrderService {
+
+    private final CountDownLatch gate = new CountDownLatch(1);
+    private final AtomicInteger batches = new AtomicInteger();
+    private final AtomicInteger orders = new AtomicInteger();
+
+    private GatedCreateOrderService(OrderRepository orderRepository) {
+      super(orderRepository);
+    }
+
+    @Override
+    public List<Order> createOrders(List<RentalAgreement> rentalAgreements) {
+      try {
+        gate.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException(e);
+      }
+      batches.incrementAndGet();
+      orders.addAndGet(rentalAgreements.size());
+      return super.createOrders(rentalAgreements);
+    }
+  }
+}
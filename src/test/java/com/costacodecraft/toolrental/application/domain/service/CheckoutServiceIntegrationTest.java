@@ -22,6 +22,7 @@ import com.costacodecraft.toolrental.application.port.out.OrderRepository;
 import com.costacodecraft.toolrental.application.port.out.ToolRepository;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.Month;
 import java.util.List;
@@ -59,8 +60,10 @@ class CheckoutServiceIntegrationTest {
     GetChargeableDaysUseCase getChargeableDaysUseCase = new GetChargeableDaysService(
         geHolidayUseCase);
     CheckoutValidator checkoutValidator = new CheckoutValidator();
-    checkoutUseCase = new CheckoutService(toolRepository, createOrderUseCase,
-        getChargeableDaysUseCase, checkoutValidator);
+    CheckoutPricer checkoutPricer = new CheckoutPricer(toolRepository, getChargeableDaysUseCase,
+        checkoutValidator);
+    checkoutUseCase = new CheckoutService(checkoutPricer, createOrderUseCase,
+        new IdempotencyIndex(1000, Duration.ofHours(1)));
 
     // load test data
     loadTools();
@@ -11,13 +11,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
 import com.costacodecraft.toolrental.application.domain.exception.ToolNotFoundException;
 import com.costacodecraft.toolrental.application.domain.model.*;
 import com.costacodecraft.toolrental.application.port.in.*;
 import com.costacodecraft.toolrental.application.port.out.ToolRepository;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,14 +39,19 @@ public class CheckoutServiceTest {
   @Mock
   private CheckoutValidator checkoutValidator;
 
+  private final IdempotencyIndex idempotencyIndex = new IdempotencyIndex(1000, Duration.ofHours(1));
+
   private CheckoutUseCase checkoutUseCase;
 
   @Captor
-  private ArgumentCaptor<RentalAgreement> rentalAgreementCaptor;
+  private ArgumentCaptor<List<RentalAgreement>> rentalAgreementsCaptor;
 
   @BeforeEach
   void setUp() {
-    checkoutUseCase = new CheckoutService(toolRepository, createOrderUseCase, chargeableDaysUseCase, checkoutValidator);
+    checkoutUseCase = new CheckoutService(
+        new CheckoutPricer(toolRepository, chargeableDaysUseCase, checkoutValidator),
+        createOrderUseCase,
+        idempotencyIndex);
   }
 
   @Test
@@ -53,8 +62,8 @@ public class CheckoutServiceTest {
     when(toolRepository.findById(tool.id())).thenReturn(Optional.of(tool));
     when(chargeableDaysUseCase.getChargeableDays(any(LocalDate.class), any(LocalDate.class)))
         .thenReturn(new ChargeableDaysCount(5, 0, 0));
-    when(createOrderUseCase.createOrder(any(RentalAgreement.class)))
-        .thenReturn(new Order(OrderId.autoGenerate(), rentalAgreement));
+    when(createOrderUseCase.createOrders(anyList()))
+        .thenReturn(List.of(new Order(OrderId.autoGenerate(), rentalAgreement)));
 
     List<OrderId> orderIds = checkoutUseCase.checkout(List.of(command));
 
@@ -86,13 +95,12 @@ public class CheckoutServiceTest {
     when(toolRepository.findById(tool.id())).thenReturn(Optional.of(tool));
     when(chargeableDaysUseCase.getChargeableDays(any(LocalDate.class), any(LocalDate.class)))
         .thenReturn(new ChargeableDaysCount(5, 0, 0));
-    when(createOrderUseCase.createOrder(any(RentalAgreement.class)))
-        .thenReturn(new Order(OrderId.autoGenerate(), any(RentalAgreement.class)));
+    when(createOrderUseCase.createOrders(anyList())).thenAnswer(CheckoutServiceTest::orders);
 
     checkoutUseCase.checkout(List.of(command));
 
-    verify(createOrderUseCase).createOrder(rentalAgreementCaptor.capture());
-    RentalAgreement rentalAgreement = rentalAgreementCaptor.getValue();
+    verify(createOrderUseCase).createOrders(rentalAgreementsCaptor.capture());
+    RentalAgreement rentalAgreement = rentalAgreementsCaptor.getValue().getFirst();
 
     assertThat(rentalAgreement).isNotNull();
     assertThat(rentalAgreement.toolCode()).isEqualTo(toolCode);
@@ -109,6 +117,99 @@ public class CheckoutServiceTest {
     assertThat(rentalAgreement.finalChargeAmount()).isEqualByComparingTo(new BigDecimal("8.95"));
   }
 
+  @Test
+  void testRepeatedIdempotencyKeyReturnsOriginalOrder() {
+    CheckoutCommand command = new CheckoutCommand("LADW", 5, 10, LocalDate.now(), "retry-1");
+    Tool tool = toolFactory("LADW");
+    when(toolRepository.findById(tool.id())).thenReturn(Optional.of(tool));
+    when(chargeableDaysUseCase.getChargeableDays(any(LocalDate.class), any(LocalDate.class)))
+        .thenReturn(new ChargeableDaysCount(5, 0, 0));
+    when(createOrderUseCase.createOrders(anyList())).thenAnswer(CheckoutServiceTest::orders);
+
+    List<OrderId> first = checkoutUseCase.checkout(List.of(command));
+    List<OrderId> retried = checkoutUseCase.checkout(List.of(command, command));
+
+    assertThat(retried).containsExactly(first.getFirst(), first.getFirst());
+    verify(createOrderUseCase, times(1)).createOrders(anyList());
+    verify(toolRepository, times(1)).findById(tool.id());
+  }
+
+  @Test
+  void testFailedIdempotentCheckoutCanBeRetried() {
+    CheckoutCommand command = new CheckoutCommand("LADW", 5, 10, LocalDate.now(), "retry-2");
+    Tool tool = toolFactory("LADW");
+    when(toolRepository.findById(tool.id()))
+        .thenReturn(Optional.empty())
+        .thenReturn(Optional.of(tool));
+    when(chargeableDaysUseCase.getChargeableDays(any(LocalDate.class), any(LocalDate.class)))
+        .thenReturn(new ChargeableDaysCount(5, 0, 0));
+    when(createOrderUseCase.createOrders(anyList())).thenAnswer(CheckoutServiceTest::orders);
+
+    assertThatExceptionOfType(ToolNotFoundException.class)
+        .isThrownBy(() -> checkoutUseCase.checkout(List.of(command)));
+
+    assertThat(checkoutUseCase.checkout(List.of(command))).hasSize(1);
+  }
+
+  @Test
+  void testKeyOfFailedConcurrentCheckoutIsClaimedAgain() {
+    CheckoutCommand command = new CheckoutCommand("LADW", 5, 10, LocalDate.now(), "retry-3");
+    CheckoutCommand other = new CheckoutCommand("LADW", 2, 0, LocalDate.now());
+    Tool tool = toolFactory("LADW");
+    when(toolRepository.findById(tool.id())).thenReturn(Optional.of(tool));
+    when(chargeableDaysUseCase.getChargeableDays(any(LocalDate.class), any(LocalDate.class)))
+        .thenReturn(new ChargeableDaysCount(5, 0, 0));
+    AtomicInteger created = new AtomicInteger();
+    when(createOrderUseCase.createOrders(anyList())).thenAnswer(invocation -> {
+      List<Order> orders = orders(invocation);
+      created.addAndGet(orders.size());
+      return orders;
+    });
+    // only used when the batch waits for the concurrent checkout before claiming the key again
+    lenient().when(createOrderUseCase.createOrder(any(RentalAgreement.class)))
+        .thenAnswer(invocation -> {
+          created.incrementAndGet();
+          return new Order(OrderId.autoGenerate(), invocation.getArgument(0));
+        });
+    IdempotencyIndex.Claim concurrent = idempotencyIndex.claim(command);
+
+    CompletableFuture<List<OrderId>> batch =
+        CompletableFuture.supplyAsync(() -> checkoutUseCase.checkout(List.of(other, command)));
+    concurrent.fail(new IllegalStateException("Concurrent checkout failed"));
+
+    assertThat(batch.join()).doesNotContainNull().doesNotHaveDuplicates().hasSize(2);
+    assertThat(created.get()).isEqualTo(2);
+    assertThat(idempotencyIndex.claim(command).isCompleted()).isTrue();
+  }
+
+  @Test
+  void testBatchCreatesOrdersInOneWrite() {
+    Tool tool = toolFactory("LADW");
+    when(toolRepository.findById(tool.id())).thenReturn(Optional.of(tool));
+    when(chargeableDaysUseCase.getChargeableDays(any(LocalDate.class), any(LocalDate.class)))
+        .thenReturn(new ChargeableDaysCount(5, 0, 0));
+    when(createOrderUseCase.createOrders(anyList())).thenAnswer(CheckoutServiceTest::orders);
+
+    List<OrderId> orderIds = checkoutUseCase.checkout(List.of(
+        new CheckoutCommand("LADW", 5, 10, LocalDate.now()),
+        new CheckoutCommand("LADW", 3, 0, LocalDate.now(), "batch-1"),
+        new CheckoutCommand("LADW", 2, 0, LocalDate.now())));
+
+    assertThat(orderIds).doesNotContainNull().doesNotHaveDuplicates().hasSize(3);
+    verify(createOrderUseCase).createOrders(rentalAgreementsCaptor.capture());
+    assertThat(rentalAgreementsCaptor.getValue())
+        .extracting(RentalAgreement::rentalDays)
+        .containsExactly(5, 3, 2);
+    verify(createOrderUseCase, never()).createOrder(any(RentalAgreement.class));
+  }
+
+  private static List<Order> orders(InvocationOnMock invocation) {
+    List<RentalAgreement> rentalAgreements = invocation.getArgument(0);
+    return rentalAgreements.stream()
+        .map(rentalAgreement -> new Order(OrderId.autoGenerate(), rentalAgreement))
+        .toList();
+  }
+
   private static Tool toolFactory(String code){
     return new Tool(
         new ToolId(code),
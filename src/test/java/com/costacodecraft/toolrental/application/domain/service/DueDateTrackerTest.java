@@ -0,0 +1,222 @@
+package com.costacodecraft.toolrental.application.domain.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.costacodecraft.toolrental.application.domain.model.BrandName;
+import com.costacodecraft.toolrental.application.domain.model.Order;
+import com.costacodecraft.toolrental.application.domain.model.Order.OrderId;
+import com.costacodecraft.toolrental.application.domain.model.RentalAgreement;
+import com.costacodecraft.toolrental.application.domain.model.ToolType;
+import com.costacodecraft.toolrental.application.port.out.DueDateNotifier;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+class DueDateTrackerTest {
+
+  private static final LocalDate TODAY = LocalDate.of(2020, 7, 6);
+
+  private final List<String> notifications = new ArrayList<>();
+  private final DueDateTracker tracker = new DueDateTracker(
+      Clock.fixed(TODAY.atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC),
+      new DueDateNotifier() {
+        @Override
+        public void dueToday(LocalDate date, Collection<OrderId> orderIds) {
+          notifications.add("due " + date + " " + orderIds.size());
+        }
+
+        @Override
+        public void overdue(LocalDate dueDate, Collection<OrderId> orderIds) {
+          notifications.add("overdue " + dueDate + " " + orderIds.size());
+        }
+      }, 30);
+
+  @Test
+  void testDueAndOverdueRentals() {
+    tracker.orderCreated(order(TODAY.minusDays(2), 3));
+    tracker.orderCreated(order(TODAY.minusDays(2), 3));
+    Order returned = order(TODAY.minusDays(1), 3);
+    tracker.orderCreated(returned);
+
+    tracker.advanceTo(TODAY.plusDays(1));
+    assertThat(tracker.returned(returned.id(), returned.rentalAgreement().returnDate())).isTrue();
+    tracker.advanceTo(TODAY.plusDays(2));
+
+    assertThat(notifications).containsExactly(
+        "due 2020-07-07 2",
+        "overdue 2020-07-07 2");
+    assertThat(tracker.getOverdueCount()).isEqualTo(2);
+    assertThat(tracker.getToday()).isEqualTo(TODAY.plusDays(2));
+  }
+
+  @Test
+  void testCatchesUpSeveralDays() {
+    tracker.orderCreated(order(TODAY, 1));
+    tracker.orderCreated(order(TODAY, 3));
+
+    tracker.advanceTo(TODAY.plusDays(5));
+    tracker.advanceTo(TODAY.plusDays(1));
+
+    assertThat(notifications).containsExactly(
+        "due 2020-07-07 1",
+        "overdue 2020-07-07 1",
+        "due 2020-07-09 1",
+        "overdue 2020-07-09 1");
+  }
+
+  @Test
+  void testPastDueDatesAreNotTracked() {
+    // checked out on Independence Day 2015 and imported today
+    tracker.orderCreated(order(LocalDate.of(2015, 7, 4), 3));
+
+    tracker.advanceTo(TODAY.plusDays(1));
+
+    assertThat(notifications).isEmpty();
+    assertThat(tracker.getOverdueCount()).isZero();
+  }
+
+  @Test
+  void testOnlyTheDaysPassedAreRead() {
+    for (int i = 0; i < 100_000; i++) {
+      tracker.orderCreated(order(TODAY, 1 + i % 365));
+    }
+
+    tracker.advanceTo(TODAY.plusDays(1));
+
+    assertThat(notifications).containsExactly("due 2020-07-07 274");
+    assertThat(tracker.getDueCount(TODAY.plusDays(365))).isEqualTo(273);
+  }
+
+  @Test
+  void testExtendedRentalsMoveAndReturnedRentalsStop() {
+    Order extended = order(TODAY, 1);
+    Order returned = order(TODAY, 1);
+    tracker.orderCreated(extended);
+    tracker.orderCreated(returned);
+
+    tracker.rentalExtended(extended, order(extended.id(), TODAY, 3));
+    tracker.rentalReturned(returned, order(returned.id(), TODAY, 1));
+
+    assertThat(tracker.getDueCount(TODAY.plusDays(1))).isZero();
+    assertThat(tracker.getDueCount(TODAY.plusDays(3))).isEqualTo(1);
+  }
+
+  @Test
+  void testOverdueRentalsAreCountedAndForgotten() {
+    Order kept = order(TODAY, 1);
+    Order returned = order(TODAY, 1);
+    tracker.orderCreated(kept);
+    tracker.orderCreated(returned);
+    tracker.orderCreated(order(TODAY, 5));
+
+    tracker.advanceTo(TODAY.plusDays(2));
+    assertThat(tracker.getOverdueCount()).isEqualTo(2);
+    tracker.rentalReturned(returned, returned);
+    assertThat(tracker.getOverdueCount()).isEqualTo(1);
+
+    tracker.advanceTo(TODAY.plusDays(31));
+    assertThat(tracker.getOverdueCount()).isEqualTo(2);
+    assertThat(tracker.getDueCount(TODAY.plusDays(1))).isEqualTo(1);
+
+    tracker.advanceTo(TODAY.plusDays(32));
+    assertThat(tracker.getOverdueCount()).isEqualTo(1);
+    assertThat(tracker.getDueCount(TODAY.plusDays(1))).isZero();
+    assertThat(tracker.returned(kept.id(), TODAY.plusDays(1))).isFalse();
+  }
+
+  @Test
+  void testStoredRentalsAreTrackedAgain() {
+    Order due = order(TODAY, 1);
+    Order overdue = order(TODAY.minusDays(5), 3);
+    tracker.orderLoaded(due);
+    tracker.orderLoaded(overdue);
+    tracker.orderLoaded(order(TODAY.minusDays(60), 3));
+    tracker.orderLoaded(order(OrderId.autoGenerate(), TODAY, 2, true));
+
+    assertThat(tracker.getDueCount(TODAY.plusDays(1))).isEqualTo(1);
+    assertThat(tracker.getDueCount(TODAY.plusDays(2))).isZero();
+    assertThat(tracker.getOverdueCount()).isEqualTo(1);
+
+    tracker.advanceTo(TODAY.plusDays(1));
+    assertThat(tracker.returned(overdue.id(), TODAY.minusDays(2))).isTrue();
+
+    assertThat(notifications).containsExactly("due 2020-07-07 1");
+    assertThat(tracker.getOverdueCount()).isZero();
+  }
+
+  @Test
+  void testRentalsDueAsTheirDayEndsAreNotLost() throws Exception {
+    try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+      for (int i = 0; i < 2000; i++) {
+        DueDateTracker racing = new DueDateTracker(
+            Clock.fixed(TODAY.atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC),
+            new DueDateNotifier() {
+              @Override
+              public void dueToday(LocalDate date, Collection<OrderId> orderIds) {
+              }
+
+              @Override
+              public void overdue(LocalDate dueDate, Collection<OrderId> orderIds) {
+              }
+            }, 30);
+        // the bucket of the day ending is empty, so advancing removes it
+        Order returned = order(TODAY.minusDays(1), 1);
+        racing.orderCreated(returned);
+        racing.returned(returned.id(), TODAY);
+        CountDownLatch start = new CountDownLatch(1);
+        Future<?> created = executor.submit(() -> {
+          start.await();
+          racing.orderCreated(order(TODAY.minusDays(1), 1));
+          return null;
+        });
+        Future<?> advanced = executor.submit(() -> {
+          start.await();
+          racing.advanceTo(TODAY.plusDays(1));
+          return null;
+        });
+        start.countDown();
+        created.get();
+        advanced.get();
+
+        // a rental counted as overdue must still be in its bucket
+        assertThat(racing.getOverdueCount()).isEqualTo(racing.getDueCount(TODAY));
+      }
+    }
+  }
+
+  private static Order order(LocalDate checkoutDate, int rentalDays) {
+    return order(OrderId.autoGenerate(), checkoutDate, rentalDays);
+  }
+
+  private static Order order(OrderId id, LocalDate checkoutDate, int rentalDays) {
+    return order(id, checkoutDate, rentalDays, false);
+  }
+
+  private static Order order(OrderId id, LocalDate checkoutDate, int rentalDays,
+      boolean returned) {
+    return new Order(id, RentalAgreement.newBuilder()
+        .toolCode("LADW")
+        .toolType(ToolType.LADDER)
+        .toolBrand(BrandName.WERNER)
+        .rentalDays(rentalDays)
+        .checkoutDate(checkoutDate)
+        .returnDate(checkoutDate.plusDays(rentalDays))
+        .dailyChargeAmount(1.99)
+        .chargeDays(rentalDays)
+        .preDiscountAmount(BigDecimal.valueOf(199L * rentalDays, 2))
+        .discountPercent(0)
+        .discountAmount(BigDecimal.ZERO.setScale(2))
+        .finalChargeAmount(BigDecimal.valueOf(199L * rentalDays, 2))
+        .returned(returned)
+        .build());
+  }
+}
@@ -66,6 +66,51 @@ public class GetChargeableDaysServiceTest {
         .isThrownBy(() -> getChargeableDaysUseCase.getChargeableDays(startDate, endDate));
   }
 
+  @Test
+  void testHolidaysOutsideRangeAndOnWeekends() {
+    LocalDate startDate = LocalDate.of(2024, Month.JANUARY, 1);
+    LocalDate endDate = LocalDate.of(2024, Month.JANUARY, 14);
+    when(holidayUseCase.getHolidays(startDate, endDate)).thenReturn(Set.of(
+        startDate, LocalDate.of(2024, Month.JANUARY, 6), LocalDate.of(2024, Month.JANUARY, 10),
+        endDate, LocalDate.of(2024, Month.JANUARY, 15)));
+
+    ChargeableDaysCount chargeableDaysCount =
+        getChargeableDaysUseCase.getChargeableDays(startDate, endDate);
+
+    assertThat(chargeableDaysCount.weekdayCount()).isEqualTo(8);
+    assertThat(chargeableDaysCount.weekendCount()).isEqualTo(2);
+    assertThat(chargeableDaysCount.holidayCount()).isEqualTo(3);
+  }
+
+  @Test
+  void testMatchesDayByDayCount() {
+    GeHolidayUseCase holidays = new GetHolidayService();
+    GetChargeableDaysUseCase chargeableDays = new GetChargeableDaysService(holidays);
+    for (LocalDate start = LocalDate.of(2015, Month.JUNE, 1);
+        start.isBefore(LocalDate.of(2016, Month.OCTOBER, 1)); start = start.plusDays(3)) {
+      for (int days : new int[] {1, 2, 5, 6, 7, 8, 13, 30, 365, 800}) {
+        LocalDate end = start.plusDays(days);
+        Set<LocalDate> holidaySet = holidays.getHolidays(start, end);
+        int weekdays = 0;
+        int weekends = 0;
+        int holidayCount = 0;
+        for (LocalDate day = start.plusDays(1); !day.isAfter(end); day = day.plusDays(1)) {
+          if (holidaySet.contains(day)) {
+            holidayCount++;
+          } else if (day.getDayOfWeek().getValue() >= 6) {
+            weekends++;
+          } else {
+            weekdays++;
+          }
+        }
+
+        assertThat(chargeableDays.getChargeableDays(start, end))
+            .as("%s plus %d days", start, days)
+            .isEqualTo(new ChargeableDaysCount(weekdays, weekends, holidayCount));
+      }
+    }
+  }
+
   @Test
   void testNullStartDate() {
     LocalDate endDate = LocalDate.of(2024, Month.JANUARY, 1);
@@ -0,0 +1,172 @@
+package com.costacodecraft.toolrental.application.domain.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.costacodecraft.toolrental.application.domain.exception.IdempotencyKeyReusedException;
+import com.costacodecraft.toolrental.application.domain.exception.ToolNotFoundException;
+import com.costacodecraft.toolrental.application.domain.model.Order.OrderId;
+import com.costacodecraft.toolrental.application.domain.service.IdempotencyIndex.Claim;
+import com.costacodecraft.toolrental.application.port.in.CheckoutCommand;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class IdempotencyIndexTest {
+
+  private static final LocalDate CHECKOUT_DATE = LocalDate.of(2020, 7, 2);
+
+  @Test
+  void testRepeatedKeyReturnsOriginalOrder() {
+    IdempotencyIndex index = new IdempotencyIndex(10, Duration.ofHours(1));
+    OrderId orderId = OrderId.autoGenerate();
+
+    Claim first = index.claim(command("key"));
+    first.complete(orderId);
+    Claim second = index.claim(command("key"));
+
+    assertThat(first.isOwner()).isTrue();
+    assertThat(second.isOwner()).isFalse();
+    assertThat(second.join()).isEqualTo(orderId);
+  }
+
+  @Test
+  void testConcurrentClaimsHaveOneOwner() throws Exception {
+    IdempotencyIndex index = new IdempotencyIndex(10, Duration.ofHours(1));
+    OrderId orderId = OrderId.autoGenerate();
+    AtomicInteger owners = new AtomicInteger();
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<OrderId>> results = new ArrayList<>();
+
+    try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+      for (int i = 0; i < 64; i++) {
+        results.add(executor.submit(() -> {
+          start.await();
+          Claim claim = index.claim(command("key"));
+          if (claim.isOwner()) {
+            owners.incrementAndGet();
+            Thread.sleep(20);
+            claim.complete(orderId);
+          }
+          return claim.join();
+        }));
+      }
+      start.countDown();
+      for (Future<OrderId> result : results) {
+        assertThat(result.get()).isEqualTo(orderId);
+      }
+    }
+    assertThat(owners).hasValue(1);
+  }
+
+  @Test
+  void testFailedKeyCanBeRetried() {
+    IdempotencyIndex index = new IdempotencyIndex(10, Duration.ofHours(1));
+    Claim owner = index.claim(command("key"));
+    Claim waiter = index.claim(command("key"));
+
+    owner.fail(new ToolNotFoundException("Tool not found"));
+
+    assertThatExceptionOfType(ToolNotFoundException.class).isThrownBy(waiter::join);
+    assertThat(index.claim(command("key")).isOwner()).isTrue();
+  }
+
+  @Test
+  void testKeyOfAnotherCommandIsRejected() {
+    IdempotencyIndex index = new IdempotencyIndex(10, Duration.ofHours(1));
+    index.claim(command("key")).complete(OrderId.autoGenerate());
+
+    assertThatExceptionOfType(IdempotencyKeyReusedException.class)
+        .isThrownBy(() -> index.claim(
+            new CheckoutCommand("LADW", 4, 0, CHECKOUT_DATE).withIdempotencyKey("key")));
+    assertThat(index.claim(command("key")).isCompleted()).isTrue();
+  }
+
+  @Test
+  void testEvictsOldestKeysOverCapacity() {
+    IdempotencyIndex index = new IdempotencyIndex(2, Duration.ofHours(1));
+    for (String key : List.of("a", "b", "c")) {
+      index.claim(command(key)).complete(OrderId.autoGenerate());
+    }
+
+    assertThat(index.size()).isEqualTo(2);
+    assertThat(index.claim(command("b")).isOwner()).isFalse();
+    assertThat(index.claim(command("a")).isOwner()).isTrue();
+  }
+
+  @Test
+  void testKeepsKeysInProgressOverCapacity() {
+    IdempotencyIndex index = new IdempotencyIndex(2, Duration.ofHours(1));
+    List<Claim> claims = new ArrayList<>();
+    for (String key : List.of("a", "b", "c")) {
+      claims.add(index.claim(command(key)));
+    }
+
+    assertThat(claims).allMatch(Claim::isOwner);
+    assertThat(index.size()).isEqualTo(3);
+    assertThat(index.claim(command("a")).isOwner()).isFalse();
+
+    claims.forEach(claim -> claim.complete(OrderId.autoGenerate()));
+    index.claim(command("d")).complete(OrderId.autoGenerate());
+
+    // only the oldest key with an order goes, "d" did not count while it was in progress
+    assertThat(index.size()).isEqualTo(3);
+    assertThat(index.claim(command("b")).isCompleted()).isTrue();
+    assertThat(index.claim(command("a")).isOwner()).isTrue();
+  }
+
+  @Test
+  void testFailedKeysDoNotCountAgainstCapacity() {
+    IdempotencyIndex index = new IdempotencyIndex(2, Duration.ofHours(1));
+    index.claim(command("a")).complete(OrderId.autoGenerate());
+    index.claim(command("failed")).fail(new ToolNotFoundException("Tool not found"));
+    index.claim(command("b")).complete(OrderId.autoGenerate());
+
+    // "c" is in progress, and "a" and "b" are the only keys with an order
+    Claim claim = index.claim(command("c"));
+
+    assertThat(index.size()).isEqualTo(3);
+    assertThat(index.claim(command("a")).isOwner()).isFalse();
+    claim.complete(OrderId.autoGenerate());
+    index.claim(command("d")).complete(OrderId.autoGenerate());
+    assertThat(index.size()).isEqualTo(3);
+    assertThat(index.claim(command("a")).isOwner()).isTrue();
+  }
+
+  @Test
+  void testBatchOverCapacityKeepsItsOwnClaims() {
+    IdempotencyIndex index = new IdempotencyIndex(4, Duration.ofHours(1));
+    List<Claim> claims = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      claims.add(index.claim(command("key-" + i)));
+    }
+
+    for (int i = 0; i < 10; i++) {
+      Claim retry = index.claim(command("key-" + i));
+      assertThat(retry.isOwner()).isFalse();
+      claims.get(i).complete(OrderId.autoGenerate());
+      assertThat(retry.isCompleted()).isTrue();
+    }
+  }
+
+  @Test
+  void testForgetsExpiredKeys() throws InterruptedException {
+    IdempotencyIndex index = new IdempotencyIndex(10, Duration.ofMillis(20));
+    index.claim(command("key")).complete(OrderId.autoGenerate());
+
+    Thread.sleep(40);
+
+    assertThat(index.claim(command("key")).isOwner()).isTrue();
+  }
+
+  private static CheckoutCommand command(String key) {
+    return new CheckoutCommand("LADW", 3, 0, CHECKOUT_DATE).withIdempotencyKey(key);
+  }
+}
@@ -0,0 +1,78 @@
+package com.costacodecraft.toolrental.application.domain.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.costacodecraft.toolrental.adapters.out.persistence.InMemoryOrderRepository;
+import com.costacodecraft.toolrental.adapters.out.persistence.InMemoryToolRepository;
+import com.costacodecraft.toolrental.application.domain.exception.ToolNotFoundException;
+import com.costacodecraft.toolrental.application.domain.model.BrandName;
+import com.costacodecraft.toolrental.application.domain.model.Order.OrderId;
+import com.costacodecraft.toolrental.application.domain.model.Price;
+import com.costacodecraft.toolrental.application.domain.model.RentalAgreement;
+import com.costacodecraft.toolrental.application.domain.model.Tool;
+import com.costacodecraft.toolrental.application.domain.model.Tool.ToolId;
+import com.costacodecraft.toolrental.application.domain.model.ToolType;
+import com.costacodecraft.toolrental.application.port.in.CheckoutCommand;
+import com.costacodecraft.toolrental.application.port.out.OrderRepository;
+import com.costacodecraft.toolrental.application.port.out.ToolRepository;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class QuoteServiceTest {
+
+  private OrderRepository orderRepository;
+  private CheckoutService checkoutService;
+  private QuoteService quoteService;
+
+  @BeforeEach
+  void setUp() {
+    ToolRepository toolRepository = new InMemoryToolRepository();
+    toolRepository.addTool(new Tool(new ToolId("LADW"), ToolType.LADDER, BrandName.WERNER,
+        Price.newBuilder()
+            .dailyCharge(1.99)
+            .weekdayCharge(true)
+            .weekendCharge(true)
+            .holidayCharge(false)
+            .build()));
+    orderRepository = new InMemoryOrderRepository();
+    CheckoutPricer checkoutPricer = new CheckoutPricer(toolRepository,
+        new GetChargeableDaysService(new GetHolidayService()), new CheckoutValidator());
+    checkoutService = new CheckoutService(checkoutPricer,
+        new CreateOrderService(orderRepository),
+        new IdempotencyIndex(1000, Duration.ofHours(1)));
+    quoteService = new QuoteService(checkoutPricer);
+  }
+
+  @Test
+  void testQuoteMatchesCheckoutWithoutCreatingOrders() {
+    CheckoutCommand command = new CheckoutCommand("LADW", 3, 10, LocalDate.of(2020, 7, 2));
+
+    RentalAgreement quote = quoteService.quote(command);
+
+    assertThat(orderRepository.findAll()).isEmpty();
+    OrderId orderId = checkoutService.checkout(List.of(command)).getFirst();
+    assertThat(orderRepository.findById(orderId).orElseThrow().rentalAgreement())
+        .isEqualTo(quote);
+  }
+
+  @Test
+  void testBatchQuoteKeepsCommandOrder() {
+    List<RentalAgreement> quotes = quoteService.quote(List.of(
+        new CheckoutCommand("LADW", 3, 10, LocalDate.of(2020, 7, 2)),
+        new CheckoutCommand("LADW", 5, 0, LocalDate.of(2015, 9, 3))));
+
+    assertThat(quotes).extracting(RentalAgreement::rentalDays).containsExactly(3, 5);
+    assertThat(orderRepository.findAll()).isEmpty();
+  }
+
+  @Test
+  void testQuoteUnknownTool() {
+    assertThatExceptionOfType(ToolNotFoundException.class)
+        .isThrownBy(() -> quoteService.quote(
+            new CheckoutCommand("NONE", 3, 10, LocalDate.of(2020, 7, 2))));
+  }
+}
@@ -0,0 +1,152 @@
+package com.costacodecraft.toolrental.application.domain.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.costacodecraft.toolrental.adapters.out.persistence.DataLoader;
+import com.costacodecraft.toolrental.adapters.out.persistence.InMemoryOrderRepository;
+import com.costacodecraft.toolrental.adapters.out.persistence.InMemoryToolRepository;
+import com.costacodecraft.toolrental.application.domain.model.Order;
+import com.costacodecraft.toolrental.application.domain.model.Order.OrderId;
+import com.costacodecraft.toolrental.application.domain.model.RentalAgreement;
+import com.costacodecraft.toolrental.application.port.in.CheckoutCommand;
+import com.costacodecraft.toolrental.application.port.in.PriceDifference;
+import com.costacodecraft.toolrental.application.port.in.Reconciliation;
+import com.costacodecraft.toolrental.application.port.out.OrderRepository;
+import com.costacodecraft.toolrental.application.port.out.ToolRepository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ReconcileOrdersServiceTest {
+
+  private static final String[] TOOL_CODES = {"CHNS", "LADW", "JAKD", "JAKR"};
+
+  private final OrderRepository orderRepository = new InMemoryOrderRepository();
+  private final ToolRepository toolRepository = new InMemoryToolRepository();
+  private final Set<OrderId> changedOrderIds = new HashSet<>();
+  private CheckoutPricer checkoutPricer;
+
+  @BeforeEach
+  void setUp() {
+    new DataLoader(new AddToolService(toolRepository)).loadData();
+    checkoutPricer = new CheckoutPricer(toolRepository,
+        new GetChargeableDaysService(new GetHolidayService()), new CheckoutValidator());
+    Random random = new Random(42);
+    List<UUID> ids = new ArrayList<>(List.of(
+        new UUID(Long.MIN_VALUE, Long.MIN_VALUE),
+        new UUID(-1, Long.MAX_VALUE),
+        new UUID(0, Long.MIN_VALUE),
+        new UUID(Long.MAX_VALUE, Long.MAX_VALUE)));
+    for (int i = 0; i < 5000; i++) {
+      ids.add(new UUID(random.nextLong(), random.nextLong()));
+    }
+    for (int i = 0; i < ids.size(); i++) {
+      RentalAgreement agreement = checkoutPricer.price(new CheckoutCommand(
+          TOOL_CODES[random.nextInt(4)], random.nextInt(1, 60), random.nextInt(0, 101),
+          LocalDate.of(2015, 1, 1).plusDays(random.nextInt(4000))));
+      OrderId id = new OrderId(ids.get(i));
+      if (i % 97 == 0) {
+        // as if priced with an older rule
+        agreement = copy(agreement, agreement.toolCode(),
+            agreement.finalChargeAmount().add(BigDecimal.ONE));
+        changedOrderIds.add(id);
+      }
+      orderRepository.createOrder(new Order(id, agreement));
+    }
+  }
+
+  @Test
+  void testFindsChangedOrders() {
+    for (int parallelism : new int[] {1, 3}) {
+      List<PriceDifference> differences = new ArrayList<>();
+      ReconcileOrdersService service =
+          new ReconcileOrdersService(orderRepository, toolRepository, checkoutPricer,
+              parallelism);
+
+      Reconciliation reconciliation = service.reconcile(differences::add);
+
+      assertThat(reconciliation).isEqualTo(new Reconciliation(5004, changedOrderIds.size(), 0));
+      assertThat(differences)
+          .extracting(difference -> difference.order().id())
+          .containsExactlyInAnyOrderElementsOf(changedOrderIds);
+      assertThat(differences).allSatisfy(difference -> assertThat(
+          difference.order().rentalAgreement().finalChargeAmount()
+              .subtract(difference.repricedAgreement().finalChargeAmount()))
+          .isEqualByComparingTo("1"));
+    }
+  }
+
+  @Test
+  void testReadsOrdersAPageAtATime() {
+    List<Integer> pages = new ArrayList<>();
+    OrderRepository pagedRepository = new InMemoryOrderRepository() {
+      @Override
+      public List<Order> findPage(OrderId after, int limit) {
+        List<Order> page = orderRepository.findPage(after, limit);
+        pages.add(page.size());
+        return page;
+      }
+
+      @Override
+      public List<Order> findAll() {
+        throw new AssertionError("Reconciliation must not copy every order");
+      }
+    };
+    List<PriceDifference> differences = new ArrayList<>();
+
+    Reconciliation reconciliation = new ReconcileOrdersService(pagedRepository, toolRepository,
+        checkoutPricer, 3, 64).reconcile(differences::add);
+
+    assertThat(reconciliation).isEqualTo(new Reconciliation(5004, changedOrderIds.size(), 0));
+    assertThat(differences)
+        .extracting(difference -> difference.order().id())
+        .containsExactlyInAnyOrderElementsOf(changedOrderIds);
+    assertThat(pages).hasSize(5004 / 64 + 2).allMatch(size -> size <= 64);
+  }
+
+  @Test
+  void testCountsOrdersOfUnknownTools() {
+    RentalAgreement agreement = orderRepository.findAll().getFirst().rentalAgreement();
+    orderRepository.createOrder(new Order(OrderId.autoGenerate(),
+        copy(agreement, "GONE", agreement.finalChargeAmount())));
+
+    Reconciliation reconciliation = new ReconcileOrdersService(orderRepository, toolRepository,
+        checkoutPricer, 2).reconcile(difference -> { });
+
+    assertThat(reconciliation.orders()).isEqualTo(5005);
+    assertThat(reconciliation.toolsNotFound()).isEqualTo(1);
+  }
+
+  @Test
+  void testNoOrders() {
+    Reconciliation reconciliation = new ReconcileOrdersService(new InMemoryOrderRepository(),
+        toolRepository, checkoutPricer, 4).reconcile(difference -> { });
+
+    assertThat(reconciliation).isEqualTo(new Reconciliation(0, 0, 0));
+  }
+
+  private static RentalAgreement copy(RentalAgreement agreement, String toolCode,
+      BigDecimal finalChargeAmount) {
+    return RentalAgreement.newBuilder()
+        .toolCode(toolCode)
+        .toolType(agreement.toolType())
+        .toolBrand(agreement.toolBrand())
+        .rentalDays(agreement.rentalDays())
+        .checkoutDate(agreement.checkoutDate())
+        .returnDate(agreement.returnDate())
+        .dailyChargeAmount(agreement.dailyChargeAmount())
+        .chargeDays(agreement.chargeDays())
+        .preDiscountAmount(agreement.preDiscountAmount())
+        .discountPercent(agreement.discountPercent())
+        .discountAmount(agreement.discountAmount())
+        .finalChargeAmount(finalChargeAmount)
+        .build();
+  }
+}
@@ -0,0 +1,109 @@
+package com.costacodecraft.toolrental.application.domain.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import com.costacodecraft.toolrental.adapters.out.persistence.InMemoryToolRepository;
+import com.costacodecraft.toolrental.application.domain.model.BrandName;
+import com.costacodecraft.toolrental.application.domain.model.CatalogDiff;
+import com.costacodecraft.toolrental.application.domain.model.Price;
+import com.costacodecraft.toolrental.application.domain.model.Tool;
+import com.costacodecraft.toolrental.application.domain.model.Tool.ToolId;
+import com.costacodecraft.toolrental.application.domain.model.ToolType;
+import com.costacodecraft.toolrental.application.port.out.ToolRepository;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ReloadCatalogServiceTest {
+
+  private ToolRepository toolRepository;
+  private ReloadCatalogService reloadCatalogService;
+
+  @BeforeEach
+  void setUp() {
+    toolRepository = new InMemoryToolRepository();
+    toolRepository.addTool(toolFactory("CHNS", 1.49));
+    toolRepository.addTool(toolFactory("LADW", 1.99));
+    toolRepository.addTool(toolFactory("JAKD", 2.99));
+    reloadCatalogService = new ReloadCatalogService(toolRepository);
+  }
+
+  @Test
+  void testReloadAppliesOnlyChangedTools() {
+    CatalogDiff diff = reloadCatalogService.reloadCatalog(List.of(
+        toolFactory("CHNS", 1.49),
+        toolFactory("LADW", 2.49),
+        toolFactory("JAKR", 2.99)));
+
+    assertThat(diff.added()).extracting(tool -> tool.id().code()).containsExactly("JAKR");
+    assertThat(diff.updated()).extracting(tool -> tool.id().code()).containsExactly("LADW");
+    assertThat(diff.removed()).containsExactly(new ToolId("JAKD"));
+    assertThat(toolRepository.findAll())
+        .extracting(tool -> tool.id().code())
+        .containsExactlyInAnyOrder("CHNS", "LADW", "JAKR");
+    assertThat(toolRepository.findById(new ToolId("LADW")))
+        .hasValueSatisfying(tool -> assertThat(tool.price().dailyCharge()).isEqualTo(2.49));
+  }
+
+  @Test
+  void testReloadWithSameCatalogIsEmpty() {
+    CatalogDiff diff = reloadCatalogService.reloadCatalog(List.of(
+        toolFactory("CHNS", 1.49),
+        toolFactory("LADW", 1.99),
+        toolFactory("JAKD", 2.99)));
+
+    assertThat(diff.isEmpty()).isTrue();
+  }
+
+  @Test
+  void testReloadWithDuplicateToolCode() {
+    List<Tool> catalog = List.of(toolFactory("CHNS", 1.49), toolFactory("CHNS", 1.99));
+
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> reloadCatalogService.reloadCatalog(catalog))
+        .withMessage("Duplicate tool code: CHNS");
+    assertThat(toolRepository.findAll()).hasSize(3);
+  }
+
+  @Test
+  void testReloadComputesChangesAgainWhenToolsChangeMeanwhile() {
+    ToolRepository racingRepository = new InMemoryToolRepository() {
+      private boolean raced;
+
+      @Override
+      public Iterable<Tool> findAll() {
+        Iterable<Tool> tools = super.findAll();
+        if (!raced) {
+          // another writer adds a tool after the reload read the catalog
+          raced = true;
+          addTool(toolFactory("JAKR", 2.99));
+        }
+        return tools;
+      }
+    };
+    racingRepository.addTool(toolFactory("CHNS", 1.49));
+    racingRepository.addTool(toolFactory("LADW", 1.99));
+
+    CatalogDiff diff = new ReloadCatalogService(racingRepository).reloadCatalog(List.of(
+        toolFactory("CHNS", 1.49),
+        toolFactory("LADW", 2.49)));
+
+    assertThat(diff.updated()).extracting(tool -> tool.id().code()).containsExactly("LADW");
+    assertThat(diff.removed()).containsExactly(new ToolId("JAKR"));
+    assertThat(racingRepository.findAll())
+        .extracting(tool -> tool.id().code())
+        .containsExactly("CHNS", "LADW");
+  }
+
+  private static Tool toolFactory(String code, double dailyCharge) {
+    return new Tool(
+        new ToolId(code),
+        ToolType.CHAINSAW,
+        BrandName.STIHL,
+        Price.newBuilder()
+            .dailyCharge(dailyCharge)
+            .build()
+    );
+  }
+}
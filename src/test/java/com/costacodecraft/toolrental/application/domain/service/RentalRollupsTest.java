@@ -0,0 +1,153 @@
+package com.costacodecraft.toolrental.application.domain.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.costacodecraft.toolrental.adapters.out.persistence.InMemoryOrderRepository;
+import com.costacodecraft.toolrental.application.domain.model.BrandName;
+import com.costacodecraft.toolrental.application.domain.model.Order;
+import com.costacodecraft.toolrental.application.domain.model.RentalAgreement;
+import com.costacodecraft.toolrental.application.domain.model.ToolType;
+import com.costacodecraft.toolrental.application.port.in.RollupTotals;
+import com.costacodecraft.toolrental.application.port.out.CheckoutMetrics;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+class RentalRollupsTest {
+
+  private final RentalRollups rollups = new RentalRollups();
+
+  @Test
+  void testTotalsOfQuarterByToolType() {
+    rollups.add(agreement("LADW", ToolType.LADDER, BrandName.WERNER, "2020-06-30", "10.00", 0));
+    rollups.add(agreement("LADW", ToolType.LADDER, BrandName.WERNER, "2020-07-01", "3.98", 10));
+    rollups.add(agreement("CHNS", ToolType.CHAINSAW, BrandName.STIHL, "2020-08-15", "4.47", 0));
+    rollups.add(agreement("JAKD", ToolType.JACKHAMMER, BrandName.DEWALT, "2020-09-30", "8.97",
+        50));
+    rollups.add(agreement("JAKR", ToolType.JACKHAMMER, BrandName.REDGID, "2020-10-01", "5.98", 0));
+
+    LocalDate from = LocalDate.of(2020, 7, 1);
+    LocalDate to = LocalDate.of(2020, 9, 30);
+
+    assertThat(rollups.getTotals(from, to))
+        .isEqualTo(new RollupTotals(new BigDecimal("12.53"), new BigDecimal("4.89"), 9, 3));
+    assertThat(rollups.getTotalsByToolType(from, to))
+        .containsOnlyKeys(ToolType.LADDER, ToolType.CHAINSAW, ToolType.JACKHAMMER)
+        .containsEntry(ToolType.JACKHAMMER,
+            new RollupTotals(new BigDecimal("4.48"), new BigDecimal("4.49"), 3, 1));
+    assertThat(rollups.getTotalsByBrand(from, to))
+        .doesNotContainKey(BrandName.REDGID)
+        .containsEntry(BrandName.WERNER,
+            new RollupTotals(new BigDecimal("3.58"), new BigDecimal("0.40"), 3, 1));
+    assertThat(rollups.getTotalsByToolCode(from, to)).containsOnlyKeys("LADW", "CHNS", "JAKD");
+  }
+
+  @Test
+  void testEmptyPeriod() {
+    LocalDate day = LocalDate.of(2020, 7, 1);
+
+    assertThat(rollups.getTotals(day, day))
+        .isEqualTo(new RollupTotals(BigDecimal.valueOf(0, 2), BigDecimal.valueOf(0, 2), 0, 0));
+    assertThat(rollups.getTotalsByToolType(day, day)).isEmpty();
+    assertThat(rollups.getTotalsByToolCode(day, day)).isEmpty();
+  }
+
+  @Test
+  void testInvalidPeriod() {
+    LocalDate day = LocalDate.of(2020, 7, 1);
+
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> rollups.getTotals(day, day.minusDays(1)));
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> rollups.getTotalsByBrand(null, day));
+  }
+
+  @Test
+  void testConcurrentAdds() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int thread = 0; thread < 4; thread++) {
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < 10_000; i++) {
+            rollups.add(agreement("LADW", ToolType.LADDER, BrandName.WERNER,
+                LocalDate.of(2020, 1, 1).plusDays(i % 366).toString(), "1.99", 0));
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    assertThat(rollups.getTotals(LocalDate.of(2020, 1, 1), LocalDate.of(2020, 12, 31)))
+        .isEqualTo(new RollupTotals(new BigDecimal("79600.00"), BigDecimal.valueOf(0, 2),
+            120_000, 40_000));
+  }
+
+  @Test
+  void testCreatedOrdersAreAdded() {
+    CreateOrderService createOrderService = new CreateOrderService(new InMemoryOrderRepository(),
+        CheckoutMetrics.NONE, List.of(rollups));
+    LocalDate day = LocalDate.of(2020, 7, 1);
+
+    createOrderService.createOrder(
+        agreement("LADW", ToolType.LADDER, BrandName.WERNER, "2020-07-01", "3.98", 10));
+    createOrderService.createOrders(List.of(
+        agreement("CHNS", ToolType.CHAINSAW, BrandName.STIHL, "2020-07-01", "4.47", 0),
+        agreement("CHNS", ToolType.CHAINSAW, BrandName.STIHL, "2020-07-01", "4.47", 0)));
+
+    assertThat(rollups.getTotals(day, day).rentals()).isEqualTo(3);
+    assertThat(rollups.getTotalsByToolCode(day, day).get("CHNS").revenue())
+        .isEqualByComparingTo("8.94");
+  }
+
+  @Test
+  void testOrderThatCannotBeAddedIsStillCreated() {
+    InMemoryOrderRepository orderRepository = new InMemoryOrderRepository();
+    CreateOrderService createOrderService = new CreateOrderService(orderRepository,
+        CheckoutMetrics.NONE, List.of(rollups));
+    LocalDate day = LocalDate.of(2020, 7, 1);
+
+    Order order = createOrderService.createOrder(
+        agreement("LADW", ToolType.LADDER, BrandName.WERNER, "2020-07-01", "3.985", 0));
+
+    assertThat(orderRepository.findById(order.id())).contains(order);
+    assertThat(rollups.getTotals(day, day).rentals()).isZero();
+  }
+
+  /**
+   * Creates an agreement of three charge days.
+   */
+  private static RentalAgreement agreement(String toolCode, ToolType toolType,
+      BrandName toolBrand, String checkoutDate, String preDiscountAmount, int discountPercent) {
+    BigDecimal preDiscount = new BigDecimal(preDiscountAmount);
+    BigDecimal discount = preDiscount.multiply(BigDecimal.valueOf(discountPercent))
+        .movePointLeft(2)
+        .setScale(2, RoundingMode.HALF_UP);
+    LocalDate date = LocalDate.parse(checkoutDate);
+    return RentalAgreement.newBuilder()
+        .toolCode(toolCode)
+        .toolType(toolType)
+        .toolBrand(toolBrand)
+        .rentalDays(3)
+        .checkoutDate(date)
+        .returnDate(date.plusDays(3))
+        .dailyChargeAmount(preDiscount.doubleValue() / 3)
+        .chargeDays(3)
+        .preDiscountAmount(preDiscount)
+        .discountPercent(discountPercent)
+        .discountAmount(discount)
+        .finalChargeAmount(preDiscount.subtract(discount))
+        .build();
+  }
+}
@@ -0,0 +1,96 @@
+package com.costacodecraft.toolrental.application.domain.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.costacodecraft.toolrental.adapters.out.persistence.InMemoryOrderRepository;
+import com.costacodecraft.toolrental.application.domain.model.BrandName;
+import com.costacodecraft.toolrental.application.domain.model.Order;
+import com.costacodecraft.toolrental.application.domain.model.RentalAgreement;
+import com.costacodecraft.toolrental.application.domain.model.ToolType;
+import com.costacodecraft.toolrental.application.port.in.RollupTotals;
+import com.costacodecraft.toolrental.application.port.in.ToolRanking;
+import com.costacodecraft.toolrental.application.port.out.CheckoutMetrics;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ReplayOrdersServiceTest {
+
+  private static final LocalDate MONDAY = LocalDate.of(2020, 7, 6);
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void testRollupsCoverOrdersOfEarlierRuns() throws Exception {
+    String ordersFile = directory.resolve("orders.bin").toString();
+    InMemoryOrderRepository repository = new InMemoryOrderRepository(ordersFile);
+    CreateOrderService createOrderService = new CreateOrderService(repository,
+        CheckoutMetrics.NONE, List.of(new RentalRollups()));
+    createOrderService.createOrder(agreement("LADW", MONDAY, "3.98", 2));
+    Order extended = createOrderService.createOrder(agreement("CHNS", MONDAY, "4.47", 3));
+    repository.updateOrder(new Order(extended.id(), agreement("CHNS", MONDAY, "7.45", 5)));
+    repository.close();
+
+    InMemoryOrderRepository restarted = new InMemoryOrderRepository(ordersFile);
+    RentalRollups rollups = new RentalRollups();
+    new ReplayOrdersService(restarted, List.of(rollups)).replay();
+    restarted.close();
+
+    RollupTotals totals = rollups.getTotals(MONDAY, MONDAY);
+    assertThat(totals.rentals()).isEqualTo(2);
+    assertThat(totals.revenue()).isEqualByComparingTo("11.43");
+    assertThat(totals.chargeDays()).isEqualTo(7);
+  }
+
+  @Test
+  void testTopToolsCoverOrdersOfEarlierRuns() throws Exception {
+    String ordersFile = directory.resolve("orders.bin").toString();
+    InMemoryOrderRepository repository = new InMemoryOrderRepository(ordersFile);
+    CreateOrderService createOrderService = new CreateOrderService(repository);
+    createOrderService.createOrder(agreement("LADW", MONDAY, "3.98", 2));
+    createOrderService.createOrder(agreement("CHNS", MONDAY.plusDays(1), "4.47", 3));
+    createOrderService.createOrder(agreement("LADW", MONDAY.minusDays(7), "100.00", 50));
+    repository.close();
+
+    InMemoryOrderRepository restarted = new InMemoryOrderRepository(ordersFile);
+    TopTools topTools = new TopTools(7, 64, 1024);
+    new ReplayOrdersService(restarted, List.of(topTools)).replay();
+    restarted.close();
+
+    assertThat(topTools.getTopToolsByRevenue(MONDAY.plusDays(1), 10)).containsExactly(
+        new ToolRanking("CHNS", new BigDecimal("4.47"), 3, true),
+        new ToolRanking("LADW", new BigDecimal("3.98"), 2, true));
+  }
+
+  @Test
+  void testNoStoredOrders() {
+    RentalRollups rollups = new RentalRollups();
+
+    new ReplayOrdersService(new InMemoryOrderRepository(), List.of(rollups)).replay();
+
+    assertThat(rollups.getTotals(MONDAY, MONDAY).rentals()).isZero();
+  }
+
+  static RentalAgreement agreement(String toolCode, LocalDate checkoutDate,
+      String finalChargeAmount, int chargeDays) {
+    BigDecimal amount = new BigDecimal(finalChargeAmount);
+    return RentalAgreement.newBuilder()
+        .toolCode(toolCode)
+        .toolType(ToolType.LADDER)
+        .toolBrand(BrandName.WERNER)
+        .rentalDays(chargeDays)
+        .checkoutDate(checkoutDate)
+        .returnDate(checkoutDate.plusDays(chargeDays))
+        .dailyChargeAmount(amount.doubleValue() / chargeDays)
+        .chargeDays(chargeDays)
+        .preDiscountAmount(amount)
+        .discountPercent(0)
+        .discountAmount(BigDecimal.ZERO.setScale(2))
+        .finalChargeAmount(amount)
+        .build();
+  }
+}
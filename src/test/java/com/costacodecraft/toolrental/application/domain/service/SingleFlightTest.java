@@ -0,0 +1,97 @@
+package com.costacodecraft.toolrental.application.domain.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.costacodecraft.toolrental.application.domain.exception.ToolNotFoundException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+  private static final int CALLERS = 16;
+
+  @Test
+  void testConcurrentCallsShareOneComputation() throws Exception {
+    SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+    AtomicInteger computations = new AtomicInteger();
+    CountDownLatch release = new CountDownLatch(1);
+
+    try (ExecutorService executor = Executors.newFixedThreadPool(CALLERS)) {
+      List<Future<Integer>> results = new ArrayList<>();
+      for (int i = 0; i < CALLERS; i++) {
+        results.add(executor.submit(() -> singleFlight.execute("LADW", () -> {
+          computations.incrementAndGet();
+          await(release);
+          return 42;
+        })));
+      }
+      awaitCoalesced(singleFlight, CALLERS - 1);
+      release.countDown();
+      for (Future<Integer> result : results) {
+        assertThat(result.get()).isEqualTo(42);
+      }
+    }
+
+    assertThat(computations).hasValue(1);
+    assertThat(singleFlight.getStats()).isEqualTo(new SingleFlight.Stats(1, CALLERS - 1));
+  }
+
+  @Test
+  void testFailureIsSharedAndNotCached() throws Exception {
+    SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+    CountDownLatch release = new CountDownLatch(1);
+
+    try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+      List<Future<Integer>> results = new ArrayList<>();
+      for (int i = 0; i < 2; i++) {
+        results.add(executor.submit(() -> singleFlight.execute("NONE", () -> {
+          await(release);
+          throw new ToolNotFoundException("Tool not found");
+        })));
+      }
+      awaitCoalesced(singleFlight, 1);
+      release.countDown();
+      for (Future<Integer> result : results) {
+        assertThatExceptionOfType(ExecutionException.class)
+            .isThrownBy(result::get)
+            .withCauseInstanceOf(ToolNotFoundException.class);
+      }
+    }
+
+    assertThat(singleFlight.execute("NONE", () -> 7)).isEqualTo(7);
+  }
+
+  @Test
+  void testDifferentKeysComputeSeparately() {
+    SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+    assertThat(singleFlight.execute("a", () -> "A")).isEqualTo("A");
+    assertThat(singleFlight.execute("b", () -> "B")).isEqualTo("B");
+    assertThat(singleFlight.getStats()).isEqualTo(new SingleFlight.Stats(2, 0));
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void awaitCoalesced(SingleFlight<?, ?> singleFlight, long expected)
+      throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (singleFlight.getStats().coalesced() < expected && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+  }
+}
@@ -0,0 +1,160 @@
+package com.costacodecraft.toolrental.application.domain.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.costacodecraft.toolrental.adapters.out.persistence.InMemoryOrderRepository;
+import com.costacodecraft.toolrental.application.domain.model.BrandName;
+import com.costacodecraft.toolrental.application.domain.model.Order;
+import com.costacodecraft.toolrental.application.domain.model.Order.OrderId;
+import com.costacodecraft.toolrental.application.domain.model.RentalAgreement;
+import com.costacodecraft.toolrental.application.domain.model.ToolType;
+import com.costacodecraft.toolrental.application.port.in.ToolRanking;
+import com.costacodecraft.toolrental.application.port.out.CheckoutMetrics;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class TopToolsTest {
+
+  private static final LocalDate MONDAY = LocalDate.of(2020, 7, 6);
+
+  @Test
+  void testRankingsOverWindow() {
+    TopTools topTools = new TopTools(7, 64, 1024);
+    topTools.add(agreement("LADW", MONDAY.minusDays(7), "100.00", 50));
+    topTools.add(agreement("LADW", MONDAY, "3.98", 2));
+    topTools.add(agreement("CHNS", MONDAY.plusDays(2), "4.47", 3));
+    topTools.add(agreement("JAKD", MONDAY.plusDays(6), "8.97", 3));
+    topTools.add(agreement("JAKD", MONDAY.plusDays(6), "2.99", 1));
+
+    assertThat(topTools.getTopToolsByRevenue(MONDAY.plusDays(6), 2)).containsExactly(
+        new ToolRanking("JAKD", new BigDecimal("11.96"), 4, true),
+        new ToolRanking("CHNS", new BigDecimal("4.47"), 3, true));
+    assertThat(topTools.getTopToolsByChargeDays(MONDAY.plusDays(6), 10))
+        .extracting(ToolRanking::toolCode)
+        .containsExactly("JAKD", "CHNS", "LADW");
+    assertThat(topTools.getTopToolsByRevenue(MONDAY.plusDays(1), 10))
+        .extracting(ToolRanking::toolCode)
+        .containsExactly("LADW");
+  }
+
+  @Test
+  void testWindowSlides() {
+    TopTools topTools = new TopTools(7, 64, 1024);
+    topTools.add(agreement("LADW", MONDAY, "3.98", 2));
+    topTools.add(agreement("CHNS", MONDAY.plusDays(7), "4.47", 3));
+    // too old to be counted once the window moved past it
+    topTools.add(agreement("LADW", MONDAY, "3.98", 2));
+
+    assertThat(topTools.getTopToolsByRevenue(MONDAY, 10)).isEmpty();
+    assertThat(topTools.getTopToolsByRevenue(MONDAY.plusDays(7), 10))
+        .extracting(ToolRanking::toolCode)
+        .containsExactly("CHNS");
+  }
+
+  @Test
+  void testLargeCatalogIsSketched() {
+    TopTools topTools = new TopTools(1, 20, 100);
+    long total = 0;
+    for (int i = 0; i < 50_000; i++) {
+      topTools.add(agreement("T" + (i % 5000), MONDAY, "1.00", 1));
+      total += 100;
+      if (i % 10 == 0) {
+        topTools.add(agreement("HOT" + (i % 100 / 10), MONDAY, "20.00", 1));
+        total += 2000;
+      }
+    }
+
+    List<ToolRanking> rankings = topTools.getTopToolsByRevenue(MONDAY, 10);
+
+    assertThat(rankings).extracting(ToolRanking::toolCode).containsExactlyInAnyOrder(
+        "HOT0", "HOT1", "HOT2", "HOT3", "HOT4", "HOT5", "HOT6", "HOT7", "HOT8", "HOT9");
+    long maxError = 2 * total / 1024;
+    assertThat(rankings).allSatisfy(ranking -> {
+      assertThat(ranking.exact()).isFalse();
+      long cents = ranking.revenue().movePointRight(2).longValueExact();
+      assertThat(cents).isBetween(1_000_000L, 1_000_000L + maxError);
+    });
+  }
+
+  @Test
+  void testAmendedRentalsMoveTheirTotals() {
+    TopTools topTools = new TopTools(7, 64, 1024);
+    Order ladder = new Order(OrderId.autoGenerate(), agreement("LADW", MONDAY, "3.98", 2));
+    Order chainsaw = new Order(OrderId.autoGenerate(), agreement("CHNS", MONDAY, "4.47", 3));
+    topTools.orderCreated(ladder);
+    topTools.orderCreated(chainsaw);
+
+    topTools.rentalExtended(ladder,
+        new Order(ladder.id(), agreement("LADW", MONDAY, "9.95", 5)));
+    topTools.rentalReturned(chainsaw,
+        new Order(chainsaw.id(), agreement("CHNS", MONDAY, "1.49", 1)));
+
+    assertThat(topTools.getTopToolsByRevenue(MONDAY, 10)).containsExactly(
+        new ToolRanking("LADW", new BigDecimal("9.95"), 5, true),
+        new ToolRanking("CHNS", new BigDecimal("1.49"), 1, true));
+  }
+
+  @Test
+  void testAmendedRentalsOutOfTheWindowAreIgnored() {
+    TopTools topTools = new TopTools(7, 64, 1024);
+    Order old = new Order(OrderId.autoGenerate(), agreement("LADW", MONDAY, "3.98", 2));
+    topTools.orderCreated(old);
+    topTools.add(agreement("CHNS", MONDAY.plusDays(7), "4.47", 3));
+
+    topTools.rentalExtended(old, new Order(old.id(), agreement("LADW", MONDAY, "9.95", 5)));
+
+    assertThat(topTools.getTopToolsByRevenue(MONDAY.plusDays(7), 10))
+        .extracting(ToolRanking::toolCode)
+        .containsExactly("CHNS");
+  }
+
+  @Test
+  void testOrderThatCannotBeRankedIsStillCreated() {
+    TopTools topTools = new TopTools(7, 64, 1024);
+    List<Order> toldAfter = new ArrayList<>();
+    InMemoryOrderRepository orderRepository = new InMemoryOrderRepository();
+    CreateOrderService createOrderService = new CreateOrderService(orderRepository,
+        CheckoutMetrics.NONE, List.of(topTools, toldAfter::add));
+
+    Order order = createOrderService.createOrder(agreement("LADW", MONDAY, "3.985", 2));
+
+    assertThat(orderRepository.findById(order.id())).contains(order);
+    assertThat(toldAfter).containsExactly(order);
+    assertThat(topTools.getTopToolsByRevenue(MONDAY, 10)).isEmpty();
+  }
+
+  @Test
+  void testInvalidArguments() {
+    TopTools topTools = new TopTools(7, 64, 1024);
+
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> topTools.getTopToolsByRevenue(MONDAY, 65));
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> topTools.getTopToolsByChargeDays(null, 10));
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> new TopTools(0, 64, 1024));
+  }
+
+  private static RentalAgreement agreement(String toolCode, LocalDate checkoutDate,
+      String finalChargeAmount, int chargeDays) {
+    BigDecimal amount = new BigDecimal(finalChargeAmount);
+    return RentalAgreement.newBuilder()
+        .toolCode(toolCode)
+        .toolType(ToolType.LADDER)
+        .toolBrand(BrandName.WERNER)
+        .rentalDays(chargeDays)
+        .checkoutDate(checkoutDate)
+        .returnDate(checkoutDate.plusDays(chargeDays))
+        .dailyChargeAmount(amount.doubleValue() / chargeDays)
+        .chargeDays(chargeDays)
+        .preDiscountAmount(amount)
+        .discountPercent(0)
+        .discountAmount(BigDecimal.ZERO.setScale(2))
+        .finalChargeAmount(amount)
+        .build();
+  }
+}
@@ -0,0 +1,100 @@
+package com.costacodecraft.toolrental.application.domain.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.costacodecraft.toolrental.adapters.out.persistence.InMemoryToolRepository;
+import com.costacodecraft.toolrental.application.domain.exception.InvalidDiscountException;
+import com.costacodecraft.toolrental.application.domain.exception.InvalidRentalDayException;
+import com.costacodecraft.toolrental.application.domain.exception.ToolNotFoundException;
+import com.costacodecraft.toolrental.application.domain.model.BrandName;
+import com.costacodecraft.toolrental.application.domain.model.Price;
+import com.costacodecraft.toolrental.application.domain.model.Tool;
+import com.costacodecraft.toolrental.application.domain.model.Tool.ToolId;
+import com.costacodecraft.toolrental.application.domain.model.ToolType;
+import com.costacodecraft.toolrental.application.port.in.CheckoutCommand;
+import com.costacodecraft.toolrental.application.port.in.CheckoutValidation;
+import com.costacodecraft.toolrental.application.port.out.ToolRepository;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ValidateCheckoutServiceTest {
+
+  private static final LocalDate CHECKOUT_DATE = LocalDate.of(2015, 9, 3);
+
+  private CheckoutPricer checkoutPricer;
+  private ValidateCheckoutService validateCheckoutService;
+
+  @BeforeEach
+  void setUp() {
+    ToolRepository toolRepository = new InMemoryToolRepository();
+    toolRepository.addTool(new Tool(new ToolId("LADW"), ToolType.LADDER, BrandName.WERNER,
+        Price.newBuilder()
+            .dailyCharge(1.99)
+            .weekdayCharge(true)
+            .weekendCharge(true)
+            .holidayCharge(false)
+            .build()));
+    CheckoutValidator checkoutValidator = new CheckoutValidator();
+    checkoutPricer = new CheckoutPricer(toolRepository,
+        new GetChargeableDaysService(new GetHolidayService()), checkoutValidator);
+    validateCheckoutService = new ValidateCheckoutService(toolRepository, checkoutValidator);
+  }
+
+  @Test
+  void testCollectsEveryErrorOfEveryCommand() {
+    List<CheckoutCommand> commands = List.of(
+        new CheckoutCommand("LADW", 5, 10, CHECKOUT_DATE),
+        new CheckoutCommand("LADW", 0, 101, CHECKOUT_DATE),
+        new CheckoutCommand("NOPE", 5, 10, CHECKOUT_DATE),
+        new CheckoutCommand("NOPE", 5, -1, CHECKOUT_DATE));
+
+    CheckoutValidation validation = validateCheckoutService.validate(commands);
+
+    assertThat(validation.isValid()).isFalse();
+    assertThat(validation.size()).isEqualTo(4);
+    assertThat(validation.getInvalidCount()).isEqualTo(3);
+    assertThat(validation.isValid(0)).isTrue();
+    assertThat(validation.getMessages(0)).isEmpty();
+    assertThat(validation.getErrors(1))
+        .isEqualTo(CheckoutValidation.INVALID_RENTAL_DAYS | CheckoutValidation.INVALID_DISCOUNT);
+    assertThat(validation.getMessages(1)).containsExactly("Rental days must be 1 or more days",
+        "Discount percent must be between 0 and 100");
+    assertThat(validation.getErrors(2)).isEqualTo(CheckoutValidation.TOOL_NOT_FOUND);
+    assertThat(validation.getMessages(3)).containsExactly(
+        "Discount percent must be between 0 and 100", "Tool with code \"NOPE\" not found");
+    assertThat(validation.valid(commands)).containsExactly(commands.getFirst());
+  }
+
+  @Test
+  void testMessagesMatchTheExceptions() {
+    CheckoutCommand badDays = new CheckoutCommand("LADW", 0, 10, CHECKOUT_DATE);
+    CheckoutCommand badDiscount = new CheckoutCommand("LADW", 5, 101, CHECKOUT_DATE);
+    CheckoutCommand badTool = new CheckoutCommand("NOPE", 5, 10, CHECKOUT_DATE);
+
+    CheckoutValidation validation =
+        validateCheckoutService.validate(List.of(badDays, badDiscount, badTool));
+
+    assertThatExceptionOfType(InvalidRentalDayException.class)
+        .isThrownBy(() -> checkoutPricer.price(badDays))
+        .withMessage(validation.getMessages(0).getFirst());
+    assertThatExceptionOfType(InvalidDiscountException.class)
+        .isThrownBy(() -> checkoutPricer.price(badDiscount))
+        .withMessage(validation.getMessages(1).getFirst());
+    assertThatExceptionOfType(ToolNotFoundException.class)
+        .isThrownBy(() -> checkoutPricer.price(badTool))
+        .withMessage(validation.getMessages(2).getFirst());
+  }
+
+  @Test
+  void testValidCommandsAreReturnedAsIs() {
+    List<CheckoutCommand> commands = List.of(new CheckoutCommand("LADW", 5, 10, CHECKOUT_DATE));
+
+    CheckoutValidation validation = validateCheckoutService.validate(commands);
+
+    assertThat(validation.isValid()).isTrue();
+    assertThat(validation.valid(commands)).isSameAs(commands);
+  }
+}